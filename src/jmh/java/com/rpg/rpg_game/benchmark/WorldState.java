@@ -0,0 +1,82 @@
+package com.rpg.rpg_game.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+import com.rpg.rpg_game.service.GameService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Monde de jeu partagé par les bancs d'essai JMH, paramétré par le nombre
+ * d'ennemis, le nombre d'obstacles et la largeur de la carte (hauteur = 3/4).
+ * Ennemis et obstacles sont répartis aléatoirement (graine fixe) sur toute la
+ * carte ; le joueur reste au centre de la zone jouable de GameService (800x600),
+ * si bien qu'une carte plus grande diminue la densité autour de lui.
+ * Joueur et ennemis sont quasi invulnérables : l'état reste comparable d'une
+ * invocation à l'autre. Reconstruit à chaque itération, car le tick
+ * rapproche peu à peu les ennemis du joueur.
+ */
+@State(Scope.Thread)
+public class WorldState {
+
+    private static final int PLAYER_X = 400;
+    private static final int PLAYER_Y = 300;
+    private static final int SEED = 42;
+
+    @Param({"100", "1000", "10000"})
+    public int enemyCount;
+
+    @Param({"10", "100", "1000"})
+    public int obstacleCount;
+
+    @Param({"800", "4000"})
+    public int mapSize;
+
+    public GameService gameService;
+    public GameState state;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        gameService = new GameService();
+        state = gameService.createGame();
+        state.getPlayer().setX(PLAYER_X);
+        state.getPlayer().setY(PLAYER_Y);
+        state.getPlayer().setHp(Integer.MAX_VALUE);
+        state.getPlayer().setDefense(1_000);
+
+        int mapWidth = mapSize;
+        int mapHeight = mapSize * 3 / 4;
+        Random random = new Random(SEED);
+
+        EnemyType[] enemyTypes = EnemyType.values();
+        List<Enemy> enemies = new ArrayList<>(enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            Enemy enemy = new Enemy(i + 1, random.nextInt(mapWidth), random.nextInt(mapHeight),
+                    enemyTypes[random.nextInt(enemyTypes.length)], 0, 0);
+            enemy.setHp(Integer.MAX_VALUE / 2);
+            enemies.add(enemy);
+        }
+        state.setEnemies(enemies);
+
+        ObstacleType[] obstacleTypes = ObstacleType.values();
+        List<Obstacle> obstacles = new ArrayList<>(obstacleCount);
+        for (int i = 0; i < obstacleCount; i++) {
+            Obstacle obstacle = new Obstacle(random.nextInt(mapWidth), random.nextInt(mapHeight), 32, 32,
+                    obstacleTypes[random.nextInt(obstacleTypes.length)]);
+            obstacle.setId(i + 1);
+            obstacles.add(obstacle);
+        }
+        state.setObstacles(obstacles);
+    }
+}
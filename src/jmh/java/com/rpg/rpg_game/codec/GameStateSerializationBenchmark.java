@@ -0,0 +1,85 @@
+package com.rpg.rpg_game.codec;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rpg.rpg_game.benchmark.WorldState;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation complète d'un GameState : JSON Jackson (réponse REST par
+ * défaut) comparé à l'instantané binaire GameStateBinaryCodec. Les octets
+ * produits par chaque format sont rapportés à côté du temps, dans les
+ * compteurs auxiliaires bytes et serializations : leur rapport donne la
+ * taille de l'état sérialisé.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateSerializationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Mapper {
+
+        ObjectMapper objectMapper;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            objectMapper = new ObjectMapper();
+        }
+    }
+
+    /**
+     * Octets produits et nombre de sérialisations. JMH additionne les
+     * compteurs d'événements sur toutes les itérations mesurées : seul leur
+     * rapport, la taille de l'état sérialisé, est indépendant du nombre
+     * d'itérations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long bytes;
+        public long serializations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            serializations = 0;
+        }
+
+        void record(byte[] payload) {
+            bytes += payload.length;
+            serializations++;
+        }
+    }
+
+    @Benchmark
+    public byte[] jackson(WorldState world, Mapper mapper, Payload payload) throws JsonProcessingException {
+        byte[] json = mapper.objectMapper.writeValueAsBytes(world.state);
+        payload.record(json);
+        return json;
+    }
+
+    @Benchmark
+    public byte[] binary(WorldState world, Payload payload) {
+        byte[] encoded = GameStateBinaryCodec.encode(world.state);
+        payload.record(encoded);
+        return encoded;
+    }
+}
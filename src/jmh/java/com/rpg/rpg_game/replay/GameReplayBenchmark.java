@@ -0,0 +1,71 @@
+package com.rpg.rpg_game.replay;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rpg.rpg_game.map.MapRepository;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.service.GameService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejeu complet des parties du corpus (src/test/resources/replays) : mesure
+ * de bout en bout de la simulation, sur des suites de commandes réelles et
+ * reproductibles. L'état de départ est recréé à chaque appel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameReplayBenchmark {
+
+    @Param({"default-map-seed-42", "chunked-world-seed-7", "default-map-mid-game"})
+    public String recordingName;
+
+    private GameReplayer replayer;
+    private GameRecording recording;
+    private GameState start;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MapRepository mapRepository = new MapRepository();
+        replayer = new GameReplayer(new GameService(mapRepository), mapRepository);
+        String resource = "/replays/" + recordingName + GameRecording.EXTENSION;
+        try (InputStream in = GameReplayBenchmark.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Enregistrement introuvable: " + resource);
+            }
+            recording = GameRecording.read(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        if (!replayer.replay(recording).matches()) {
+            throw new IllegalStateException("Le rejeu de " + recordingName + " diverge");
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createStart() {
+        start = replayer.initialState(recording);
+    }
+
+    @Benchmark
+    public GameState replay() {
+        return replayer.run(recording, start);
+    }
+}
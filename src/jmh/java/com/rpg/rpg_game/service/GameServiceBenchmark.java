@@ -0,0 +1,80 @@
+package com.rpg.rpg_game.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rpg.rpg_game.benchmark.WorldState;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Obstacle;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût des opérations de jeu de GameService, hors Spring (sans les timers @Timed) :
+ * déplacement, test de collision, attaque du joueur et tick d'IA des ennemis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    /**
+     * Points de test de collision, tirés sur toute la carte et parcourus en boucle
+     */
+    @State(Scope.Thread)
+    public static class Probes {
+
+        private static final int COUNT = 1024;
+
+        final int[] x = new int[COUNT];
+        final int[] y = new int[COUNT];
+        int next;
+        boolean left;
+
+        @Setup(Level.Trial)
+        public void setUp(WorldState world) {
+            Random random = new Random(7);
+            for (int i = 0; i < COUNT; i++) {
+                x[i] = random.nextInt(world.mapSize);
+                y[i] = random.nextInt(world.mapSize * 3 / 4);
+            }
+        }
+    }
+
+    /**
+     * Aller-retour gauche/droite : le joueur reste autour de sa position de départ
+     */
+    @Benchmark
+    public GameState movePlayer(WorldState world, Probes probes) {
+        probes.left = !probes.left;
+        return world.gameService.movePlayer(world.state, probes.left ? "left" : "right");
+    }
+
+    @Benchmark
+    public Obstacle checkCollision(WorldState world, Probes probes) {
+        int i = probes.next++ & (Probes.COUNT - 1);
+        return world.gameService.checkCollision(probes.x[i], probes.y[i], 16, world.state);
+    }
+
+    @Benchmark
+    public GameState playerAttack(WorldState world) {
+        return world.gameService.playerAttack(world.state);
+    }
+
+    @Benchmark
+    public GameState updateGame(WorldState world) {
+        return world.gameService.updateGame(world.state);
+    }
+}
@@ -0,0 +1,314 @@
+package com.rpg.rpg_game.codec;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.GameStateSnapshot;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+import com.rpg.rpg_game.model.Player;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodage binaire compact et versionné de l'état du jeu (application/x-rpg-snapshot).
+ *
+ * Format v1 (voir aussi decodeSnapshot dans game.html) :
+ * <pre>
+ * en-tête   : 'R' 'P' 'G' 'S', octet de version du format
+ * état      : varint version, varint gameTime, octet de drapeaux
+ *             (running, paused, gameOver, victory), chaînes lastAction et message
+ * joueur    : octet de présence, puis zigzag x/y, varints hp, maxHp, attack,
+ *             defense, level, exp, score, octet direction, octet attacking
+ * ennemis   : varint nombre, puis par ennemi zigzag id, octet type (ordinal,
+ *             bit 7 = attacking), zigzag x/y, varints hp et maxHp
+ * obstacles : varint nombre, puis par obstacle varint id, octet type (ordinal,
+ *             0xFF = aucun, bit 6 = solid), zigzag x/y, varints width et height
+ * </pre>
+ * Les coordonnées sont quantifiées au pixel. Les statistiques déduites du type
+ * (vitesse, portée, couleur...) ne sont pas transmises : c'est un format
+ * d'affichage, pas de persistance.
+ */
+public final class GameStateBinaryCodec {
+
+    public static final String MEDIA_TYPE = "application/x-rpg-snapshot";
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'R', 'P', 'G', 'S'};
+    private static final String[] DIRECTIONS = {"up", "down", "left", "right"};
+    private static final int CUSTOM_DIRECTION = 0x7F;
+    private static final int NO_TYPE = 0xFF;
+    private static final int ENEMY_ATTACKING_BIT = 0x80;
+    private static final int OBSTACLE_SOLID_BIT = 0x40;
+    private static final int TYPE_MASK = 0x3F;
+
+    // Tailles maximales d'un varint
+    private static final int MAX_INT_VARINT = 5;
+    private static final int MAX_LONG_VARINT = 10;
+
+    private GameStateBinaryCodec() {
+    }
+
+    /**
+     * Encode l'état du jeu (à appeler sous le verrou de la session)
+     */
+    public static byte[] encode(GameState state) {
+        return encode(state.getVersion(), state.getGameTime(),
+                flags(state.isGameRunning(), state.isPaused(), state.isGameOver(), state.isVictory()),
+                state.getLastAction(), state.getMessage(), state.getPlayer(),
+                state.getEnemies(), state.getObstacles());
+    }
+
+    /**
+     * Encode un instantané publié (sans verrou)
+     */
+    public static byte[] encode(GameStateSnapshot snapshot) {
+        return encode(snapshot.getVersion(), snapshot.getGameTime(),
+                flags(snapshot.isGameRunning(), snapshot.isPaused(), snapshot.isGameOver(), snapshot.isVictory()),
+                snapshot.getLastAction(), snapshot.getMessage(), snapshot.getPlayer(),
+                snapshot.getEnemies(), snapshot.getObstacles());
+    }
+
+    private static int flags(boolean running, boolean paused, boolean gameOver, boolean victory) {
+        return (running ? 1 : 0) | (paused ? 2 : 0) | (gameOver ? 4 : 0) | (victory ? 8 : 0);
+    }
+
+    private static byte[] encode(long version, long gameTime, int flags, String lastActionText,
+                                 String messageText, Player player, List<Enemy> enemies,
+                                 List<Obstacle> obstacles) {
+        byte[] lastAction = utf8(lastActionText);
+        byte[] message = utf8(messageText);
+        byte[] direction = player != null && directionIndex(player.getDirection()) == CUSTOM_DIRECTION
+                ? utf8(player.getDirection()) : new byte[0];
+
+        // Borne supérieure exacte : un seul tableau alloué, copié une fois à la fin
+        int capacity = MAGIC.length + 1 + 2 * MAX_LONG_VARINT + 1
+                + 2 * MAX_INT_VARINT + lastAction.length + message.length
+                + 1 + 9 * MAX_INT_VARINT + 2 + MAX_INT_VARINT + direction.length
+                + MAX_INT_VARINT + enemies.size() * (1 + 5 * MAX_INT_VARINT)
+                + MAX_INT_VARINT + obstacles.size() * (1 + 5 * MAX_INT_VARINT);
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+
+        buffer.put(MAGIC);
+        buffer.put(FORMAT_VERSION);
+        writeVarLong(buffer, version);
+        writeVarLong(buffer, gameTime);
+        buffer.put((byte) flags);
+        writeBytes(buffer, lastAction);
+        writeBytes(buffer, message);
+
+        if (player == null) {
+            buffer.put((byte) 0);
+        } else {
+            buffer.put((byte) 1);
+            writeVarInt(buffer, zigZag(player.getX()));
+            writeVarInt(buffer, zigZag(player.getY()));
+            writeVarInt(buffer, zigZag(player.getHp()));
+            writeVarInt(buffer, zigZag(player.getMaxHp()));
+            writeVarInt(buffer, zigZag(player.getAttack()));
+            writeVarInt(buffer, zigZag(player.getDefense()));
+            writeVarInt(buffer, zigZag(player.getLevel()));
+            writeVarInt(buffer, zigZag(player.getExp()));
+            writeVarInt(buffer, zigZag(player.getScore()));
+            int directionIndex = directionIndex(player.getDirection());
+            buffer.put((byte) directionIndex);
+            if (directionIndex == CUSTOM_DIRECTION) {
+                writeBytes(buffer, direction);
+            }
+            buffer.put((byte) (player.isAttacking() ? 1 : 0));
+        }
+
+        writeVarInt(buffer, enemies.size());
+        for (Enemy enemy : enemies) {
+            writeVarInt(buffer, zigZag(enemy.getId()));
+            int type = enemy.getType() != null ? enemy.getType().ordinal() : TYPE_MASK;
+            buffer.put((byte) (type | (enemy.isAttacking() ? ENEMY_ATTACKING_BIT : 0)));
+            writeVarInt(buffer, zigZag(enemy.getX()));
+            writeVarInt(buffer, zigZag(enemy.getY()));
+            writeVarInt(buffer, zigZag(enemy.getHp()));
+            writeVarInt(buffer, zigZag(enemy.getMaxHp()));
+        }
+
+        writeVarInt(buffer, obstacles.size());
+        for (Obstacle obstacle : obstacles) {
+            writeVarInt(buffer, obstacle.getId());
+            int type = obstacle.getType() != null ? obstacle.getType().ordinal() : TYPE_MASK;
+            buffer.put((byte) (type | (obstacle.isSolid() ? OBSTACLE_SOLID_BIT : 0)));
+            writeVarInt(buffer, zigZag(obstacle.getX()));
+            writeVarInt(buffer, zigZag(obstacle.getY()));
+            writeVarInt(buffer, obstacle.getWidth());
+            writeVarInt(buffer, obstacle.getHeight());
+        }
+
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Décode un instantané binaire en GameState
+     */
+    public static GameState decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IllegalArgumentException("Instantané binaire invalide (en-tête)");
+            }
+            byte formatVersion = buffer.get();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Version de format non supportée: " + formatVersion);
+            }
+
+            GameState state = new GameState();
+            state.setVersion(readVarLong(buffer));
+            state.setGameTime(readVarLong(buffer));
+            int flags = buffer.get();
+            state.setGameRunning((flags & 1) != 0);
+            state.setPaused((flags & 2) != 0);
+            state.setLastAction(readString(buffer));
+            state.setMessage(readString(buffer));
+
+            if (buffer.get() != 0) {
+                Player player = new Player();
+                player.setX(unZigZag(readVarInt(buffer)));
+                player.setY(unZigZag(readVarInt(buffer)));
+                player.setHp(unZigZag(readVarInt(buffer)));
+                player.setMaxHp(unZigZag(readVarInt(buffer)));
+                player.setAttack(unZigZag(readVarInt(buffer)));
+                player.setDefense(unZigZag(readVarInt(buffer)));
+                player.setLevel(unZigZag(readVarInt(buffer)));
+                player.setExp(unZigZag(readVarInt(buffer)));
+                player.setScore(unZigZag(readVarInt(buffer)));
+                int directionIndex = buffer.get() & 0xFF;
+                player.setDirection(directionIndex == CUSTOM_DIRECTION
+                        ? readString(buffer) : DIRECTIONS[directionIndex]);
+                player.setAttacking(buffer.get() != 0);
+                state.setPlayer(player);
+            }
+
+            int enemyCount = readVarInt(buffer);
+            List<Enemy> enemies = new ArrayList<>(enemyCount);
+            for (int i = 0; i < enemyCount; i++) {
+                int id = unZigZag(readVarInt(buffer));
+                int typeByte = buffer.get() & 0xFF;
+                int x = unZigZag(readVarInt(buffer));
+                int y = unZigZag(readVarInt(buffer));
+                Enemy enemy = new Enemy();
+                enemy.setId(id);
+                int type = typeByte & TYPE_MASK;
+                if (type != TYPE_MASK) {
+                    enemy.setType(EnemyType.values()[type]);
+                }
+                enemy.setPosition(x, y);
+                enemy.setHp(unZigZag(readVarInt(buffer)));
+                readVarInt(buffer); // maxHp : donné par l'archétype du type
+                enemy.setAttacking((typeByte & ENEMY_ATTACKING_BIT) != 0);
+                enemies.add(enemy);
+            }
+            state.setEnemies(enemies);
+
+            int obstacleCount = readVarInt(buffer);
+            List<Obstacle> obstacles = new ArrayList<>(obstacleCount);
+            for (int i = 0; i < obstacleCount; i++) {
+                Obstacle obstacle = new Obstacle();
+                obstacle.setId(readVarInt(buffer));
+                int typeByte = buffer.get() & 0xFF;
+                int type = typeByte & TYPE_MASK;
+                obstacle.setType(type != TYPE_MASK ? ObstacleType.values()[type] : null);
+                obstacle.setSolid((typeByte & OBSTACLE_SOLID_BIT) != 0);
+                obstacle.setX(unZigZag(readVarInt(buffer)));
+                obstacle.setY(unZigZag(readVarInt(buffer)));
+                obstacle.setWidth(readVarInt(buffer));
+                obstacle.setHeight(readVarInt(buffer));
+                obstacles.add(obstacle);
+            }
+            state.setObstacles(obstacles);
+            return state;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Instantané binaire tronqué ou corrompu", e);
+        }
+    }
+
+    // === Primitives d'encodage ===
+
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint trop long");
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint trop long");
+    }
+
+    private static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+        writeVarInt(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Longueur de chaîne invalide: " + length);
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static int directionIndex(String direction) {
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            if (DIRECTIONS[i].equals(direction)) {
+                return i;
+            }
+        }
+        return CUSTOM_DIRECTION;
+    }
+}
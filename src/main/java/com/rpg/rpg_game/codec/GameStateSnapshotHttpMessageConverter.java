@@ -0,0 +1,60 @@
+package com.rpg.rpg_game.codec;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.GameStateSnapshot;
+
+import java.io.IOException;
+
+/**
+ * Sert l'état du jeu (GameState ou instantané publié) au format binaire quand
+ * le client envoie Accept: application/x-rpg-snapshot. Le JSON reste le
+ * format par défaut. En lecture, produit un GameState. Un instantané n'est
+ * encodé qu'une fois, les lecteurs suivants reçoivent sa forme en cache.
+ */
+public class GameStateSnapshotHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType SNAPSHOT_MEDIA_TYPE = MediaType.parseMediaType(GameStateBinaryCodec.MEDIA_TYPE);
+
+    // Format des formes sérialisées et des étiquettes d'entité (voir GameStateSnapshot)
+    public static final String FORMAT = "bin";
+
+    public GameStateSnapshotHttpMessageConverter() {
+        super(SNAPSHOT_MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GameState.class.isAssignableFrom(clazz) || GameStateSnapshot.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        // Un instantané ne se lit pas : le décodage produit un GameState
+        return GameState.class.isAssignableFrom(clazz) && super.canRead(clazz, mediaType);
+    }
+
+    @Override
+    protected GameState readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try {
+            return GameStateBinaryCodec.decode(inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object state, HttpOutputMessage outputMessage) throws IOException {
+        byte[] payload = state instanceof GameStateSnapshot snapshot
+                ? snapshot.serialized(FORMAT, GameStateBinaryCodec::encode)
+                : GameStateBinaryCodec.encode((GameState) state);
+        outputMessage.getHeaders().setContentLength(payload.length);
+        outputMessage.getBody().write(payload);
+    }
+}
@@ -0,0 +1,70 @@
+package com.rpg.rpg_game.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import com.rpg.rpg_game.model.GameStateSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Sert un instantané publié en JSON à partir de sa forme sérialisée en cache :
+ * Jackson ne le sérialise qu'une fois, pour le premier lecteur, et tous les
+ * suivants reçoivent les mêmes octets. Placé avant le convertisseur Jackson
+ * (voir WebMvcConfig) ; les autres types passent toujours par Jackson.
+ */
+public class GameStateSnapshotJsonHttpMessageConverter extends AbstractHttpMessageConverter<GameStateSnapshot> {
+
+    // Format des formes sérialisées et des étiquettes d'entité (voir GameStateSnapshot)
+    public static final String FORMAT = "json";
+
+    private final ObjectMapper objectMapper;
+
+    public GameStateSnapshotJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GameStateSnapshot.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected GameStateSnapshot readInternal(Class<? extends GameStateSnapshot> clazz,
+                                             HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Un instantané ne se lit pas", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(GameStateSnapshot snapshot, HttpOutputMessage outputMessage) throws IOException {
+        byte[] payload;
+        try {
+            payload = snapshot.serialized(FORMAT, this::toJson);
+        } catch (UncheckedIOException e) {
+            throw new HttpMessageNotWritableException("Sérialisation de l'état impossible", e.getCause());
+        }
+        outputMessage.getHeaders().setContentLength(payload.length);
+        outputMessage.getBody().write(payload);
+    }
+
+    private byte[] toJson(GameStateSnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsBytes(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
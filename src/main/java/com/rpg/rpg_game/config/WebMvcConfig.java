@@ -0,0 +1,32 @@
+package com.rpg.rpg_game.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.rpg.rpg_game.codec.GameStateSnapshotHttpMessageConverter;
+import com.rpg.rpg_game.codec.GameStateSnapshotJsonHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Configuration Spring MVC : ajoute le format binaire de l'état du jeu, et
+ * sert le JSON des instantanés publiés depuis leur forme en cache (en tête,
+ * pour passer avant Jackson).
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public WebMvcConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new GameStateSnapshotJsonHttpMessageConverter(objectMapper));
+        converters.add(new GameStateSnapshotHttpMessageConverter());
+    }
+}
@@ -1,38 +1,246 @@
 package com.rpg.rpg_game.controller;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.rpg.rpg_game.dto.GameStateDelta;
+import com.rpg.rpg_game.event.GameEvent;
+import com.rpg.rpg_game.event.GameEventRing;
+import com.rpg.rpg_game.dto.InputBatchRequest;
+import com.rpg.rpg_game.dto.InputBatchResponse;
 import com.rpg.rpg_game.dto.MoveRequest;
-import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.dto.SessionResponse;
+import com.rpg.rpg_game.model.GameStateSnapshot;
+import com.rpg.rpg_game.service.GameCommand;
 import com.rpg.rpg_game.service.GameService;
+import com.rpg.rpg_game.service.GameSession;
+import com.rpg.rpg_game.service.GameSessionRegistry;
+import com.rpg.rpg_game.service.GameTickEngine;
 
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * API REST du jeu. Les endpoints par session, comme les endpoints historiques
+ * de l'état par défaut (porté par sa propre session, voir GameService),
+ * déposent leurs commandes dans la boîte aux lettres de la session et
+ * retournent un CompletableFuture : Spring MVC libère le thread Tomcat et
+ * répond quand le thread de la session a exécuté la commande. Les états renvoyés sont des instantanés immuables
+ * publiés (GameStateSnapshot), jamais l'état vivant : les lectures ne
+ * prennent aucun verrou et la sérialisation ne croise pas un tick.
+ * Les lectures d'état portent une ETag forte par version et par format :
+ * If-None-Match reçoit 304 sans corps ni sérialisation.
+ * Seul POST /api/sessions crée une session : les autres endpoints par
+ * session répondent 404 pour une session inconnue ou supprimée.
+ */
 @RestController
 @RequestMapping("/api")
 public class GameRestController {
     
     private final GameService gameService;
+    private final GameSessionRegistry sessionRegistry;
+    private final GameTickEngine tickEngine;
     
-    public GameRestController(GameService gameService) {
+    public GameRestController(GameService gameService, GameSessionRegistry sessionRegistry,
+                              GameTickEngine tickEngine) {
         this.gameService = gameService;
+        this.sessionRegistry = sessionRegistry;
+        this.tickEngine = tickEngine;
     }
     
     @GetMapping("/gamestate")
-    public GameState getGameState() {
-        return gameService.getCurrentGameState();
+    public CompletableFuture<ResponseEntity<GameStateSnapshot>> getGameState() {
+        return gameService.getCurrentSnapshot().thenApply(GameRestController::conditional);
     }
     
     @PostMapping("/player/move")
-    public GameState movePlayer(@RequestBody MoveRequest request) {
+    public CompletableFuture<GameStateSnapshot> movePlayer(@RequestBody MoveRequest request) {
         return gameService.movePlayer(request.getDirection());
     }
     
     @PostMapping("/player/attack")
-    public GameState attack() {
+    public CompletableFuture<GameStateSnapshot> attack() {
         return gameService.playerAttack();
     }
     
+    /**
+     * Conservé pour compatibilité : quand la boucle serveur tourne, elle fait
+     * avancer l'état par défaut et le client reçoit simplement l'état courant.
+     */
     @PostMapping("/update")
-    public GameState update() {
+    public CompletableFuture<GameStateSnapshot> update() {
+        if (tickEngine.isRunning()) {
+            return gameService.getCurrentSnapshot();
+        }
         return gameService.updateGame();
     }
+    
+    /**
+     * Derniers événements de combat et de déplacement de l'état par défaut
+     */
+    @GetMapping("/events")
+    public List<GameEvent> getEvents(@RequestParam(defaultValue = "50") int limit) {
+        return gameService.getCurrentGameState().getEvents().recent(clampEventLimit(limit));
+    }
+    
+    // === Endpoints par session ===
+    
+    /**
+     * Nouvelle session sur la carte fixe, ou dans un monde en chunks sans
+     * bornes si une graine de monde est fournie
+     */
+    @PostMapping("/sessions")
+    public SessionResponse createSession(@RequestParam(required = false) Long worldSeed) {
+        GameSession session = worldSeed == null
+                ? sessionRegistry.createSession()
+                : sessionRegistry.createSession(worldSeed);
+        return new SessionResponse(session.getId(), session.getSnapshot());
+    }
+    
+    @DeleteMapping("/sessions/{sessionId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteSession(@PathVariable String sessionId) {
+        sessionRegistry.removeSession(sessionId);
+    }
+    
+    @GetMapping("/sessions/{sessionId}/gamestate")
+    public CompletableFuture<ResponseEntity<GameStateSnapshot>> getGameState(@PathVariable String sessionId) {
+        return findSession(sessionId).submitSnapshot().thenApply(GameRestController::conditional);
+    }
+    
+    /**
+     * Changements depuis la version since ; état complet si elle est trop ancienne
+     */
+    @GetMapping("/sessions/{sessionId}/gamestate/delta")
+    public CompletableFuture<GameStateDelta> getGameStateDelta(@PathVariable String sessionId,
+                                                               @RequestParam long since) {
+        return findSession(sessionId).submitDelta(since);
+    }
+    
+    /**
+     * Derniers événements de combat et de déplacement de la session
+     */
+    @GetMapping("/sessions/{sessionId}/events")
+    public List<GameEvent> getEvents(@PathVariable String sessionId,
+                                     @RequestParam(defaultValue = "50") int limit) {
+        return findSession(sessionId).recentEvents(clampEventLimit(limit));
+    }
+    
+    @PostMapping("/sessions/{sessionId}/player/move")
+    public CompletableFuture<GameStateSnapshot> movePlayer(@PathVariable String sessionId,
+                                                           @RequestBody MoveRequest request) {
+        GameSession session = findSession(sessionId);
+        return published(session, session.submit(gameService, GameCommand.move(request.getDirection())));
+    }
+    
+    /**
+     * Lot d'entrées du joueur appliqué en une passe ; la réponse porte la
+     * séquence de la dernière entrée traitée
+     */
+    @PostMapping("/sessions/{sessionId}/inputs")
+    public CompletableFuture<InputBatchResponse> applyInputs(@PathVariable String sessionId,
+                                                             @RequestBody InputBatchRequest request) {
+        GameSession session = findSession(sessionId);
+        List<InputBatchRequest.Input> inputs = request.getInputs() != null ? request.getInputs() : List.of();
+        return session.submitInputs(gameService, inputs)
+                .thenCompose(lastSequence -> session.submitSnapshot()
+                        .thenApply(snapshot -> new InputBatchResponse(lastSequence, snapshot)));
+    }
+    
+    @PostMapping("/sessions/{sessionId}/player/attack")
+    public CompletableFuture<GameStateSnapshot> attack(@PathVariable String sessionId) {
+        GameSession session = findSession(sessionId);
+        return published(session, session.submit(gameService, GameCommand.attack()));
+    }
+    
+    /**
+     * Conservé pour compatibilité : quand la boucle serveur tourne, le client
+     * ne fait plus avancer le monde et reçoit simplement l'état courant.
+     */
+    @PostMapping("/sessions/{sessionId}/update")
+    public CompletableFuture<GameStateSnapshot> update(@PathVariable String sessionId) {
+        GameSession session = findSession(sessionId);
+        if (tickEngine.isRunning()) {
+            return session.submitSnapshot();
+        }
+        return published(session, session.submit(gameService, GameCommand.tick()));
+    }
+    
+    /**
+     * Commence à enregistrer la partie de la session (voir GameReplayer)
+     */
+    @PostMapping("/sessions/{sessionId}/recording")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public CompletableFuture<Void> startRecording(@PathVariable String sessionId) {
+        GameSession session = findSession(sessionId);
+        return session.submit(state -> {
+            session.startRecording(gameService);
+            return null;
+        });
+    }
+    
+    /**
+     * Termine l'enregistrement et le retourne au format .rpgrec
+     */
+    @DeleteMapping(value = "/sessions/{sessionId}/recording", produces = MediaType.TEXT_PLAIN_VALUE)
+    public CompletableFuture<String> stopRecording(@PathVariable String sessionId) {
+        GameSession session = findSession(sessionId);
+        return session.submit(state -> session.stopRecording().toText());
+    }
+    
+    /**
+     * Session existante ; lève NoSuchElementException (404) si elle est inconnue
+     * ou a été supprimée
+     */
+    private GameSession findSession(String sessionId) {
+        return sessionRegistry.findSession(sessionId)
+                .orElseThrow(() -> new NoSuchElementException("Session inconnue: " + sessionId));
+    }
+    
+    /**
+     * Instantané de la version publiée par la session une fois la commande exécutée
+     */
+    private static CompletableFuture<GameStateSnapshot> published(GameSession session,
+                                                                 CompletableFuture<?> applied) {
+        return applied.thenCompose(result -> session.submitSnapshot());
+    }
+    
+    /**
+     * Réponse d'une lecture d'état, à revalider à chaque usage ; son ETag, qui
+     * dépend du format écrit, est posée après la négociation de contenu (voir
+     * GameStateSnapshotETagAdvice)
+     */
+    private static ResponseEntity<GameStateSnapshot> conditional(GameStateSnapshot snapshot) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(snapshot);
+    }
+    
+    private int clampEventLimit(int limit) {
+        return Math.max(1, Math.min(limit, GameEventRing.DEFAULT_CAPACITY));
+    }
+    
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidArgument(IllegalArgumentException e) {
+        return e.getMessage();
+    }
+    
+    @ExceptionHandler(NoSuchElementException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public String handleNotFound(NoSuchElementException e) {
+        return e.getMessage();
+    }
+    
+    @ExceptionHandler(IllegalStateException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleInvalidState(IllegalStateException e) {
+        return e.getMessage();
+    }
 }
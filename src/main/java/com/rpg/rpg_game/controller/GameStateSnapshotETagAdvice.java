@@ -0,0 +1,55 @@
+package com.rpg.rpg_game.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.rpg.rpg_game.codec.GameStateSnapshotHttpMessageConverter;
+import com.rpg.rpg_game.codec.GameStateSnapshotJsonHttpMessageConverter;
+import com.rpg.rpg_game.model.GameStateSnapshot;
+
+/**
+ * ETag des lectures d'état (GET renvoyant un GameStateSnapshot), posée une
+ * fois le convertisseur choisi par Spring : l'étiquette désigne toujours le
+ * format réellement écrit, quelle que soit la forme de l'en-tête Accept.
+ * Quand elle correspond à If-None-Match, la réponse devient 304 et le corps
+ * n'est ni sérialisé ni écrit.
+ */
+@ControllerAdvice
+public class GameStateSnapshotETagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return GameStateSnapshotHttpMessageConverter.class.isAssignableFrom(converterType)
+                || GameStateSnapshotJsonHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof GameStateSnapshot snapshot) || request.getMethod() != HttpMethod.GET
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        String format = GameStateSnapshotHttpMessageConverter.class.isAssignableFrom(selectedConverterType)
+                ? GameStateSnapshotHttpMessageConverter.FORMAT
+                : GameStateSnapshotJsonHttpMessageConverter.FORMAT;
+        ServletWebRequest webRequest = new ServletWebRequest(servletRequest.getServletRequest(),
+                servletResponse.getServletResponse());
+        // Pose l'ETag, et le statut 304 si le client a déjà cette représentation
+        if (webRequest.checkNotModified(snapshot.entityTag(format))) {
+            return null;
+        }
+        return body;
+    }
+}
@@ -0,0 +1,280 @@
+package com.rpg.rpg_game.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.rpg.rpg_game.dto.GameCommandMessage;
+import com.rpg.rpg_game.dto.GameStateDelta;
+import com.rpg.rpg_game.service.GameCommand;
+import com.rpg.rpg_game.service.GameService;
+import com.rpg.rpg_game.service.GameSession;
+import com.rpg.rpg_game.service.GameSessionRegistry;
+import com.rpg.rpg_game.service.GameTickEngine;
+import com.rpg.rpg_game.service.GameTickListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal WebSocket du jeu : ws://hôte/ws/game?session=ID.
+ * Le client envoie ses commandes (déplacement, attaque) sur une connexion
+ * persistante et le serveur lui pousse les changements (GameStateDelta)
+ * depuis la dernière version qu'il a reçue, après chaque tick et chaque
+ * commande. Un delta n'est sérialisé qu'une fois par version de départ,
+ * quel que soit le nombre de clients abonnés à la session.
+ * Les messages sont construits sous le verrou de la session mais envoyés
+ * hors du verrou, par la file d'envoi de chaque client (SendQueue) : un
+ * client lent ne retarde ni la session ni les autres clients.
+ */
+@Component
+public class GameWebSocketHandler extends TextWebSocketHandler implements GameTickListener {
+
+    private static final Logger log = LoggerFactory.getLogger(GameWebSocketHandler.class);
+
+    private static final String GAME_SESSION_ATTRIBUTE = "gameSessionId";
+    private static final String LAST_VERSION_ATTRIBUTE = "lastVersion";
+    private static final String SEND_QUEUE_ATTRIBUTE = "sendQueue";
+    // Messages en attente d'envoi au-delà desquels un client est jugé trop lent
+    private static final int MAX_PENDING_MESSAGES = 64;
+    private static final int SEND_TIME_LIMIT_MS = 1000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+
+    private final GameService gameService;
+    private final GameSessionRegistry sessionRegistry;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Connexions WebSocket abonnées, par identifiant de session de jeu
+    private final Map<String, Set<WebSocketSession>> subscribers = new ConcurrentHashMap<>();
+
+    public GameWebSocketHandler(GameService gameService, GameSessionRegistry sessionRegistry,
+                                GameTickEngine tickEngine, ObjectMapper objectMapper) {
+        this.gameService = gameService;
+        this.sessionRegistry = sessionRegistry;
+        this.objectMapper = objectMapper;
+        tickEngine.addTickListener(this);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sendExecutor.shutdown();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession webSocketSession) throws Exception {
+        String gameSessionId = extractGameSessionId(webSocketSession.getUri());
+        // La session doit avoir été créée auparavant (POST /api/sessions)
+        GameSession gameSession = sessionRegistry.findSession(gameSessionId).orElse(null);
+        if (gameSession == null) {
+            webSocketSession.close(CloseStatus.BAD_DATA.withReason("Session de jeu inconnue"));
+            return;
+        }
+
+        // Les envois concurrents (file d'envoi, fermeture) sont sérialisés par le
+        // décorateur, jamais par le verrou de la session
+        WebSocketSession client = new ConcurrentWebSocketSessionDecorator(
+                webSocketSession, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES);
+        webSocketSession.getAttributes().put(GAME_SESSION_ATTRIBUTE, gameSession.getId());
+        webSocketSession.getAttributes().put(SEND_QUEUE_ATTRIBUTE, new SendQueue(client));
+        subscribers.computeIfAbsent(gameSession.getId(), id -> ConcurrentHashMap.newKeySet()).add(client);
+
+        // Aucune version connue : le premier message est un état complet
+        sendUpdates(gameSession, List.of(client));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession webSocketSession, TextMessage message) throws Exception {
+        String gameSessionId = (String) webSocketSession.getAttributes().get(GAME_SESSION_ATTRIBUTE);
+        if (gameSessionId == null) {
+            return;
+        }
+
+        GameCommandMessage command;
+        try {
+            command = objectMapper.readValue(message.getPayload(), GameCommandMessage.class);
+        } catch (JsonProcessingException e) {
+            // Message illisible ignoré, comme une commande inconnue : la connexion reste ouverte
+            log.debug("Message WebSocket illisible ignoré: {}", e.getOriginalMessage());
+            return;
+        }
+        GameSession gameSession = sessionRegistry.findSession(gameSessionId).orElse(null);
+        if (gameSession == null) {
+            // Session supprimée (inactive) depuis la connexion
+            webSocketSession.close(CloseStatus.BAD_DATA.withReason("Session de jeu inconnue"));
+            return;
+        }
+
+        // Déposée dans la boîte aux lettres de la session : le thread du
+        // conteneur n'attend pas, la diffusion suit l'exécution de la commande
+        CompletableFuture<?> applied;
+        try {
+            if ("move".equals(command.getType()) && command.getDirection() != null) {
+                applied = gameSession.submit(gameService, GameCommand.move(command.getDirection()));
+            } else if ("attack".equals(command.getType())) {
+                applied = gameSession.submit(gameService, GameCommand.attack());
+            } else if ("inputs".equals(command.getType()) && command.getInputs() != null) {
+                applied = gameSession.submitInputs(gameService, command.getInputs());
+            } else {
+                return; // Commande inconnue ignorée
+            }
+        } catch (IllegalArgumentException e) {
+            return; // Direction invalide ignorée, comme une commande inconnue
+        }
+
+        applied.whenComplete((result, error) -> {
+            // Un lot invalide est ignoré, comme une commande inconnue
+            if (error == null) {
+                broadcast(gameSession);
+            }
+        });
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession webSocketSession, CloseStatus status) {
+        String gameSessionId = (String) webSocketSession.getAttributes().get(GAME_SESSION_ATTRIBUTE);
+        if (gameSessionId == null) {
+            return;
+        }
+        subscribers.computeIfPresent(gameSessionId, (id, clients) -> {
+            clients.removeIf(client -> client.getId().equals(webSocketSession.getId()));
+            return clients.isEmpty() ? null : clients;
+        });
+    }
+
+    /**
+     * Pousse l'état de la session à ses abonnés après chaque tick
+     */
+    @Override
+    public void onTick(GameSession gameSession) {
+        broadcast(gameSession);
+    }
+
+    /**
+     * Nombre de connexions WebSocket ouvertes, toutes sessions confondues
+     */
+    public int getConnectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void broadcast(GameSession gameSession) {
+        Set<WebSocketSession> clients = subscribers.get(gameSession.getId());
+        if (clients == null || clients.isEmpty()) {
+            return;
+        }
+        sendUpdates(gameSession, clients);
+    }
+
+    /**
+     * Envoie à chaque client le delta depuis sa dernière version reçue.
+     * Les messages sont construits par une tâche de la boîte aux lettres de la
+     * session, sous son verrou, ce qui fixe l'ordre des versions, puis déposés
+     * dans la file d'envoi de chaque client ; ni le thread appelant (conteneur,
+     * écouteur du tick) ni l'écriture sur la connexion n'attendent le verrou.
+     */
+    private void sendUpdates(GameSession gameSession, Collection<WebSocketSession> clients) {
+        gameSession.submit(state -> {
+            Map<Long, TextMessage> messagesByVersion = new HashMap<>();
+            for (WebSocketSession client : clients) {
+                long lastVersion = (Long) client.getAttributes().getOrDefault(LAST_VERSION_ATTRIBUTE, -1L);
+                if (lastVersion == state.getVersion()) {
+                    continue; // Rien de nouveau pour ce client
+                }
+                TextMessage message = messagesByVersion.computeIfAbsent(lastVersion,
+                        version -> toMessage(gameSession.deltaSince(version)));
+                SendQueue queue = (SendQueue) client.getAttributes().get(SEND_QUEUE_ATTRIBUTE);
+                queue.add(message);
+                client.getAttributes().put(LAST_VERSION_ATTRIBUTE, state.getVersion());
+            }
+            return null;
+        }).exceptionally(e -> {
+            log.warn("Diffusion impossible pour la session {}", gameSession.getId(), e);
+            return null;
+        });
+    }
+
+    private TextMessage toMessage(GameStateDelta delta) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsBytes(delta));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation de l'état impossible", e);
+        }
+    }
+
+    private void send(WebSocketSession client, TextMessage message) {
+        if (!client.isOpen()) {
+            return;
+        }
+        try {
+            client.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            // Client trop lent ou déconnecté : on ferme, il se reconnectera
+            closeUnreliable(client);
+        }
+    }
+
+    private void closeUnreliable(WebSocketSession client) {
+        try {
+            client.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException ignored) {
+            // Connexion déjà fermée
+        }
+    }
+
+    /**
+     * File d'envoi d'un client : ses messages partent un à un, dans l'ordre où
+     * ils ont été construits, sur les threads virtuels d'envoi. Un client qui
+     * accumule trop de messages en attente est fermé.
+     */
+    private final class SendQueue {
+
+        private final WebSocketSession client;
+        private final AtomicInteger pending = new AtomicInteger();
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        SendQueue(WebSocketSession client) {
+            this.client = client;
+        }
+
+        synchronized void add(TextMessage message) {
+            if (pending.incrementAndGet() > MAX_PENDING_MESSAGES) {
+                pending.decrementAndGet();
+                sendExecutor.execute(() -> closeUnreliable(client));
+                return;
+            }
+            tail = tail.thenRunAsync(() -> {
+                try {
+                    send(client, message);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }, sendExecutor);
+        }
+    }
+
+    private String extractGameSessionId(URI uri) {
+        if (uri == null) {
+            return null;
+        }
+        return UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst("session");
+    }
+}
@@ -0,0 +1,62 @@
+package com.rpg.rpg_game.dto;
+
+/**
+ * DTO décrivant un ennemi modifié (position, vie, attaque) dans un delta.
+ */
+public class EnemyUpdate {
+    private int id;
+    private int x;
+    private int y;
+    private int hp;
+    private boolean attacking;
+    
+    public EnemyUpdate() {}
+    
+    public EnemyUpdate(int id, int x, int y, int hp, boolean attacking) {
+        this.id = id;
+        this.x = x;
+        this.y = y;
+        this.hp = hp;
+        this.attacking = attacking;
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    public void setId(int id) {
+        this.id = id;
+    }
+    
+    public int getX() {
+        return x;
+    }
+    
+    public void setX(int x) {
+        this.x = x;
+    }
+    
+    public int getY() {
+        return y;
+    }
+    
+    public void setY(int y) {
+        this.y = y;
+    }
+    
+    public int getHp() {
+        return hp;
+    }
+    
+    public void setHp(int hp) {
+        this.hp = hp;
+    }
+    
+    public boolean isAttacking() {
+        return attacking;
+    }
+    
+    public void setAttacking(boolean attacking) {
+        this.attacking = attacking;
+    }
+}
@@ -0,0 +1,45 @@
+package com.rpg.rpg_game.dto;
+
+import java.util.List;
+
+/**
+ * DTO pour les commandes envoyées par le client sur le canal WebSocket.
+ * Types supportés : "move" (avec direction, "up+left" pour une diagonale),
+ * "attack" et "inputs" (avec un lot d'entrées, voir InputBatchRequest).
+ */
+public class GameCommandMessage {
+    private String type;
+    private String direction;
+    private List<InputBatchRequest.Input> inputs;
+    
+    public GameCommandMessage() {}
+    
+    public GameCommandMessage(String type, String direction) {
+        this.type = type;
+        this.direction = direction;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getDirection() {
+        return direction;
+    }
+    
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+    
+    public List<InputBatchRequest.Input> getInputs() {
+        return inputs;
+    }
+    
+    public void setInputs(List<InputBatchRequest.Input> inputs) {
+        this.inputs = inputs;
+    }
+}
@@ -0,0 +1,145 @@
+package com.rpg.rpg_game.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.Obstacle;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO des changements de l'état du jeu entre deux versions, vus depuis la
+ * zone d'intérêt du joueur : les ajouts sont les entités apparues dans la zone
+ * (création ou entrée), les retraits celles qui en ont disparu (mort, sortie).
+ * Si la version de départ n'est plus connue du serveur, full vaut true et
+ * la vue complète de la zone est fournie dans state. Les listes vides ne sont pas sérialisées.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class GameStateDelta {
+    private long fromVersion;
+    private long toVersion;
+    private boolean full;
+    private GameStateView state;
+    private long gameTime;
+    private boolean gameOver;
+    private Map<String, Object> player = new LinkedHashMap<>();
+    private List<Enemy> addedEnemies = new ArrayList<>();
+    private List<EnemyUpdate> updatedEnemies = new ArrayList<>();
+    private List<Integer> removedEnemyIds = new ArrayList<>();
+    private List<Obstacle> addedObstacles = new ArrayList<>();
+    private List<Integer> removedObstacleIds = new ArrayList<>();
+    
+    public GameStateDelta() {}
+    
+    /**
+     * Crée un delta complet (repli quand la version demandée est trop ancienne)
+     */
+    public static GameStateDelta fullSnapshot(long fromVersion, GameStateView state) {
+        GameStateDelta delta = new GameStateDelta();
+        delta.fromVersion = fromVersion;
+        delta.toVersion = state.getVersion();
+        delta.full = true;
+        delta.state = state;
+        delta.gameTime = state.getGameTime();
+        delta.gameOver = state.isGameOver();
+        return delta;
+    }
+    
+    public long getFromVersion() {
+        return fromVersion;
+    }
+    
+    public void setFromVersion(long fromVersion) {
+        this.fromVersion = fromVersion;
+    }
+    
+    public long getToVersion() {
+        return toVersion;
+    }
+    
+    public void setToVersion(long toVersion) {
+        this.toVersion = toVersion;
+    }
+    
+    public boolean isFull() {
+        return full;
+    }
+    
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+    
+    public GameStateView getState() {
+        return state;
+    }
+    
+    public void setState(GameStateView state) {
+        this.state = state;
+    }
+    
+    public long getGameTime() {
+        return gameTime;
+    }
+    
+    public void setGameTime(long gameTime) {
+        this.gameTime = gameTime;
+    }
+    
+    public boolean isGameOver() {
+        return gameOver;
+    }
+    
+    public void setGameOver(boolean gameOver) {
+        this.gameOver = gameOver;
+    }
+    
+    public Map<String, Object> getPlayer() {
+        return player;
+    }
+    
+    public void setPlayer(Map<String, Object> player) {
+        this.player = player;
+    }
+    
+    public List<Enemy> getAddedEnemies() {
+        return addedEnemies;
+    }
+    
+    public void setAddedEnemies(List<Enemy> addedEnemies) {
+        this.addedEnemies = addedEnemies;
+    }
+    
+    public List<EnemyUpdate> getUpdatedEnemies() {
+        return updatedEnemies;
+    }
+    
+    public void setUpdatedEnemies(List<EnemyUpdate> updatedEnemies) {
+        this.updatedEnemies = updatedEnemies;
+    }
+    
+    public List<Integer> getRemovedEnemyIds() {
+        return removedEnemyIds;
+    }
+    
+    public void setRemovedEnemyIds(List<Integer> removedEnemyIds) {
+        this.removedEnemyIds = removedEnemyIds;
+    }
+    
+    public List<Obstacle> getAddedObstacles() {
+        return addedObstacles;
+    }
+    
+    public void setAddedObstacles(List<Obstacle> addedObstacles) {
+        this.addedObstacles = addedObstacles;
+    }
+    
+    public List<Integer> getRemovedObstacleIds() {
+        return removedObstacleIds;
+    }
+    
+    public void setRemovedObstacleIds(List<Integer> removedObstacleIds) {
+        this.removedObstacleIds = removedObstacleIds;
+    }
+}
@@ -0,0 +1,164 @@
+package com.rpg.rpg_game.dto;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.Player;
+
+import java.util.List;
+
+/**
+ * Vue de l'état du jeu telle qu'un client la reçoit : mêmes champs JSON que
+ * GameState, mais seulement les ennemis et obstacles de sa zone d'intérêt.
+ * enemyCount compte les ennemis visibles, aliveEnemyCount tous les ennemis
+ * vivants de l'état. Le joueur est une copie : la vue peut être sérialisée
+ * hors du verrou de la session, les ennemis et obstacles fournis doivent
+ * l'être aussi (copies détachées faites par GameStateHistory).
+ */
+public class GameStateView {
+    private Player player;
+    private List<Enemy> enemies;
+    private List<Obstacle> obstacles;
+    private long gameTime;
+    private long version;
+    private boolean gameRunning;
+    private boolean paused;
+    private String lastAction;
+    private String message;
+    private int aliveEnemyCount;
+    private boolean gameOver;
+    private boolean victory;
+    private GameState.Zone playerZone;
+    
+    public GameStateView() {}
+    
+    /**
+     * Vue de l'état limitée aux ennemis et obstacles fournis (à appeler sous le
+     * verrou de la session)
+     */
+    public static GameStateView of(GameState state, List<Enemy> enemies, List<Obstacle> obstacles) {
+        GameStateView view = new GameStateView();
+        view.player = state.getPlayer() != null ? new Player(state.getPlayer()) : null;
+        view.enemies = enemies;
+        view.obstacles = obstacles;
+        view.gameTime = state.getGameTime();
+        view.version = state.getVersion();
+        view.gameRunning = state.isGameRunning();
+        view.paused = state.isPaused();
+        view.lastAction = state.getLastAction();
+        view.message = state.getMessage();
+        view.aliveEnemyCount = state.getAliveEnemyCount();
+        view.gameOver = state.isGameOver();
+        view.victory = state.isVictory();
+        view.playerZone = state.getPlayerZone();
+        return view;
+    }
+    
+    public Player getPlayer() {
+        return player;
+    }
+    
+    public void setPlayer(Player player) {
+        this.player = player;
+    }
+    
+    public List<Enemy> getEnemies() {
+        return enemies;
+    }
+    
+    public void setEnemies(List<Enemy> enemies) {
+        this.enemies = enemies;
+    }
+    
+    public List<Obstacle> getObstacles() {
+        return obstacles;
+    }
+    
+    public void setObstacles(List<Obstacle> obstacles) {
+        this.obstacles = obstacles;
+    }
+    
+    public long getGameTime() {
+        return gameTime;
+    }
+    
+    public void setGameTime(long gameTime) {
+        this.gameTime = gameTime;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
+    public boolean isGameRunning() {
+        return gameRunning;
+    }
+    
+    public void setGameRunning(boolean gameRunning) {
+        this.gameRunning = gameRunning;
+    }
+    
+    public boolean isPaused() {
+        return paused;
+    }
+    
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+    
+    public String getLastAction() {
+        return lastAction;
+    }
+    
+    public void setLastAction(String lastAction) {
+        this.lastAction = lastAction;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public int getEnemyCount() {
+        return enemies == null ? 0 : enemies.size();
+    }
+    
+    public int getAliveEnemyCount() {
+        return aliveEnemyCount;
+    }
+    
+    public void setAliveEnemyCount(int aliveEnemyCount) {
+        this.aliveEnemyCount = aliveEnemyCount;
+    }
+    
+    public boolean isGameOver() {
+        return gameOver;
+    }
+    
+    public void setGameOver(boolean gameOver) {
+        this.gameOver = gameOver;
+    }
+    
+    public boolean isVictory() {
+        return victory;
+    }
+    
+    public void setVictory(boolean victory) {
+        this.victory = victory;
+    }
+    
+    public GameState.Zone getPlayerZone() {
+        return playerZone;
+    }
+    
+    public void setPlayerZone(GameState.Zone playerZone) {
+        this.playerZone = playerZone;
+    }
+}
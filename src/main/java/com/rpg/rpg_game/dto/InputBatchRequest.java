@@ -0,0 +1,70 @@
+package com.rpg.rpg_game.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO d'un lot d'entrées du joueur, appliquées en une passe.
+ * Chaque entrée porte un numéro de séquence croissant et un masque de
+ * directions (voir Direction : 1 haut, 2 bas, 4 gauche, 8 droite, diagonales
+ * par union), avec éventuellement une attaque :
+ * {"inputs": [{"sequence": 41, "directions": 5}, {"sequence": 42, "directions": 0, "attack": true}]}
+ */
+public class InputBatchRequest {
+    private List<Input> inputs = new ArrayList<>();
+    
+    public InputBatchRequest() {}
+    
+    public InputBatchRequest(List<Input> inputs) {
+        this.inputs = inputs;
+    }
+    
+    public List<Input> getInputs() {
+        return inputs;
+    }
+    
+    public void setInputs(List<Input> inputs) {
+        this.inputs = inputs;
+    }
+    
+    /**
+     * Entrée du joueur : déplacement (masque vide si aucun) puis attaque éventuelle
+     */
+    public static class Input {
+        private long sequence;
+        private int directions;
+        private boolean attack;
+        
+        public Input() {}
+        
+        public Input(long sequence, int directions, boolean attack) {
+            this.sequence = sequence;
+            this.directions = directions;
+            this.attack = attack;
+        }
+        
+        public long getSequence() {
+            return sequence;
+        }
+        
+        public void setSequence(long sequence) {
+            this.sequence = sequence;
+        }
+        
+        public int getDirections() {
+            return directions;
+        }
+        
+        public void setDirections(int directions) {
+            this.directions = directions;
+        }
+        
+        public boolean isAttack() {
+            return attack;
+        }
+        
+        public void setAttack(boolean attack) {
+            this.attack = attack;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.rpg.rpg_game.dto;
+
+import com.rpg.rpg_game.model.GameStateSnapshot;
+
+/**
+ * DTO renvoyé après un lot d'entrées : séquence de la dernière entrée
+ * traitée, pour que le client écarte les entrées acquittées, et état du jeu.
+ */
+public class InputBatchResponse {
+    private long lastSequence;
+    private GameStateSnapshot gameState;
+    
+    public InputBatchResponse() {}
+    
+    public InputBatchResponse(long lastSequence, GameStateSnapshot gameState) {
+        this.lastSequence = lastSequence;
+        this.gameState = gameState;
+    }
+    
+    public long getLastSequence() {
+        return lastSequence;
+    }
+    
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+    
+    public GameStateSnapshot getGameState() {
+        return gameState;
+    }
+    
+    public void setGameState(GameStateSnapshot gameState) {
+        this.gameState = gameState;
+    }
+}
@@ -0,0 +1,34 @@
+package com.rpg.rpg_game.dto;
+
+import com.rpg.rpg_game.model.GameStateSnapshot;
+
+/**
+ * DTO renvoyé à la création d'une session de jeu.
+ */
+public class SessionResponse {
+    private String sessionId;
+    private GameStateSnapshot gameState;
+    
+    public SessionResponse() {}
+    
+    public SessionResponse(String sessionId, GameStateSnapshot gameState) {
+        this.sessionId = sessionId;
+        this.gameState = gameState;
+    }
+    
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+    
+    public GameStateSnapshot getGameState() {
+        return gameState;
+    }
+    
+    public void setGameState(GameStateSnapshot gameState) {
+        this.gameState = gameState;
+    }
+}
@@ -0,0 +1,83 @@
+package com.rpg.rpg_game.event;
+
+import com.rpg.rpg_game.model.EnemyType;
+
+/**
+ * Événement de jeu lu depuis un GameEventRing (construit à la lecture,
+ * jamais sur le chemin critique qui le publie).
+ * Sens des champs selon le type :
+ * ENEMY_HIT / PLAYER_HIT : subjectId = ennemi, amount = dégâts ;
+ * ENEMY_KILLED : subjectId = ennemi, amount = expérience gagnée ;
+ * PLAYER_DEATH : subjectId = ennemi auteur du dernier coup ;
+ * LEVEL_UP : amount = nouveau niveau ;
+ * MOVE_BLOCKED : subjectId = obstacle (0 pour une limite de carte), x/y = position visée.
+ */
+public class GameEvent {
+    private final long sequence;
+    private final GameEventType type;
+    private final long timestamp;
+    private final long gameTime;
+    private final int subjectId;
+    private final EnemyType enemyType;
+    private final int amount;
+    private final int x;
+    private final int y;
+    
+    public GameEvent(long sequence, GameEventType type, long timestamp, long gameTime,
+                     int subjectId, EnemyType enemyType, int amount, int x, int y) {
+        this.sequence = sequence;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.gameTime = gameTime;
+        this.subjectId = subjectId;
+        this.enemyType = enemyType;
+        this.amount = amount;
+        this.x = x;
+        this.y = y;
+    }
+    
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public GameEventType getType() {
+        return type;
+    }
+    
+    /**
+     * Horodatage de publication (millisecondes epoch)
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public long getGameTime() {
+        return gameTime;
+    }
+    
+    public int getSubjectId() {
+        return subjectId;
+    }
+    
+    public EnemyType getEnemyType() {
+        return enemyType;
+    }
+    
+    public int getAmount() {
+        return amount;
+    }
+    
+    public int getX() {
+        return x;
+    }
+    
+    public int getY() {
+        return y;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("GameEvent{#%d %s, subject=%d, enemyType=%s, amount=%d, pos=(%d,%d), time=%d}",
+                sequence, type, subjectId, enemyType, amount, x, y, gameTime);
+    }
+}
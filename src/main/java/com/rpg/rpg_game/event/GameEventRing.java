@@ -0,0 +1,192 @@
+package com.rpg.rpg_game.event;
+
+import com.rpg.rpg_game.model.EnemyType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Tampon circulaire préalloué et sans verrou d'événements de jeu.
+ * Les champs de chaque événement sont rangés dans des tableaux primitifs :
+ * publier un événement ne construit ni objet ni chaîne, seulement quelques
+ * écritures après la réservation d'un numéro de séquence (AtomicLong).
+ * Plusieurs producteurs peuvent publier en parallèle ; les plus anciens
+ * événements sont écrasés quand le tampon est plein, sans jamais bloquer le
+ * jeu : un producteur n'attend que celui du tour précédent sur la même case,
+ * ce qui n'arrive que si capacity événements sont publiés pendant une écriture.
+ * Chaque case porte la séquence publiée, relue après les champs (seqlock) :
+ * un lecteur ignore un événement réécrit pendant sa lecture.
+ * La vidange (drain) suppose un consommateur unique ; recent() peut être
+ * appelé de n'importe quel thread.
+ */
+public class GameEventRing {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long WRITING = -1L;
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicLong lostCount = new AtomicLong();
+
+    // Séquence publiée dans chaque case (WRITING pendant une écriture)
+    private final long[] published;
+    private final byte[] types;
+    private final byte[] enemyTypes; // ordinal + 1, 0 si aucun
+    private final long[] timestamps;
+    private final long[] gameTimes;
+    private final int[] subjectIds;
+    private final int[] amounts;
+    private final int[] xs;
+    private final int[] ys;
+
+    // Position du consommateur unique (drain)
+    private long drainCursor;
+
+    public GameEventRing() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GameEventRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacité doit être une puissance de deux: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.published = new long[capacity];
+        Arrays.fill(published, WRITING);
+        this.types = new byte[capacity];
+        this.enemyTypes = new byte[capacity];
+        this.timestamps = new long[capacity];
+        this.gameTimes = new long[capacity];
+        this.subjectIds = new int[capacity];
+        this.amounts = new int[capacity];
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+    }
+
+    /**
+     * Publie un événement ; sans allocation ni verrou
+     */
+    public void publish(GameEventType type, long gameTime, int subjectId, EnemyType enemyType,
+                        int amount, int x, int y) {
+        long sequence = nextSequence.getAndIncrement();
+        int index = (int) sequence & mask;
+
+        // Les écritures d'une même case se succèdent dans l'ordre des séquences :
+        // sinon un producteur en retard republierait une séquence plus ancienne
+        // par-dessus la suivante, qui ne serait jamais ni vidangée ni comptée perdue
+        if (sequence >= capacity) {
+            while ((long) PUBLISHED.getAcquire(published, index) != sequence - capacity) {
+                Thread.onSpinWait();
+            }
+        }
+
+        // Case marquée en écriture avant de toucher aux champs
+        PUBLISHED.setOpaque(published, index, WRITING);
+        VarHandle.storeStoreFence();
+
+        types[index] = (byte) type.ordinal();
+        enemyTypes[index] = (byte) (enemyType == null ? 0 : enemyType.ordinal() + 1);
+        timestamps[index] = System.currentTimeMillis();
+        gameTimes[index] = gameTime;
+        subjectIds[index] = subjectId;
+        amounts[index] = amount;
+        xs[index] = x;
+        ys[index] = y;
+
+        PUBLISHED.setRelease(published, index, sequence);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Nombre total d'événements publiés depuis la création
+     */
+    public long getPublishedCount() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Nombre d'événements écrasés avant d'avoir été vidangés
+     */
+    public long getLostCount() {
+        return lostCount.get();
+    }
+
+    /**
+     * Les derniers événements publiés (au plus limit), du plus ancien au plus récent
+     */
+    public List<GameEvent> recent(int limit) {
+        long end = nextSequence.get();
+        long start = Math.max(0, end - Math.min(limit, capacity));
+        List<GameEvent> events = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            GameEvent event = read(sequence);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Transmet au consommateur les événements publiés depuis la dernière vidange.
+     * S'arrête sur un événement encore en cours d'écriture, repris à la vidange suivante.
+     * Réservé à un consommateur unique. Retourne le nombre d'événements transmis.
+     */
+    public int drain(Consumer<GameEvent> consumer) {
+        long end = nextSequence.get();
+        if (end - drainCursor > capacity) {
+            lostCount.addAndGet(end - capacity - drainCursor);
+            drainCursor = end - capacity;
+        }
+        int drained = 0;
+        while (drainCursor < end) {
+            int index = (int) drainCursor & mask;
+            long state = (long) PUBLISHED.getAcquire(published, index);
+            if (state < drainCursor) {
+                break; // Pas encore publié
+            }
+            GameEvent event = state == drainCursor ? read(drainCursor) : null;
+            if (event == null) {
+                lostCount.incrementAndGet(); // Déjà écrasé par un producteur plus rapide
+            } else {
+                consumer.accept(event);
+                drained++;
+            }
+            drainCursor++;
+        }
+        return drained;
+    }
+
+    /**
+     * Lit l'événement d'une séquence, ou null s'il n'est pas (ou plus) disponible
+     */
+    private GameEvent read(long sequence) {
+        int index = (int) sequence & mask;
+        if ((long) PUBLISHED.getAcquire(published, index) != sequence) {
+            return null;
+        }
+        int enemyType = enemyTypes[index];
+        GameEvent event = new GameEvent(sequence, GameEventType.fromOrdinal(types[index]),
+                timestamps[index], gameTimes[index], subjectIds[index],
+                enemyType == 0 ? null : ENEMY_TYPES[enemyType - 1],
+                amounts[index], xs[index], ys[index]);
+        VarHandle.loadLoadFence();
+        if ((long) PUBLISHED.getOpaque(published, index) != sequence) {
+            return null; // Réécrit pendant la lecture
+        }
+        return event;
+    }
+}
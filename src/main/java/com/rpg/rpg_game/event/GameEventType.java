@@ -0,0 +1,32 @@
+package com.rpg.rpg_game.event;
+
+/**
+ * Types d'événements de combat et de déplacement publiés dans le GameEventRing.
+ */
+public enum GameEventType {
+    ENEMY_HIT("Le joueur touche un ennemi"),
+    ENEMY_KILLED("Un ennemi est éliminé"),
+    PLAYER_HIT("Un ennemi touche le joueur"),
+    PLAYER_DEATH("Le joueur meurt"),
+    LEVEL_UP("Le joueur gagne un niveau"),
+    MOVE_BLOCKED("Déplacement du joueur bloqué");
+    
+    private static final GameEventType[] VALUES = values();
+    
+    private final String description;
+    
+    GameEventType(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    /**
+     * Type correspondant à un ordinal, sans recopie du tableau de values()
+     */
+    static GameEventType fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
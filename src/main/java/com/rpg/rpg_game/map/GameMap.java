@@ -0,0 +1,226 @@
+package com.rpg.rpg_game.map;
+
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Carte compilée (fichier .rpgmap), projetée en mémoire par FileChannel.map :
+ * les pages sont partagées entre toutes les sessions, et tous les processus,
+ * qui utilisent la même carte. L'ouverture parcourt le fichier une fois pour
+ * en vérifier la somme de contrôle et les types des enregistrements ; une
+ * carte ouverte est donc cohérente. Lecture seule et thread-safe : seules des
+ * lectures absolues sont faites sur le tampon.
+ *
+ * Format (entiers 32 bits gros-boutistes) :
+ * <pre>
+ * en-tête    magic "RPGM", version, largeur, hauteur, joueur x/y, taille de
+ *            cellule, nombre d'obstacles, nombre d'apparitions, colonnes et
+ *            lignes de la grille de collision, CRC32 de tout ce qui suit
+ *            l'en-tête
+ * obstacles  type (ordinal), x, y, largeur, hauteur
+ * apparitions type (ordinal), x, y
+ * grille     aligné sur 8 octets : un bit par cellule, ligne par ligne, mis si
+ *            un obstacle recouvre la cellule (mots de 64 bits)
+ * </pre>
+ */
+public final class GameMap {
+
+    static final int MAGIC = 0x5250474D; // "RPGM"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 12 * Integer.BYTES;
+    static final int CHECKSUM_OFFSET = 11 * Integer.BYTES;
+    static final int OBSTACLE_BYTES = 5 * Integer.BYTES;
+    static final int SPAWN_BYTES = 3 * Integer.BYTES;
+
+    private static final ObstacleType[] OBSTACLE_TYPES = ObstacleType.values();
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+
+    private final ByteBuffer buffer;
+    private final int width;
+    private final int height;
+    private final int playerX;
+    private final int playerY;
+    private final int cellSize;
+    private final int obstacleCount;
+    private final int spawnCount;
+    private final int columns;
+    private final int rows;
+    private final int spawnsOffset;
+    private final int bitmapOffset;
+
+    private GameMap(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Fichier de carte invalide");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Version de carte non prise en charge: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.width = buffer.getInt(8);
+        this.height = buffer.getInt(12);
+        this.playerX = buffer.getInt(16);
+        this.playerY = buffer.getInt(20);
+        this.cellSize = buffer.getInt(24);
+        this.obstacleCount = buffer.getInt(28);
+        this.spawnCount = buffer.getInt(32);
+        this.columns = buffer.getInt(36);
+        this.rows = buffer.getInt(40);
+        if (cellSize <= 0 || obstacleCount < 0 || spawnCount < 0 || columns < 0 || rows < 0
+                || buffer.capacity() != expectedSize(obstacleCount, spawnCount, columns, rows)) {
+            throw new IllegalArgumentException("Fichier de carte tronqué ou incohérent");
+        }
+        this.spawnsOffset = HEADER_BYTES + obstacleCount * OBSTACLE_BYTES;
+        this.bitmapOffset = bitmapOffset(obstacleCount, spawnCount);
+        if (buffer.getInt(CHECKSUM_OFFSET) != checksum(buffer)) {
+            throw new IllegalArgumentException("Fichier de carte corrompu (somme de contrôle)");
+        }
+        for (int i = 0; i < obstacleCount; i++) {
+            checkOrdinal(buffer.getInt(HEADER_BYTES + i * OBSTACLE_BYTES), OBSTACLE_TYPES.length, "d'obstacle", i);
+        }
+        for (int i = 0; i < spawnCount; i++) {
+            checkOrdinal(buffer.getInt(spawnsOffset + i * SPAWN_BYTES), ENEMY_TYPES.length, "d'ennemi", i);
+        }
+    }
+
+    private static long expectedSize(int obstacleCount, int spawnCount, int columns, int rows) {
+        long end = HEADER_BYTES + (long) obstacleCount * OBSTACLE_BYTES + (long) spawnCount * SPAWN_BYTES;
+        long words = ((long) columns * rows + Long.SIZE - 1) / Long.SIZE;
+        return ((end + Long.BYTES - 1) & -Long.BYTES) + words * Long.BYTES;
+    }
+
+    private static void checkOrdinal(int ordinal, int count, String kind, int record) {
+        if (ordinal < 0 || ordinal >= count) {
+            throw new IllegalArgumentException("Type " + kind + " inconnu dans l'enregistrement " + record
+                    + " de la carte: " + ordinal);
+        }
+    }
+
+    /**
+     * CRC32 de tout ce qui suit l'en-tête : enregistrements et grille
+     */
+    static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_BYTES, buffer.limit() - HEADER_BYTES));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Projette un fichier .rpgmap en mémoire (lecture seule)
+     */
+    public static GameMap open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            return new GameMap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    static int bitmapOffset(int obstacleCount, int spawnCount) {
+        int end = HEADER_BYTES + obstacleCount * OBSTACLE_BYTES + spawnCount * SPAWN_BYTES;
+        return (end + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    static int bitmapWords(int columns, int rows) {
+        return (int) (((long) columns * rows + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getPlayerX() {
+        return playerX;
+    }
+
+    public int getPlayerY() {
+        return playerY;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getObstacleCount() {
+        return obstacleCount;
+    }
+
+    public int getSpawnCount() {
+        return spawnCount;
+    }
+
+    public int getSizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Nouvel obstacle (propre à l'état de jeu qui le reçoit) d'après l'enregistrement i
+     */
+    public Obstacle createObstacle(int i) {
+        int offset = HEADER_BYTES + i * OBSTACLE_BYTES;
+        return new Obstacle(buffer.getInt(offset + 4), buffer.getInt(offset + 8),
+                buffer.getInt(offset + 12), buffer.getInt(offset + 16),
+                OBSTACLE_TYPES[buffer.getInt(offset)]);
+    }
+
+    public List<Obstacle> createObstacles() {
+        List<Obstacle> obstacles = new ArrayList<>(obstacleCount);
+        for (int i = 0; i < obstacleCount; i++) {
+            obstacles.add(createObstacle(i));
+        }
+        return obstacles;
+    }
+
+    public EnemyType getSpawnType(int i) {
+        return ENEMY_TYPES[buffer.getInt(spawnsOffset + i * SPAWN_BYTES)];
+    }
+
+    public int getSpawnX(int i) {
+        return buffer.getInt(spawnsOffset + i * SPAWN_BYTES + 4);
+    }
+
+    public int getSpawnY(int i) {
+        return buffer.getInt(spawnsOffset + i * SPAWN_BYTES + 8);
+    }
+
+    /**
+     * Vrai si la grille de collision garantit qu'aucun obstacle de la carte
+     * ne chevauche le rectangle (bords exclus). Faux si une cellule recouverte
+     * est marquée ou sort de la carte : il faut alors un test exact.
+     */
+    public boolean isAreaFree(int x, int y, int rectWidth, int rectHeight) {
+        int minX = Math.floorDiv(x, cellSize);
+        int minY = Math.floorDiv(y, cellSize);
+        int maxX = Math.floorDiv(x + Math.max(1, rectWidth) - 1, cellSize);
+        int maxY = Math.floorDiv(y + Math.max(1, rectHeight) - 1, cellSize);
+        if (minX < 0 || minY < 0 || maxX >= columns || maxY >= rows) {
+            return false;
+        }
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                if (isCellBlocked(cx, cy)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isCellBlocked(int cx, int cy) {
+        long bit = (long) cy * columns + cx;
+        long word = buffer.getLong(bitmapOffset + (int) (bit >>> 6) * Long.BYTES);
+        return (word & (1L << bit)) != 0;
+    }
+}
@@ -0,0 +1,130 @@
+package com.rpg.rpg_game.map;
+
+import com.rpg.rpg_game.model.Obstacle;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compile une carte source (.map) en fichier binaire (.rpgmap) lu par GameMap :
+ * obstacles, points d'apparition et grille de collision précalculée.
+ * Utilisable en ligne de commande :
+ * <pre>
+ * java -cp rpg-game.jar com.rpg.rpg_game.map.MapCompiler carte.map [carte.rpgmap]
+ * </pre>
+ */
+public final class MapCompiler {
+
+    public static final int CELL_SIZE = 8;
+    public static final String SOURCE_EXTENSION = ".map";
+    public static final String BINARY_EXTENSION = ".rpgmap";
+
+    private MapCompiler() {
+    }
+
+    /**
+     * Écrit la carte compilée. Le fichier est d'abord écrit à côté puis renommé :
+     * un lecteur ne voit jamais de fichier partiel.
+     */
+    public static void compile(MapDefinition map, Path output) throws IOException {
+        ByteBuffer buffer = toBuffer(map);
+        Path directory = output.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, output.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    static ByteBuffer toBuffer(MapDefinition map) {
+        int columns = (map.getWidth() + CELL_SIZE - 1) / CELL_SIZE;
+        int rows = (map.getHeight() + CELL_SIZE - 1) / CELL_SIZE;
+        int obstacleCount = map.getObstacles().size();
+        int spawnCount = map.getSpawns().size();
+        int bitmapOffset = GameMap.bitmapOffset(obstacleCount, spawnCount);
+        ByteBuffer buffer = ByteBuffer.allocate(bitmapOffset + GameMap.bitmapWords(columns, rows) * Long.BYTES);
+
+        buffer.putInt(GameMap.MAGIC).putInt(GameMap.VERSION)
+                .putInt(map.getWidth()).putInt(map.getHeight())
+                .putInt(map.getPlayerX()).putInt(map.getPlayerY())
+                .putInt(CELL_SIZE).putInt(obstacleCount).putInt(spawnCount)
+                .putInt(columns).putInt(rows)
+                .putInt(0); // somme de contrôle, écrite une fois le reste en place
+        for (Obstacle obstacle : map.getObstacles()) {
+            buffer.putInt(obstacle.getType().ordinal())
+                    .putInt(obstacle.getX()).putInt(obstacle.getY())
+                    .putInt(obstacle.getWidth()).putInt(obstacle.getHeight());
+        }
+        for (MapDefinition.Spawn spawn : map.getSpawns()) {
+            buffer.putInt(spawn.getType().ordinal()).putInt(spawn.getX()).putInt(spawn.getY());
+        }
+
+        long[] bitmap = rasterize(map.getObstacles(), columns, rows);
+        buffer.position(bitmapOffset);
+        for (long word : bitmap) {
+            buffer.putLong(word);
+        }
+        buffer.flip();
+        return buffer.putInt(GameMap.CHECKSUM_OFFSET, GameMap.checksum(buffer));
+    }
+
+    /**
+     * Marque chaque cellule qu'un obstacle recouvre, même partiellement (bords exclus)
+     */
+    private static long[] rasterize(Iterable<Obstacle> obstacles, int columns, int rows) {
+        long[] bitmap = new long[GameMap.bitmapWords(columns, rows)];
+        for (Obstacle obstacle : obstacles) {
+            int fromX = Math.max(0, Math.floorDiv(obstacle.getX(), CELL_SIZE));
+            int fromY = Math.max(0, Math.floorDiv(obstacle.getY(), CELL_SIZE));
+            int toX = Math.min(columns - 1, Math.floorDiv(obstacle.getX() + obstacle.getWidth() - 1, CELL_SIZE));
+            int toY = Math.min(rows - 1, Math.floorDiv(obstacle.getY() + obstacle.getHeight() - 1, CELL_SIZE));
+            for (int cy = fromY; cy <= toY; cy++) {
+                for (int cx = fromX; cx <= toX; cx++) {
+                    long bit = (long) cy * columns + cx;
+                    bitmap[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            }
+        }
+        return bitmap;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: MapCompiler <carte" + SOURCE_EXTENSION + "> [<sortie" + BINARY_EXTENSION + ">]");
+            System.exit(2);
+        }
+        Path source = Path.of(args[0]);
+        Path output;
+        if (args.length == 2) {
+            output = Path.of(args[1]);
+        } else {
+            String name = source.getFileName().toString();
+            if (name.endsWith(SOURCE_EXTENSION)) {
+                name = name.substring(0, name.length() - SOURCE_EXTENSION.length());
+            }
+            output = source.resolveSibling(name + BINARY_EXTENSION);
+        }
+
+        MapDefinition map;
+        try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            map = MapDefinition.parse(reader);
+        }
+        compile(map, output);
+        System.out.printf("%s -> %s (%d obstacles, %d apparitions, %d octets)%n", source, output,
+                map.getObstacles().size(), map.getSpawns().size(), Files.size(output));
+    }
+}
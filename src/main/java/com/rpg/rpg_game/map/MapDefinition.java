@@ -0,0 +1,169 @@
+package com.rpg.rpg_game.map;
+
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Carte au format source, lisible et modifiable à la main (fichiers .map) :
+ * une directive par ligne, lignes vides et commentaires (#) ignorés.
+ * <pre>
+ * size 800 600
+ * player 400 300
+ * obstacle ROCK 350 60 48 48
+ * spawn GOBLIN 100 80
+ * </pre>
+ * Compilée en fichier binaire par MapCompiler.
+ */
+public class MapDefinition {
+
+    private int width;
+    private int height;
+    private int playerX;
+    private int playerY;
+    private final List<Obstacle> obstacles = new ArrayList<>();
+    private final List<Spawn> spawns = new ArrayList<>();
+
+    /**
+     * Lit une carte source ; une directive inconnue ou mal formée lève
+     * IllegalArgumentException avec son numéro de ligne
+     */
+    public static MapDefinition parse(Reader source) throws IOException {
+        MapDefinition map = new MapDefinition();
+        boolean sized = false;
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            String[] tokens = content.split("\\s+");
+            try {
+                switch (tokens[0].toLowerCase(Locale.ROOT)) {
+                    case "size":
+                        expect(tokens, 3);
+                        map.width = positive(tokens[1]);
+                        map.height = positive(tokens[2]);
+                        sized = true;
+                        break;
+                    case "player":
+                        expect(tokens, 3);
+                        map.playerX = Integer.parseInt(tokens[1]);
+                        map.playerY = Integer.parseInt(tokens[2]);
+                        break;
+                    case "obstacle":
+                        expect(tokens, 6);
+                        map.obstacles.add(new Obstacle(Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3]),
+                                positive(tokens[4]), positive(tokens[5]),
+                                ObstacleType.valueOf(tokens[1].toUpperCase(Locale.ROOT))));
+                        break;
+                    case "spawn":
+                        expect(tokens, 4);
+                        map.spawns.add(new Spawn(EnemyType.valueOf(tokens[1].toUpperCase(Locale.ROOT)),
+                                Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3])));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("directive inconnue: " + tokens[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Ligne " + lineNumber + " : " + e.getMessage(), e);
+            }
+        }
+        if (!sized) {
+            throw new IllegalArgumentException("Directive size manquante");
+        }
+        return map;
+    }
+
+    private static void expect(String[] tokens, int count) {
+        if (tokens.length != count) {
+            throw new IllegalArgumentException(tokens[0] + " attend " + (count - 1) + " valeurs");
+        }
+    }
+
+    private static int positive(String token) {
+        int value = Integer.parseInt(token);
+        if (value <= 0) {
+            throw new IllegalArgumentException("valeur positive attendue: " + token);
+        }
+        return value;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public int getPlayerX() {
+        return playerX;
+    }
+
+    public void setPlayerX(int playerX) {
+        this.playerX = playerX;
+    }
+
+    public int getPlayerY() {
+        return playerY;
+    }
+
+    public void setPlayerY(int playerY) {
+        this.playerY = playerY;
+    }
+
+    public List<Obstacle> getObstacles() {
+        return obstacles;
+    }
+
+    public List<Spawn> getSpawns() {
+        return spawns;
+    }
+
+    /**
+     * Point d'apparition d'un ennemi
+     */
+    public static class Spawn {
+        private final EnemyType type;
+        private final int x;
+        private final int y;
+
+        public Spawn(EnemyType type, int x, int y) {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+        }
+
+        public EnemyType getType() {
+            return type;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.rpg.rpg_game.map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Cartes compilées, projetées en mémoire une seule fois par nom et partagées
+ * par toutes les sessions. Une carte est cherchée d'abord sous forme binaire
+ * dans le répertoire rpg.maps.dir (&lt;nom&gt;.rpgmap, produit par MapCompiler),
+ * sinon sa source est lue dans le classpath (maps/&lt;nom&gt;.map) et compilée
+ * dans le cache rpg.maps.cache-dir, réutilisé tant que la source ne change pas.
+ *
+ * Le cache est réservé à son propriétaire : il est créé, ou ramené, en
+ * rwx------ sur les systèmes POSIX. Sans rpg.maps.cache-dir (tests, outils en
+ * ligne de commande, bancs d'essai), c'est un répertoire temporaire propre au
+ * processus, au nom imprévisible, supprimé à l'arrêt : rien n'est écrit dans
+ * le répertoire de l'utilisateur. Un fichier du cache refusé à l'ouverture
+ * (voir GameMap) est recompilé.
+ */
+@Component
+public class MapRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MapRepository.class);
+
+    public static final String DEFAULT_MAP = "default";
+
+    private static final Pattern MAP_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private final Path mapsDirectory;
+    private final Path cacheDirectory;
+    private final Map<String, GameMap> maps = new ConcurrentHashMap<>();
+
+    // Cache par défaut, partagé par les dépôts du processus et créé au premier besoin
+    private static Path processCacheDirectory;
+
+    public MapRepository() {
+        this("");
+    }
+
+    public MapRepository(String mapsDirectory) {
+        this(mapsDirectory, "");
+    }
+
+    @Autowired
+    public MapRepository(@Value("${rpg.maps.dir:}") String mapsDirectory,
+                         @Value("${rpg.maps.cache-dir:}") String cacheDirectory) {
+        this.mapsDirectory = mapsDirectory == null || mapsDirectory.isBlank() ? null : Path.of(mapsDirectory);
+        this.cacheDirectory = cacheDirectory == null || cacheDirectory.isBlank() ? null : Path.of(cacheDirectory);
+    }
+
+    /**
+     * Répertoire où les sources sont compilées ; celui du processus s'il
+     * n'est pas configuré
+     */
+    public Path getCacheDirectory() {
+        if (cacheDirectory != null) {
+            return cacheDirectory;
+        }
+        try {
+            return processCacheDirectory();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Création du cache de cartes impossible", e);
+        }
+    }
+
+    /**
+     * Répertoire temporaire du processus, créé en rwx------ par
+     * Files.createTempDirectory et supprimé, avec son contenu, à l'arrêt
+     */
+    private static synchronized Path processCacheDirectory() throws IOException {
+        if (processCacheDirectory == null) {
+            Path directory = Files.createTempDirectory("rpg-maps-");
+            directory.toFile().deleteOnExit();
+            processCacheDirectory = directory;
+        }
+        return processCacheDirectory;
+    }
+
+    /**
+     * Carte du nom donné, chargée au premier appel puis partagée.
+     * Lève IllegalArgumentException si la carte n'existe pas.
+     */
+    public GameMap get(String name) {
+        if (name == null || !MAP_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Nom de carte invalide: " + name);
+        }
+        return maps.computeIfAbsent(name, this::load);
+    }
+
+    private GameMap load(String name) {
+        try {
+            if (mapsDirectory != null) {
+                Path compiled = mapsDirectory.resolve(name + MapCompiler.BINARY_EXTENSION);
+                if (Files.isRegularFile(compiled)) {
+                    return open(name, compiled);
+                }
+            }
+            return openCached(name);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Chargement de la carte " + name + " impossible", e);
+        }
+    }
+
+    private GameMap open(String name, Path file) throws IOException {
+        GameMap map = GameMap.open(file);
+        log.info("Carte {} chargée depuis {} ({} obstacles, {} apparitions, {} octets)",
+                name, file, map.getObstacleCount(), map.getSpawnCount(), map.getSizeInBytes());
+        return map;
+    }
+
+    /**
+     * Ouvre la carte compilée du cache, en la recompilant si le fichier en
+     * place est refusé (corrompu, tronqué ou incohérent)
+     */
+    private GameMap openCached(String name) throws IOException {
+        Path compiled = compileFromClasspath(name, false);
+        try {
+            return open(name, compiled);
+        } catch (IllegalArgumentException e) {
+            log.warn("Carte {} du cache refusée ({}), recompilation", compiled, e.getMessage());
+            return open(name, compileFromClasspath(name, true));
+        }
+    }
+
+    /**
+     * Compile la source du classpath dans le cache, sauf si le fichier compilé
+     * existe déjà et que force est faux ; le nom du fichier compilé porte la
+     * version du format et la somme de contrôle de la source
+     */
+    private Path compileFromClasspath(String name, boolean force) throws IOException {
+        byte[] source;
+        try (InputStream in = MapRepository.class.getResourceAsStream("/maps/" + name + MapCompiler.SOURCE_EXTENSION)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Carte inconnue: " + name);
+            }
+            source = in.readAllBytes();
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(source);
+        Path directory = cacheDirectory != null ? cacheDirectory : processCacheDirectory();
+        Path compiled = directory.resolve(
+                name + "-v" + GameMap.VERSION + "-" + Long.toHexString(checksum.getValue()) + MapCompiler.BINARY_EXTENSION);
+        if (force || !Files.isRegularFile(compiled)) {
+            createPrivateDirectory(directory);
+            MapDefinition map = MapDefinition.parse(new InputStreamReader(
+                    new ByteArrayInputStream(source), StandardCharsets.UTF_8));
+            MapCompiler.compile(map, compiled);
+            if (cacheDirectory == null) {
+                // Supprimé avant son répertoire (ordre inverse des inscriptions)
+                compiled.toFile().deleteOnExit();
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Crée le répertoire en rwx------, ou y ramène un répertoire existant ;
+     * le cache ne doit pouvoir être modifié que par son propriétaire, puisque
+     * ses fichiers sont projetés en mémoire tels quels. Sans permissions
+     * POSIX, le répertoire est seulement créé.
+     */
+    static void createPrivateDirectory(Path directory) throws IOException {
+        if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(directory);
+            return;
+        }
+        if (!Files.isDirectory(directory)) {
+            Path parent = directory.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try {
+                Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            } catch (FileAlreadyExistsException e) {
+                // Créé entre-temps par un autre chargement : ses permissions sont vérifiées ci-dessous
+            }
+        }
+        // Le masque de création (umask) a pu retirer des droits, jamais en ajouter
+        if (!Files.getPosixFilePermissions(directory).equals(OWNER_ONLY)) {
+            Files.setPosixFilePermissions(directory, OWNER_ONLY);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.rpg.rpg_game.model;
+
+/**
+ * Directions de déplacement du joueur, combinées en masque de bits : une
+ * diagonale est l'union de deux directions (UP | LEFT). Deux directions
+ * opposées s'annulent. Les noms ("up", "up+left"...) ne servent qu'aux
+ * frontières texte (anciens endpoints, journal, enregistrements) : la
+ * simulation ne manipule que le masque.
+ */
+public final class Direction {
+
+    public static final int NONE = 0;
+    public static final int UP = 1;
+    public static final int DOWN = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int ALL = UP | DOWN | LEFT | RIGHT;
+
+    private static final String[] NAMES = {"up", "down", "left", "right"};
+
+    private Direction() {
+    }
+
+    /**
+     * Masque d'un nom de direction, ou de plusieurs joints par '+' ("up+left"),
+     * sans tenir compte de la casse. Lève IllegalArgumentException pour un nom inconnu.
+     */
+    public static int parse(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Direction de déplacement manquante");
+        }
+        int directions = NONE;
+        int start = 0;
+        while (start <= name.length()) {
+            int end = name.indexOf('+', start);
+            if (end < 0) {
+                end = name.length();
+            }
+            directions |= single(name, start, end);
+            start = end + 1;
+        }
+        return directions;
+    }
+
+    private static int single(String name, int start, int end) {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].length() == end - start && name.regionMatches(true, start, NAMES[i], 0, end - start)) {
+                return 1 << i;
+            }
+        }
+        if (end - start == 4 && name.regionMatches(true, start, "none", 0, 4)) {
+            return NONE;
+        }
+        throw new IllegalArgumentException("Direction inconnue: " + name);
+    }
+
+    /**
+     * Nom d'un masque, réciproque de parse ("none" pour un masque vide)
+     */
+    public static String format(int directions) {
+        check(directions);
+        if (directions == NONE) {
+            return "none";
+        }
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < NAMES.length; i++) {
+            if ((directions & (1 << i)) != 0) {
+                if (name.length() > 0) {
+                    name.append('+');
+                }
+                name.append(NAMES[i]);
+            }
+        }
+        return name.toString();
+    }
+
+    /**
+     * Lève IllegalArgumentException si le masque contient d'autres bits que les directions
+     */
+    public static int check(int directions) {
+        if ((directions & ~ALL) != 0) {
+            throw new IllegalArgumentException("Masque de directions invalide: " + directions);
+        }
+        return directions;
+    }
+
+    /**
+     * Composante horizontale du masque : -1, 0 ou 1
+     */
+    public static int dx(int directions) {
+        return ((directions & RIGHT) >>> 3) - ((directions & LEFT) >>> 2);
+    }
+
+    /**
+     * Composante verticale du masque (y vers le bas) : -1, 0 ou 1
+     */
+    public static int dy(int directions) {
+        return ((directions & DOWN) >>> 1) - (directions & UP);
+    }
+}
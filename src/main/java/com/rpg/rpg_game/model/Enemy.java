@@ -1,23 +1,42 @@
 package com.rpg.rpg_game.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rpg.rpg_game.spatial.EnemySpatialIndex;
+
 /**
  * Modèle représentant un ennemi dans le jeu RPG.
+ * Les caractéristiques communes à un type (points de vie maximum, attaque,
+ * vitesse, distance d'aggro) ne sont pas copiées dans chaque instance : elles
+ * sont lues dans l'archétype partagé du type (voir EnemyArchetypes).
+ * Une fois ajouté à un GameState, l'ennemi devient une vue sur l'EnemyStore :
+ * position, points de vie, type et attaque en cours sont lus et écrits dans
+ * les tableaux du stockage. Les mutateurs de position tiennent à jour
+ * l'index spatial qui contient l'ennemi.
  */
 public class Enemy {
     private int id;
     private int x;
     private int y;
     private int hp;
-    private int maxHp;
-    private int attack;
-    private double speed;
     private EnemyType type;
     private int zoneX;
     private int zoneY;
     private boolean isAttacking;
+    private double remainderX;
+    private double remainderY;
     private long lastAttack;
     private double patrolDirection;
-    private int aggroDistance;
+    
+    // Stockage colonnaire de rattachement (null si l'ennemi est détaché)
+    private EnemyStore store;
+    private int slot = -1;
+    private long handle = EnemyStore.NO_HANDLE;
+    
+    // Vrai tant que l'instance attend dans un EnemyPool
+    private boolean pooled;
+    
+    // Entrée de l'index spatial qui contient l'ennemi (gérée par EnemySpatialIndex)
+    private Object spatialEntry;
     
     // Constructeurs
     public Enemy() {
@@ -25,7 +44,15 @@ public class Enemy {
         this.lastAttack = 0;
     }
     
+    /**
+     * Direction de patrouille tirée d'un générateur initialisé par
+     * l'identifiant : deux ennemis de même identifiant patrouillent de même
+     */
     public Enemy(int id, int x, int y, EnemyType type, int zoneX, int zoneY) {
+        this(id, x, y, type, zoneX, zoneY, new GameRandom(id));
+    }
+    
+    public Enemy(int id, int x, int y, EnemyType type, int zoneX, int zoneY, GameRandom random) {
         this.id = id;
         this.x = x;
         this.y = y;
@@ -34,38 +61,38 @@ public class Enemy {
         this.zoneY = zoneY;
         this.isAttacking = false;
         this.lastAttack = 0;
-        this.patrolDirection = Math.random() * 2 * Math.PI;
+        this.patrolDirection = random.nextDouble() * 2 * Math.PI;
         
         // Initialiser les stats selon le type
         initializeStats();
     }
-    
+
     /**
-     * Initialise les statistiques selon le type d'ennemi
+     * Constructeur de copie (instantanés de l'état) : la copie est détachée,
+     * ses champs sont lus dans le stockage si l'original y est rattaché
+     */
+    public Enemy(Enemy other) {
+        this.id = other.id;
+        this.x = other.getX();
+        this.y = other.getY();
+        this.hp = other.getHp();
+        this.type = other.getType();
+        this.zoneX = other.zoneX;
+        this.zoneY = other.zoneY;
+        this.isAttacking = other.isAttacking();
+        this.remainderX = other.getRemainderX();
+        this.remainderY = other.getRemainderY();
+        this.lastAttack = other.lastAttack;
+        this.patrolDirection = other.patrolDirection;
+    }
+
+    /**
+     * Points de vie pleins pour le type ; les autres caractéristiques sont
+     * lues dans l'archétype partagé du type
      */
     private void initializeStats() {
-        switch (type) {
-            case GOBLIN:
-                this.hp = 40;
-                this.maxHp = 40;
-                this.attack = 15;
-                this.speed = 1.2;
-                this.aggroDistance = 100;
-                break;
-            case TROLL:
-                this.hp = 120;
-                this.maxHp = 120;
-                this.attack = 30;
-                this.speed = 0.8;
-                this.aggroDistance = 80;
-                break;
-            case RABBIT:
-                this.hp = 25;
-                this.maxHp = 25;
-                this.attack = 5;
-                this.speed = 2.8;
-                this.aggroDistance = 70;
-                break;
+        if (type != null) {
+            setHp(EnemyArchetypes.of(type).getMaxHp());
         }
     }
     
@@ -79,51 +106,67 @@ public class Enemy {
     }
     
     public int getX() {
-        return x;
+        return store != null ? store.getX(slot) : x;
     }
     
     public void setX(int x) {
-        this.x = x;
+        setPosition(x, getY());
     }
     
     public int getY() {
-        return y;
+        return store != null ? store.getY(slot) : y;
     }
     
     public void setY(int y) {
-        this.y = y;
+        setPosition(getX(), y);
+    }
+    
+    /**
+     * Déplace l'ennemi ; s'il est indexé, l'index spatial qui le contient
+     * est mis à jour (voir EnemySpatialIndex.relocate)
+     */
+    public void setPosition(int x, int y) {
+        if (store != null) {
+            store.setPosition(slot, x, y);
+        } else {
+            this.x = x;
+            this.y = y;
+        }
+        if (spatialEntry != null) {
+            EnemySpatialIndex.relocate(this);
+        }
     }
     
     public int getHp() {
-        return hp;
+        return store != null ? store.getHp(slot) : hp;
     }
     
     public void setHp(int hp) {
-        this.hp = hp;
+        if (store != null) {
+            store.setHp(slot, hp);
+        } else {
+            this.hp = hp;
+        }
     }
     
-    public int getMaxHp() {
-        return maxHp;
+    /**
+     * Caractéristiques partagées du type, ou null si le type n'est pas défini
+     */
+    @JsonIgnore
+    public EnemyArchetype getArchetype() {
+        return type != null ? EnemyArchetypes.of(type) : null;
     }
     
-    public void setMaxHp(int maxHp) {
-        this.maxHp = maxHp;
+    public int getMaxHp() {
+        return type != null ? EnemyArchetypes.of(type).getMaxHp() : 0;
     }
     
     public int getAttack() {
-        return attack;
-    }
-    
-    public void setAttack(int attack) {
-        this.attack = attack;
+        return type != null ? EnemyArchetypes.of(type).getAttack() : 0;
     }
     
     public double getSpeed() {
-        return speed;
-    }
-    
-    public void setSpeed(double speed) {
-        this.speed = speed;
+        return type != null ? EnemyArchetypes.of(type).getSpeed() : 0;
     }
     
     public EnemyType getType() {
@@ -132,6 +175,9 @@ public class Enemy {
     
     public void setType(EnemyType type) {
         this.type = type;
+        if (store != null) {
+            store.setType(slot, type);
+        }
         initializeStats(); // Réinitialiser les stats si le type change
     }
     
@@ -152,11 +198,38 @@ public class Enemy {
     }
     
     public boolean isAttacking() {
-        return isAttacking;
+        return store != null ? store.isAttacking(slot) : isAttacking;
     }
     
     public void setAttacking(boolean attacking) {
-        isAttacking = attacking;
+        if (store != null) {
+            store.setAttacking(slot, attacking);
+        } else {
+            isAttacking = attacking;
+        }
+    }
+    
+    /**
+     * Part fractionnaire du déplacement pas encore appliquée à la position
+     * (voir EnemyStore.getRemainderX)
+     */
+    @JsonIgnore
+    public double getRemainderX() {
+        return store != null ? store.getRemainderX(slot) : remainderX;
+    }
+    
+    @JsonIgnore
+    public double getRemainderY() {
+        return store != null ? store.getRemainderY(slot) : remainderY;
+    }
+    
+    public void setRemainder(double remainderX, double remainderY) {
+        if (store != null) {
+            store.setRemainder(slot, remainderX, remainderY);
+        } else {
+            this.remainderX = remainderX;
+            this.remainderY = remainderY;
+        }
     }
     
     public long getLastAttack() {
@@ -176,20 +249,101 @@ public class Enemy {
     }
     
     public int getAggroDistance() {
-        return aggroDistance;
+        return type != null ? EnemyArchetypes.of(type).getAggroDistance() : 0;
+    }
+    
+    @JsonIgnore
+    public Object getSpatialEntry() {
+        return spatialEntry;
+    }
+    
+    public void setSpatialEntry(Object spatialEntry) {
+        this.spatialEntry = spatialEntry;
+    }
+    
+    /**
+     * Poignée stable dans le stockage de l'état de jeu, NO_HANDLE si l'ennemi est détaché
+     */
+    @JsonIgnore
+    public long getHandle() {
+        return handle;
+    }
+    
+    // Rattachement au stockage colonnaire (appelé par EnemyStore)
+    
+    boolean isAttached() {
+        return store != null;
+    }
+    
+    boolean isAttachedTo(EnemyStore store) {
+        return this.store == store;
+    }
+    
+    int getSlot() {
+        return slot;
+    }
+    
+    void attach(EnemyStore store, int slot, long handle) {
+        this.store = store;
+        this.slot = slot;
+        this.handle = handle;
+    }
+    
+    void moveTo(int slot) {
+        this.slot = slot;
+    }
+    
+    /**
+     * Recopie les champs chauds depuis le stockage avant de s'en détacher
+     */
+    void detach() {
+        x = store.getX(slot);
+        y = store.getY(slot);
+        hp = store.getHp(slot);
+        isAttacking = store.isAttacking(slot);
+        remainderX = store.getRemainderX(slot);
+        remainderY = store.getRemainderY(slot);
+        store = null;
+        slot = -1;
+        handle = EnemyStore.NO_HANDLE;
+    }
+    
+    // Recyclage (appelé par EnemyPool)
+    
+    boolean isPooled() {
+        return pooled;
     }
     
-    public void setAggroDistance(int aggroDistance) {
-        this.aggroDistance = aggroDistance;
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+    
+    /**
+     * Remet l'instance détachée dans l'état d'un new Enemy()
+     */
+    void reset() {
+        id = 0;
+        x = 0;
+        y = 0;
+        hp = 0;
+        type = null;
+        zoneX = 0;
+        zoneY = 0;
+        isAttacking = false;
+        remainderX = 0;
+        remainderY = 0;
+        lastAttack = 0;
+        patrolDirection = 0;
+        spatialEntry = null;
     }
     
     // Méthodes utilitaires
     public boolean isAlive() {
-        return hp > 0;
+        return getHp() > 0;
     }
     
     public void takeDamage(int damage) {
-        this.hp = Math.max(0, hp - damage);
+        setHp(Math.max(0, getHp() - damage));
     }
     
     public boolean canAttack(long currentTime, int attackCooldown) {
@@ -235,6 +389,6 @@ public class Enemy {
     @Override
     public String toString() {
         return String.format("Enemy{id=%d, type=%s, x=%d, y=%d, hp=%d/%d, zone=(%d,%d)}", 
-                           id, type, x, y, hp, maxHp, zoneX, zoneY);
+                           id, type, getX(), getY(), getHp(), getMaxHp(), zoneX, zoneY);
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.rpg.rpg_game.model;
+
+/**
+ * Caractéristiques immuables d'un type d'ennemi (poids-mouche) : une seule
+ * instance par type, référencée par tous les ennemis de ce type au lieu que
+ * chacun en porte une copie. Chargées par EnemyArchetypes.
+ */
+public final class EnemyArchetype {
+
+    private final EnemyType type;
+    private final int maxHp;
+    private final int attack;
+    private final double speed;
+    private final int aggroDistance;
+    private final int expValue;
+    private final int scoreValue;
+
+    public EnemyArchetype(EnemyType type, int maxHp, int attack, double speed,
+                          int aggroDistance, int expValue, int scoreValue) {
+        this.type = type;
+        this.maxHp = maxHp;
+        this.attack = attack;
+        this.speed = speed;
+        this.aggroDistance = aggroDistance;
+        this.expValue = expValue;
+        this.scoreValue = scoreValue;
+    }
+
+    public EnemyType getType() {
+        return type;
+    }
+
+    public int getMaxHp() {
+        return maxHp;
+    }
+
+    public int getAttack() {
+        return attack;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public int getAggroDistance() {
+        return aggroDistance;
+    }
+
+    public int getExpValue() {
+        return expValue;
+    }
+
+    public int getScoreValue() {
+        return scoreValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EnemyArchetype{%s, hp=%d, attack=%d, speed=%.1f, aggro=%d, exp=%d, score=%d}",
+                type, maxHp, attack, speed, aggroDistance, expValue, scoreValue);
+    }
+}
@@ -0,0 +1,63 @@
+package com.rpg.rpg_game.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Table des archétypes d'ennemis, chargée une seule fois depuis la ressource
+ * enemy-archetypes.properties : source unique des caractéristiques de chaque
+ * type. Une entrée manquante ou invalide fait échouer le chargement de la
+ * classe plutôt que de laisser un type sans statistiques.
+ */
+public final class EnemyArchetypes {
+
+    public static final String RESOURCE = "/enemy-archetypes.properties";
+
+    private static final EnemyArchetype[] ARCHETYPES = load();
+
+    private EnemyArchetypes() {
+    }
+
+    /**
+     * Archétype d'un type d'ennemi
+     */
+    public static EnemyArchetype of(EnemyType type) {
+        return ARCHETYPES[type.ordinal()];
+    }
+
+    private static EnemyArchetype[] load() {
+        Properties properties = new Properties();
+        try (InputStream input = EnemyArchetypes.class.getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException("Ressource introuvable: " + RESOURCE);
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Lecture impossible: " + RESOURCE, e);
+        }
+
+        EnemyType[] types = EnemyType.values();
+        EnemyArchetype[] archetypes = new EnemyArchetype[types.length];
+        for (EnemyType type : types) {
+            String prefix = type.name().toLowerCase(Locale.ROOT) + ".";
+            archetypes[type.ordinal()] = new EnemyArchetype(type,
+                    Integer.parseInt(value(properties, prefix + "max-hp")),
+                    Integer.parseInt(value(properties, prefix + "attack")),
+                    Double.parseDouble(value(properties, prefix + "speed")),
+                    Integer.parseInt(value(properties, prefix + "aggro-distance")),
+                    Integer.parseInt(value(properties, prefix + "exp")),
+                    Integer.parseInt(value(properties, prefix + "score")));
+        }
+        return archetypes;
+    }
+
+    private static String value(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Caractéristique manquante dans " + RESOURCE + ": " + key);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,78 @@
+package com.rpg.rpg_game.model;
+
+/**
+ * Réserve d'instances Enemy retirées d'un état de jeu (tuées, chunk évincé),
+ * réutilisées par les apparitions suivantes au lieu d'en allouer de nouvelles.
+ * Une instance rendue garde son dernier état jusqu'à sa réutilisation : elle
+ * n'est remise à zéro qu'à la sortie de la réserve. Au-delà de la capacité,
+ * les instances rendues sont laissées au ramasse-miettes.
+ * Non thread-safe : utilisée sous le verrou de la session.
+ */
+public class EnemyPool {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Enemy[] free;
+    private int size;
+    private long createdCount;
+    private long reusedCount;
+
+    public EnemyPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EnemyPool(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("La capacité de la réserve ne peut pas être négative");
+        }
+        this.free = new Enemy[capacity];
+    }
+
+    /**
+     * Instance remise à zéro, prise dans la réserve ou allouée si elle est vide
+     */
+    public Enemy acquire() {
+        if (size == 0) {
+            createdCount++;
+            return new Enemy();
+        }
+        Enemy enemy = free[--size];
+        free[size] = null;
+        enemy.setPooled(false);
+        enemy.reset();
+        reusedCount++;
+        return enemy;
+    }
+
+    /**
+     * Rend une instance détachée de tout état de jeu. Retourne faux si elle
+     * n'est pas gardée (réserve pleine, ou instance déjà rendue).
+     */
+    public boolean release(Enemy enemy) {
+        if (enemy.isAttached()) {
+            throw new IllegalArgumentException("Ennemi encore rangé dans un état de jeu: " + enemy);
+        }
+        if (enemy.isPooled() || size == free.length) {
+            return false;
+        }
+        enemy.setPooled(true);
+        free[size++] = enemy;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return free.length;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public long getReusedCount() {
+        return reusedCount;
+    }
+}
@@ -0,0 +1,354 @@
+package com.rpg.rpg_game.model;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Stockage colonnaire des ennemis d'un GameState : les champs lus à chaque tick
+ * (position et son reliquat de sous-pixels, points de vie, type, attaque en
+ * cours) sont rangés dans des
+ * tableaux primitifs parallèles, parcourus séquentiellement par la boucle d'IA ;
+ * la vitesse, commune à un type, est lue dans une table indexée par type.
+ * Chaque ennemi stocké reste accessible sous forme d'objet Enemy (vue) dont les
+ * getters et setters lisent et écrivent dans ces tableaux ; les champs froids
+ * (attaque, zone, recharge...) restent dans l'objet.
+ *
+ * Le stockage est une slot map : les emplacements sont contigus (parcours
+ * dense), un retrait déplace le dernier ennemi dans l'emplacement libéré (O(1),
+ * l'ordre n'est donc pas conservé), et chaque ennemi reçoit une poignée stable
+ * (indice d'une table d'indirection et génération) qui survit aux déplacements
+ * d'emplacement. Une poignée devient périmée dès que son ennemi est retiré :
+ * la génération de l'indice est incrémentée avant sa réutilisation.
+ * Non thread-safe : utilisé sous le verrou de la session.
+ */
+public class EnemyStore {
+
+    // Poignée d'un ennemi détaché ; les générations commencent à 1, aucune poignée valide n'est nulle
+    public static final long NO_HANDLE = 0L;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final EnemyType[] TYPES = EnemyType.values();
+    private static final double[] SPEEDS = new double[TYPES.length];
+
+    static {
+        for (EnemyType enemyType : TYPES) {
+            SPEEDS[enemyType.ordinal()] = EnemyArchetypes.of(enemyType).getSpeed();
+        }
+    }
+
+    private int size;
+    private int[] x;
+    private int[] y;
+    private int[] hp;
+    private byte[] type;
+    private boolean[] attacking;
+    private double[] remainderX;
+    private double[] remainderY;
+    private Enemy[] views;
+    private int[] slotBuffer = new int[0];
+
+    // Table d'indirection des poignées : emplacement dense de chaque indice, et
+    // indice de chaque emplacement. Les indices libres sont chaînés via denseOf.
+    private int[] sparseOf;
+    private int[] denseOf = new int[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private int sparseCount;
+    private int freeSparse = -1;
+
+    public EnemyStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getX(int slot) {
+        return x[slot];
+    }
+
+    public int getY(int slot) {
+        return y[slot];
+    }
+
+    public int getHp(int slot) {
+        return hp[slot];
+    }
+
+    public EnemyType getType(int slot) {
+        return TYPES[type[slot]];
+    }
+
+    public int getTypeOrdinal(int slot) {
+        return type[slot];
+    }
+
+    public double getSpeed(int slot) {
+        return SPEEDS[type[slot]];
+    }
+
+    public boolean isAttacking(int slot) {
+        return attacking[slot];
+    }
+
+    /**
+     * Part fractionnaire du déplacement pas encore appliquée à x, dans ]-1, 1[
+     */
+    public double getRemainderX(int slot) {
+        return remainderX[slot];
+    }
+
+    public double getRemainderY(int slot) {
+        return remainderY[slot];
+    }
+
+    /**
+     * Tampon d'emplacements d'au moins size() cases, réutilisé d'un tick à
+     * l'autre par la boucle d'IA pour éviter une allocation par tick
+     */
+    public int[] getSlotBuffer() {
+        if (slotBuffer.length < size) {
+            slotBuffer = new int[views.length];
+        }
+        return slotBuffer;
+    }
+
+    /**
+     * Vue objet de l'ennemi rangé à cet emplacement
+     */
+    public Enemy getEnemy(int slot) {
+        return views[slot];
+    }
+
+    /**
+     * Poignée stable de l'ennemi rangé à cet emplacement
+     */
+    public long getHandle(int slot) {
+        int sparse = sparseOf[slot];
+        return handle(sparse, generations[sparse]);
+    }
+
+    /**
+     * Emplacement courant de l'ennemi d'une poignée, ou -1 si elle est périmée
+     */
+    public int slotOf(long handle) {
+        int sparse = (int) handle;
+        if (handle == NO_HANDLE || sparse < 0 || sparse >= sparseCount
+                || generations[sparse] != (int) (handle >>> 32)) {
+            return -1;
+        }
+        return denseOf[sparse];
+    }
+
+    /**
+     * Ennemi d'une poignée, ou null si elle est périmée
+     */
+    public Enemy getEnemy(long handle) {
+        int slot = slotOf(handle);
+        return slot < 0 ? null : views[slot];
+    }
+
+    public void setPosition(int slot, int newX, int newY) {
+        x[slot] = newX;
+        y[slot] = newY;
+    }
+
+    public void setHp(int slot, int value) {
+        hp[slot] = value;
+    }
+
+    public void setAttacking(int slot, boolean value) {
+        attacking[slot] = value;
+    }
+
+    public void setRemainder(int slot, double valueX, double valueY) {
+        remainderX[slot] = valueX;
+        remainderY[slot] = valueY;
+    }
+
+    void setType(int slot, EnemyType value) {
+        type[slot] = (byte) value.ordinal();
+    }
+
+    /**
+     * Range un ennemi à la position donnée ; les suivants sont décalés d'un cran
+     */
+    public void add(int index, Enemy enemy) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", taille: " + size);
+        }
+        if (size == views.length) {
+            allocate(size * 2);
+        }
+        if (index < size) {
+            shift(index, index + 1, size - index);
+        }
+        size++;
+        load(index, enemy);
+        for (int i = index + 1; i < size; i++) {
+            relocate(i);
+        }
+    }
+
+    /**
+     * Range un ennemi dans le premier emplacement libre, en fin de tableau (O(1))
+     */
+    public void add(Enemy enemy) {
+        add(size, enemy);
+    }
+
+    /**
+     * Remplace l'ennemi d'un emplacement, retourne l'ancien (détaché)
+     */
+    public Enemy set(int slot, Enemy enemy) {
+        checkSlot(slot);
+        Enemy previous = views[slot];
+        if (previous == enemy) {
+            return previous;
+        }
+        if (enemy.isAttached()) {
+            throw new IllegalArgumentException("Ennemi déjà rangé dans un état de jeu: " + enemy);
+        }
+        previous.detach();
+        freeSparse(sparseOf[slot]);
+        load(slot, enemy);
+        return previous;
+    }
+
+    /**
+     * Retire l'ennemi d'un emplacement en O(1) : le dernier ennemi prend sa place
+     */
+    public Enemy remove(int slot) {
+        checkSlot(slot);
+        Enemy removed = views[slot];
+        removed.detach();
+        freeSparse(sparseOf[slot]);
+        int last = --size;
+        if (slot != last) {
+            shift(last, slot, 1);
+            relocate(slot);
+        }
+        views[last] = null;
+        return removed;
+    }
+
+    /**
+     * Retire tous les ennemis morts en un seul passage, chacun en O(1).
+     * Chaque ennemi retiré est passé à onRemoved une fois détaché.
+     */
+    public int removeDead(Consumer<Enemy> onRemoved) {
+        int removed = 0;
+        int slot = 0;
+        while (slot < size) {
+            if (hp[slot] <= 0) {
+                // L'ennemi déplacé dans cet emplacement est examiné au tour suivant
+                onRemoved.accept(remove(slot));
+                removed++;
+            } else {
+                slot++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Détache tous les ennemis : ils retrouvent leurs propres champs et
+     * leurs poignées deviennent périmées
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            views[i].detach();
+            views[i] = null;
+            freeSparse(sparseOf[i]);
+        }
+        size = 0;
+    }
+
+    /**
+     * Copie les champs chauds d'un ennemi dans les tableaux et le rattache
+     */
+    private void load(int slot, Enemy enemy) {
+        if (enemy.isAttached()) {
+            throw new IllegalArgumentException("Ennemi déjà rangé dans un état de jeu: " + enemy);
+        }
+        x[slot] = enemy.getX();
+        y[slot] = enemy.getY();
+        hp[slot] = enemy.getHp();
+        type[slot] = (byte) (enemy.getType() == null ? 0 : enemy.getType().ordinal());
+        attacking[slot] = enemy.isAttacking();
+        remainderX[slot] = enemy.getRemainderX();
+        remainderY[slot] = enemy.getRemainderY();
+        views[slot] = enemy;
+
+        int sparse = allocateSparse();
+        sparseOf[slot] = sparse;
+        denseOf[sparse] = slot;
+        enemy.attach(this, slot, handle(sparse, generations[sparse]));
+    }
+
+    /**
+     * Met à jour la vue et la table d'indirection d'un ennemi déplacé vers cet emplacement
+     */
+    private void relocate(int slot) {
+        views[slot].moveTo(slot);
+        denseOf[sparseOf[slot]] = slot;
+    }
+
+    private int allocateSparse() {
+        if (freeSparse >= 0) {
+            int sparse = freeSparse;
+            freeSparse = denseOf[sparse];
+            return sparse;
+        }
+        if (sparseCount == denseOf.length) {
+            denseOf = Arrays.copyOf(denseOf, sparseCount * 2);
+            generations = Arrays.copyOf(generations, sparseCount * 2);
+        }
+        generations[sparseCount] = 1;
+        return sparseCount++;
+    }
+
+    /**
+     * Périme les poignées de l'indice et le chaîne aux indices libres
+     */
+    private void freeSparse(int sparse) {
+        // Génération nulle sautée : une poignée valide n'est jamais NO_HANDLE
+        generations[sparse] = generations[sparse] == -1 ? 1 : generations[sparse] + 1;
+        denseOf[sparse] = freeSparse;
+        freeSparse = sparse;
+    }
+
+    private static long handle(int sparse, int generation) {
+        return ((long) generation << 32) | (sparse & 0xFFFFFFFFL);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(x, from, x, to, length);
+        System.arraycopy(y, from, y, to, length);
+        System.arraycopy(hp, from, hp, to, length);
+        System.arraycopy(type, from, type, to, length);
+        System.arraycopy(attacking, from, attacking, to, length);
+        System.arraycopy(remainderX, from, remainderX, to, length);
+        System.arraycopy(remainderY, from, remainderY, to, length);
+        System.arraycopy(views, from, views, to, length);
+        System.arraycopy(sparseOf, from, sparseOf, to, length);
+    }
+
+    private void allocate(int capacity) {
+        x = x == null ? new int[capacity] : Arrays.copyOf(x, capacity);
+        y = y == null ? new int[capacity] : Arrays.copyOf(y, capacity);
+        hp = hp == null ? new int[capacity] : Arrays.copyOf(hp, capacity);
+        type = type == null ? new byte[capacity] : Arrays.copyOf(type, capacity);
+        attacking = attacking == null ? new boolean[capacity] : Arrays.copyOf(attacking, capacity);
+        remainderX = remainderX == null ? new double[capacity] : Arrays.copyOf(remainderX, capacity);
+        remainderY = remainderY == null ? new double[capacity] : Arrays.copyOf(remainderY, capacity);
+        views = views == null ? new Enemy[capacity] : Arrays.copyOf(views, capacity);
+        sparseOf = sparseOf == null ? new int[capacity] : Arrays.copyOf(sparseOf, capacity);
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Index: " + slot + ", taille: " + size);
+        }
+    }
+}
@@ -36,27 +36,24 @@ public enum EnemyType {
         }
     }
     
+    /**
+     * Caractéristiques partagées par les ennemis de ce type
+     */
+    public EnemyArchetype getArchetype() {
+        return EnemyArchetypes.of(this);
+    }
+    
     /**
      * Retourne la valeur d'expérience gagnée en tuant cet ennemi
      */
     public int getExpValue() {
-        switch (this) {
-            case GOBLIN: return 20;
-            case TROLL: return 50;
-            case RABBIT: return 10;
-            default: return 0;
-        }
+        return getArchetype().getExpValue();
     }
     
     /**
      * Retourne la valeur de score gagnée en tuant cet ennemi
      */
     public int getScoreValue() {
-        switch (this) {
-            case GOBLIN: return 50;
-            case TROLL: return 150;
-            case RABBIT: return 25;
-            default: return 0;
-        }
+        return getArchetype().getScoreValue();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.rpg.rpg_game.model;
+
+/**
+ * Générateur pseudo-aléatoire d'un état de jeu (SplitMix64), initialisé par
+ * une graine : deux états de même graine soumis aux mêmes commandes tirent
+ * les mêmes nombres, ce qui rend une partie rejouable à l'identique.
+ * Son état interne tient dans un long, sauvegardé avec les instantanés.
+ * Non thread-safe : utilisé sous le verrou de la session.
+ */
+public final class GameRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private long state;
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Entier uniforme dans [0, bound) : multiplication des 32 bits de poids
+     * fort par la borne, sans division
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("La borne doit être positive: " + bound);
+        }
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Réel uniforme dans [0, 1), tiré des 53 bits de poids fort
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Graine d'origine
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * État interne courant, à sauvegarder pour reprendre la suite des tirages
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+}
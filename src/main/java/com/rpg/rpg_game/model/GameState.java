@@ -1,25 +1,79 @@
 package com.rpg.rpg_game.model;
 
+import java.util.AbstractList;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rpg.rpg_game.event.GameEventRing;
+import com.rpg.rpg_game.map.GameMap;
+import com.rpg.rpg_game.spatial.EnemySpatialIndex;
+import com.rpg.rpg_game.spatial.FlowField;
+import com.rpg.rpg_game.spatial.ObstacleSpatialHash;
+import com.rpg.rpg_game.world.ChunkedWorld;
 
 /**
  * Modèle représentant l'état complet du jeu RPG.
  */
 public class GameState {
     private Player player;
-    private List<Enemy> enemies;
+    private final EnemyStore enemyStore;
+    private final List<Enemy> enemies;
     private List<Obstacle> obstacles;
     private long gameTime;
+    private long version;
+    private int nextObstacleId = 1;
+    private int nextEnemyId = 1;
     private boolean gameRunning;
     private boolean paused;
     private String lastAction;
     private String message;
     
+    // Index spatiaux, tenus à jour par les méthodes d'ajout, de retrait et de déplacement
+    private final ObstacleSpatialHash obstacleIndex;
+    private final EnemySpatialIndex enemyIndex;
+    
+    // Instances d'ennemis retirés, réutilisées par les apparitions suivantes
+    private final EnemyPool enemyPool;
+    
+    // Champ de flux vers le joueur, partagé par les ennemis qui le poursuivent ou le fuient
+    private final FlowField flowField;
+    
+    // Événements de combat et de déplacement récents, publiés sans verrou
+    private final GameEventRing events;
+    
+    // Monde en chunks sans bornes ; null pour la carte fixe 800x600
+    private ChunkedWorld world;
+    
+    // Carte compilée partagée dont proviennent les obstacles, et version de
+    // l'index d'obstacles au chargement (sa grille n'est fiable que jusqu'au
+    // premier ajout ou retrait)
+    private GameMap map;
+    private long mapObstacleModCount;
+    
+    // Tirages aléatoires de la simulation (dégâts, patrouilles), rejouables à graine égale
+    private final GameRandom random;
+    
     // Constructeurs
     public GameState() {
-        this.enemies = new ArrayList<>();
+        this(ThreadLocalRandom.current().nextLong());
+    }
+    
+    /**
+     * État vide dont les tirages aléatoires suivent la graine donnée
+     */
+    public GameState(long seed) {
+        this.random = new GameRandom(seed);
+        this.enemyStore = new EnemyStore();
+        this.enemies = new EnemyList();
         this.obstacles = new ArrayList<>();
+        this.obstacleIndex = new ObstacleSpatialHash();
+        this.enemyIndex = new EnemySpatialIndex();
+        this.flowField = new FlowField();
+        this.enemyPool = new EnemyPool();
+        this.events = new GameEventRing();
         this.gameTime = 0;
         this.gameRunning = true;
         this.paused = false;
@@ -36,12 +90,89 @@ public class GameState {
         this.player = player;
     }
     
+    /**
+     * Liste des ennemis, adossée à l'EnemyStore : ajouts et retraits
+     * via cette liste tiennent à jour le stockage et l'index spatial
+     */
     public List<Enemy> getEnemies() {
         return enemies;
     }
     
     public void setEnemies(List<Enemy> enemies) {
-        this.enemies = enemies;
+        List<Enemy> copy = new ArrayList<>(enemies);
+        enemyStore.clear();
+        for (Enemy enemy : copy) {
+            assignEnemyId(enemy);
+            enemyStore.add(enemy);
+        }
+        enemyIndex.rebuild(copy);
+    }
+    
+    /**
+     * Ennemi d'une poignée (voir EnemyStore), ou null s'il a quitté l'état
+     */
+    public Enemy getEnemy(long handle) {
+        return enemyStore.getEnemy(handle);
+    }
+    
+    /**
+     * Retire l'ennemi d'une poignée en O(1) et rend l'instance à la réserve.
+     * Retourne faux si la poignée est périmée (ennemi déjà retiré).
+     */
+    public boolean releaseEnemy(long handle) {
+        int slot = enemyStore.slotOf(handle);
+        if (slot < 0) {
+            return false;
+        }
+        enemyPool.release(enemies.remove(slot));
+        return true;
+    }
+    
+    /**
+     * Réserve d'instances Enemy de cet état, alimentée par les ennemis retirés
+     */
+    @JsonIgnore
+    public EnemyPool getEnemyPool() {
+        return enemyPool;
+    }
+    
+    /**
+     * Stockage colonnaire des ennemis, parcouru par la boucle d'IA
+     */
+    @JsonIgnore
+    public EnemyStore getEnemyStore() {
+        return enemyStore;
+    }
+    
+    /**
+     * Index spatial des ennemis pour les requêtes par distance. Les
+     * mutateurs de position d'Enemy et moveEnemy le tiennent à jour ; seul
+     * un accès direct au stockage doit passer par moveEnemyAt.
+     */
+    @JsonIgnore
+    public EnemySpatialIndex getEnemyIndex() {
+        return enemyIndex;
+    }
+    
+    /**
+     * Déplace un ennemi et met à jour l'index spatial
+     */
+    public void moveEnemy(Enemy enemy, int x, int y) {
+        enemy.setPosition(x, y);
+        enemyIndex.update(enemy);
+    }
+    
+    /**
+     * Déplace l'ennemi d'un emplacement du stockage ; l'index spatial n'est
+     * sollicité que si l'ennemi change de cellule
+     */
+    public void moveEnemyAt(int slot, int x, int y) {
+        int oldX = enemyStore.getX(slot);
+        int oldY = enemyStore.getY(slot);
+        enemyStore.setPosition(slot, x, y);
+        if (!enemyIndex.sameCell(oldX, oldY, x, y)) {
+            enemyIndex.update(enemyStore.getEnemy(slot));
+        }
     }
     
     public List<Obstacle> getObstacles() {
@@ -50,6 +181,118 @@ public class GameState {
     
     public void setObstacles(List<Obstacle> obstacles) {
         this.obstacles = obstacles;
+        for (Obstacle obstacle : obstacles) {
+            assignObstacleId(obstacle);
+        }
+        obstacleIndex.rebuild(obstacles);
+    }
+    
+    /**
+     * Index spatial des obstacles pour les tests de collision.
+     * Ne reflète que les modifications faites via les méthodes de GameState.
+     */
+    @JsonIgnore
+    public ObstacleSpatialHash getObstacleIndex() {
+        return obstacleIndex;
+    }
+    
+    /**
+     * Champ de flux de navigation vers le joueur, recalculé par la boucle d'IA
+     * quand le joueur change de cellule ou que les obstacles changent
+     */
+    @JsonIgnore
+    public FlowField getFlowField() {
+        return flowField;
+    }
+    
+    /**
+     * Tampon des derniers événements de jeu (coups, éliminations, niveaux...)
+     */
+    @JsonIgnore
+    public GameEventRing getEvents() {
+        return events;
+    }
+    
+    /**
+     * Monde en chunks chargés autour du joueur, ou null pour la carte fixe
+     */
+    @JsonIgnore
+    public ChunkedWorld getWorld() {
+        return world;
+    }
+    
+    public void setWorld(ChunkedWorld world) {
+        this.world = world;
+    }
+    
+    /**
+     * Générateur aléatoire de la simulation
+     */
+    @JsonIgnore
+    public GameRandom getRandom() {
+        return random;
+    }
+    
+    /**
+     * Graine de l'état : avec les commandes reçues, elle suffit à rejouer la partie
+     */
+    @JsonIgnore
+    public long getSeed() {
+        return random.getSeed();
+    }
+    
+    /**
+     * Prochains identifiants attribués aux ennemis et obstacles ajoutés sans
+     * identifiant (instantanés : un état repris continue la même numérotation)
+     */
+    @JsonIgnore
+    public int getNextEnemyId() {
+        return nextEnemyId;
+    }
+    
+    public void setNextEnemyId(int nextEnemyId) {
+        this.nextEnemyId = nextEnemyId;
+    }
+    
+    @JsonIgnore
+    public int getNextObstacleId() {
+        return nextObstacleId;
+    }
+    
+    public void setNextObstacleId(int nextObstacleId) {
+        this.nextObstacleId = nextObstacleId;
+    }
+    
+    /**
+     * Carte compilée de l'état, ou null (monde en chunks, état construit à la main)
+     */
+    @JsonIgnore
+    public GameMap getMap() {
+        return map;
+    }
+    
+    /**
+     * Associe la carte dont les obstacles viennent d'être posés via setObstacles
+     */
+    public void setMap(GameMap map) {
+        this.map = map;
+        this.mapObstacleModCount = obstacleIndex.getModCount();
+    }
+    
+    /**
+     * Vrai si les obstacles de l'état sont encore exactement ceux de la carte
+     */
+    public boolean hasIntactMap() {
+        return map != null && obstacleIndex.getModCount() == mapObstacleModCount;
+    }
+    
+    /**
+     * Vrai si la grille de collision de la carte garantit que le rectangle ne
+     * touche aucun obstacle ; faux si elle ne permet pas de conclure (pas de
+     * carte, obstacles modifiés depuis le chargement, cellule occupée)
+     */
+    public boolean isAreaFreeOnMap(int x, int y, int width, int height) {
+        return hasIntactMap() && map.isAreaFree(x, y, width, height);
     }
     
     public long getGameTime() {
@@ -60,6 +303,17 @@ public class GameState {
         this.gameTime = gameTime;
     }
     
+    /**
+     * Version de l'état, incrémentée à chaque modification
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
     public boolean isGameRunning() {
         return gameRunning;
     }
@@ -93,28 +347,56 @@ public class GameState {
     }
     
     // Méthodes utilitaires
+    
+    /**
+     * Avance le temps de jeu d'un tick de simulation
+     */
     public void incrementGameTime() {
         this.gameTime++;
     }
     
+    /**
+     * Marque l'état comme modifié (nouvelle version)
+     */
+    public void incrementVersion() {
+        this.version++;
+    }
+    
     public int getEnemyCount() {
         return enemies.size();
     }
     
     public int getAliveEnemyCount() {
-        return (int) enemies.stream().filter(Enemy::isAlive).count();
+        int alive = 0;
+        for (int slot = 0; slot < enemyStore.size(); slot++) {
+            if (enemyStore.getHp(slot) > 0) {
+                alive++;
+            }
+        }
+        return alive;
     }
     
+    /**
+     * Retire les ennemis morts en un seul passage sur le stockage ;
+     * leurs instances sont rendues à la réserve
+     */
     public void removeDeadEnemies() {
-        enemies.removeIf(enemy -> !enemy.isAlive());
+        enemyStore.removeDead(enemy -> {
+            enemyIndex.remove(enemy);
+            enemyPool.release(enemy);
+        });
     }
     
     public boolean isGameOver() {
         return !gameRunning || (player != null && !player.isAlive());
     }
     
+    /**
+     * Victoire quand tous les ennemis de la carte fixe sont éliminés ;
+     * un monde en chunks n'est jamais vidé
+     */
     public boolean isVictory() {
-        return gameRunning && getAliveEnemyCount() == 0;
+        return gameRunning && world == null && getAliveEnemyCount() == 0;
     }
     
     public void addEnemy(Enemy enemy) {
@@ -122,15 +404,49 @@ public class GameState {
     }
     
     public void addObstacle(Obstacle obstacle) {
+        assignObstacleId(obstacle);
         this.obstacles.add(obstacle);
+        obstacleIndex.insert(obstacle);
+    }
+    
+    public boolean removeObstacle(Obstacle obstacle) {
+        obstacleIndex.remove(obstacle);
+        return this.obstacles.remove(obstacle);
+    }
+    
+    /**
+     * Attribue un identifiant aux ennemis qui n'en ont pas
+     */
+    private void assignEnemyId(Enemy enemy) {
+        if (enemy.getId() == 0) {
+            enemy.setId(nextEnemyId++);
+        } else {
+            nextEnemyId = Math.max(nextEnemyId, enemy.getId() + 1);
+        }
     }
     
     /**
-     * Obtient la zone actuelle du joueur
+     * Attribue un identifiant stable aux obstacles qui n'en ont pas
+     */
+    private void assignObstacleId(Obstacle obstacle) {
+        if (obstacle.getId() == 0) {
+            obstacle.setId(nextObstacleId++);
+        } else {
+            nextObstacleId = Math.max(nextObstacleId, obstacle.getId() + 1);
+        }
+    }
+    
+    /**
+     * Obtient la zone actuelle du joueur : une case de la grille 3x3 de la
+     * carte fixe, ou son chunk dans un monde en chunks
      */
     public Zone getPlayerZone() {
         if (player == null) return new Zone(0, 0);
         
+        if (world != null) {
+            return new Zone(ChunkedWorld.chunkOf(player.getX()), ChunkedWorld.chunkOf(player.getY()));
+        }
+        
         int zoneWidth = 800 / 3; // Largeur d'une zone
         int zoneHeight = 600 / 3; // Hauteur d'une zone
         
@@ -155,6 +471,87 @@ public class GameState {
                            player, getEnemyCount(), obstacles.size(), gameTime, gameRunning);
     }
     
+    /**
+     * Vue liste sur l'EnemyStore, qui répercute les modifications sur l'index spatial.
+     * Un retrait déplace le dernier ennemi à la place du retiré (O(1)) : l'ordre
+     * n'est pas conservé, mais le parcours par itérateur avec remove reste correct.
+     * La recherche d'un ennemi rangé dans cet état passe par son emplacement (O(1)).
+     */
+    private class EnemyList extends AbstractList<Enemy> implements RandomAccess {
+        
+        @Override
+        public Enemy get(int index) {
+            if (index < 0 || index >= enemyStore.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", taille: " + enemyStore.size());
+            }
+            return enemyStore.getEnemy(index);
+        }
+        
+        @Override
+        public int size() {
+            return enemyStore.size();
+        }
+        
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Enemy enemy && enemy.isAttachedTo(enemyStore) ? enemy.getSlot() : -1;
+        }
+        
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+        
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+        
+        @Override
+        public boolean remove(Object o) {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        }
+        
+        @Override
+        public void add(int index, Enemy enemy) {
+            assignEnemyId(enemy);
+            enemyStore.add(index, enemy);
+            enemyIndex.insert(enemy);
+            modCount++;
+        }
+        
+        @Override
+        public Enemy set(int index, Enemy enemy) {
+            assignEnemyId(enemy);
+            Enemy previous = enemyStore.set(index, enemy);
+            if (previous != enemy) {
+                enemyIndex.remove(previous);
+                enemyIndex.insert(enemy);
+            }
+            return previous;
+        }
+        
+        @Override
+        public Enemy remove(int index) {
+            Enemy removed = enemyStore.remove(index);
+            enemyIndex.remove(removed);
+            modCount++;
+            return removed;
+        }
+        
+        @Override
+        public void clear() {
+            enemyStore.clear();
+            enemyIndex.rebuild(List.of());
+            modCount++;
+        }
+    }
+    
     /**
      * Classe interne pour représenter une zone
      */
@@ -0,0 +1,189 @@
+package com.rpg.rpg_game.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rpg.rpg_game.spatial.ObstacleSpatialHash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Instantané immuable d'une version de l'état du jeu, construit à la
+ * première lecture de cette version et servi tel quel aux lecteurs suivants :
+ * sa lecture ne prend aucun verrou et ne croise jamais une mise à jour en cours.
+ *
+ * Mêmes champs JSON que GameState. Le joueur et les ennemis sont des copies
+ * détachées, propres à l'instantané, à ne pas modifier ; les obstacles sont
+ * partagés avec l'état, qui ne les modifie plus une fois ajoutés, et la liste
+ * qui les porte est reprise de l'instantané précédent tant que l'index
+ * d'obstacles n'a pas changé.
+ *
+ * Immuable, un instantané n'est sérialisé qu'une fois par format, quel que
+ * soit le nombre de lecteurs (voir serialized) : le coût de sérialisation
+ * suit le nombre de versions publiées, pas le nombre de requêtes.
+ */
+public final class GameStateSnapshot {
+
+    private final Player player;
+    private final List<Enemy> enemies;
+    private final List<Obstacle> obstacles;
+    private final long gameTime;
+    private final long version;
+    private final boolean gameRunning;
+    private final boolean paused;
+    private final String lastAction;
+    private final String message;
+    private final int aliveEnemyCount;
+    private final boolean gameOver;
+    private final boolean victory;
+    private final GameState.Zone playerZone;
+    private final long seed;
+
+    // Index d'obstacles et sa version à la capture, pour reprendre la liste
+    // d'obstacles dans l'instantané suivant
+    private final ObstacleSpatialHash obstacleIndex;
+    private final long obstacleModCount;
+
+    // Formes sérialisées, calculées à la première demande de chaque format
+    private final Map<String, byte[]> serialized = new ConcurrentHashMap<>(4);
+
+    private GameStateSnapshot(GameState state, GameStateSnapshot previous) {
+        this.player = state.getPlayer() != null ? new Player(state.getPlayer()) : null;
+        List<Enemy> liveEnemies = state.getEnemies();
+        List<Enemy> copies = new ArrayList<>(liveEnemies.size());
+        int alive = 0;
+        for (int i = 0; i < liveEnemies.size(); i++) {
+            Enemy copy = new Enemy(liveEnemies.get(i));
+            if (copy.isAlive()) {
+                alive++;
+            }
+            copies.add(copy);
+        }
+        this.enemies = Collections.unmodifiableList(copies);
+        this.obstacleIndex = state.getObstacleIndex();
+        this.obstacleModCount = obstacleIndex.getModCount();
+        if (previous != null && previous.obstacleIndex == obstacleIndex
+                && previous.obstacleModCount == obstacleModCount) {
+            this.obstacles = previous.obstacles;
+        } else {
+            this.obstacles = List.copyOf(state.getObstacles());
+        }
+        this.gameTime = state.getGameTime();
+        this.version = state.getVersion();
+        this.gameRunning = state.isGameRunning();
+        this.paused = state.isPaused();
+        this.lastAction = state.getLastAction();
+        this.message = state.getMessage();
+        this.aliveEnemyCount = alive;
+        this.gameOver = state.isGameOver();
+        this.victory = state.isVictory();
+        this.playerZone = state.getPlayerZone();
+        this.seed = state.getSeed();
+    }
+
+    /**
+     * Capture l'état (à appeler par le seul thread qui le modifie, ou sous son verrou)
+     */
+    public static GameStateSnapshot of(GameState state) {
+        return new GameStateSnapshot(state, null);
+    }
+
+    /**
+     * Capture l'état en reprenant la liste d'obstacles de l'instantané
+     * précédent du même état si ses obstacles n'ont pas changé depuis
+     */
+    public static GameStateSnapshot of(GameState state, GameStateSnapshot previous) {
+        return new GameStateSnapshot(state, previous);
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public List<Enemy> getEnemies() {
+        return enemies;
+    }
+
+    public List<Obstacle> getObstacles() {
+        return obstacles;
+    }
+
+    public long getGameTime() {
+        return gameTime;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isGameRunning() {
+        return gameRunning;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public String getLastAction() {
+        return lastAction;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getEnemyCount() {
+        return enemies.size();
+    }
+
+    public int getAliveEnemyCount() {
+        return aliveEnemyCount;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isVictory() {
+        return victory;
+    }
+
+    public GameState.Zone getPlayerZone() {
+        return playerZone;
+    }
+
+    /**
+     * Graine de la partie capturée, qui distingue deux parties de même version
+     */
+    @JsonIgnore
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Étiquette d'entité forte (ETag, sans guillemets) de l'instantané dans un
+     * format : une partie, une version, une représentation
+     */
+    public String entityTag(String format) {
+        return Long.toHexString(seed) + "-" + version + "-" + format;
+    }
+
+    /**
+     * Forme sérialisée de l'instantané dans un format, calculée par serializer
+     * au premier appel puis partagée par tous les lecteurs ; les appels
+     * concurrents d'un même format attendent le premier au lieu de sérialiser
+     * à leur tour. Le tableau retourné ne doit pas être modifié.
+     */
+    public byte[] serialized(String format, Function<GameStateSnapshot, byte[]> serializer) {
+        return serialized.computeIfAbsent(format, key -> serializer.apply(this));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameStateSnapshot{version=%d, time=%d, enemies=%d, obstacles=%d}",
+                version, gameTime, enemies.size(), obstacles.size());
+    }
+}
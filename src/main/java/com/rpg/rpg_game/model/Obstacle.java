@@ -4,6 +4,7 @@ package com.rpg.rpg_game.model;
  * Modèle représentant un obstacle dans le jeu RPG.
  */
 public class Obstacle {
+    private int id;
     private int x;
     private int y;
     private int width;
@@ -31,6 +32,14 @@ public class Obstacle {
     }
     
     // Getters et Setters
+    public int getId() {
+        return id;
+    }
+    
+    public void setId(int id) {
+        this.id = id;
+    }
+    
     public int getX() {
         return x;
     }
@@ -153,7 +162,7 @@ public class Obstacle {
     
     @Override
     public String toString() {
-        return String.format("Obstacle{type=%s, x=%d, y=%d, size=%dx%d, zone=(%d,%d), solid=%s}", 
-                           type, x, y, width, height, zoneX, zoneY, solid);
+        return String.format("Obstacle{id=%d, type=%s, x=%d, y=%d, size=%dx%d, zone=(%d,%d), solid=%s}", 
+                           id, type, x, y, width, height, zoneX, zoneY, solid);
     }
 }
\ No newline at end of file
@@ -36,6 +36,23 @@ public class Player {
         this.isAttacking = false;
     }
     
+    /**
+     * Constructeur de copie (instantanés de l'état)
+     */
+    public Player(Player other) {
+        this.x = other.x;
+        this.y = other.y;
+        this.hp = other.hp;
+        this.maxHp = other.maxHp;
+        this.attack = other.attack;
+        this.defense = other.defense;
+        this.level = other.level;
+        this.exp = other.exp;
+        this.score = other.score;
+        this.direction = other.direction;
+        this.isAttacking = other.isAttacking;
+    }
+    
     // Getters et Setters
     public int getX() {
         return x;
@@ -0,0 +1,539 @@
+package com.rpg.rpg_game.persistence;
+
+import com.rpg.rpg_game.service.GameCommand;
+import com.rpg.rpg_game.service.GameCommandLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal en ajout seul des sessions de jeu, écrit par segments
+ * (journal-&lt;première séquence&gt;.log) via un FileChannel.
+ *
+ * Les entrées sont encodées sous un moniteur dans un tampon commun, sans E/S ;
+ * un thread d'écriture unique vide ce tampon par lots (group commit) : une
+ * écriture et un force() par lot, quel que soit le nombre d'entrées. Après le
+ * premier ajout, il attend groupCommitMillis pour laisser d'autres entrées
+ * rejoindre le lot. Une panne peut donc perdre le dernier lot non forcé ;
+ * flush() attend que tout ce qui a été ajouté soit sur disque.
+ *
+ * Entrée : longueur, CRC32 du corps, puis le corps (séquence, type, session,
+ * données du type). À la lecture, la première entrée tronquée ou corrompue
+ * termine le journal (écriture interrompue par une panne).
+ */
+public class GameJournal implements GameCommandLog, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(GameJournal.class);
+
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    // Types d'entrée ; les commandes suivent à partir de COMMAND_BASE (ordinal du type)
+    static final byte SESSION_CREATED = 1;
+    static final byte SESSION_REMOVED = 2;
+    static final byte COMMAND_BASE = 16;
+
+    private static final GameCommand.Type[] COMMAND_TYPES = GameCommand.Type.values();
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final long groupCommitMillis;
+    private final boolean fsync;
+    private final Thread writer;
+    private final CRC32 crc = new CRC32();
+
+    // Protégés par this : entrées en attente et état partagé avec le thread d'écriture
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private int recordStart;
+    private long lastSequence;
+    private long durableSequence;
+    private boolean rotateRequested;
+    private int flushWaiters;
+    private long rotatedSequence = -1;
+    private boolean closed;
+    private IOException failure;
+
+    // Propres au thread d'écriture (et à l'ouverture / la fermeture)
+    private FileChannel channel;
+    private volatile long segmentBytes;
+    private volatile long batchCount;
+
+    /**
+     * Ouvre un nouveau segment après la séquence donnée (la dernière reprise)
+     * et démarre le thread d'écriture
+     */
+    public GameJournal(Path directory, long lastSequence, long groupCommitMillis, boolean fsync) throws IOException {
+        if (groupCommitMillis < 0) {
+            throw new IllegalArgumentException("La fenêtre de group commit ne peut pas être négative");
+        }
+        this.directory = directory;
+        this.groupCommitMillis = groupCommitMillis;
+        this.fsync = fsync;
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        Files.createDirectories(directory);
+        openSegment(lastSequence + 1);
+        this.writer = new Thread(this::writeLoop, "game-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // === Ajouts (appelés sous le verrou de la session concernée) ===
+
+    @Override
+    public long sessionCreated(String sessionId, long seed, boolean chunkedWorld) {
+        synchronized (this) {
+            ByteBuffer body = begin(SESSION_CREATED, sessionId, 1 + Long.BYTES);
+            body.put((byte) (chunkedWorld ? 1 : 0));
+            body.putLong(seed);
+            return end();
+        }
+    }
+
+    @Override
+    public long commandApplied(String sessionId, GameCommand command) {
+        byte[] direction = command.getDirection() != null
+                ? command.getDirection().getBytes(StandardCharsets.UTF_8) : null;
+        synchronized (this) {
+            ByteBuffer body = begin((byte) (COMMAND_BASE + command.getType().ordinal()), sessionId,
+                    direction != null ? Short.BYTES + direction.length : 0);
+            if (direction != null) {
+                putBytes(body, direction);
+            }
+            return end();
+        }
+    }
+
+    @Override
+    public long sessionRemoved(String sessionId) {
+        synchronized (this) {
+            begin(SESSION_REMOVED, sessionId, 0);
+            return end();
+        }
+    }
+
+    /**
+     * Réserve l'en-tête puis écrit le début du corps ; à compléter puis clore par end()
+     */
+    private ByteBuffer begin(byte kind, String sessionId, int extraBytes) {
+        byte[] id = sessionId.getBytes(StandardCharsets.UTF_8);
+        int bodyBytes = Long.BYTES + 1 + Short.BYTES + id.length + extraBytes;
+        if (bodyBytes > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Entrée de journal trop grande: " + bodyBytes + " octets");
+        }
+        ensureCapacity(RECORD_HEADER_BYTES + bodyBytes);
+        recordStart = pending.position();
+        pending.putInt(bodyBytes);
+        pending.putInt(0); // CRC, calculé par end()
+        pending.putLong(lastSequence + 1);
+        pending.put(kind);
+        putBytes(pending, id);
+        return pending;
+    }
+
+    private long end() {
+        int bodyStart = recordStart + RECORD_HEADER_BYTES;
+        crc.reset();
+        crc.update(pending.array(), bodyStart, pending.position() - bodyStart);
+        pending.putInt(recordStart + Integer.BYTES, (int) crc.getValue());
+        lastSequence++;
+        if (failure == null) {
+            notifyAll();
+        } else {
+            // Écriture impossible : on ne garde pas en mémoire ce qui ne sera jamais écrit
+            pending.clear();
+        }
+        return lastSequence;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (pending.remaining() < bytes) {
+            int capacity = pending.capacity();
+            while (capacity - pending.position() < bytes) {
+                capacity *= 2;
+            }
+            ByteBuffer larger = ByteBuffer.allocate(capacity);
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    // === Écriture par lots ===
+
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long batchSequence;
+            boolean rotate;
+            synchronized (this) {
+                try {
+                    while (pending.position() == 0 && !rotateRequested && !closed) {
+                        wait();
+                    }
+                    if (groupCommitMillis > 0) {
+                        // Fenêtre de group commit : d'autres entrées rejoignent le lot,
+                        // sauf si quelqu'un attend déjà qu'il soit écrit
+                        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(groupCommitMillis);
+                        long remaining;
+                        while (!rotateRequested && !closed && flushWaiters == 0
+                                && (remaining = deadline - System.nanoTime()) > 0) {
+                            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (closed && pending.position() == 0 && !rotateRequested) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                spare = batch;
+                batchSequence = lastSequence;
+                rotate = rotateRequested;
+                rotateRequested = false;
+            }
+
+            IOException error = null;
+            try {
+                batch.flip();
+                segmentBytes += batch.remaining();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+                batchCount++;
+                if (rotate) {
+                    channel.close();
+                    openSegment(batchSequence + 1);
+                }
+            } catch (IOException e) {
+                error = e;
+                log.error("Écriture du journal impossible, les entrées suivantes sont perdues", e);
+            } finally {
+                batch.clear();
+            }
+
+            synchronized (this) {
+                if (error != null && failure == null) {
+                    failure = error;
+                    pending.clear();
+                }
+                durableSequence = batchSequence;
+                if (rotate) {
+                    rotatedSequence = batchSequence;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        // Un segment de même nom ne peut contenir aucune entrée valide : il est vidé
+        channel = FileChannel.open(segmentPath(directory, firstSequence), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segmentBytes = 0;
+    }
+
+    /**
+     * Attend que toutes les entrées ajoutées jusqu'ici soient écrites (et forcées)
+     */
+    public void flush() throws InterruptedException {
+        synchronized (this) {
+            long target = lastSequence;
+            flushWaiters++;
+            try {
+                notifyAll();
+                while (durableSequence < target && failure == null && writer.isAlive()) {
+                    wait(100);
+                }
+            } finally {
+                flushWaiters--;
+            }
+            checkFailure();
+        }
+    }
+
+    /**
+     * Écrit les entrées en attente et commence un nouveau segment. Retourne la
+     * dernière séquence des segments précédents : un instantané pris ensuite
+     * reflète toutes ces entrées, qui pourront être supprimées par compact().
+     */
+    public long rotate() throws InterruptedException {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Journal fermé");
+            }
+            rotatedSequence = -1;
+            rotateRequested = true;
+            notifyAll();
+            while (rotatedSequence < 0 && failure == null && writer.isAlive()) {
+                wait(100);
+            }
+            checkFailure();
+            return rotatedSequence;
+        }
+    }
+
+    /**
+     * Supprime les segments dont toutes les entrées sont couvertes par un
+     * instantané (séquences inférieures ou égales à upToSequence)
+     */
+    public int compact(long upToSequence) throws IOException {
+        List<Path> segments = listSegments(directory);
+        int deleted = 0;
+        for (int i = 0; i < segments.size() - 1; i++) {
+            // Le segment i se termine juste avant le premier numéro du suivant
+            if (firstSequenceOf(segments.get(i + 1)) - 1 <= upToSequence) {
+                Files.deleteIfExists(segments.get(i));
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Journal inutilisable", failure);
+        }
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized long getDurableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Taille du segment courant, lue sans verrou (indicative)
+     */
+    public long getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    /**
+     * Nombre de lots écrits (un write et un force() chacun)
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Écrit les entrées en attente et arrête le thread d'écriture
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    // === Lecture ===
+
+    /**
+     * Entrée lue dans le journal
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final byte kind;
+        private final String sessionId;
+        private final long seed;
+        private final boolean chunkedWorld;
+        private final GameCommand command;
+
+        private Entry(long sequence, byte kind, String sessionId, long seed, boolean chunkedWorld,
+                      GameCommand command) {
+            this.sequence = sequence;
+            this.kind = kind;
+            this.sessionId = sessionId;
+            this.seed = seed;
+            this.chunkedWorld = chunkedWorld;
+            this.command = command;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public boolean isSessionCreated() {
+            return kind == SESSION_CREATED;
+        }
+
+        public boolean isSessionRemoved() {
+            return kind == SESSION_REMOVED;
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * Graine d'une session créée
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Vrai si la session créée est un monde en chunks
+         */
+        public boolean isChunkedWorld() {
+            return chunkedWorld;
+        }
+
+        /**
+         * Commande appliquée, null pour une création ou une suppression
+         */
+        public GameCommand getCommand() {
+            return command;
+        }
+    }
+
+    /**
+     * Relit dans l'ordre les entrées de séquence supérieure à afterSequence.
+     * Retourne la dernière séquence valide lue (afterSequence si aucune).
+     */
+    public static long replay(Path directory, long afterSequence, Consumer<Entry> consumer) throws IOException {
+        long last = afterSequence;
+        for (Path segment : listSegments(directory)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+            CRC32 checksum = new CRC32();
+            while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int expectedCrc = buffer.getInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES || length > buffer.remaining()) {
+                    log.warn("Fin de journal tronquée dans {} (position {})", segment.getFileName(), start);
+                    return last;
+                }
+                checksum.reset();
+                checksum.update(buffer.array(), buffer.position(), length);
+                if ((int) checksum.getValue() != expectedCrc) {
+                    log.warn("Entrée de journal corrompue dans {} (position {})", segment.getFileName(), start);
+                    return last;
+                }
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                Entry entry;
+                try {
+                    entry = decode(body);
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    log.warn("Entrée de journal illisible dans {} (position {})", segment.getFileName(), start);
+                    return last;
+                }
+                if (entry.sequence > last) {
+                    consumer.accept(entry);
+                    last = entry.sequence;
+                }
+            }
+            if (buffer.hasRemaining()) {
+                log.warn("Fin de journal tronquée dans {}", segment.getFileName());
+                return last;
+            }
+        }
+        return last;
+    }
+
+    private static Entry decode(ByteBuffer body) {
+        long sequence = body.getLong();
+        byte kind = body.get();
+        String sessionId = getString(body);
+        if (kind == SESSION_CREATED) {
+            boolean chunkedWorld = body.get() != 0;
+            return new Entry(sequence, kind, sessionId, body.getLong(), chunkedWorld, null);
+        }
+        if (kind == SESSION_REMOVED) {
+            return new Entry(sequence, kind, sessionId, 0, false, null);
+        }
+        int ordinal = kind - COMMAND_BASE;
+        if (ordinal < 0 || ordinal >= COMMAND_TYPES.length) {
+            throw new IllegalArgumentException("Type d'entrée inconnu: " + kind);
+        }
+        GameCommand command;
+        switch (COMMAND_TYPES[ordinal]) {
+            case MOVE:
+                command = GameCommand.move(getString(body));
+                break;
+            case ATTACK:
+                command = GameCommand.attack();
+                break;
+            default:
+                command = GameCommand.tick();
+                break;
+        }
+        return new Entry(sequence, kind, sessionId, 0, false, command);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Segments du répertoire, par première séquence croissante
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(firstSequenceOf(a), firstSequenceOf(b)));
+        return segments;
+    }
+
+    static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
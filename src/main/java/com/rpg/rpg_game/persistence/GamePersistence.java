@@ -0,0 +1,252 @@
+package com.rpg.rpg_game.persistence;
+
+import com.rpg.rpg_game.map.MapRepository;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.service.GameCommandLog;
+import com.rpg.rpg_game.service.GameService;
+import com.rpg.rpg_game.service.GameSession;
+import com.rpg.rpg_game.service.GameSessionRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistance des sessions de jeu : instantanés périodiques et journal des
+ * commandes (voir GameJournal). Au démarrage, le dernier instantané est chargé
+ * puis la fin du journal rejouée avant de brancher le journal sur le registre.
+ *
+ * Un thread de fond prend un instantané toutes les snapshotIntervalMillis, ou
+ * plus tôt dès que le segment courant du journal dépasse maxJournalBytes : la
+ * fin de journal à rejouer, donc la durée de reprise, reste bornée. Chaque
+ * instantané fait tourner le journal puis supprime les segments qu'il couvre.
+ * L'instantané conserve l'état complet de chaque session, générateur
+ * aléatoire, compteurs d'identifiants et monde en chunks compris (chunks
+ * chargés et ennemis qui y restent, voir GameSnapshotStore) ; le rejeu des
+ * commandes journalisées après lui reproduit donc exactement l'état d'avant
+ * l'arrêt. Seules les commandes du dernier lot non encore écrit sont perdues
+ * en cas de panne.
+ */
+@Component
+public class GamePersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(GamePersistence.class);
+
+    // Période de vérification du déclenchement par taille
+    private static final long CHECK_PERIOD_MS = 1000;
+
+    private final GameSessionRegistry sessionRegistry;
+    private final GameService gameService;
+    private final boolean enabled;
+    private final Path directory;
+    private final long snapshotIntervalMillis;
+    private final long maxJournalBytes;
+    private final long groupCommitMillis;
+    private final boolean fsync;
+    private final GameSnapshotStore snapshotStore;
+
+    private GameJournal journal;
+    private ScheduledExecutorService scheduler;
+    private volatile long lastSnapshotMillis;
+    private long snapshotCount;
+
+    public GamePersistence(GameSessionRegistry sessionRegistry,
+                           GameService gameService,
+                           MapRepository mapRepository,
+                           @Value("${rpg.persistence.enabled:false}") boolean enabled,
+                           @Value("${rpg.persistence.dir:data}") String directory,
+                           @Value("${rpg.persistence.snapshot-interval-ms:30000}") long snapshotIntervalMillis,
+                           @Value("${rpg.persistence.journal.max-bytes:16777216}") long maxJournalBytes,
+                           @Value("${rpg.persistence.journal.group-commit-ms:2}") long groupCommitMillis,
+                           @Value("${rpg.persistence.journal.fsync:true}") boolean fsync) {
+        if (snapshotIntervalMillis <= 0 || maxJournalBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "rpg.persistence.snapshot-interval-ms et rpg.persistence.journal.max-bytes doivent être positifs");
+        }
+        this.sessionRegistry = sessionRegistry;
+        this.gameService = gameService;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+        this.maxJournalBytes = maxJournalBytes;
+        this.groupCommitMillis = groupCommitMillis;
+        this.fsync = fsync;
+        this.snapshotStore = new GameSnapshotStore(this.directory, gameService, mapRepository);
+    }
+
+    /**
+     * Reprend les sessions, ouvre le journal et planifie les instantanés
+     */
+    @PostConstruct
+    public synchronized void start() throws IOException {
+        if (!enabled || journal != null) {
+            return;
+        }
+        long lastSequence = recover();
+        journal = new GameJournal(directory, lastSequence, groupCommitMillis, fsync);
+        sessionRegistry.setCommandLog(journal);
+        lastSnapshotMillis = System.currentTimeMillis();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.min(CHECK_PERIOD_MS, snapshotIntervalMillis);
+        scheduler.scheduleWithFixedDelay(this::snapshotIfDue, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Dernier instantané à l'arrêt, puis fermeture du journal
+     */
+    @PreDestroy
+    public synchronized void stop() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("Instantané d'arrêt impossible, la reprise rejouera le journal", e);
+        }
+        sessionRegistry.setCommandLog(GameCommandLog.NONE);
+        journal.close();
+        journal = null;
+    }
+
+    public synchronized boolean isRunning() {
+        return journal != null;
+    }
+
+    public synchronized long getSnapshotCount() {
+        return snapshotCount;
+    }
+
+    /**
+     * Journal courant, null si la persistance est arrêtée
+     */
+    public synchronized GameJournal getJournal() {
+        return journal;
+    }
+
+    private void snapshotIfDue() {
+        try {
+            GameJournal current = getJournal();
+            if (current == null) {
+                return;
+            }
+            boolean due = System.currentTimeMillis() - lastSnapshotMillis >= snapshotIntervalMillis
+                    || current.getSegmentBytes() >= maxJournalBytes;
+            if (due) {
+                snapshot();
+            }
+        } catch (RuntimeException e) {
+            // Ne jamais laisser une exception annuler la planification
+            log.error("Instantané des sessions impossible", e);
+        }
+    }
+
+    /**
+     * Prend un instantané de toutes les sessions et compacte le journal.
+     * Retourne la séquence couverte par l'instantané.
+     */
+    public synchronized long snapshot() {
+        if (journal == null) {
+            throw new IllegalStateException("Persistance arrêtée");
+        }
+        long started = System.nanoTime();
+        try {
+            // Tout ce qui précède la rotation est déjà appliqué aux sessions
+            long coveredSequence = journal.rotate();
+            List<byte[]> sessions = new ArrayList<>();
+            for (GameSession session : sessionRegistry.getSessions()) {
+                sessions.add(session.inspect(state ->
+                        snapshotStore.encodeSession(session.getId(), session.getLastSequence(), state)));
+            }
+            snapshotStore.write(coveredSequence, sessions);
+            int deleted = journal.compact(coveredSequence);
+            lastSnapshotMillis = System.currentTimeMillis();
+            snapshotCount++;
+            log.debug("Instantané de {} sessions (séquence {}) en {} ms, {} segments de journal supprimés",
+                    sessions.size(), coveredSequence,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), deleted);
+            return coveredSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture de l'instantané impossible", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Instantané interrompu", e);
+        }
+    }
+
+    /**
+     * Charge l'instantané, rejoue la fin du journal et réinstalle les sessions.
+     * Retourne la dernière séquence reprise.
+     */
+    long recover() throws IOException {
+        long started = System.nanoTime();
+        GameSnapshotStore.Snapshot snapshot = snapshotStore.read();
+        long coveredSequence = snapshot != null ? snapshot.getCoveredSequence() : 0;
+
+        Map<String, RecoveredSession> sessions = new LinkedHashMap<>();
+        if (snapshot != null) {
+            snapshot.getSessions().forEach((id, session) ->
+                    sessions.put(id, new RecoveredSession(session.getState(), session.getLastSequence())));
+        }
+
+        long[] replayed = new long[1];
+        long lastSequence = GameJournal.replay(directory, coveredSequence, entry -> {
+            RecoveredSession session = sessions.get(entry.getSessionId());
+            if (entry.isSessionCreated()) {
+                if (session == null) {
+                    GameState state = entry.isChunkedWorld()
+                            ? gameService.createChunkedGame(entry.getSeed())
+                            : gameService.createGame(entry.getSeed());
+                    sessions.put(entry.getSessionId(), new RecoveredSession(state, entry.getSequence()));
+                    replayed[0]++;
+                }
+            } else if (session != null && entry.getSequence() > session.lastSequence) {
+                if (entry.isSessionRemoved()) {
+                    sessions.remove(entry.getSessionId());
+                } else {
+                    entry.getCommand().applyTo(gameService, session.state);
+                    session.lastSequence = entry.getSequence();
+                }
+                replayed[0]++;
+            }
+        });
+
+        sessions.forEach((id, session) -> sessionRegistry.restoreSession(id, session.state, session.lastSequence));
+        if (snapshot != null || replayed[0] > 0) {
+            log.info("Reprise de {} sessions en {} ms ({} entrées de journal rejouées après la séquence {})",
+                    sessions.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                    replayed[0], coveredSequence);
+        }
+        return lastSequence;
+    }
+
+    private static final class RecoveredSession {
+        private final GameState state;
+        private long lastSequence;
+
+        private RecoveredSession(GameState state, long lastSequence) {
+            this.state = state;
+            this.lastSequence = lastSequence;
+        }
+    }
+}
@@ -0,0 +1,492 @@
+package com.rpg.rpg_game.persistence;
+
+import com.rpg.rpg_game.map.MapRepository;
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+import com.rpg.rpg_game.model.Player;
+import com.rpg.rpg_game.service.GameService;
+import com.rpg.rpg_game.world.Chunk;
+import com.rpg.rpg_game.world.ChunkedWorld;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Instantanés des sessions (fichier snapshot.bin compressé en GZIP, dont la
+ * somme de contrôle détecte un fichier abîmé). Le fichier est écrit à côté
+ * puis renommé : l'instantané précédent reste valide jusqu'au dernier moment.
+ *
+ * Contrairement à GameStateBinaryCodec, format d'affichage, l'état est conservé
+ * en entier (dernière attaque, direction de patrouille, reliquat de déplacement,
+ * générateur aléatoire...) : encodeState sert aussi d'empreinte exacte d'un
+ * état. Un monde en chunks est
+ * repris tel quel : ennemis (tués, blessés ou déplacés) et obstacles présents,
+ * chunks chargés et ennemis restants de chacun, sans rien régénérer ; seuls
+ * les chunks chargés ensuite le sont à partir de la graine du monde.
+ */
+public class GameSnapshotStore {
+
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private static final int MAGIC = 0x52504750; // "RPGP"
+    private static final int FORMAT_VERSION = 4;
+
+    // Origine des obstacles d'un état
+    private static final byte FIXED = 0;
+    private static final byte FIXED_DEFAULT_MAP = 1;
+    private static final byte CHUNKED = 2;
+
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+    private static final ObstacleType[] OBSTACLE_TYPES = ObstacleType.values();
+
+    private final Path directory;
+    private final GameService gameService;
+    private final MapRepository mapRepository;
+
+    public GameSnapshotStore(Path directory, GameService gameService, MapRepository mapRepository) {
+        this.directory = directory;
+        this.gameService = gameService;
+        this.mapRepository = mapRepository;
+    }
+
+    /**
+     * Session lue dans un instantané
+     */
+    public static final class SessionSnapshot {
+        private final GameState state;
+        private final long lastSequence;
+
+        SessionSnapshot(GameState state, long lastSequence) {
+            this.state = state;
+            this.lastSequence = lastSequence;
+        }
+
+        public GameState getState() {
+            return state;
+        }
+
+        /**
+         * Séquence de la dernière entrée de journal reflétée par l'état
+         */
+        public long getLastSequence() {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Instantané complet : sessions et séquence couverte
+     */
+    public static final class Snapshot {
+        private final long coveredSequence;
+        private final Map<String, SessionSnapshot> sessions;
+
+        Snapshot(long coveredSequence, Map<String, SessionSnapshot> sessions) {
+            this.coveredSequence = coveredSequence;
+            this.sessions = sessions;
+        }
+
+        /**
+         * Toutes les entrées de journal de séquence inférieure ou égale sont reflétées
+         */
+        public long getCoveredSequence() {
+            return coveredSequence;
+        }
+
+        public Map<String, SessionSnapshot> getSessions() {
+            return sessions;
+        }
+    }
+
+    /**
+     * Encode une session (à appeler sous son verrou, seule étape faite sous le verrou)
+     */
+    public byte[] encodeSession(String sessionId, long lastSequence, GameState state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(sessionId);
+            out.writeLong(lastSequence);
+            writeState(out, state);
+        } catch (IOException e) {
+            throw new IllegalStateException("Encodage en mémoire impossible", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodage complet et canonique d'un état : deux états de même encodage
+     * sont identiques pour la simulation (à appeler sous le verrou de la session)
+     */
+    public static byte[] encodeState(GameState state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeState(out, state);
+        } catch (IOException e) {
+            throw new IllegalStateException("Encodage en mémoire impossible", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reconstruit un état encodé par encodeState
+     */
+    public static GameState decodeState(byte[] encoded, GameService gameService, MapRepository mapRepository) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            return readState(in, gameService, mapRepository);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("État encodé invalide", e);
+        }
+    }
+
+    /**
+     * Écrit l'instantané des sessions encodées par encodeSession
+     */
+    public void write(long coveredSequence, List<byte[]> sessions) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(SNAPSHOT_FILE);
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (OutputStream file = Files.newOutputStream(temporary);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(file, 8192)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(coveredSequence);
+            out.writeInt(sessions.size());
+            for (byte[] session : sessions) {
+                out.write(session);
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Dernier instantané écrit, ou null s'il n'y en a pas
+     */
+    public Snapshot read() throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in, 8192)))) {
+            if (data.readInt() != MAGIC) {
+                throw new IOException("Instantané invalide: " + file);
+            }
+            int version = data.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Version d'instantané non prise en charge: " + version);
+            }
+            long coveredSequence = data.readLong();
+            int count = data.readInt();
+            Map<String, SessionSnapshot> sessions = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String id = data.readUTF();
+                long lastSequence = data.readLong();
+                sessions.put(id, new SessionSnapshot(readState(data, gameService, mapRepository), lastSequence));
+            }
+            return new Snapshot(coveredSequence, sessions);
+        }
+    }
+
+    // === État ===
+
+    private static void writeState(DataOutputStream out, GameState state) throws IOException {
+        out.writeLong(state.getVersion());
+        out.writeLong(state.getGameTime());
+        out.writeBoolean(state.isGameRunning());
+        out.writeBoolean(state.isPaused());
+        writeNullable(out, state.getLastAction());
+        writeNullable(out, state.getMessage());
+
+        Player player = state.getPlayer();
+        out.writeBoolean(player != null);
+        if (player != null) {
+            out.writeInt(player.getX());
+            out.writeInt(player.getY());
+            out.writeInt(player.getHp());
+            out.writeInt(player.getMaxHp());
+            out.writeInt(player.getAttack());
+            out.writeInt(player.getDefense());
+            out.writeInt(player.getLevel());
+            out.writeInt(player.getExp());
+            out.writeInt(player.getScore());
+            writeNullable(out, player.getDirection());
+            out.writeBoolean(player.isAttacking());
+        }
+
+        out.writeLong(state.getRandom().getSeed());
+        out.writeLong(state.getRandom().getState());
+        out.writeInt(state.getNextEnemyId());
+        out.writeInt(state.getNextObstacleId());
+        if (state.getWorld() != null) {
+            out.writeByte(CHUNKED);
+            writeWorld(out, state);
+        } else {
+            out.writeByte(state.hasIntactMap() ? FIXED_DEFAULT_MAP : FIXED);
+        }
+
+        List<Enemy> enemies = state.getEnemies();
+        out.writeInt(enemies.size());
+        for (Enemy enemy : enemies) {
+            out.writeInt(enemy.getId());
+            out.writeByte(enemy.getType().ordinal());
+            out.writeInt(enemy.getX());
+            out.writeInt(enemy.getY());
+            out.writeDouble(enemy.getRemainderX());
+            out.writeDouble(enemy.getRemainderY());
+            out.writeInt(enemy.getHp());
+            out.writeBoolean(enemy.isAttacking());
+            out.writeLong(enemy.getLastAttack());
+            out.writeDouble(enemy.getPatrolDirection());
+        }
+
+        List<Obstacle> obstacles = state.getObstacles();
+        out.writeInt(obstacles.size());
+        for (Obstacle obstacle : obstacles) {
+            out.writeInt(obstacle.getId());
+            out.writeByte(obstacle.getType() != null ? obstacle.getType().ordinal() : -1);
+            out.writeBoolean(obstacle.isSolid());
+            out.writeInt(obstacle.getX());
+            out.writeInt(obstacle.getY());
+            out.writeInt(obstacle.getWidth());
+            out.writeInt(obstacle.getHeight());
+        }
+    }
+
+    private static GameState readState(DataInputStream in, GameService gameService,
+                                       MapRepository mapRepository) throws IOException {
+        long version = in.readLong();
+        long gameTime = in.readLong();
+        boolean running = in.readBoolean();
+        boolean paused = in.readBoolean();
+        String lastAction = readNullable(in);
+        String message = readNullable(in);
+
+        Player player = null;
+        if (in.readBoolean()) {
+            player = new Player();
+            player.setX(in.readInt());
+            player.setY(in.readInt());
+            player.setHp(in.readInt());
+            player.setMaxHp(in.readInt());
+            player.setAttack(in.readInt());
+            player.setDefense(in.readInt());
+            player.setLevel(in.readInt());
+            player.setExp(in.readInt());
+            player.setScore(in.readInt());
+            player.setDirection(readNullable(in));
+            player.setAttacking(in.readBoolean());
+        }
+
+        long seed = in.readLong();
+        long randomState = in.readLong();
+        int nextEnemyId = in.readInt();
+        int nextObstacleId = in.readInt();
+        byte origin = in.readByte();
+        WorldRecord world = origin == CHUNKED ? readWorld(in) : null;
+
+        GameState state = new GameState(seed);
+        state.setPlayer(player);
+        state.setEnemies(readEnemies(in, state));
+        state.setObstacles(readObstacles(in));
+        if (world != null) {
+            restoreWorld(state, world, gameService);
+        } else if (origin == FIXED_DEFAULT_MAP) {
+            state.setMap(mapRepository.get(MapRepository.DEFAULT_MAP));
+        }
+        state.setNextEnemyId(nextEnemyId);
+        state.setNextObstacleId(nextObstacleId);
+        state.getRandom().setState(randomState);
+        state.setVersion(version);
+        state.setGameTime(gameTime);
+        state.setGameRunning(running);
+        state.setPaused(paused);
+        state.setLastAction(lastAction);
+        state.setMessage(message);
+        return state;
+    }
+
+    // === Monde en chunks ===
+
+    /**
+     * Graine, centre et chunks chargés du monde, dans leur ordre de chargement ;
+     * chaque chunk est décrit par les identifiants de ses ennemis encore dans
+     * l'état (les ennemis tués n'y sont plus) et de ses obstacles
+     */
+    private static void writeWorld(DataOutputStream out, GameState state) throws IOException {
+        ChunkedWorld world = state.getWorld();
+        out.writeLong(world.getSeed());
+        out.writeBoolean(world.isCentered());
+        out.writeInt(world.getCenterX());
+        out.writeInt(world.getCenterY());
+        Collection<Chunk> chunks = world.getLoadedChunks();
+        out.writeInt(chunks.size());
+        for (Chunk chunk : chunks) {
+            out.writeInt(chunk.getCx());
+            out.writeInt(chunk.getCy());
+            long[] handles = chunk.getEnemyHandles();
+            int present = 0;
+            for (long handle : handles) {
+                if (state.getEnemy(handle) != null) {
+                    present++;
+                }
+            }
+            out.writeInt(present);
+            for (long handle : handles) {
+                Enemy enemy = state.getEnemy(handle);
+                if (enemy != null) {
+                    out.writeInt(enemy.getId());
+                }
+            }
+            out.writeInt(chunk.getObstacles().size());
+            for (Obstacle obstacle : chunk.getObstacles()) {
+                out.writeInt(obstacle.getId());
+            }
+        }
+    }
+
+    /**
+     * Monde lu dans un instantané, réinstallé une fois ennemis et obstacles repris
+     */
+    private static final class WorldRecord {
+        private long seed;
+        private boolean centered;
+        private int centerX;
+        private int centerY;
+        private int[] chunkXs;
+        private int[] chunkYs;
+        private int[][] enemyIds;
+        private int[][] obstacleIds;
+    }
+
+    private static WorldRecord readWorld(DataInputStream in) throws IOException {
+        WorldRecord world = new WorldRecord();
+        world.seed = in.readLong();
+        world.centered = in.readBoolean();
+        world.centerX = in.readInt();
+        world.centerY = in.readInt();
+        int count = in.readInt();
+        world.chunkXs = new int[count];
+        world.chunkYs = new int[count];
+        world.enemyIds = new int[count][];
+        world.obstacleIds = new int[count][];
+        for (int i = 0; i < count; i++) {
+            world.chunkXs[i] = in.readInt();
+            world.chunkYs[i] = in.readInt();
+            world.enemyIds[i] = readIds(in);
+            world.obstacleIds[i] = readIds(in);
+        }
+        return world;
+    }
+
+    private static void restoreWorld(GameState state, WorldRecord record, GameService gameService) throws IOException {
+        Map<Integer, Enemy> enemiesById = new HashMap<>();
+        for (Enemy enemy : state.getEnemies()) {
+            enemiesById.put(enemy.getId(), enemy);
+        }
+        Map<Integer, Obstacle> obstaclesById = new HashMap<>();
+        for (Obstacle obstacle : state.getObstacles()) {
+            obstaclesById.put(obstacle.getId(), obstacle);
+        }
+
+        ChunkedWorld world = gameService.attachWorld(state, record.seed);
+        for (int i = 0; i < record.chunkXs.length; i++) {
+            long[] handles = new long[record.enemyIds[i].length];
+            for (int j = 0; j < handles.length; j++) {
+                Enemy enemy = enemiesById.get(record.enemyIds[i][j]);
+                if (enemy == null) {
+                    throw new IOException("Ennemi #" + record.enemyIds[i][j] + " du chunk absent de l'instantané");
+                }
+                handles[j] = enemy.getHandle();
+            }
+            List<Obstacle> obstacles = new ArrayList<>(record.obstacleIds[i].length);
+            for (int id : record.obstacleIds[i]) {
+                Obstacle obstacle = obstaclesById.get(id);
+                if (obstacle == null) {
+                    throw new IOException("Obstacle #" + id + " du chunk absent de l'instantané");
+                }
+                obstacles.add(obstacle);
+            }
+            world.restoreChunk(record.chunkXs[i], record.chunkYs[i], handles, obstacles);
+        }
+        world.restoreCenter(record.centered, record.centerX, record.centerY);
+    }
+
+    private static int[] readIds(DataInputStream in) throws IOException {
+        int[] ids = new int[in.readInt()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = in.readInt();
+        }
+        return ids;
+    }
+
+    /**
+     * Ennemis enregistrés, instanciés dans la réserve de l'état
+     */
+    private static List<Enemy> readEnemies(DataInputStream in, GameState state) throws IOException {
+        int count = in.readInt();
+        List<Enemy> enemies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = state.getEnemyPool().acquire();
+            enemy.setId(in.readInt());
+            enemy.setType(ENEMY_TYPES[in.readByte()]);
+            enemy.setX(in.readInt());
+            enemy.setY(in.readInt());
+            enemy.setRemainder(in.readDouble(), in.readDouble());
+            enemy.setHp(in.readInt());
+            enemy.setAttacking(in.readBoolean());
+            enemy.setLastAttack(in.readLong());
+            enemy.setPatrolDirection(in.readDouble());
+            enemies.add(enemy);
+        }
+        return enemies;
+    }
+
+    private static List<Obstacle> readObstacles(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Obstacle> obstacles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Obstacle obstacle = new Obstacle();
+            obstacle.setId(in.readInt());
+            int type = in.readByte();
+            obstacle.setType(type >= 0 ? OBSTACLE_TYPES[type] : null);
+            obstacle.setSolid(in.readBoolean());
+            obstacle.setX(in.readInt());
+            obstacle.setY(in.readInt());
+            obstacle.setWidth(in.readInt());
+            obstacle.setHeight(in.readInt());
+            obstacles.add(obstacle);
+        }
+        return obstacles;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.rpg.rpg_game.replay;
+
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.persistence.GameSnapshotStore;
+import com.rpg.rpg_game.service.GameCommand;
+import com.rpg.rpg_game.service.GameService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enregistre les commandes appliquées à une session (voir GameSession.startRecording).
+ * L'état de départ est décrit par sa seule graine s'il est identique à une
+ * partie neuve de cette graine, sinon encodé en entier ; un monde en chunks ne
+ * s'enregistre que depuis sa création, ses chunks n'étant pas sauvegardés.
+ * Non thread-safe : utilisé sous le verrou de la session.
+ */
+public final class GameRecorder {
+
+    // Au-delà, l'enregistrement est abandonné (un peu plus d'une heure de ticks à 60 Hz)
+    public static final int MAX_COMMANDS = 250_000;
+
+    private final GameRecording.Origin origin;
+    private final long seed;
+    private final byte[] initialState;
+    private final List<GameCommand> commands = new ArrayList<>();
+    private boolean overflowed;
+
+    private GameRecorder(GameRecording.Origin origin, long seed, byte[] initialState) {
+        this.origin = origin;
+        this.seed = seed;
+        this.initialState = initialState;
+    }
+
+    /**
+     * Commence un enregistrement à partir de l'état courant.
+     * Lève IllegalStateException pour un monde en chunks déjà entamé.
+     */
+    public static GameRecorder start(GameService gameService, GameState state) {
+        String current = GameRecording.fingerprint(state);
+        if (state.getWorld() != null) {
+            long worldSeed = state.getWorld().getSeed();
+            if (!GameRecording.fingerprint(gameService.createChunkedGame(worldSeed)).equals(current)) {
+                throw new IllegalStateException("Un monde en chunks ne s'enregistre que depuis sa création");
+            }
+            return new GameRecorder(GameRecording.Origin.CHUNKED, worldSeed, null);
+        }
+        long seed = state.getSeed();
+        if (GameRecording.fingerprint(gameService.createGame(seed)).equals(current)) {
+            return new GameRecorder(GameRecording.Origin.NEW, seed, null);
+        }
+        return new GameRecorder(GameRecording.Origin.STATE, seed, GameSnapshotStore.encodeState(state));
+    }
+
+    /**
+     * Ajoute une commande, après son application
+     */
+    public void record(GameCommand command) {
+        if (overflowed) {
+            return;
+        }
+        if (commands.size() >= MAX_COMMANDS) {
+            overflowed = true;
+            commands.clear();
+            return;
+        }
+        commands.add(command);
+    }
+
+    public int getCommandCount() {
+        return commands.size();
+    }
+
+    /**
+     * Termine l'enregistrement sur l'état final.
+     * Lève IllegalStateException si la limite de commandes a été dépassée.
+     */
+    public GameRecording finish(GameState finalState) {
+        if (overflowed) {
+            throw new IllegalStateException("Enregistrement abandonné au-delà de " + MAX_COMMANDS + " commandes");
+        }
+        return new GameRecording(origin, seed, initialState, new ArrayList<>(commands),
+                GameRecording.fingerprint(finalState));
+    }
+}
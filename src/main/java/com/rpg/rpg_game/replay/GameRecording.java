@@ -0,0 +1,260 @@
+package com.rpg.rpg_game.replay;
+
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.persistence.GameSnapshotStore;
+import com.rpg.rpg_game.service.GameCommand;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Enregistrement d'une partie : état de départ, suite ordonnée des commandes
+ * et empreinte de l'état final. Rejoué par GameReplayer, il doit aboutir à un
+ * état d'empreinte identique. Format texte (fichiers .rpgrec), une entrée par
+ * ligne, les ticks consécutifs regroupés :
+ * <pre>
+ * format 3
+ * new 42                      (ou chunked &lt;graine&gt;, ou state &lt;état encodé en base64&gt;)
+ * tick 12
+ * move up
+ * attack
+ * final 3f5a...               (SHA-256 de GameSnapshotStore.encodeState)
+ * </pre>
+ * Immuable.
+ */
+public final class GameRecording {
+
+    public static final String EXTENSION = ".rpgrec";
+
+    // Suit l'encodage de GameSnapshotStore.encodeState (état de départ, empreinte)
+    private static final int FORMAT = 3;
+
+    /**
+     * Origine de l'état de départ
+     */
+    public enum Origin {
+        // Partie neuve sur la carte par défaut, créée par createGame(graine)
+        NEW,
+        // Monde en chunks neuf, créé par createChunkedGame(graine)
+        CHUNKED,
+        // État quelconque d'une carte fixe, encodé en entier
+        STATE
+    }
+
+    private final Origin origin;
+    private final long seed;
+    private final byte[] initialState;
+    private final List<GameCommand> commands;
+    private final String finalFingerprint;
+
+    GameRecording(Origin origin, long seed, byte[] initialState, List<GameCommand> commands, String finalFingerprint) {
+        this.origin = origin;
+        this.seed = seed;
+        this.initialState = initialState;
+        this.commands = Collections.unmodifiableList(commands);
+        this.finalFingerprint = finalFingerprint;
+    }
+
+    public Origin getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Graine de la partie (origines NEW et CHUNKED)
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * État de départ encodé (origine STATE), null sinon
+     */
+    public byte[] getInitialState() {
+        return initialState == null ? null : initialState.clone();
+    }
+
+    public List<GameCommand> getCommands() {
+        return commands;
+    }
+
+    /**
+     * Empreinte attendue de l'état final
+     */
+    public String getFinalFingerprint() {
+        return finalFingerprint;
+    }
+
+    /**
+     * Même enregistrement avec une autre empreinte finale (mise à jour d'un
+     * corpus après un changement voulu des règles du jeu)
+     */
+    public GameRecording withFinalFingerprint(String fingerprint) {
+        return new GameRecording(origin, seed, initialState, commands, fingerprint);
+    }
+
+    /**
+     * Empreinte d'un état : SHA-256 de son encodage complet, en hexadécimal
+     * (à appeler sous le verrou de la session)
+     */
+    public static String fingerprint(GameState state) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(GameSnapshotStore.encodeState(state)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    // === Format texte ===
+
+    public void write(Writer out) throws IOException {
+        out.write("format " + FORMAT + "\n");
+        switch (origin) {
+            case NEW:
+                out.write("new " + seed + "\n");
+                break;
+            case CHUNKED:
+                out.write("chunked " + seed + "\n");
+                break;
+            default:
+                out.write("state " + Base64.getEncoder().encodeToString(initialState) + "\n");
+                break;
+        }
+        int ticks = 0;
+        for (GameCommand command : commands) {
+            if (command.getType() == GameCommand.Type.TICK) {
+                ticks++;
+                continue;
+            }
+            if (ticks > 0) {
+                out.write("tick " + ticks + "\n");
+                ticks = 0;
+            }
+            if (command.getType() == GameCommand.Type.MOVE) {
+                out.write("move " + command.getDirection() + "\n");
+            } else {
+                out.write("attack\n");
+            }
+        }
+        if (ticks > 0) {
+            out.write("tick " + ticks + "\n");
+        }
+        out.write("final " + finalFingerprint + "\n");
+    }
+
+    public String toText() {
+        StringWriter out = new StringWriter();
+        try {
+            write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Lit un enregistrement. Lève IllegalArgumentException si le texte est invalide.
+     */
+    public static GameRecording read(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        Origin origin = null;
+        long seed = 0;
+        byte[] initialState = null;
+        String fingerprint = null;
+        List<GameCommand> commands = new ArrayList<>();
+        boolean formatSeen = false;
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            try {
+                if (!formatSeen) {
+                    if (!parts[0].equals("format") || parts.length != 2 || Integer.parseInt(parts[1]) != FORMAT) {
+                        throw new IllegalArgumentException("en-tête \"format " + FORMAT + "\" attendu");
+                    }
+                    formatSeen = true;
+                    continue;
+                }
+                if (fingerprint != null) {
+                    throw new IllegalArgumentException("rien n'est attendu après l'empreinte finale");
+                }
+                if (origin == null) {
+                    switch (parts[0]) {
+                        case "new":
+                            origin = Origin.NEW;
+                            seed = Long.parseLong(argument(parts));
+                            break;
+                        case "chunked":
+                            origin = Origin.CHUNKED;
+                            seed = Long.parseLong(argument(parts));
+                            break;
+                        case "state":
+                            origin = Origin.STATE;
+                            initialState = Base64.getDecoder().decode(argument(parts));
+                            break;
+                        default:
+                            throw new IllegalArgumentException("origine attendue (new, chunked ou state)");
+                    }
+                    continue;
+                }
+                switch (parts[0]) {
+                    case "move":
+                        commands.add(GameCommand.move(argument(parts)));
+                        break;
+                    case "attack":
+                        commands.add(GameCommand.attack());
+                        break;
+                    case "tick":
+                        int count = parts.length == 1 ? 1 : Integer.parseInt(argument(parts));
+                        if (count <= 0) {
+                            throw new IllegalArgumentException("nombre de ticks invalide");
+                        }
+                        for (int i = 0; i < count; i++) {
+                            commands.add(GameCommand.tick());
+                        }
+                        break;
+                    case "final":
+                        fingerprint = argument(parts);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("commande inconnue " + parts[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Enregistrement invalide, ligne " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        if (origin == null || fingerprint == null) {
+            throw new IllegalArgumentException("Enregistrement incomplet: origine et empreinte finale requises");
+        }
+        return new GameRecording(origin, seed, initialState, commands, fingerprint);
+    }
+
+    private static String argument(String[] parts) {
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("un argument attendu après " + parts[0]);
+        }
+        return parts[1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameRecording{origin=%s, commands=%d}", origin, commands.size());
+    }
+}
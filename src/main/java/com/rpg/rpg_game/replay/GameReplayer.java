@@ -0,0 +1,186 @@
+package com.rpg.rpg_game.replay;
+
+import com.rpg.rpg_game.map.MapRepository;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.persistence.GameSnapshotStore;
+import com.rpg.rpg_game.service.GameCommand;
+import com.rpg.rpg_game.service.GameService;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rejoue un enregistrement sans serveur ni horloge : les commandes sont
+ * appliquées aussi vite que possible, puis l'empreinte de l'état final est
+ * comparée à celle enregistrée. Les fichiers .rpgrec servent ainsi de corpus
+ * de non-régression et de mesure de performance. En ligne de commande :
+ * <pre>
+ * java -cp rpg-game.jar com.rpg.rpg_game.replay.GameReplayer [--update] fichier.rpgrec...
+ * </pre>
+ * Le code de sortie vaut 1 si un rejeu diverge ; --update réécrit l'empreinte
+ * finale des fichiers après un changement voulu des règles du jeu.
+ */
+public class GameReplayer {
+
+    private final GameService gameService;
+    private final MapRepository mapRepository;
+
+    public GameReplayer() {
+        this(new MapRepository());
+    }
+
+    private GameReplayer(MapRepository mapRepository) {
+        this(new GameService(mapRepository), mapRepository);
+    }
+
+    public GameReplayer(GameService gameService, MapRepository mapRepository) {
+        this.gameService = gameService;
+        this.mapRepository = mapRepository;
+    }
+
+    /**
+     * Résultat d'un rejeu
+     */
+    public static final class Result {
+        private final GameState finalState;
+        private final String expectedFingerprint;
+        private final String actualFingerprint;
+        private final int commandCount;
+        private final int tickCount;
+        private final long elapsedNanos;
+
+        private Result(GameState finalState, String expectedFingerprint, String actualFingerprint,
+                       int commandCount, int tickCount, long elapsedNanos) {
+            this.finalState = finalState;
+            this.expectedFingerprint = expectedFingerprint;
+            this.actualFingerprint = actualFingerprint;
+            this.commandCount = commandCount;
+            this.tickCount = tickCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public GameState getFinalState() {
+            return finalState;
+        }
+
+        public String getExpectedFingerprint() {
+            return expectedFingerprint;
+        }
+
+        public String getActualFingerprint() {
+            return actualFingerprint;
+        }
+
+        /**
+         * Vrai si l'état final est identique à celui de l'enregistrement
+         */
+        public boolean matches() {
+            return expectedFingerprint.equals(actualFingerprint);
+        }
+
+        public int getCommandCount() {
+            return commandCount;
+        }
+
+        public int getTickCount() {
+            return tickCount;
+        }
+
+        /**
+         * Durée d'application des commandes, hors création de l'état de départ et empreinte
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    /**
+     * État de départ de l'enregistrement
+     */
+    public GameState initialState(GameRecording recording) {
+        switch (recording.getOrigin()) {
+            case NEW:
+                return gameService.createGame(recording.getSeed());
+            case CHUNKED:
+                return gameService.createChunkedGame(recording.getSeed());
+            case STATE:
+                return GameSnapshotStore.decodeState(recording.getInitialState(), gameService, mapRepository);
+            default:
+                throw new IllegalStateException("Origine inconnue: " + recording.getOrigin());
+        }
+    }
+
+    /**
+     * Applique les commandes de l'enregistrement à un état de départ ; retourne l'état
+     */
+    public GameState run(GameRecording recording, GameState state) {
+        for (GameCommand command : recording.getCommands()) {
+            command.applyTo(gameService, state);
+        }
+        return state;
+    }
+
+    public Result replay(GameRecording recording) {
+        GameState state = initialState(recording);
+        int ticks = 0;
+        for (GameCommand command : recording.getCommands()) {
+            if (command.getType() == GameCommand.Type.TICK) {
+                ticks++;
+            }
+        }
+        long started = System.nanoTime();
+        run(recording, state);
+        long elapsed = System.nanoTime() - started;
+        return new Result(state, recording.getFinalFingerprint(), GameRecording.fingerprint(state),
+                recording.getCommands().size(), ticks, elapsed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean update = false;
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--update")) {
+                update = true;
+            } else {
+                files.add(Path.of(arg));
+            }
+        }
+        if (files.isEmpty()) {
+            System.err.println("Usage: GameReplayer [--update] <enregistrement" + GameRecording.EXTENSION + ">...");
+            System.exit(2);
+        }
+
+        GameReplayer replayer = new GameReplayer();
+        boolean diverged = false;
+        for (Path file : files) {
+            GameRecording recording;
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                recording = GameRecording.read(reader);
+            }
+            Result result = replayer.replay(recording);
+            double millis = result.getElapsedNanos() / 1_000_000.0;
+            System.out.printf("%s: %s (%d commandes dont %d ticks en %.1f ms, %.0f ticks/s)%n", file,
+                    result.matches() ? "identique" : "DIVERGENT", result.getCommandCount(), result.getTickCount(),
+                    millis, millis > 0 ? result.getTickCount() * 1000.0 / millis : 0);
+            if (!result.matches()) {
+                if (update) {
+                    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                        recording.withFinalFingerprint(result.getActualFingerprint()).write(writer);
+                    }
+                    System.out.println("  empreinte mise à jour: " + result.getActualFingerprint());
+                } else {
+                    System.out.println("  attendue " + result.getExpectedFingerprint()
+                            + ", obtenue " + result.getActualFingerprint());
+                    diverged = true;
+                }
+            }
+        }
+        System.exit(diverged ? 1 : 0);
+    }
+}
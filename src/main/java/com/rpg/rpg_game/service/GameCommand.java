@@ -0,0 +1,101 @@
+package com.rpg.rpg_game.service;
+
+import com.rpg.rpg_game.model.Direction;
+import com.rpg.rpg_game.model.GameState;
+
+/**
+ * Commande de jeu appliquée à une session : déplacement, attaque ou tick.
+ * Seules les commandes modifient l'état d'une session ; elles sont journalisées
+ * après application (voir GameCommandLog) et rejouées telles quelles à la reprise.
+ * Immuable ; les instances sont partagées.
+ */
+public final class GameCommand {
+
+    public enum Type {
+        MOVE,
+        ATTACK,
+        TICK
+    }
+
+    private static final GameCommand ATTACK = new GameCommand(Type.ATTACK, Direction.NONE);
+    private static final GameCommand TICK = new GameCommand(Type.TICK, Direction.NONE);
+
+    // Déplacements partagés, un par masque de directions
+    private static final GameCommand[] MOVES = new GameCommand[Direction.ALL + 1];
+
+    static {
+        for (int directions = 0; directions <= Direction.ALL; directions++) {
+            MOVES[directions] = new GameCommand(Type.MOVE, directions);
+        }
+    }
+
+    private final Type type;
+    private final int directions;
+
+    private GameCommand(Type type, int directions) {
+        this.type = type;
+        this.directions = directions;
+    }
+
+    /**
+     * Déplacement désigné par son nom ("up", "up+left"...).
+     * Lève IllegalArgumentException pour une direction manquante ou inconnue.
+     */
+    public static GameCommand move(String direction) {
+        return MOVES[Direction.parse(direction)];
+    }
+
+    /**
+     * Déplacement selon un masque de Direction, diagonales comprises
+     */
+    public static GameCommand move(int directions) {
+        return MOVES[Direction.check(directions)];
+    }
+
+    public static GameCommand attack() {
+        return ATTACK;
+    }
+
+    public static GameCommand tick() {
+        return TICK;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Nom de la direction d'un déplacement (voir Direction.format), null pour les autres commandes
+     */
+    public String getDirection() {
+        return type == Type.MOVE ? Direction.format(directions) : null;
+    }
+
+    /**
+     * Masque de Direction d'un déplacement, Direction.NONE pour les autres commandes
+     */
+    public int getDirections() {
+        return directions;
+    }
+
+    /**
+     * Applique la commande à l'état (à appeler sous le verrou de la session)
+     */
+    public GameState applyTo(GameService gameService, GameState state) {
+        switch (type) {
+            case MOVE:
+                return gameService.movePlayer(state, directions);
+            case ATTACK:
+                return gameService.playerAttack(state);
+            case TICK:
+                return gameService.updateGame(state);
+            default:
+                throw new IllegalStateException("Commande inconnue: " + type);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.MOVE ? type + " " + getDirection() : type.name();
+    }
+}
@@ -0,0 +1,46 @@
+package com.rpg.rpg_game.service;
+
+/**
+ * Journal des changements des sessions : création, commandes appliquées et
+ * suppression. Chaque entrée reçoit un numéro de séquence croissant, partagé
+ * par toutes les sessions ; une session mémorise celui de sa dernière entrée.
+ * Les appels pour une même session sont faits sous son verrou, dans l'ordre
+ * d'application.
+ */
+public interface GameCommandLog {
+
+    /**
+     * Numéro de séquence d'une session jamais journalisée
+     */
+    long NO_SEQUENCE = 0;
+
+    /**
+     * Journal inactif : rien n'est écrit
+     */
+    GameCommandLog NONE = new GameCommandLog() {
+        @Override
+        public long sessionCreated(String sessionId, long seed, boolean chunkedWorld) {
+            return NO_SEQUENCE;
+        }
+
+        @Override
+        public long commandApplied(String sessionId, GameCommand command) {
+            return NO_SEQUENCE;
+        }
+
+        @Override
+        public long sessionRemoved(String sessionId) {
+            return NO_SEQUENCE;
+        }
+    };
+
+    /**
+     * @param seed graine de l'état créé (tirages aléatoires, et monde en chunks le cas échéant)
+     * @param chunkedWorld vrai pour un monde en chunks, faux pour la carte par défaut
+     */
+    long sessionCreated(String sessionId, long seed, boolean chunkedWorld);
+
+    long commandApplied(String sessionId, GameCommand command);
+
+    long sessionRemoved(String sessionId);
+}
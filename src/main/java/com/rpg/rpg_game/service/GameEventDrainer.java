@@ -0,0 +1,141 @@
+package com.rpg.rpg_game.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.rpg.rpg_game.event.GameEvent;
+import com.rpg.rpg_game.event.GameEventRing;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vidange en tâche de fond des tampons d'événements de jeu vers les logs
+ * et les compteurs de GameMetrics.
+ * Les fils de requête et la boucle de jeu ne font que publier dans le tampon ;
+ * la mise en forme et l'écriture des lignes de log se font ici, sur un
+ * thread unique (le consommateur unique exigé par GameEventRing.drain).
+ * Coups et déplacements bloqués sont tracés en DEBUG, éliminations,
+ * niveaux et morts du joueur en INFO.
+ */
+@Component
+public class GameEventDrainer {
+
+    private static final Logger log = LoggerFactory.getLogger("com.rpg.rpg_game.events");
+    private static final String DEFAULT_SESSION = "default";
+
+    private final GameService gameService;
+    private final GameSessionRegistry sessionRegistry;
+    private final GameMetrics metrics;
+    private final boolean enabled;
+    private final long intervalMillis;
+
+    private final AtomicLong drainedCount = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public GameEventDrainer(GameService gameService,
+                            GameSessionRegistry sessionRegistry,
+                            GameMetrics metrics,
+                            @Value("${rpg.events.drain.enabled:true}") boolean enabled,
+                            @Value("${rpg.events.drain.interval-ms:200}") long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("rpg.events.drain.interval-ms doit être positif");
+        }
+        this.gameService = gameService;
+        this.sessionRegistry = sessionRegistry;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drainSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        drainAll(); // Dernières traces avant l'arrêt
+    }
+
+    /**
+     * Nombre total d'événements transmis aux logs
+     */
+    public long getDrainedCount() {
+        return drainedCount.get();
+    }
+
+    /**
+     * Vide les tampons de l'état par défaut et de toutes les sessions.
+     * Appelé par le thread de vidange ; synchronisé pour rester le consommateur unique.
+     */
+    synchronized int drainAll() {
+        int drained = drain(DEFAULT_SESSION, gameService.getCurrentGameState().getEvents());
+        for (GameSession session : sessionRegistry.getSessions()) {
+            drained += drain(session.getId(), session.getGameState().getEvents());
+        }
+        drainedCount.addAndGet(drained);
+        return drained;
+    }
+
+    private int drain(String sessionId, GameEventRing ring) {
+        return ring.drain(event -> {
+            metrics.record(event);
+            logEvent(sessionId, event);
+        });
+    }
+
+    private void drainSafely() {
+        try {
+            drainAll();
+        } catch (RuntimeException e) {
+            // Une erreur ne doit pas arrêter la vidange périodique
+            log.warn("Vidange des événements interrompue", e);
+        }
+    }
+
+    private void logEvent(String sessionId, GameEvent event) {
+        switch (event.getType()) {
+            case ENEMY_HIT:
+                log.debug("[{}] Joueur attaque {} #{} pour {} dégâts", sessionId,
+                        event.getEnemyType(), event.getSubjectId(), event.getAmount());
+                break;
+            case PLAYER_HIT:
+                log.debug("[{}] {} #{} attaque le joueur pour {} dégâts", sessionId,
+                        event.getEnemyType(), event.getSubjectId(), event.getAmount());
+                break;
+            case MOVE_BLOCKED:
+                log.debug("[{}] Mouvement bloqué vers ({},{}), obstacle #{}", sessionId,
+                        event.getX(), event.getY(), event.getSubjectId());
+                break;
+            case ENEMY_KILLED:
+                log.info("[{}] {} #{} éliminé, +{} EXP", sessionId,
+                        event.getEnemyType(), event.getSubjectId(), event.getAmount());
+                break;
+            case LEVEL_UP:
+                log.info("[{}] LEVEL UP! Niveau {}", sessionId, event.getAmount());
+                break;
+            case PLAYER_DEATH:
+                log.info("[{}] Joueur tué par {} #{}", sessionId, event.getEnemyType(), event.getSubjectId());
+                break;
+        }
+    }
+}
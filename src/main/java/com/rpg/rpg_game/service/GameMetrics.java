@@ -0,0 +1,109 @@
+package com.rpg.rpg_game.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import com.rpg.rpg_game.event.GameEvent;
+import com.rpg.rpg_game.model.EnemyType;
+
+import java.util.Locale;
+
+/**
+ * Métriques Micrometer de l'état du serveur de jeu.
+ * Jauges (sessions actives, ennemis vivants, obstacles) évaluées à chaque
+ * collecte, sur les instantanés de l'état par défaut et de toutes les sessions ; compteurs
+ * (éliminations par type d'ennemi, niveaux gagnés, morts du joueur)
+ * alimentés par GameEventDrainer à partir des événements de jeu, hors
+ * de la boucle de jeu.
+ */
+@Component
+public class GameMetrics {
+
+    public static final String SESSIONS_GAUGE = "rpg.sessions.active";
+    public static final String ALIVE_ENEMIES_GAUGE = "rpg.enemies.alive";
+    public static final String OBSTACLES_GAUGE = "rpg.obstacles";
+    public static final String KILLS_COUNTER = "rpg.enemies.killed";
+    public static final String LEVEL_UPS_COUNTER = "rpg.player.level.ups";
+    public static final String PLAYER_DEATHS_COUNTER = "rpg.player.deaths";
+
+    private final GameService gameService;
+    private final GameSessionRegistry sessionRegistry;
+
+    // Compteurs d'éliminations indexés par ordinal de type d'ennemi
+    private final Counter[] kills = new Counter[EnemyType.values().length];
+    private final Counter levelUps;
+    private final Counter playerDeaths;
+
+    public GameMetrics(MeterRegistry meterRegistry, GameService gameService, GameSessionRegistry sessionRegistry) {
+        this.gameService = gameService;
+        this.sessionRegistry = sessionRegistry;
+
+        Gauge.builder(SESSIONS_GAUGE, sessionRegistry, GameSessionRegistry::getSessionCount)
+                .description("Sessions de jeu ouvertes")
+                .register(meterRegistry);
+        Gauge.builder(ALIVE_ENEMIES_GAUGE, this, GameMetrics::countAliveEnemies)
+                .description("Ennemis vivants, toutes sessions confondues")
+                .register(meterRegistry);
+        Gauge.builder(OBSTACLES_GAUGE, this, GameMetrics::countObstacles)
+                .description("Obstacles, toutes sessions confondues")
+                .register(meterRegistry);
+
+        for (EnemyType type : EnemyType.values()) {
+            kills[type.ordinal()] = Counter.builder(KILLS_COUNTER)
+                    .description("Ennemis éliminés par le joueur")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        levelUps = Counter.builder(LEVEL_UPS_COUNTER)
+                .description("Niveaux gagnés par le joueur")
+                .register(meterRegistry);
+        playerDeaths = Counter.builder(PLAYER_DEATHS_COUNTER)
+                .description("Morts du joueur")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Comptabilise un événement de jeu ; appelé par le thread de vidange
+     */
+    public void record(GameEvent event) {
+        switch (event.getType()) {
+            case ENEMY_KILLED:
+                if (event.getEnemyType() != null) {
+                    kills[event.getEnemyType().ordinal()].increment();
+                }
+                break;
+            case LEVEL_UP:
+                levelUps.increment();
+                break;
+            case PLAYER_DEATH:
+                playerDeaths.increment();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Ennemis vivants de l'état par défaut et de toutes les sessions, lus
+     * dans les compteurs publiés avec leur dernière version : aucun verrou de
+     * session n'est pris, aucun instantané n'est copié et la lecture ne compte
+     * pas comme un accès
+     */
+    double countAliveEnemies() {
+        long alive = gameService.getDefaultSession().getAliveEnemyCount();
+        for (GameSession session : sessionRegistry.getSessions()) {
+            alive += session.getAliveEnemyCount();
+        }
+        return alive;
+    }
+
+    double countObstacles() {
+        long obstacles = gameService.getDefaultSession().getObstacleCount();
+        for (GameSession session : sessionRegistry.getSessions()) {
+            obstacles += session.getObstacleCount();
+        }
+        return obstacles;
+    }
+}
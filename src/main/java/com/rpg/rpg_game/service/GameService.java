@@ -1,33 +1,89 @@
 package com.rpg.rpg_game.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.rpg.rpg_game.event.GameEventType;
+import com.rpg.rpg_game.map.GameMap;
+import com.rpg.rpg_game.map.MapRepository;
+import com.rpg.rpg_game.model.Direction;
 import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.EnemyPool;
+import com.rpg.rpg_game.model.EnemyStore;
 import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.GameRandom;
 import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.GameStateSnapshot;
 import com.rpg.rpg_game.model.Obstacle;
-import com.rpg.rpg_game.model.ObstacleType;
 import com.rpg.rpg_game.model.Player;
+import com.rpg.rpg_game.spatial.FlowField;
+import com.rpg.rpg_game.world.ChunkedWorld;
+import com.rpg.rpg_game.world.WorldGenerator;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service principal gérant toute la logique du jeu RPG.
- * Singleton qui maintient l'état du jeu en mémoire.
+ * Sans état propre : chaque opération agit sur le GameState fourni, ce qui
+ * permet de servir plusieurs sessions (voir GameSessionRegistry).
+ * Conserve un état par défaut pour les endpoints historiques sans session,
+ * porté par une GameSession : ses commandes passent par la boîte aux lettres
+ * de cette session, comme celles des autres, sans bloquer l'appelant.
+ * Les opérations de jeu sont chronométrées (@Timed, histogrammes) quand le
+ * service est un bean Spring ; les variantes sans état appellent en interne
+ * leur surcharge sans repasser par le proxy, d'où l'annotation sur les deux.
  */
 @Service
 public class GameService {
     
-    // État du jeu en mémoire (pour une session simple)
-    private GameState currentGameState;
-    private Random random = new Random();
+    private static final Logger log = LoggerFactory.getLogger(GameService.class);
+    
+    // Noms des timers Micrometer des opérations de jeu
+    public static final String MOVE_TIMER = "rpg.game.move";
+    public static final String ATTACK_TIMER = "rpg.game.attack";
+    public static final String UPDATE_TIMER = "rpg.game.update";
+    
+    // Identifiant de la session de l'état par défaut
+    public static final String DEFAULT_SESSION_ID = "default";
+    
+    // Session de l'état du jeu par défaut (endpoints historiques sans session),
+    // remplacée par resetGame
+    private volatile GameSession defaultSession;
     
     // Constantes
     private static final int MAP_WIDTH = 800;
     private static final int MAP_HEIGHT = 600;
     private static final int PLAYER_SPEED = 3;
     
+    // Distances d'aggro des archétypes, au carré, indexées par ordinal de type (boucle d'IA)
+    private static final long[] AGGRO_DISTANCE_SQUARED = new long[EnemyType.values().length];
+    private static final int TROLL_ORDINAL = EnemyType.TROLL.ordinal();
+    
+    // Pas de patrouille du troll avec 5 % de chance : seuil sur un entier uniforme,
+    // sans la division qu'imposerait nextInt(100) pour chaque troll à chaque tick
+    private static final int PATROL_THRESHOLD = (int) (Integer.MIN_VALUE + 0.05 * (1L << 32));
+    
+    static {
+        for (EnemyType type : EnemyType.values()) {
+            long distance = type.getArchetype().getAggroDistance();
+            AGGRO_DISTANCE_SQUARED[type.ordinal()] = distance * distance;
+        }
+    }
+    
+    private final MapRepository mapRepository;
+    
     public GameService() {
+        this(new MapRepository());
+    }
+    
+    @Autowired
+    public GameService(MapRepository mapRepository) {
+        this.mapRepository = mapRepository;
         initializeGame();
     }
     
@@ -35,12 +91,90 @@ public class GameService {
      * Initialise le jeu avec l'état de départ
      */
     private void initializeGame() {
-        currentGameState = new GameState();
+        defaultSession = new GameSession(DEFAULT_SESSION_ID, createGame());
+    }
+    
+    /**
+     * Crée un nouvel état de jeu indépendant sur la carte par défaut, prêt à
+     * jouer, avec une graine aléatoire
+     */
+    public GameState createGame() {
+        return createGame(ThreadLocalRandom.current().nextLong());
+    }
+    
+    /**
+     * Crée un état de jeu sur la carte par défaut ; à graine et commandes
+     * égales, la partie se déroule à l'identique
+     */
+    public GameState createGame(long seed) {
+        return createGame(mapRepository.get(MapRepository.DEFAULT_MAP), seed);
+    }
+    
+    /**
+     * Crée un nouvel état de jeu sur une carte compilée : joueur au point de
+     * départ, ennemis aux points d'apparition et obstacles de la carte
+     */
+    public GameState createGame(GameMap map, long seed) {
+        GameState gameState = new GameState(seed);
         
         // Créer le joueur
+        Player player = createPlayer(map.getPlayerX(), map.getPlayerY());
+        gameState.setPlayer(player);
+        
+        // Créer les ennemis ; leurs identifiants sont attribués par l'état, dans l'ordre
+        EnemyPool pool = gameState.getEnemyPool();
+        List<Enemy> enemies = new ArrayList<>(map.getSpawnCount());
+        for (int i = 0; i < map.getSpawnCount(); i++) {
+            enemies.add(createEnemy(pool, map.getSpawnX(i), map.getSpawnY(i), map.getSpawnType(i)));
+        }
+        gameState.setEnemies(enemies);
+        
+        // Créer les obstacles ; la grille de collision reste celle, partagée, de la carte
+        gameState.setObstacles(map.createObstacles());
+        gameState.setMap(map);
+        
+        log.debug("Jeu initialisé: {} ennemis, {} obstacles", enemies.size(), gameState.getObstacles().size());
+        return gameState;
+    }
+    
+    /**
+     * Crée un état de jeu dans un monde en chunks sans bornes, généré à partir
+     * de la graine : le joueur part du centre du chunk (0, 0) et les chunks
+     * voisins sont chargés au fil de ses déplacements. La graine sert aussi
+     * aux tirages aléatoires de la simulation.
+     */
+    public GameState createChunkedGame(long seed) {
+        GameState gameState = new GameState(seed);
+        
+        int spawn = WorldGenerator.CHUNK_SIZE / 2;
+        gameState.setPlayer(createPlayer(spawn, spawn));
+        
+        ChunkedWorld world = attachWorld(gameState, seed);
+        world.update(gameState);
+        
+        log.debug("Monde en chunks initialisé (graine {}): {} ennemis, {} obstacles",
+                seed, gameState.getEnemyCount(), gameState.getObstacles().size());
+        return gameState;
+    }
+    
+    /**
+     * Rattache à l'état un monde en chunks vide, généré à partir de la graine ;
+     * aucun chunk n'est chargé (reprise d'un instantané, voir ChunkedWorld.restoreChunk)
+     */
+    public ChunkedWorld attachWorld(GameState gameState, long worldSeed) {
+        EnemyPool pool = gameState.getEnemyPool();
+        ChunkedWorld world = new ChunkedWorld(new WorldGenerator(worldSeed, (x, y, type) -> createEnemy(pool, x, y, type)));
+        gameState.setWorld(world);
+        return world;
+    }
+    
+    /**
+     * Crée le joueur de départ à la position donnée
+     */
+    private Player createPlayer(int x, int y) {
         Player player = new Player();
-        player.setX(MAP_WIDTH / 2);
-        player.setY(MAP_HEIGHT / 2);
+        player.setX(x);
+        player.setY(y);
         player.setHp(100);
         player.setMaxHp(100);
         player.setAttack(25);
@@ -49,227 +183,230 @@ public class GameService {
         player.setExp(0);
         player.setScore(0);
         player.setAttacking(false);
-        
-        currentGameState.setPlayer(player);
-        
-        // Créer les ennemis
-        List<Enemy> enemies = new ArrayList<>();
-        enemies.add(createEnemy(1, 100, 80, EnemyType.GOBLIN));
-        enemies.add(createEnemy(2, 400, 100, EnemyType.TROLL));
-        enemies.add(createEnemy(3, 650, 120, EnemyType.RABBIT));
-        enemies.add(createEnemy(4, 80, 300, EnemyType.GOBLIN));
-        enemies.add(createEnemy(5, 350, 250, EnemyType.RABBIT));
-        enemies.add(createEnemy(6, 700, 280, EnemyType.TROLL));
-        enemies.add(createEnemy(7, 120, 480, EnemyType.TROLL));
-        
-        currentGameState.setEnemies(enemies);
-        
-        // Créer les obstacles
-        List<Obstacle> obstacles = new ArrayList<>();
-        obstacles.add(new Obstacle(50, 50, 32, 32, ObstacleType.TREE));
-        obstacles.add(new Obstacle(350, 60, 48, 48, ObstacleType.ROCK));
-        obstacles.add(new Obstacle(600, 80, 64, 32, ObstacleType.HOUSE));
-        obstacles.add(new Obstacle(80, 250, 32, 32, ObstacleType.BUSH));
-        obstacles.add(new Obstacle(650, 220, 48, 48, ObstacleType.ROCK));
-        obstacles.add(new Obstacle(100, 420, 32, 32, ObstacleType.BUSH));
-        obstacles.add(new Obstacle(420, 450, 48, 48, ObstacleType.ROCK));
-        
-        currentGameState.setObstacles(obstacles);
-        
-        System.out.println("🎮 Jeu initialisé: " + enemies.size() + " ennemis, " + obstacles.size() + " obstacles");
+        return player;
     }
     
     /**
-     * Crée un ennemi avec ses caractéristiques
+     * Crée un ennemi à partir d'une instance de la réserve ; ses
+     * caractéristiques sont celles de l'archétype de son type
      */
-    private Enemy createEnemy(int id, int x, int y, EnemyType type) {
-        Enemy enemy = new Enemy();
-        enemy.setId(id);
-        enemy.setX(x);
-        enemy.setY(y);
+    private Enemy createEnemy(EnemyPool pool, int x, int y, EnemyType type) {
+        Enemy enemy = pool.acquire();
+        enemy.setPosition(x, y);
         enemy.setType(type);
-        
-        // Stats selon le type
-        switch (type) {
-            case GOBLIN:
-                enemy.setHp(40);
-                enemy.setMaxHp(40);
-                enemy.setAttack(15);
-                enemy.setSpeed(1.5);
-                break;
-            case TROLL:
-                enemy.setHp(120);
-                enemy.setMaxHp(120);
-                enemy.setAttack(30);
-                enemy.setSpeed(0.5);
-                break;
-            case RABBIT:
-                enemy.setHp(25);
-                enemy.setMaxHp(25);
-                enemy.setAttack(8);
-                enemy.setSpeed(2.5);
-                break;
-        }
-        
+        enemy.setHp(type.getArchetype().getMaxHp());
         enemy.setAttacking(false);
         return enemy;
     }
     
     /**
-     * Récupère l'état actuel du jeu
+     * Récupère l'état actuel du jeu, vivant et sans verrou (tests, événements) ;
+     * les lecteurs concurrents passent par getCurrentSnapshot
      */
     public GameState getCurrentGameState() {
-        return currentGameState;
+        return defaultSession.getGameState();
+    }
+    
+    /**
+     * Session de l'état par défaut, avancée par la boucle de jeu comme les autres
+     */
+    public GameSession getDefaultSession() {
+        return defaultSession;
+    }
+    
+    /**
+     * Instantané de la dernière version de l'état par défaut (voir GameSession.submitSnapshot)
+     */
+    public CompletableFuture<GameStateSnapshot> getCurrentSnapshot() {
+        return defaultSession.submitSnapshot();
+    }
+    
+    /**
+     * Dépose une commande dans la boîte aux lettres de l'état par défaut ; le
+     * futur est complété par l'instantané de la version qui en résulte
+     */
+    private CompletableFuture<GameStateSnapshot> submitDefault(GameCommand command) {
+        GameSession session = defaultSession;
+        return session.submit(this, command).thenCompose(state -> session.submitSnapshot());
     }
     
     /**
-     * Déplace le joueur
+     * Déplace le joueur de l'état par défaut.
+     * Lève IllegalArgumentException pour une direction inconnue, sans rien déposer.
      */
-    public GameState movePlayer(String direction) {
-        Player player = currentGameState.getPlayer();
+    @Timed(value = MOVE_TIMER, histogram = true)
+    public CompletableFuture<GameStateSnapshot> movePlayer(String direction) {
+        return submitDefault(GameCommand.move(direction));
+    }
+    
+    /**
+     * Déplace le joueur d'un état de jeu donné ("up", "up+left"...).
+     * Lève IllegalArgumentException pour une direction inconnue.
+     */
+    @Timed(value = MOVE_TIMER, histogram = true)
+    public GameState movePlayer(GameState gameState, String direction) {
+        return movePlayer(gameState, Direction.parse(direction));
+    }
+    
+    /**
+     * Déplace le joueur selon un masque de Direction. Une diagonale avance
+     * d'un pas sur chaque axe, l'un après l'autre : bloqué sur un axe, le
+     * joueur glisse encore le long de l'obstacle sur l'autre.
+     * Lève IllegalArgumentException pour un masque invalide.
+     */
+    @Timed(value = MOVE_TIMER, histogram = true)
+    public GameState movePlayer(GameState gameState, int directions) {
+        Direction.check(directions);
+        Player player = gameState.getPlayer();
         
         if (player.getHp() <= 0) {
-            return currentGameState; // Joueur mort, pas de mouvement
+            return gameState; // Joueur mort, pas de mouvement
         }
         
-        int oldX = player.getX();
-        int oldY = player.getY();
-        int newX = player.getX();
-        int newY = player.getY();
+        int dx = Direction.dx(directions);
+        int dy = Direction.dy(directions);
+        boolean moved = false;
+        if (dx != 0) {
+            moved = stepPlayer(gameState, player, player.getX() + dx * PLAYER_SPEED, player.getY());
+        }
+        if (dy != 0) {
+            moved |= stepPlayer(gameState, player, player.getX(), player.getY() + dy * PLAYER_SPEED);
+        }
         
-        // Calculer nouvelle position
-        switch (direction.toLowerCase()) {
-            case "up":
-                newY -= PLAYER_SPEED;
-                break;
-            case "down":
-                newY += PLAYER_SPEED;
-                break;
-            case "left":
-                newX -= PLAYER_SPEED;
-                break;
-            case "right":
-                newX += PLAYER_SPEED;
-                break;
+        if (moved) {
+            gameState.incrementVersion();
+            
+            // Charger les chunks vers lesquels le joueur se dirige
+            if (gameState.getWorld() != null) {
+                gameState.getWorld().update(gameState);
+            }
         }
-
-        System.out.println("DEBUG: Direction=" + direction + ", Old=(" + oldX + "," + oldY + "), New=(" + newX + "," + newY + ")");
         
+        return gameState;
+    }
+    
+    /**
+     * Place le joueur en (newX, newY) si la position est libre et dans la
+     * carte ; sinon publie MOVE_BLOCKED. Retourne vrai si le joueur a bougé.
+     */
+    private boolean stepPlayer(GameState gameState, Player player, int newX, int newY) {
         // Vérifier les collisions avec les obstacles
-        boolean collision = checkCollision(newX, newY, 16, currentGameState.getObstacles());
+        Obstacle collision = checkCollision(newX, newY, 16, gameState);
         
-        System.out.println("DEBUG: Collision=" + collision + ", InBounds=" + (newX >= 0 && newX <= MAP_WIDTH && newY >= 0 && newY <= MAP_HEIGHT));
-
         // Vérifier les limites de la carte
-        if (!collision && newX >= 0 && newX <= MAP_WIDTH && newY >= 0 && newY <= MAP_HEIGHT) {
+        if (collision == null && isInsideMap(gameState, newX, newY)) {
             player.setX(newX);
             player.setY(newY);
-            System.out.println("DEBUG: Mouvement appliqué! Position finale=(" + player.getX() + "," + player.getY() + ")");
-        } else {
-            System.out.println("DEBUG: Mouvement bloqué!");
+            return true;
         }
-        
-        return currentGameState;
+        publishEvent(gameState, GameEventType.MOVE_BLOCKED, collision == null ? 0 : collision.getId(),
+                null, 0, newX, newY);
+        return false;
     }
     
     /**
-     * Vérifie les collisions avec les obstacles
+     * Limites de la carte fixe ; un monde en chunks n'en a pas
      */
-    private boolean checkCollision(int x, int y, int size, List<Obstacle> obstacles) {
+    private boolean isInsideMap(GameState gameState, int x, int y) {
+        if (gameState.getWorld() != null) {
+            return true;
+        }
+        GameMap map = gameState.getMap();
+        int width = map != null ? map.getWidth() : MAP_WIDTH;
+        int height = map != null ? map.getHeight() : MAP_HEIGHT;
+        return x >= 0 && x <= width && y >= 0 && y <= height;
+    }
+    
+    /**
+     * Cherche un obstacle en collision : la grille précalculée de la carte
+     * écarte d'abord les positions dégagées, puis l'index spatial n'examine
+     * que les cellules voisines de la position. Retourne null si aucun.
+     * Visibilité paquetage pour les bancs d'essai.
+     */
+    Obstacle checkCollision(int x, int y, int size, GameState gameState) {
         // Le joueur est un carré centré sur (x, y)
         int halfSize = size / 2;
-        int playerLeft = x - halfSize;
-        int playerTop = y - halfSize;
-        int playerRight = x + halfSize;
-        int playerBottom = y + halfSize;
-        
-        for (Obstacle obstacle : obstacles) {
-            // Vérification AABB (Axis-Aligned Bounding Box)
-            if (playerRight > obstacle.getX() && 
-                playerLeft < obstacle.getX() + obstacle.getWidth() &&
-                playerBottom > obstacle.getY() && 
-                playerTop < obstacle.getY() + obstacle.getHeight()) {
-
-                System.out.println("COLLISION DÉTECTÉE!");
-                System.out.println("  Joueur: left=" + playerLeft + ", right=" + playerRight + ", top=" + playerTop + ", bottom=" + playerBottom);
-                System.out.println("  Obstacle: x=" + obstacle.getX() + ", y=" + obstacle.getY() + ", w=" + obstacle.getWidth() + ", h=" + obstacle.getHeight());
-                
-                return true; // Collision détectée
-            }
+        if (gameState.isAreaFreeOnMap(x - halfSize, y - halfSize, size, size)) {
+            return null;
         }
-        return false;
+        return gameState.getObstacleIndex().findFirstOverlap(x - halfSize, y - halfSize, size, size);
+    }
+    
+    /**
+     * Publie un événement dans le tampon de l'état de jeu (sans construire de chaîne)
+     */
+    private void publishEvent(GameState gameState, GameEventType type, int subjectId, EnemyType enemyType,
+                              int amount, int x, int y) {
+        gameState.getEvents().publish(type, gameState.getGameTime(), subjectId, enemyType, amount, x, y);
     }
     
     /**
-     * Calcule la distance entre deux points
+     * Attaque du joueur de l'état par défaut
      */
-    private double calculateDistance(int x1, int y1, int x2, int y2) {
-        return Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
+    @Timed(value = ATTACK_TIMER, histogram = true)
+    public CompletableFuture<GameStateSnapshot> playerAttack() {
+        return submitDefault(GameCommand.attack());
     }
     
     /**
-     * Attaque du joueur
+     * Attaque du joueur d'un état de jeu donné
      */
-    public GameState playerAttack() {
-        Player player = currentGameState.getPlayer();
+    @Timed(value = ATTACK_TIMER, histogram = true)
+    public GameState playerAttack(GameState gameState) {
+        Player player = gameState.getPlayer();
         
         if (player.getHp() <= 0 || player.isAttacking()) {
-            return currentGameState;
+            return gameState;
         }
         
         player.setAttacking(true);
+        gameState.incrementVersion();
         
-        List<Enemy> enemies = currentGameState.getEnemies();
         int attackRange = 50;
-        int hitCount = 0;
         
-        Iterator<Enemy> iterator = enemies.iterator();
-        while (iterator.hasNext()) {
-            Enemy enemy = iterator.next();
-            double distance = calculateDistance(player.getX(), player.getY(), enemy.getX(), enemy.getY());
+        // Seuls les ennemis des cellules voisines sont examinés
+        List<Enemy> targets = new ArrayList<>();
+        gameState.getEnemyIndex().queryRadius(player.getX(), player.getY(), attackRange, targets);
+        
+        for (Enemy enemy : targets) {
+            // Calculer les dégâts avec variation aléatoire
+            int damage = player.getAttack() + gameState.getRandom().nextInt(10) - 5;
+            damage = Math.max(1, damage);
+            
+            enemy.setHp(enemy.getHp() - damage);
+            
+            publishEvent(gameState, GameEventType.ENEMY_HIT, enemy.getId(), enemy.getType(), damage,
+                    enemy.getX(), enemy.getY());
             
-            if (distance <= attackRange) {
-                // Calculer les dégâts avec variation aléatoire
-                int damage = player.getAttack() + random.nextInt(10) - 5;
-                damage = Math.max(1, damage);
+            // Si l'ennemi est mort
+            if (enemy.getHp() <= 0) {
+                int expGain = enemy.getType().getExpValue();
+                int scoreGain = enemy.getType().getScoreValue();
                 
-                enemy.setHp(enemy.getHp() - damage);
-                hitCount++;
+                player.setExp(player.getExp() + expGain);
+                player.setScore(player.getScore() + scoreGain);
                 
-                System.out.println("⚔️ Joueur attaque " + enemy.getType() + " pour " + damage + " dégâts");
+                publishEvent(gameState, GameEventType.ENEMY_KILLED, enemy.getId(), enemy.getType(), expGain,
+                        enemy.getX(), enemy.getY());
                 
-                // Si l'ennemi est mort
-                if (enemy.getHp() <= 0) {
-                    int expGain = getExpValue(enemy.getType());
-                    int scoreGain = getScoreValue(enemy.getType());
-                    
-                    player.setExp(player.getExp() + expGain);
-                    player.setScore(player.getScore() + scoreGain);
-                    
-                    System.out.println("💀 " + enemy.getType() + " éliminé! +" + expGain + " EXP, +" + scoreGain + " points");
-                    
-                    // Level up si nécessaire
-                    checkLevelUp(player);
-                    
-                    iterator.remove();
-                }
+                // Level up si nécessaire
+                checkLevelUp(gameState, player);
+                
+                // Retrait en O(1) par sa poignée, sans parcourir les autres ennemis
+                gameState.releaseEnemy(enemy.getHandle());
             }
         }
         
         // Désactiver l'attaque après un court délai (simulé)
         player.setAttacking(false);
         
-        if (hitCount > 0) {
-            System.out.println("✨ " + hitCount + " ennemi(s) touché(s)");
-        }
-        
-        return currentGameState;
+        return gameState;
     }
     
     /**
      * Vérifie et gère le level up
      */
-    private void checkLevelUp(Player player) {
+    private void checkLevelUp(GameState gameState, Player player) {
         int expRequired = player.getLevel() * 100;
         
         if (player.getExp() >= expRequired) {
@@ -280,148 +417,212 @@ public class GameService {
             player.setAttack(player.getAttack() + 5);
             player.setDefense(player.getDefense() + 2);
             
-            System.out.println("🎉 LEVEL UP! Niveau " + player.getLevel());
+            publishEvent(gameState, GameEventType.LEVEL_UP, 0, null, player.getLevel(),
+                    player.getX(), player.getY());
         }
     }
     
     /**
-     * Retourne l'expérience gagnée pour un type d'ennemi
+     * Met à jour l'IA des ennemis et l'état du jeu par défaut
      */
-    private int getExpValue(EnemyType type) {
-        switch (type) {
-            case GOBLIN: return 20;
-            case TROLL: return 50;
-            case RABBIT: return 15;
-            default: return 10;
-        }
-    }
-    
-    /**
-     * Retourne les points gagnés pour un type d'ennemi
-     */
-    private int getScoreValue(EnemyType type) {
-        switch (type) {
-            case GOBLIN: return 100;
-            case TROLL: return 250;
-            case RABBIT: return 50;
-            default: return 10;
-        }
+    @Timed(value = UPDATE_TIMER, histogram = true)
+    public CompletableFuture<GameStateSnapshot> updateGame() {
+        return submitDefault(GameCommand.tick());
     }
     
     /**
-     * Met à jour l'IA des ennemis et l'état du jeu
+     * Met à jour l'IA des ennemis d'un état de jeu donné (un tick de simulation).
+     * La boucle parcourt les tableaux de l'EnemyStore emplacement par emplacement,
+     * sans passer par les objets Enemy.
      */
-    public GameState updateGame() {
-        Player player = currentGameState.getPlayer();
+    @Timed(value = UPDATE_TIMER, histogram = true)
+    public GameState updateGame(GameState gameState) {
+        Player player = gameState.getPlayer();
         
         if (player.getHp() <= 0) {
-            return currentGameState; // Game over
+            return gameState; // Game over
         }
         
-        // Mettre à jour chaque ennemi
-        for (Enemy enemy : currentGameState.getEnemies()) {
-            updateEnemyAI(enemy, player);
+        gameState.incrementGameTime();
+        gameState.incrementVersion();
+        
+        // Mettre à jour chaque ennemi, en deux passes sur l'EnemyStore
+        EnemyStore store = gameState.getEnemyStore();
+        GameRandom random = gameState.getRandom();
+        int[] reacting = store.getSlotBuffer();
+        int reactingCount = selectReactingEnemies(store, player, random.nextLong() | 1, reacting);
+        if (reactingCount > 0) {
+            // Sans effet tant que le joueur reste dans la même cellule de navigation
+            gameState.getFlowField().update(player.getX(), player.getY(), gameState.getObstacleIndex());
+        }
+        for (int i = 0; i < reactingCount; i++) {
+            int slot = reacting[i];
+            if (slot >= 0) {
+                updateEnemyAI(gameState, store, slot, player);
+            } else {
+                patrol(gameState, store, ~slot, random);
+            }
         }
         
-        return currentGameState;
+        return gameState;
+    }
+    
+    /**
+     * Première passe : parcours linéaire des tableaux, sans appel ni racine carrée.
+     * Range dans out les emplacements des ennemis à portée du joueur, et ceux des
+     * trolls qui font un pas de patrouille ce tick (codés ~slot, donc négatifs).
+     * Les distances d'aggro sont comparées au carré via une table indexée par type.
+     * La graine du xorshift doit être non nulle. Retourne le nombre d'emplacements retenus.
+     */
+    private int selectReactingEnemies(EnemyStore store, Player player, long seed, int[] out) {
+        int playerX = player.getX();
+        int playerY = player.getY();
+        int count = 0;
+        for (int slot = 0; slot < store.size(); slot++) {
+            int dx = playerX - store.getX(slot);
+            int dy = playerY - store.getY(slot);
+            long distanceSquared = (long) dx * dx + (long) dy * dy;
+            int typeOrdinal = store.getTypeOrdinal(slot);
+            
+            if (distanceSquared < AGGRO_DISTANCE_SQUARED[typeOrdinal]) {
+                out[count++] = slot;
+                continue;
+            }
+            // Tirage xorshift local pour chaque ennemi, combiné au type sans court-circuit :
+            // un seul branchement, rarement pris, au lieu d'un test imprévisible sur le type
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            if (typeOrdinal == TROLL_ORDINAL & (int) seed < PATROL_THRESHOLD) {
+                out[count++] = ~slot;
+            }
+        }
+        return count;
     }
     
     /**
-     * IA d'un ennemi
+     * IA d'un ennemi à portée du joueur
      */
-    private void updateEnemyAI(Enemy enemy, Player player) {
-        double distance = calculateDistance(enemy.getX(), enemy.getY(), player.getX(), player.getY());
+    private void updateEnemyAI(GameState gameState, EnemyStore store, int slot, Player player) {
+        int dx = player.getX() - store.getX(slot);
+        int dy = player.getY() - store.getY(slot);
+        long distanceSquared = (long) dx * dx + (long) dy * dy;
         
         // Comportement selon le type
-        switch (enemy.getType()) {
+        switch (store.getType(slot)) {
             case GOBLIN: // Agressif
-                if (distance < 100) {
-                    moveTowardsPlayer(enemy, player);
-                    tryAttackPlayer(enemy, player, distance);
-                }
-                break;
-                
-            case TROLL: // Patrouille
-                if (distance < 80) {
-                    moveTowardsPlayer(enemy, player);
-                    tryAttackPlayer(enemy, player, distance);
-                } else {
-                    // Patrouille aléatoire
-                    if (random.nextInt(100) < 5) {
-                        enemy.setX(enemy.getX() + (random.nextInt(3) - 1));
-                        enemy.setY(enemy.getY() + (random.nextInt(3) - 1));
-                    }
-                }
+            case TROLL:  // Patrouille, mais charge le joueur qui s'approche
+                moveTowardsPlayer(gameState, store, slot, dx, dy);
+                tryAttackPlayer(gameState, store, slot, player, distanceSquared);
                 break;
                 
             case RABBIT: // Fuit
-                if (distance < 70) {
-                    moveAwayFromPlayer(enemy, player);
-                }
+                moveAwayFromPlayer(gameState, store, slot, dx, dy);
                 break;
         }
     }
     
     /**
-     * Déplace l'ennemi vers le joueur
+     * Patrouille aléatoire d'un troll hors de portée du joueur
      */
-    private void moveTowardsPlayer(Enemy enemy, Player player) {
-        int dx = player.getX() - enemy.getX();
-        int dy = player.getY() - enemy.getY();
-        double distance = Math.sqrt(dx * dx + dy * dy);
-        
-        if (distance > 0) {
-            int moveX = (int)((dx / distance) * enemy.getSpeed());
-            int moveY = (int)((dy / distance) * enemy.getSpeed());
-            
-            enemy.setX(enemy.getX() + moveX);
-            enemy.setY(enemy.getY() + moveY);
+    private void patrol(GameState gameState, EnemyStore store, int slot, GameRandom random) {
+        gameState.moveEnemyAt(slot,
+                store.getX(slot) + (random.nextInt(3) - 1),
+                store.getY(slot) + (random.nextInt(3) - 1));
+    }
+    
+    /**
+     * Déplace l'ennemi vers le joueur (dx, dy : vecteur ennemi → joueur) en
+     * descendant le champ de flux vers la cellule voisine la plus proche.
+     * En ligne droite dans la cellule du joueur, ou si le champ ne connaît
+     * pas de chemin (hors fenêtre, ennemi enclavé).
+     */
+    private void moveTowardsPlayer(GameState gameState, EnemyStore store, int slot, int dx, int dy) {
+        int x = store.getX(slot);
+        int y = store.getY(slot);
+        FlowField flowField = gameState.getFlowField();
+        int next = flowField.towards(x, y);
+        if (next != FlowField.NO_CELL) {
+            step(gameState, store, slot, flowField.centerX(next) - x, flowField.centerY(next) - y);
+        } else {
+            step(gameState, store, slot, dx, dy);
         }
     }
     
     /**
-     * Déplace l'ennemi loin du joueur
+     * Déplace l'ennemi loin du joueur (dx, dy : vecteur ennemi → joueur) en
+     * remontant le champ de flux. Un fuyard acculé reste sur place ; hors du
+     * champ, il fuit en ligne droite.
      */
-    private void moveAwayFromPlayer(Enemy enemy, Player player) {
-        int dx = player.getX() - enemy.getX();
-        int dy = player.getY() - enemy.getY();
-        double distance = Math.sqrt(dx * dx + dy * dy);
+    private void moveAwayFromPlayer(GameState gameState, EnemyStore store, int slot, int dx, int dy) {
+        int x = store.getX(slot);
+        int y = store.getY(slot);
+        FlowField flowField = gameState.getFlowField();
+        int next = flowField.away(x, y);
+        if (next != FlowField.NO_CELL) {
+            step(gameState, store, slot, flowField.centerX(next) - x, flowField.centerY(next) - y);
+        } else if (!flowField.isReachable(x, y)) {
+            step(gameState, store, slot, -dx, -dy);
+        }
+    }
+    
+    /**
+     * Avance l'ennemi de sa vitesse dans la direction (dx, dy). La part
+     * fractionnaire de chaque composante est reportée au pas suivant (reliquat
+     * de l'EnemyStore) : un ennemi lent avance à sa vitesse exacte, même sur
+     * l'axe secondaire, et la troncature vers zéro traite les deux sens de
+     * la même façon.
+     */
+    private void step(GameState gameState, EnemyStore store, int slot, int dx, int dy) {
+        double distance = Math.sqrt((double) dx * dx + (double) dy * dy);
         
         if (distance > 0) {
-            int moveX = (int)(-(dx / distance) * enemy.getSpeed());
-            int moveY = (int)(-(dy / distance) * enemy.getSpeed());
+            double moveX = (dx / distance) * store.getSpeed(slot) + store.getRemainderX(slot);
+            double moveY = (dy / distance) * store.getSpeed(slot) + store.getRemainderY(slot);
+            int stepX = (int) moveX;
+            int stepY = (int) moveY;
             
-            enemy.setX(enemy.getX() + moveX);
-            enemy.setY(enemy.getY() + moveY);
+            store.setRemainder(slot, moveX - stepX, moveY - stepY);
+            gameState.moveEnemyAt(slot, store.getX(slot) + stepX, store.getY(slot) + stepY);
         }
     }
     
     /**
      * Tente d'attaquer le joueur
      */
-    private void tryAttackPlayer(Enemy enemy, Player player, double distance) {
+    private void tryAttackPlayer(GameState gameState, EnemyStore store, int slot, Player player,
+                                 long distanceSquared) {
         int attackRange = 30;
         
-        if (distance <= attackRange && !enemy.isAttacking()) {
-            enemy.setAttacking(true);
+        if (distanceSquared <= attackRange * attackRange && !store.isAttacking(slot)) {
+            store.setAttacking(slot, true);
             
+            // L'attaque est un champ froid, lu sur la vue objet
+            Enemy enemy = store.getEnemy(slot);
             int damage = enemy.getAttack() - player.getDefense();
             damage = Math.max(1, damage);
             
+            boolean wasAlive = player.getHp() > 0;
             player.setHp(Math.max(0, player.getHp() - damage));
             
-            System.out.println("💥 " + enemy.getType() + " attaque le joueur pour " + damage + " dégâts");
+            publishEvent(gameState, GameEventType.PLAYER_HIT, enemy.getId(), enemy.getType(), damage,
+                    player.getX(), player.getY());
+            if (wasAlive && player.getHp() == 0) {
+                publishEvent(gameState, GameEventType.PLAYER_DEATH, enemy.getId(), enemy.getType(), 0,
+                        player.getX(), player.getY());
+            }
             
             // Désactiver l'attaque
-            enemy.setAttacking(false);
+            store.setAttacking(slot, false);
         }
     }
     
     /**
-     * Réinitialise le jeu
+     * Réinitialise le jeu : l'état par défaut repart dans une nouvelle session ;
+     * les commandes déjà déposées s'achèvent sur l'ancienne
      */
-    public GameState resetGame() {
+    public CompletableFuture<GameStateSnapshot> resetGame() {
         initializeGame();
-        return currentGameState;
+        return getCurrentSnapshot();
     }
 }
@@ -0,0 +1,400 @@
+package com.rpg.rpg_game.service;
+
+import com.rpg.rpg_game.dto.GameStateDelta;
+import com.rpg.rpg_game.dto.InputBatchRequest;
+import com.rpg.rpg_game.event.GameEvent;
+import com.rpg.rpg_game.model.Direction;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.GameStateSnapshot;
+import com.rpg.rpg_game.replay.GameRecorder;
+import com.rpg.rpg_game.replay.GameRecording;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Session de jeu isolée : un état de jeu et son propre verrou.
+ * Deux sessions ne partagent jamais de verrou, elles avancent en parallèle.
+ * Chaque nouvelle version de l'état est mémorisée pour calculer des deltas.
+ * Les changements passent par apply(GameCommand), qui les journalise et,
+ * pendant un enregistrement, les ajoute à l'enregistrement.
+ *
+ * Les appelants qui ne doivent pas attendre (contrôleurs, WebSocket, boucle
+ * de jeu) passent par les variantes submit : la commande est déposée dans la
+ * boîte aux lettres de la session (SessionMailbox) et exécutée par son thread
+ * virtuel, une à la fois. Le verrou reste pris pendant chaque tâche pour les
+ * lectures synchrones (inspect, persistance, métriques), qui ne le disputent
+ * donc qu'au seul consommateur de la session.
+ *
+ * À la fin de chaque commande ou tick, seule la version de l'état est
+ * publiée. L'instantané immuable (GameStateSnapshot) d'une version n'est copié
+ * qu'à la première lecture qui la demande, puis gardé dans une AtomicReference :
+ * les lecteurs suivants de la même version (getSnapshot, submitSnapshot) ne
+ * prennent ni verrou ni place dans la boîte aux lettres, et les ticks que
+ * personne ne lit ne copient rien.
+ */
+public class GameSession {
+
+    // Nombre maximal d'entrées dans un lot
+    public static final int MAX_INPUT_BATCH = 64;
+
+    private final String id;
+    private final GameState gameState;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SessionMailbox mailbox;
+    private final AtomicReference<GameStateSnapshot> snapshot;
+    private volatile long publishedVersion;
+    private volatile int publishedAliveEnemies;
+    private volatile int publishedObstacles;
+    private final GameStateHistory history;
+    private final long createdAt;
+    private volatile long lastAccessTime;
+    
+    // Journal des commandes, et séquence de la dernière entrée de la session (sous le verrou)
+    private volatile GameCommandLog commandLog = GameCommandLog.NONE;
+    private long lastSequence = GameCommandLog.NO_SEQUENCE;
+    
+    // Enregistrement en cours, null sinon (sous le verrou)
+    private GameRecorder recorder;
+    
+    // Séquence de la dernière entrée de lot traitée (sous le verrou)
+    private long lastInputSequence;
+
+    public GameSession(String id, GameState gameState) {
+        this(id, gameState, 0);
+    }
+
+    /**
+     * @param viewRadius rayon de vue des deltas envoyés au client (voir GameStateHistory)
+     */
+    public GameSession(String id, GameState gameState, int viewRadius) {
+        this.id = id;
+        this.gameState = gameState;
+        this.history = new GameStateHistory(GameStateHistory.DEFAULT_CAPACITY, viewRadius);
+        this.mailbox = new SessionMailbox("session-" + id);
+        this.snapshot = new AtomicReference<>(GameStateSnapshot.of(gameState));
+        this.publishedVersion = gameState.getVersion();
+        this.publishedAliveEnemies = gameState.getAliveEnemyCount();
+        this.publishedObstacles = gameState.getObstacles().size();
+        this.createdAt = System.currentTimeMillis();
+        this.lastAccessTime = createdAt;
+        history.record(gameState);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Date (ms) du dernier accès d'un client : commande, lecture d'état ou
+     * diffusion à un client connecté ; les ticks de la boucle de jeu et les
+     * lectures de supervision (inspect) ne comptent pas
+     */
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    /**
+     * Exécute une action sur l'état de la session sous son verrou exclusif
+     */
+    public <T> T execute(Function<GameState, T> action) {
+        lock.lock();
+        try {
+            lastAccessTime = System.currentTimeMillis();
+            T result = action.apply(gameState);
+            history.record(gameState);
+            publish();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applique une commande de jeu sous le verrou de la session, puis la journalise
+     */
+    public GameState apply(GameService gameService, GameCommand command) {
+        lock.lock();
+        try {
+            if (command.getType() != GameCommand.Type.TICK) {
+                lastAccessTime = System.currentTimeMillis();
+            }
+            GameState result = applyLocked(gameService, command);
+            history.record(gameState);
+            publish();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applique un lot d'entrées en une passe, sous une seule prise du verrou.
+     * Les entrées dont la séquence ne dépasse pas la dernière traitée (lot
+     * renvoyé par le client, entrée en retard) sont ignorées. Lève
+     * IllegalArgumentException pour un lot trop grand ou un masque invalide,
+     * avant d'appliquer quoi que ce soit. Retourne la séquence de la dernière
+     * entrée traitée.
+     */
+    public long applyInputs(GameService gameService, List<InputBatchRequest.Input> inputs) {
+        if (inputs.size() > MAX_INPUT_BATCH) {
+            throw new IllegalArgumentException("Lot de plus de " + MAX_INPUT_BATCH + " entrées");
+        }
+        GameCommand[] moves = new GameCommand[inputs.size()];
+        for (int i = 0; i < moves.length; i++) {
+            if (inputs.get(i) == null) {
+                throw new IllegalArgumentException("Entrée vide dans le lot");
+            }
+            moves[i] = GameCommand.move(inputs.get(i).getDirections());
+        }
+        lock.lock();
+        try {
+            lastAccessTime = System.currentTimeMillis();
+            for (int i = 0; i < moves.length; i++) {
+                InputBatchRequest.Input input = inputs.get(i);
+                if (input.getSequence() <= lastInputSequence) {
+                    continue;
+                }
+                if (moves[i].getDirections() != Direction.NONE) {
+                    applyLocked(gameService, moves[i]);
+                }
+                if (input.isAttack()) {
+                    applyLocked(gameService, GameCommand.attack());
+                }
+                lastInputSequence = input.getSequence();
+            }
+            history.record(gameState);
+            publish();
+            return lastInputSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Instantané de la dernière version publiée, qui compte comme un accès à
+     * la session. Sans verrou si cette version a déjà été lue ; sinon la copie
+     * est faite sous le verrou de la session (tests, appelants synchrones :
+     * les contrôleurs passent par submitSnapshot).
+     */
+    public GameStateSnapshot getSnapshot() {
+        lastAccessTime = System.currentTimeMillis();
+        GameStateSnapshot current = snapshot.get();
+        if (current.getVersion() == publishedVersion) {
+            return current;
+        }
+        lock.lock();
+        try {
+            return materialize();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Comme getSnapshot, sans attendre : si la dernière version n'a pas encore
+     * été copiée, la copie est déposée dans la boîte aux lettres de la session
+     */
+    public CompletableFuture<GameStateSnapshot> submitSnapshot() {
+        lastAccessTime = System.currentTimeMillis();
+        GameStateSnapshot current = snapshot.get();
+        if (current.getVersion() == publishedVersion) {
+            return CompletableFuture.completedFuture(current);
+        }
+        return mailbox.submit(() -> {
+            lock.lock();
+            try {
+                return materialize();
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Dernier instantané copié, sans compter comme un accès à la session ni
+     * rien copier (supervision) : il peut retarder sur l'état d'une session
+     * que personne ne lit
+     */
+    public GameStateSnapshot peekSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Ennemis vivants de la dernière version publiée ; lecture sans verrou (métriques)
+     */
+    public int getAliveEnemyCount() {
+        return publishedAliveEnemies;
+    }
+
+    /**
+     * Obstacles de la dernière version publiée ; lecture sans verrou (métriques)
+     */
+    public int getObstacleCount() {
+        return publishedObstacles;
+    }
+
+    /**
+     * Publie la version courante de l'état et ses compteurs ; l'instantané
+     * sera copié à la première lecture (verrou déjà pris)
+     */
+    private void publish() {
+        if (publishedVersion != gameState.getVersion()) {
+            publishedAliveEnemies = gameState.getAliveEnemyCount();
+            publishedObstacles = gameState.getObstacles().size();
+            publishedVersion = gameState.getVersion();
+        }
+    }
+
+    /**
+     * Instantané de la version courante, copié s'il ne l'est pas encore, en
+     * reprenant les obstacles du précédent s'ils n'ont pas changé (verrou déjà pris)
+     */
+    private GameStateSnapshot materialize() {
+        GameStateSnapshot current = snapshot.get();
+        if (current.getVersion() != gameState.getVersion()) {
+            current = GameStateSnapshot.of(gameState, current);
+            snapshot.set(current);
+        }
+        return current;
+    }
+
+    /**
+     * Dépose une action dans la boîte aux lettres de la session ; le futur est
+     * complété par son résultat une fois exécutée (voir execute)
+     */
+    public <T> CompletableFuture<T> submit(Function<GameState, T> action) {
+        return mailbox.submit(() -> execute(action));
+    }
+
+    /**
+     * Dépose une commande de jeu dans la boîte aux lettres de la session (voir apply)
+     */
+    public CompletableFuture<GameState> submit(GameService gameService, GameCommand command) {
+        return mailbox.submit(() -> apply(gameService, command));
+    }
+
+    /**
+     * Dépose un lot d'entrées dans la boîte aux lettres de la session (voir
+     * applyInputs) ; un lot invalide complète le futur en erreur
+     */
+    public CompletableFuture<Long> submitInputs(GameService gameService, List<InputBatchRequest.Input> inputs) {
+        return mailbox.submit(() -> applyInputs(gameService, inputs));
+    }
+
+    /**
+     * Applique, enregistre puis journalise une commande (verrou déjà pris)
+     */
+    private GameState applyLocked(GameService gameService, GameCommand command) {
+        GameState result = command.applyTo(gameService, gameState);
+        if (recorder != null) {
+            recorder.record(command);
+        }
+        long sequence = commandLog.commandApplied(id, command);
+        if (sequence != GameCommandLog.NO_SEQUENCE) {
+            lastSequence = sequence;
+        }
+        return result;
+    }
+
+    /**
+     * Commence à enregistrer les commandes appliquées à la session, à partir
+     * de son état courant (remplace un éventuel enregistrement en cours)
+     */
+    public void startRecording(GameService gameService) {
+        lock.lock();
+        try {
+            recorder = GameRecorder.start(gameService, gameState);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Termine l'enregistrement en cours sur l'état courant.
+     * Lève IllegalStateException si aucun enregistrement n'est en cours.
+     */
+    public GameRecording stopRecording() {
+        lock.lock();
+        try {
+            if (recorder == null) {
+                throw new IllegalStateException("Aucun enregistrement en cours pour la session " + id);
+            }
+            GameRecorder finished = recorder;
+            recorder = null;
+            return finished.finish(gameState);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lecture de l'état sous le verrou de la session, sans compter comme un
+     * accès ni enregistrer de version (métriques, supervision, instantanés)
+     */
+    public <T> T inspect(Function<GameState, T> reader) {
+        lock.lock();
+        try {
+            return reader.apply(gameState);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Changements de l'état depuis une version connue du client, sous le
+     * verrou de la session (depuis une tâche de la boîte aux lettres)
+     */
+    public GameStateDelta deltaSince(long version) {
+        return execute(state -> history.deltaSince(version, state));
+    }
+
+    /**
+     * Dépose le calcul d'un delta dans la boîte aux lettres de la session (voir deltaSince)
+     */
+    public CompletableFuture<GameStateDelta> submitDelta(long version) {
+        return submit(state -> history.deltaSince(version, state));
+    }
+
+    /**
+     * Derniers événements de la session ; lecture sans verrou du tampon d'événements
+     */
+    public List<GameEvent> recentEvents(int limit) {
+        return gameState.getEvents().recent(limit);
+    }
+    
+    /**
+     * Séquence de la dernière entrée journalisée pour la session ; à lire sous
+     * le verrou (dans inspect) pour qu'elle corresponde à l'état lu
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    void setCommandLog(GameCommandLog commandLog) {
+        this.commandLog = commandLog;
+    }
+
+    /**
+     * Accès direct à l'état, sans verrou (lecture seule ou tests)
+     */
+    GameState getGameState() {
+        return gameState;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameSession{id=%s, state=%s}", id, gameState);
+    }
+}
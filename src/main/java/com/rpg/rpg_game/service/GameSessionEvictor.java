@@ -0,0 +1,78 @@
+package com.rpg.rpg_game.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suppression périodique des sessions inactives : une session sans commande,
+ * lecture ni client WebSocket connecté depuis rpg.session.idle-timeout-ms est
+ * retirée du registre (et du journal, voir GameSessionRegistry.removeSession).
+ * Un délai nul ou négatif désactive la suppression.
+ */
+@Component
+public class GameSessionEvictor {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSessionEvictor.class);
+
+    private final GameSessionRegistry sessionRegistry;
+    private final long idleTimeoutMillis;
+    private final long intervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    public GameSessionEvictor(GameSessionRegistry sessionRegistry,
+                              @Value("${rpg.session.idle-timeout-ms:1800000}") long idleTimeoutMillis,
+                              @Value("${rpg.session.eviction-interval-ms:60000}") long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("rpg.session.eviction-interval-ms doit être positif");
+        }
+        this.sessionRegistry = sessionRegistry;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (idleTimeoutMillis <= 0 || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::evictSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void evictSafely() {
+        try {
+            int evicted = sessionRegistry.evictIdleSessions(idleTimeoutMillis);
+            if (evicted > 0) {
+                log.info("{} sessions inactives supprimées", evicted);
+            }
+        } catch (RuntimeException e) {
+            // Une erreur ne doit pas arrêter la suppression périodique
+            log.warn("Suppression des sessions inactives interrompue", e);
+        }
+    }
+}
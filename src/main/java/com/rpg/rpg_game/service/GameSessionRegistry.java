@@ -0,0 +1,166 @@
+package com.rpg.rpg_game.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.rpg.rpg_game.model.GameState;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Registre des sessions de jeu, indexées par identifiant de session.
+ * Basé sur un ConcurrentHashMap : les accès concurrents à des sessions
+ * différentes ne se bloquent pas, chaque session ayant son propre verrou.
+ * Les sessions ne sont créées que sur demande explicite (createSession) et
+ * supprimées après une période d'inactivité (voir evictIdleSessions).
+ */
+@Service
+public class GameSessionRegistry {
+
+    private static final Pattern SESSION_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final ConcurrentHashMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final GameService gameService;
+    private final int viewRadius;
+    private volatile GameCommandLog commandLog = GameCommandLog.NONE;
+
+    public GameSessionRegistry(GameService gameService) {
+        this(gameService, 0);
+    }
+
+    @Autowired
+    public GameSessionRegistry(GameService gameService,
+                               @Value("${rpg.aoi.view-radius:0}") int viewRadius) {
+        if (viewRadius < 0) {
+            throw new IllegalArgumentException("rpg.aoi.view-radius ne peut pas être négatif");
+        }
+        this.gameService = gameService;
+        this.viewRadius = viewRadius;
+    }
+
+    /**
+     * Crée une nouvelle session avec un identifiant aléatoire
+     */
+    public GameSession createSession() {
+        String id = UUID.randomUUID().toString();
+        return getOrCreateSession(id);
+    }
+
+    /**
+     * Crée une nouvelle session dans un monde en chunks généré à partir de la graine
+     */
+    public GameSession createSession(long worldSeed) {
+        String id = UUID.randomUUID().toString();
+        return sessions.computeIfAbsent(id, key -> newSession(key, gameService.createChunkedGame(worldSeed), true));
+    }
+    
+    /**
+     * Récupère une session, ou la crée si elle n'existe pas encore (outils et
+     * tests ; les endpoints recherchent la session avec findSession)
+     */
+    public GameSession getOrCreateSession(String sessionId) {
+        validateSessionId(sessionId);
+        GameSession session = sessions.get(sessionId);
+        if (session != null) {
+            return session;
+        }
+        return sessions.computeIfAbsent(sessionId, id -> newSession(id, gameService.createGame(), false));
+    }
+
+    /**
+     * Réinstalle une session reprise d'un instantané et du journal, sans la
+     * journaliser à nouveau ; remplace une session de même identifiant
+     */
+    public GameSession restoreSession(String sessionId, GameState gameState, long lastSequence) {
+        validateSessionId(sessionId);
+        GameSession session = new GameSession(sessionId, gameState, viewRadius);
+        session.setLastSequence(lastSequence);
+        session.setCommandLog(commandLog);
+        sessions.put(sessionId, session);
+        return session;
+    }
+
+    /**
+     * Branche le journal des commandes sur les sessions existantes et futures
+     */
+    public void setCommandLog(GameCommandLog commandLog) {
+        this.commandLog = commandLog;
+        for (GameSession session : sessions.values()) {
+            session.setCommandLog(commandLog);
+        }
+    }
+
+    private GameSession newSession(String id, GameState gameState, boolean chunkedWorld) {
+        GameSession session = new GameSession(id, gameState, viewRadius);
+        session.setLastSequence(commandLog.sessionCreated(id, gameState.getSeed(), chunkedWorld));
+        session.setCommandLog(commandLog);
+        return session;
+    }
+
+    /**
+     * Recherche une session existante ; vide si l'identifiant est absent ou inconnu
+     */
+    public Optional<GameSession> findSession(String sessionId) {
+        return sessionId == null ? Optional.empty() : Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    /**
+     * Supprime une session, retourne true si elle existait
+     */
+    public boolean removeSession(String sessionId) {
+        GameSession removed = sessions.remove(sessionId);
+        if (removed == null) {
+            return false;
+        }
+        logRemoved(removed);
+        return true;
+    }
+
+    /**
+     * Supprime les sessions sans accès depuis plus de idleMillis (voir
+     * GameSession.getLastAccessTime) ; retourne le nombre de sessions supprimées
+     */
+    public int evictIdleSessions(long idleMillis) {
+        return evictIdleSessions(idleMillis, System.currentTimeMillis());
+    }
+
+    int evictIdleSessions(long idleMillis, long now) {
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            // remove(id, session) : une session recréée sous le même identifiant est conservée
+            if (now - session.getLastAccessTime() > idleMillis && sessions.remove(session.getId(), session)) {
+                logRemoved(session);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private void logRemoved(GameSession session) {
+        // Sous le verrou : la suppression suit les commandes déjà journalisées
+        session.inspect(state -> commandLog.sessionRemoved(session.getId()));
+    }
+
+    public Collection<GameSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Vérifie que l'identifiant de session est bien formé
+     */
+    private void validateSessionId(String sessionId) {
+        if (sessionId == null || !SESSION_ID_PATTERN.matcher(sessionId).matches()) {
+            throw new IllegalArgumentException("Identifiant de session invalide: " + sessionId);
+        }
+    }
+}
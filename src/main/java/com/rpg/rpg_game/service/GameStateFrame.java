@@ -0,0 +1,94 @@
+package com.rpg.rpg_game.service;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.Player;
+import com.rpg.rpg_game.spatial.AreaOfInterest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Empreinte compacte d'une version de l'état, servant de base aux deltas.
+ * Seuls les ennemis et obstacles de la zone d'intérêt du joueur y figurent,
+ * trouvés par les index spatiaux : le coût de capture dépend du voisinage
+ * du joueur, pas de la taille du monde.
+ * Les ennemis et obstacles sont rangés par identifiant croissant pour
+ * permettre une comparaison par fusion en O(n).
+ */
+final class GameStateFrame {
+
+    final long version;
+    final Player player;
+    final AreaOfInterest area;
+    final int[] enemyIds;
+    final int[] enemyX;
+    final int[] enemyY;
+    final int[] enemyHp;
+    final boolean[] enemyAttacking;
+    final int[] obstacleIds;
+
+    // Entités visibles à la capture, dans l'ordre des identifiants (ajouts d'un
+    // delta) : ennemis vivants de l'état, valables tant que la version de l'état
+    // est celle de l'empreinte (à copier avant de les laisser sortir du verrou),
+    // et obstacles partagés, inchangés une fois ajoutés
+    final Enemy[] enemies;
+    final Obstacle[] obstacles;
+
+    private GameStateFrame(long version, Player player, AreaOfInterest area,
+                           Enemy[] enemies, Obstacle[] obstacles) {
+        int enemyCount = enemies.length;
+        this.version = version;
+        this.player = player;
+        this.area = area;
+        this.enemies = enemies;
+        this.obstacles = obstacles;
+        this.enemyIds = new int[enemyCount];
+        this.enemyX = new int[enemyCount];
+        this.enemyY = new int[enemyCount];
+        this.enemyHp = new int[enemyCount];
+        this.enemyAttacking = new boolean[enemyCount];
+        this.obstacleIds = new int[obstacles.length];
+    }
+
+    /**
+     * Capture l'état courant dans la zone d'intérêt (à appeler sous le verrou de la session)
+     */
+    static GameStateFrame capture(GameState state, AreaOfInterest area) {
+        List<Enemy> visibleEnemies;
+        List<Obstacle> visibleObstacles;
+        if (area.isUnbounded()) {
+            visibleEnemies = state.getEnemies();
+            visibleObstacles = state.getObstacles();
+        } else {
+            visibleEnemies = new ArrayList<>();
+            state.getEnemyIndex().queryArea(area, visibleEnemies);
+            visibleObstacles = new ArrayList<>();
+            state.getObstacleIndex().queryArea(area, visibleObstacles);
+        }
+
+        Enemy[] enemies = visibleEnemies.toArray(new Enemy[0]);
+        Obstacle[] obstacles = visibleObstacles.toArray(new Obstacle[0]);
+        // Tri stable : à identifiant égal, l'ordre de la liste est conservé
+        Arrays.sort(enemies, Comparator.comparingInt(Enemy::getId));
+        Arrays.sort(obstacles, Comparator.comparingInt(Obstacle::getId));
+
+        Player player = state.getPlayer() != null ? new Player(state.getPlayer()) : null;
+        GameStateFrame frame = new GameStateFrame(state.getVersion(), player, area, enemies, obstacles);
+        for (int i = 0; i < enemies.length; i++) {
+            Enemy enemy = enemies[i];
+            frame.enemyIds[i] = enemy.getId();
+            frame.enemyX[i] = enemy.getX();
+            frame.enemyY[i] = enemy.getY();
+            frame.enemyHp[i] = enemy.getHp();
+            frame.enemyAttacking[i] = enemy.isAttacking();
+        }
+        for (int i = 0; i < obstacles.length; i++) {
+            frame.obstacleIds[i] = obstacles[i].getId();
+        }
+        return frame;
+    }
+}
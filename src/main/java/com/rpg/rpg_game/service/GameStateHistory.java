@@ -0,0 +1,204 @@
+package com.rpg.rpg_game.service;
+
+import com.rpg.rpg_game.dto.EnemyUpdate;
+import com.rpg.rpg_game.dto.GameStateDelta;
+import com.rpg.rpg_game.dto.GameStateView;
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Player;
+import com.rpg.rpg_game.spatial.AreaOfInterest;
+import com.rpg.rpg_game.world.WorldGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Historique borné des dernières versions d'une session, pour calculer
+ * les changements depuis une version donnée. Au-delà de la capacité,
+ * les versions les plus anciennes sont oubliées et le client reçoit
+ * un état complet. Seules les entités de la zone d'intérêt du joueur sont
+ * suivies : une entité qui y entre ou en sort apparaît ou disparaît du delta.
+ * Non thread-safe : utilisé sous le verrou de la session.
+ */
+public class GameStateHistory {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final GameStateFrame[] frames;
+    private final int viewRadius;
+    private long recordedCount;
+
+    public GameStateHistory() {
+        this(DEFAULT_CAPACITY, 0);
+    }
+
+    public GameStateHistory(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * @param viewRadius demi-côté du carré visible autour du joueur ; 0 pour
+     *                   les zones (chunk du joueur et voisins) d'un monde en
+     *                   chunks, toute la carte fixe sinon
+     */
+    public GameStateHistory(int capacity, int viewRadius) {
+        if (viewRadius < 0) {
+            throw new IllegalArgumentException("Le rayon de vue ne peut pas être négatif");
+        }
+        this.frames = new GameStateFrame[capacity];
+        this.viewRadius = viewRadius;
+    }
+
+    /**
+     * Enregistre la version courante si elle n'est pas déjà connue
+     */
+    public void record(GameState state) {
+        GameStateFrame latest = latest();
+        if (latest != null && latest.version == state.getVersion()) {
+            return;
+        }
+        frames[(int) (recordedCount++ % frames.length)] = GameStateFrame.capture(state, areaOf(state));
+    }
+
+    /**
+     * Zone d'intérêt du joueur de l'état
+     */
+    public AreaOfInterest areaOf(GameState state) {
+        Player player = state.getPlayer();
+        if (player == null) {
+            return AreaOfInterest.EVERYTHING;
+        }
+        if (viewRadius > 0) {
+            return AreaOfInterest.square(player.getX(), player.getY(), viewRadius);
+        }
+        if (state.getWorld() != null) {
+            GameState.Zone zone = state.getPlayerZone();
+            return AreaOfInterest.zones(zone.getX(), zone.getY(), WorldGenerator.CHUNK_SIZE);
+        }
+        return AreaOfInterest.EVERYTHING; // La carte fixe tient entière à l'écran
+    }
+
+    /**
+     * Calcule les changements entre la version since et l'état courant,
+     * dans la zone d'intérêt du joueur. Seuls les ennemis envoyés en entier
+     * (apparus, ou état complet) sont copiés ; les empreintes n'en gardent
+     * que les colonnes comparées.
+     */
+    public GameStateDelta deltaSince(long since, GameState state) {
+        record(state);
+        GameStateFrame current = latest();
+        GameStateFrame base = find(since);
+        if (base == null) {
+            List<Enemy> enemies = new ArrayList<>(current.enemies.length);
+            for (Enemy enemy : current.enemies) {
+                enemies.add(new Enemy(enemy));
+            }
+            return GameStateDelta.fullSnapshot(since,
+                    GameStateView.of(state, enemies, Arrays.asList(current.obstacles)));
+        }
+
+        GameStateDelta delta = new GameStateDelta();
+        delta.setFromVersion(since);
+        delta.setToVersion(current.version);
+        delta.setGameTime(state.getGameTime());
+        delta.setGameOver(state.isGameOver());
+        if (base.version == current.version) {
+            return delta;
+        }
+
+        diffPlayer(base.player, current.player, delta.getPlayer());
+        diffEnemies(base, current, delta);
+        diffObstacles(base, current, delta);
+        return delta;
+    }
+
+    private GameStateFrame latest() {
+        if (recordedCount == 0) {
+            return null;
+        }
+        return frames[(int) ((recordedCount - 1) % frames.length)];
+    }
+
+    private GameStateFrame find(long version) {
+        for (GameStateFrame frame : frames) {
+            if (frame != null && frame.version == version) {
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    private void diffPlayer(Player before, Player after, Map<String, Object> changes) {
+        if (after == null) {
+            return;
+        }
+        if (before == null) {
+            before = new Player();
+            before.setDirection(null);
+        }
+        putIfChanged(changes, "x", before.getX(), after.getX());
+        putIfChanged(changes, "y", before.getY(), after.getY());
+        putIfChanged(changes, "hp", before.getHp(), after.getHp());
+        putIfChanged(changes, "maxHp", before.getMaxHp(), after.getMaxHp());
+        putIfChanged(changes, "attack", before.getAttack(), after.getAttack());
+        putIfChanged(changes, "defense", before.getDefense(), after.getDefense());
+        putIfChanged(changes, "level", before.getLevel(), after.getLevel());
+        putIfChanged(changes, "exp", before.getExp(), after.getExp());
+        putIfChanged(changes, "score", before.getScore(), after.getScore());
+        putIfChanged(changes, "direction", before.getDirection(), after.getDirection());
+        putIfChanged(changes, "attacking", before.isAttacking(), after.isAttacking());
+    }
+
+    private void putIfChanged(Map<String, Object> changes, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changes.put(field, after);
+        }
+    }
+
+    /**
+     * Fusion des deux listes triées d'ennemis : apparus, modifiés, disparus
+     */
+    private void diffEnemies(GameStateFrame base, GameStateFrame current, GameStateDelta delta) {
+        int i = 0;
+        int j = 0;
+        while (i < base.enemyIds.length || j < current.enemyIds.length) {
+            if (j >= current.enemyIds.length
+                    || (i < base.enemyIds.length && base.enemyIds[i] < current.enemyIds[j])) {
+                delta.getRemovedEnemyIds().add(base.enemyIds[i++]);
+            } else if (i >= base.enemyIds.length || current.enemyIds[j] < base.enemyIds[i]) {
+                delta.getAddedEnemies().add(new Enemy(current.enemies[j++]));
+            } else {
+                if (base.enemyX[i] != current.enemyX[j] || base.enemyY[i] != current.enemyY[j]
+                        || base.enemyHp[i] != current.enemyHp[j]
+                        || base.enemyAttacking[i] != current.enemyAttacking[j]) {
+                    delta.getUpdatedEnemies().add(new EnemyUpdate(current.enemyIds[j], current.enemyX[j],
+                            current.enemyY[j], current.enemyHp[j], current.enemyAttacking[j]));
+                }
+                i++;
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Fusion des deux listes triées d'obstacles : apparus et disparus
+     */
+    private void diffObstacles(GameStateFrame base, GameStateFrame current, GameStateDelta delta) {
+        int i = 0;
+        int j = 0;
+        while (i < base.obstacleIds.length || j < current.obstacleIds.length) {
+            if (j >= current.obstacleIds.length
+                    || (i < base.obstacleIds.length && base.obstacleIds[i] < current.obstacleIds[j])) {
+                delta.getRemovedObstacleIds().add(base.obstacleIds[i++]);
+            } else if (i >= base.obstacleIds.length || current.obstacleIds[j] < base.obstacleIds[i]) {
+                delta.getAddedObstacles().add(current.obstacles[j++]);
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.rpg.rpg_game.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.rpg.rpg_game.model.GameState;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boucle de jeu côté serveur à pas de temps fixe.
+ * Fait avancer l'état par défaut et toutes les sessions à une fréquence
+ * configurable, indépendamment des clients : le monde ne dépend plus des
+ * appels à /api/update.
+ * Un réveil en retard rattrape les ticks manqués, dans la limite de
+ * maxCatchUpSteps ; au-delà, le retard est abandonné plutôt que rejoué.
+ * Une session en retard saute des ticks sans retarder les autres.
+ * Les écouteurs sont notifiés sur leurs propres threads virtuels : un
+ * écouteur lent (client WebSocket qui ne lit plus) ne retarde ni la
+ * session ni le tick des autres sessions.
+ */
+@Component
+public class GameTickEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(GameTickEngine.class);
+
+    private final GameService gameService;
+    private final GameSessionRegistry sessionRegistry;
+    private final boolean enabled;
+    private final long tickNanos;
+    private final int maxCatchUpSteps;
+
+    private final List<GameTickListener> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService listenerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong tickCount = new AtomicLong();
+    private final AtomicLong droppedTicks = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private long lastWakeNanos;
+    private long accumulatorNanos;
+
+    // Dernier tick déposé de chaque session (thread de la boucle uniquement)
+    private Map<GameSession, CompletableFuture<GameState>> pendingTicks = new IdentityHashMap<>();
+    private final AtomicLong skippedSessionTicks = new AtomicLong();
+
+    public GameTickEngine(GameService gameService,
+                          GameSessionRegistry sessionRegistry,
+                          @Value("${rpg.tick.enabled:true}") boolean enabled,
+                          @Value("${rpg.tick.rate:10}") int ticksPerSecond,
+                          @Value("${rpg.tick.max-catch-up-steps:5}") int maxCatchUpSteps) {
+        if (ticksPerSecond <= 0 || maxCatchUpSteps <= 0) {
+            throw new IllegalArgumentException("rpg.tick.rate et rpg.tick.max-catch-up-steps doivent être positifs");
+        }
+        this.gameService = gameService;
+        this.sessionRegistry = sessionRegistry;
+        this.enabled = enabled;
+        this.tickNanos = TimeUnit.SECONDS.toNanos(1) / ticksPerSecond;
+        this.maxCatchUpSteps = maxCatchUpSteps;
+    }
+
+    /**
+     * Démarre la boucle de jeu si elle est activée
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lastWakeNanos = System.nanoTime();
+        scheduler.scheduleAtFixedRate(this::onWake, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        listenerExecutor.shutdown();
+    }
+
+    /**
+     * Enregistre un écouteur notifié après le tick de chaque session, hors du
+     * thread de la session et sans que le tick l'attende
+     */
+    public void addTickListener(GameTickListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeTickListener(GameTickListener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Nombre total de ticks simulés depuis le démarrage
+     */
+    public long getTickCount() {
+        return tickCount.get();
+    }
+
+    /**
+     * Nombre de ticks abandonnés faute d'avoir pu être rattrapés
+     */
+    public long getDroppedTicks() {
+        return droppedTicks.get();
+    }
+
+    /**
+     * Nombre de ticks de session sautés parce que la session n'avait pas fini le précédent
+     */
+    public long getSkippedSessionTicks() {
+        return skippedSessionTicks.get();
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    private void onWake() {
+        long now = System.nanoTime();
+        long elapsed = now - lastWakeNanos;
+        lastWakeNanos = now;
+        try {
+            advance(elapsed);
+        } catch (RuntimeException e) {
+            // Ne jamais laisser une exception annuler la planification
+            log.error("Erreur dans la boucle de jeu", e);
+        }
+    }
+
+    /**
+     * Accumule le temps écoulé et exécute autant de ticks fixes que nécessaire,
+     * au plus maxCatchUpSteps. Retourne le nombre de ticks exécutés.
+     */
+    int advance(long elapsedNanos) {
+        accumulatorNanos += elapsedNanos;
+        int steps = 0;
+        while (accumulatorNanos >= tickNanos && steps < maxCatchUpSteps) {
+            tick();
+            accumulatorNanos -= tickNanos;
+            steps++;
+        }
+        if (accumulatorNanos >= tickNanos) {
+            // Trop de retard : on abandonne le surplus au lieu de rejouer en rafale
+            droppedTicks.addAndGet(accumulatorNanos / tickNanos);
+            accumulatorNanos %= tickNanos;
+        }
+        return steps;
+    }
+
+    /**
+     * Exécute un tick sur l'état par défaut puis sur toutes les sessions : la
+     * commande est déposée dans la boîte aux lettres de chaque session, dont
+     * les threads virtuels avancent en parallèle. Une session dont le tick
+     * précédent n'est pas encore exécuté (boîte aux lettres encombrée) saute
+     * celui-ci au lieu d'empiler les ticks. Attend au plus une période la fin
+     * de la simulation des sessions tickées, pour que le pas fixe ne prenne pas
+     * d'avance sur elles, mais ni celle des sessions encombrées ni celle des
+     * écouteurs, notifiés à part (voir notifyListeners).
+     */
+    void tick() {
+        tickCount.incrementAndGet();
+        Map<GameSession, CompletableFuture<GameState>> submitted = new IdentityHashMap<>();
+        List<CompletableFuture<GameState>> ticks = new ArrayList<>(sessionRegistry.getSessionCount() + 1);
+        // L'état par défaut n'a pas d'abonnés : ses ticks ne sont pas notifiés
+        submitTick(gameService.getDefaultSession(), false, submitted, ticks);
+        for (GameSession session : sessionRegistry.getSessions()) {
+            submitTick(session, !listeners.isEmpty(), submitted, ticks);
+        }
+        pendingTicks = submitted;
+        try {
+            CompletableFuture.allOf(ticks.toArray(new CompletableFuture<?>[0])).get(tickNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Les sessions encore occupées sauteront le tick suivant
+        } catch (ExecutionException e) {
+            log.warn("Erreur dans le tick d'une session", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Dépose le tick d'une session, sauf si son tick précédent est encore en
+     * attente ; seuls les ticks déposés sont ajoutés à ticks
+     */
+    private void submitTick(GameSession session, boolean notify,
+                            Map<GameSession, CompletableFuture<GameState>> submitted,
+                            List<CompletableFuture<GameState>> ticks) {
+        CompletableFuture<GameState> previous = pendingTicks.get(session);
+        if (previous != null && !previous.isDone()) {
+            skippedSessionTicks.incrementAndGet();
+            submitted.put(session, previous);
+            return;
+        }
+        CompletableFuture<GameState> simulated = session.submit(gameService, GameCommand.tick());
+        submitted.put(session, simulated);
+        ticks.add(simulated);
+        if (notify) {
+            simulated.thenRunAsync(() -> notifyListeners(session), listenerExecutor);
+        }
+    }
+
+    /**
+     * Notifie les écouteurs du tick d'une session ; une erreur d'un écouteur
+     * n'empêche pas les suivants d'être notifiés
+     */
+    private void notifyListeners(GameSession session) {
+        for (GameTickListener listener : listeners) {
+            try {
+                listener.onTick(session);
+            } catch (RuntimeException e) {
+                log.warn("Erreur d'un écouteur du tick de la session {}", session.getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.rpg.rpg_game.service;
+
+/**
+ * Écouteur notifié après chaque tick d'une session par la boucle de jeu.
+ */
+@FunctionalInterface
+public interface GameTickListener {
+
+    /**
+     * Appelé depuis un thread virtuel dédié aux écouteurs, après le tick de la
+     * session ; le tick suivant n'attend pas le retour de l'écouteur
+     */
+    void onTick(GameSession session);
+}
@@ -0,0 +1,74 @@
+package com.rpg.rpg_game.service;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Boîte aux lettres d'une session : file multi-producteurs, consommateur
+ * unique. Les tâches déposées par les threads HTTP, WebSocket ou de la boucle
+ * de jeu s'exécutent une à une, dans l'ordre de dépôt, sur un thread virtuel
+ * propre à la session. Ce thread n'existe que pendant qu'il y a du travail :
+ * le premier dépôt dans une boîte vide le démarre, il s'arrête une fois la
+ * file vidée. Les déposants n'attendent jamais, ils reçoivent un
+ * CompletableFuture complété par le consommateur.
+ */
+final class SessionMailbox {
+
+    // Tâches traitées par un même thread avant de céder la place à un nouveau
+    static final int DRAIN_BATCH = 256;
+
+    private final String name;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    SessionMailbox(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Dépose une tâche ; le futur est complété par son résultat, ou par son
+     * exception si elle échoue
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        tasks.add(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        schedule();
+        return future;
+    }
+
+    /**
+     * Nombre de tâches en attente (approximatif, pour la supervision)
+     */
+    int pending() {
+        return tasks.size();
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            Thread.ofVirtual().name(name).start(this::drain);
+        }
+    }
+
+    private void drain() {
+        int processed = 0;
+        Runnable task;
+        while (processed < DRAIN_BATCH && (task = tasks.poll()) != null) {
+            task.run();
+            processed++;
+        }
+        draining.set(false);
+        // Un dépôt arrivé entre le dernier poll et la remise à false n'a pas démarré de thread
+        if (!tasks.isEmpty()) {
+            schedule();
+        }
+    }
+}
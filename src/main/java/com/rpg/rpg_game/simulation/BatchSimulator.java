@@ -0,0 +1,150 @@
+package com.rpg.rpg_game.simulation;
+
+import com.rpg.rpg_game.event.GameEventType;
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.service.GameCommand;
+import com.rpg.rpg_game.service.GameService;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+/**
+ * Simulateur de parties sans serveur : de nombreuses parties indépendantes,
+ * chacune pilotée par un bot scripté (BotPolicy), jouées en parallèle sur un
+ * ForkJoinPool aussi vite que possible, sans horloge ni HTTP. Sert à régler
+ * les caractéristiques des ennemis, la progression des niveaux et l'IA, et à
+ * mesurer le débit brut du moteur.
+ *
+ * Une partie ne partage rien avec les autres et ne dépend que de sa graine :
+ * les résultats sont les mêmes quel que soit le parallélisme. En ligne de commande :
+ * <pre>
+ * java -cp rpg-game.jar com.rpg.rpg_game.simulation.BatchSimulator \
+ *     [--games 1000] [--ticks 3600] [--policy hunter] [--seed 1] [--threads N] [--chunked]
+ * </pre>
+ */
+public class BatchSimulator {
+
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+
+    private final GameService gameService;
+    private final int parallelism;
+
+    public BatchSimulator(GameService gameService) {
+        this(gameService, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchSimulator(GameService gameService, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Le parallélisme doit être positif: " + parallelism);
+        }
+        this.gameService = gameService;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Joue games parties de graines firstSeed, firstSeed + 1..., chacune
+     * jusqu'à la mort du joueur, la victoire ou maxTicks ticks
+     *
+     * @param chunkedWorld monde en chunks sans bornes plutôt que la carte par défaut
+     * @param bots         fabrique d'un bot à partir de la graine de sa partie
+     */
+    public SimulationReport run(int games, long firstSeed, long maxTicks, boolean chunkedWorld,
+                                LongFunction<BotPolicy> bots) {
+        if (games < 0 || maxTicks <= 0) {
+            throw new IllegalArgumentException("Nombre de parties ou de ticks invalide");
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long started = System.nanoTime();
+        try {
+            List<GameOutcome> outcomes = pool.submit(() -> LongStream.range(firstSeed, firstSeed + games)
+                    .parallel()
+                    .mapToObj(seed -> play(seed, maxTicks, chunkedWorld, bots.apply(seed)))
+                    .toList()).get();
+            return new SimulationReport(outcomes, System.nanoTime() - started, parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'une partie simulée", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Joue une partie : à chaque tick, la commande du bot puis la mise à jour du monde
+     */
+    public GameOutcome play(long seed, long maxTicks, boolean chunkedWorld, BotPolicy bot) {
+        GameState state = chunkedWorld ? gameService.createChunkedGame(seed) : gameService.createGame(seed);
+        int[] kills = new int[ENEMY_TYPES.length];
+        EnemyType[] killedBy = new EnemyType[1];
+
+        while (state.getGameTime() < maxTicks && !state.isGameOver() && !state.isVictory()) {
+            GameCommand command = bot.decide(state);
+            if (command != null) {
+                command.applyTo(gameService, state);
+            }
+            if (!state.isGameOver()) {
+                gameService.updateGame(state);
+            }
+            // Vidangé à chaque tick : bien moins d'événements par tick que la capacité du tampon
+            state.getEvents().drain(event -> {
+                if (event.getType() == GameEventType.ENEMY_KILLED) {
+                    kills[event.getEnemyType().ordinal()]++;
+                } else if (event.getType() == GameEventType.PLAYER_DEATH) {
+                    killedBy[0] = event.getEnemyType();
+                }
+            });
+        }
+        return new GameOutcome(seed, state.getGameTime(), !state.getPlayer().isAlive(), state.isVictory(),
+                killedBy[0], state.getPlayer().getLevel(), state.getPlayer().getScore(), kills);
+    }
+
+    public static void main(String[] args) {
+        int games = 1000;
+        long ticks = 3600;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean chunked = false;
+        String policy = "hunter";
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games":
+                        games = Integer.parseInt(args[++i]);
+                        break;
+                    case "--ticks":
+                        ticks = Long.parseLong(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--policy":
+                        policy = args[++i];
+                        break;
+                    case "--chunked":
+                        chunked = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Option inconnue: " + args[i]);
+                }
+            }
+            LongFunction<BotPolicy> bots = BotPolicies.named(policy);
+            SimulationReport report = new BatchSimulator(new GameService(), threads)
+                    .run(games, seed, ticks, chunked, bots);
+            System.out.print(report.format());
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: BatchSimulator [--games N] [--ticks N] [--policy idle|wanderer|hunter]"
+                    + " [--seed N] [--threads N] [--chunked]");
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.rpg.rpg_game.simulation;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.GameRandom;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Player;
+import com.rpg.rpg_game.service.GameCommand;
+
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Comportements de bots fournis, créés à partir de la graine de leur partie :
+ * <ul>
+ * <li>idle : ne fait rien, mesure la seule agressivité des ennemis ;</li>
+ * <li>wanderer : erre au hasard en gardant sa direction quelque temps ;</li>
+ * <li>hunter : marche vers l'ennemi le plus proche et l'attaque à portée.</li>
+ * </ul>
+ */
+public final class BotPolicies {
+
+    private static final String[] DIRECTIONS = {"up", "right", "down", "left"};
+
+    // Mélangée à la graine de la partie : les tirages du bot sont indépendants de ceux de l'état
+    private static final long BOT_SEED_SALT = 0x5DEECE66DL;
+
+    // Portée d'attaque du joueur (GameService.playerAttack), avec une marge
+    private static final int ATTACK_REACH = 45;
+    // Au plus une attaque tous les ATTACK_INTERVAL ticks (trois par seconde à 10 ticks/s)
+    private static final int ATTACK_INTERVAL = 3;
+    // Distance de repérage des cibles du chasseur
+    private static final int SIGHT = 400;
+    // Pas d'errance pour contourner un obstacle qui bloque la poursuite
+    private static final int DETOUR_STEPS = 15;
+
+    private BotPolicies() {
+    }
+
+    /**
+     * Fabrique de bots du nom donné (idle, wanderer ou hunter).
+     * Lève IllegalArgumentException pour un nom inconnu.
+     */
+    public static LongFunction<BotPolicy> named(String name) {
+        switch (name) {
+            case "idle":
+                return seed -> idle();
+            case "wanderer":
+                return BotPolicies::wanderer;
+            case "hunter":
+                return BotPolicies::hunter;
+            default:
+                throw new IllegalArgumentException("Comportement de bot inconnu: " + name);
+        }
+    }
+
+    public static BotPolicy idle() {
+        return state -> null;
+    }
+
+    public static BotPolicy wanderer(long seed) {
+        return new Wanderer(new GameRandom(seed ^ BOT_SEED_SALT));
+    }
+
+    public static BotPolicy hunter(long seed) {
+        return new Hunter(new GameRandom(seed ^ BOT_SEED_SALT));
+    }
+
+    /**
+     * Avance dans une direction et en change une fois sur vingt, ou quand il est bloqué
+     */
+    private static class Wanderer implements BotPolicy {
+
+        final GameRandom random;
+        String direction;
+        int lastX = Integer.MIN_VALUE;
+        int lastY = Integer.MIN_VALUE;
+
+        Wanderer(GameRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public GameCommand decide(GameState state) {
+            return GameCommand.move(wander(state.getPlayer()));
+        }
+
+        String wander(Player player) {
+            boolean blocked = player.getX() == lastX && player.getY() == lastY;
+            if (direction == null || blocked || random.nextInt(20) == 0) {
+                direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            }
+            lastX = player.getX();
+            lastY = player.getY();
+            return direction;
+        }
+    }
+
+    /**
+     * Poursuit l'ennemi visible le plus proche en avançant sur l'axe le plus
+     * éloigné ; erre quand aucun ennemi n'est en vue ou que le chemin est bloqué
+     */
+    private static final class Hunter extends Wanderer {
+
+        long lastAttackTime = -ATTACK_INTERVAL;
+        int detour;
+
+        Hunter(GameRandom random) {
+            super(random);
+        }
+
+        @Override
+        public GameCommand decide(GameState state) {
+            Player player = state.getPlayer();
+            List<Enemy> nearest = state.getEnemyIndex().nearest(player.getX(), player.getY(), 1, SIGHT);
+            if (nearest.isEmpty()) {
+                return super.decide(state);
+            }
+            Enemy target = nearest.get(0);
+            int dx = target.getX() - player.getX();
+            int dy = target.getY() - player.getY();
+            if ((long) dx * dx + (long) dy * dy <= (long) ATTACK_REACH * ATTACK_REACH) {
+                // Immobile à portée : ce n'est pas un blocage
+                lastX = Integer.MIN_VALUE;
+                if (state.getGameTime() - lastAttackTime >= ATTACK_INTERVAL) {
+                    lastAttackTime = state.getGameTime();
+                    return GameCommand.attack();
+                }
+                return null;
+            }
+            if (player.getX() == lastX && player.getY() == lastY) {
+                detour = DETOUR_STEPS;
+            }
+            if (detour > 0) {
+                // Contournement : quelques pas dans une direction au hasard
+                detour--;
+                return GameCommand.move(wander(player));
+            }
+            lastX = player.getX();
+            lastY = player.getY();
+            if (Math.abs(dx) >= Math.abs(dy)) {
+                return GameCommand.move(dx > 0 ? "right" : "left");
+            }
+            return GameCommand.move(dy > 0 ? "down" : "up");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.rpg.rpg_game.simulation;
+
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.service.GameCommand;
+
+/**
+ * Comportement scripté d'un joueur simulé : avant chaque tick, le bot choisit
+ * une commande à appliquer à sa partie. Une instance par partie, qui peut
+ * garder sa propre mémoire ; ses tirages aléatoires ne doivent pas puiser
+ * dans le générateur de l'état, pour ne pas changer le cours de la partie.
+ * Voir BotPolicies pour les comportements fournis.
+ */
+@FunctionalInterface
+public interface BotPolicy {
+
+    /**
+     * Commande à appliquer avant le prochain tick, null pour ne rien faire
+     */
+    GameCommand decide(GameState state);
+}
@@ -0,0 +1,79 @@
+package com.rpg.rpg_game.simulation;
+
+import com.rpg.rpg_game.model.EnemyType;
+
+/**
+ * Résultat d'une partie simulée. Immuable.
+ */
+public final class GameOutcome {
+
+    private final long seed;
+    private final long ticks;
+    private final boolean died;
+    private final boolean victory;
+    private final EnemyType killedBy;
+    private final int level;
+    private final int score;
+    private final int[] killsByType;
+
+    GameOutcome(long seed, long ticks, boolean died, boolean victory, EnemyType killedBy,
+                int level, int score, int[] killsByType) {
+        this.seed = seed;
+        this.ticks = ticks;
+        this.died = died;
+        this.victory = victory;
+        this.killedBy = killedBy;
+        this.level = level;
+        this.score = score;
+        this.killsByType = killsByType.clone();
+    }
+
+    /**
+     * Graine de la partie, qui suffit à la rejouer avec le même bot
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Ticks joués ; pour une partie perdue, tick de la mort du joueur
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public boolean isDied() {
+        return died;
+    }
+
+    public boolean isVictory() {
+        return victory;
+    }
+
+    /**
+     * Type de l'ennemi auteur du coup fatal, null si le joueur a survécu
+     */
+    public EnemyType getKilledBy() {
+        return killedBy;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getKills(EnemyType type) {
+        return killsByType[type.ordinal()];
+    }
+
+    public int getTotalKills() {
+        int total = 0;
+        for (int kills : killsByType) {
+            total += kills;
+        }
+        return total;
+    }
+}
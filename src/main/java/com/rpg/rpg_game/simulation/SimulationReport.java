@@ -0,0 +1,195 @@
+package com.rpg.rpg_game.simulation;
+
+import com.rpg.rpg_game.model.EnemyType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Statistiques agrégées d'une série de parties simulées : débit du moteur,
+ * durée de survie, éliminations par type d'ennemi et niveaux atteints.
+ * Immuable.
+ */
+public final class SimulationReport {
+
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+
+    private final List<GameOutcome> outcomes;
+    private final long elapsedNanos;
+    private final int parallelism;
+    private final long totalTicks;
+    private final int deaths;
+    private final int victories;
+    private final long[] deathTicks;
+    private final Map<EnemyType, Long> killsByType;
+    private final Map<EnemyType, Integer> deathsByType;
+    private final SortedMap<Integer, Integer> levels;
+    private final long totalScore;
+
+    SimulationReport(List<GameOutcome> outcomes, long elapsedNanos, int parallelism) {
+        this.outcomes = Collections.unmodifiableList(outcomes);
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+
+        long ticks = 0;
+        long score = 0;
+        int deathCount = 0;
+        int victoryCount = 0;
+        long[] kills = new long[ENEMY_TYPES.length];
+        int[] killers = new int[ENEMY_TYPES.length];
+        long[] deathTimes = new long[outcomes.size()];
+        SortedMap<Integer, Integer> levelCounts = new TreeMap<>();
+        for (GameOutcome outcome : outcomes) {
+            ticks += outcome.getTicks();
+            score += outcome.getScore();
+            if (outcome.isDied()) {
+                deathTimes[deathCount++] = outcome.getTicks();
+                if (outcome.getKilledBy() != null) {
+                    killers[outcome.getKilledBy().ordinal()]++;
+                }
+            }
+            if (outcome.isVictory()) {
+                victoryCount++;
+            }
+            for (EnemyType type : ENEMY_TYPES) {
+                kills[type.ordinal()] += outcome.getKills(type);
+            }
+            levelCounts.merge(outcome.getLevel(), 1, Integer::sum);
+        }
+        this.totalTicks = ticks;
+        this.totalScore = score;
+        this.deaths = deathCount;
+        this.victories = victoryCount;
+        this.deathTicks = Arrays.copyOf(deathTimes, deathCount);
+        Arrays.sort(deathTicks);
+        this.killsByType = new EnumMap<>(EnemyType.class);
+        this.deathsByType = new EnumMap<>(EnemyType.class);
+        for (EnemyType type : ENEMY_TYPES) {
+            killsByType.put(type, kills[type.ordinal()]);
+            deathsByType.put(type, killers[type.ordinal()]);
+        }
+        this.levels = Collections.unmodifiableSortedMap(levelCounts);
+    }
+
+    /**
+     * Résultat de chaque partie, dans l'ordre des graines
+     */
+    public List<GameOutcome> getOutcomes() {
+        return outcomes;
+    }
+
+    public int getGameCount() {
+        return outcomes.size();
+    }
+
+    /**
+     * Durée murale de la série
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Débit du moteur : ticks simulés par seconde, toutes parties confondues
+     */
+    public double getTicksPerSecond() {
+        return elapsedNanos > 0 ? totalTicks * 1e9 / elapsedNanos : 0;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public int getVictories() {
+        return victories;
+    }
+
+    /**
+     * Tick de la mort au percentile donné (0 à 100) parmi les parties perdues,
+     * -1 si aucune partie n'est perdue
+     */
+    public long getTimeToDeathPercentile(double percentile) {
+        if (deathTicks.length == 0) {
+            return -1;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * deathTicks.length) - 1;
+        return deathTicks[Math.max(0, Math.min(index, deathTicks.length - 1))];
+    }
+
+    public Map<EnemyType, Long> getKillsByType() {
+        return Collections.unmodifiableMap(killsByType);
+    }
+
+    /**
+     * Nombre de morts du joueur par type d'ennemi auteur du coup fatal
+     */
+    public Map<EnemyType, Integer> getDeathsByType() {
+        return Collections.unmodifiableMap(deathsByType);
+    }
+
+    /**
+     * Nombre de parties par niveau final atteint
+     */
+    public SortedMap<Integer, Integer> getLevels() {
+        return levels;
+    }
+
+    public double getAverageLevel() {
+        if (outcomes.isEmpty()) {
+            return 0;
+        }
+        long sum = 0;
+        for (GameOutcome outcome : outcomes) {
+            sum += outcome.getLevel();
+        }
+        return (double) sum / outcomes.size();
+    }
+
+    public double getAverageScore() {
+        return outcomes.isEmpty() ? 0 : (double) totalScore / outcomes.size();
+    }
+
+    /**
+     * Rapport lisible, sur plusieurs lignes
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%d parties, %d ticks en %.2f s sur %d threads : %.0f ticks/s%n",
+                getGameCount(), totalTicks, elapsedNanos / 1e9, parallelism, getTicksPerSecond()));
+        text.append(String.format("Morts : %d, victoires : %d, survivants : %d%n",
+                deaths, victories, getGameCount() - deaths - victories));
+        if (deaths > 0) {
+            text.append(String.format("Tick de la mort : médiane %d, p10 %d, p90 %d, min %d, max %d%n",
+                    getTimeToDeathPercentile(50), getTimeToDeathPercentile(10), getTimeToDeathPercentile(90),
+                    deathTicks[0], deathTicks[deathTicks.length - 1]));
+        }
+        for (EnemyType type : ENEMY_TYPES) {
+            text.append(String.format("%-8s éliminés %d (%.2f par partie), coups fatals %d%n",
+                    type.getDisplayName(), killsByType.get(type),
+                    getGameCount() > 0 ? (double) killsByType.get(type) / getGameCount() : 0,
+                    deathsByType.get(type)));
+        }
+        text.append(String.format("Niveau moyen %.2f, score moyen %.1f, répartition des niveaux %s%n",
+                getAverageLevel(), getAverageScore(), levels));
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationReport{games=%d, ticks=%d, deaths=%d, ticksPerSecond=%.0f}",
+                getGameCount(), totalTicks, deaths, getTicksPerSecond());
+    }
+}
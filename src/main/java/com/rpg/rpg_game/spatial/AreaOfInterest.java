@@ -0,0 +1,82 @@
+package com.rpg.rpg_game.spatial;
+
+/**
+ * Zone d'intérêt d'un client : rectangle (bornes incluses) hors duquel les
+ * entités ne lui sont pas transmises. EVERYTHING ne filtre rien.
+ */
+public final class AreaOfInterest {
+
+    public static final AreaOfInterest EVERYTHING =
+            new AreaOfInterest(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final int minX;
+    private final int minY;
+    private final int maxX;
+    private final int maxY;
+
+    private AreaOfInterest(int minX, int minY, int maxX, int maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Carré de demi-côté radius centré sur un point
+     */
+    public static AreaOfInterest square(int x, int y, int radius) {
+        return new AreaOfInterest(saturate((long) x - radius), saturate((long) y - radius),
+                saturate((long) x + radius), saturate((long) y + radius));
+    }
+
+    /**
+     * Bloc de zones carrées de côté zoneSize : la zone (zoneX, zoneY) et
+     * ses voisines, diagonales comprises
+     */
+    public static AreaOfInterest zones(int zoneX, int zoneY, int zoneSize) {
+        return new AreaOfInterest(saturate((long) (zoneX - 1) * zoneSize), saturate((long) (zoneY - 1) * zoneSize),
+                saturate((long) (zoneX + 2) * zoneSize - 1), saturate((long) (zoneY + 2) * zoneSize - 1));
+    }
+
+    public boolean isUnbounded() {
+        return this == EVERYTHING;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * Vrai si le rectangle (x, y, width, height) touche la zone
+     */
+    public boolean intersects(int x, int y, int width, int height) {
+        return x <= maxX && (long) x + Math.max(1, width) - 1 >= minX
+                && y <= maxY && (long) y + Math.max(1, height) - 1 >= minY;
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    @Override
+    public String toString() {
+        return isUnbounded() ? "AreaOfInterest(*)"
+                : String.format("AreaOfInterest(%d,%d → %d,%d)", minX, minY, maxX, maxY);
+    }
+}
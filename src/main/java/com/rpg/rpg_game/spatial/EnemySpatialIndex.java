@@ -0,0 +1,373 @@
+package com.rpg.rpg_game.spatial;
+
+import com.rpg.rpg_game.model.Enemy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Index spatial dynamique des ennemis : grille uniforme sur le centre de chaque ennemi.
+ * Chaque ennemi connaît sa cellule et sa position dans celle-ci, ce qui rend
+ * l'insertion, le déplacement et la suppression en O(1) (retrait par échange
+ * avec le dernier élément de la cellule). Les requêtes par rayon et des k plus
+ * proches ne parcourent que les cellules voisines du point recherché.
+ * L'entrée d'index est portée par l'ennemi lui-même (sans table de hachage
+ * intermédiaire) : un ennemi n'appartient qu'à un seul index à la fois.
+ * Les positions sont lues sur l'ennemi : un déplacement qui reste dans la même
+ * cellule n'a pas besoin d'être signalé (voir sameCell).
+ * Non thread-safe : utilisé sous le verrou de la session.
+ */
+public class EnemySpatialIndex {
+
+    public static final int DEFAULT_CELL_SIZE = 64;
+
+    private final int cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private int size;
+
+    public EnemySpatialIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public EnemySpatialIndex(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("La taille de cellule doit être positive");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Reconstruit l'index à partir d'une liste complète d'ennemis
+     */
+    public void rebuild(Collection<Enemy> enemies) {
+        for (Cell cell : cells.values()) {
+            for (int i = 0; i < cell.count; i++) {
+                cell.entries[i].enemy.setSpatialEntry(null);
+            }
+        }
+        cells.clear();
+        size = 0;
+        for (Enemy enemy : enemies) {
+            insert(enemy);
+        }
+    }
+
+    public void insert(Enemy enemy) {
+        Entry entry = entryOf(enemy);
+        if (entry != null) {
+            update(enemy);
+            return;
+        }
+        entry = new Entry(this, enemy);
+        enemy.setSpatialEntry(entry);
+        size++;
+        attach(entry, cell(enemy.getX()), cell(enemy.getY()));
+    }
+
+    /**
+     * Prend en compte la nouvelle position d'un ennemi ; ne change de cellule
+     * que s'il en a franchi la frontière
+     */
+    public void update(Enemy enemy) {
+        Entry entry = entryOf(enemy);
+        if (entry == null) {
+            insert(enemy);
+            return;
+        }
+        int cx = cell(enemy.getX());
+        int cy = cell(enemy.getY());
+        if (entry.cell.cx != cx || entry.cell.cy != cy) {
+            detach(entry);
+            attach(entry, cx, cy);
+        }
+    }
+
+    /**
+     * Reporte le déplacement d'un ennemi dans l'index qui le contient, s'il
+     * y en a un (appelé par les mutateurs de position d'Enemy)
+     */
+    public static void relocate(Enemy enemy) {
+        if (enemy.getSpatialEntry() instanceof Entry entry) {
+            entry.owner.update(enemy);
+        }
+    }
+
+    /**
+     * Vrai si les deux positions tombent dans la même cellule : un tel
+     * déplacement ne nécessite pas d'appeler update
+     */
+    public boolean sameCell(int x1, int y1, int x2, int y2) {
+        return cell(x1) == cell(x2) && cell(y1) == cell(y2);
+    }
+
+    public boolean remove(Enemy enemy) {
+        Entry entry = entryOf(enemy);
+        if (entry == null) {
+            return false;
+        }
+        enemy.setSpatialEntry(null);
+        size--;
+        detach(entry);
+        return true;
+    }
+
+    public boolean contains(Enemy enemy) {
+        return entryOf(enemy) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ajoute à out les ennemis dont le centre est à distance <= radius du point.
+     * Retourne le nombre d'ennemis ajoutés.
+     */
+    public int queryRadius(int x, int y, int radius, List<Enemy> out) {
+        long radiusSquared = (long) radius * radius;
+        int minX = cell(x - radius);
+        int maxX = cell(x + radius);
+        int minY = cell(y - radius);
+        int maxY = cell(y + radius);
+        int found = 0;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.count; i++) {
+                    Entry entry = cell.entries[i];
+                    if (distanceSquared(entry, x, y) <= radiusSquared) {
+                        out.add(entry.enemy);
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Ajoute à out les ennemis dont le centre est dans la zone d'intérêt.
+     * Une zone plus étendue que la grille occupée est traitée en parcourant
+     * directement les cellules occupées. Retourne le nombre d'ennemis ajoutés.
+     */
+    public int queryArea(AreaOfInterest area, List<Enemy> out) {
+        int minX = cell(area.getMinX());
+        int maxX = cell(area.getMaxX());
+        int minY = cell(area.getMinY());
+        int maxY = cell(area.getMaxY());
+        int found = 0;
+        if (((long) maxX - minX + 1) * ((long) maxY - minY + 1) > cells.size()) {
+            for (Cell cell : cells.values()) {
+                if (cell.cx >= minX && cell.cx <= maxX && cell.cy >= minY && cell.cy <= maxY) {
+                    found += collect(cell, area, out);
+                }
+            }
+            return found;
+        }
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell != null) {
+                    found += collect(cell, area, out);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int collect(Cell cell, AreaOfInterest area, List<Enemy> out) {
+        int found = 0;
+        for (int i = 0; i < cell.count; i++) {
+            Enemy enemy = cell.entries[i].enemy;
+            if (area.contains(enemy.getX(), enemy.getY())) {
+                out.add(enemy);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Les k ennemis les plus proches du point, à distance <= maxRadius,
+     * triés du plus proche au plus lointain
+     */
+    public List<Enemy> nearest(int x, int y, int k, int maxRadius) {
+        List<Enemy> result = new ArrayList<>(Math.max(0, k));
+        if (k <= 0 || size == 0) {
+            return result;
+        }
+        long maxRadiusSquared = (long) maxRadius * maxRadius;
+        // Tas max borné à k : la racine est le plus lointain des candidats retenus
+        PriorityQueue<Entry> best = new PriorityQueue<>(k + 1,
+                (a, b) -> Long.compare(distanceSquared(b, x, y), distanceSquared(a, x, y)));
+
+        int centerX = cell(x);
+        int centerY = cell(y);
+        int maxRing = maxRadius / cellSize + 1;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (ringCellCount(ring) > cells.size()) {
+                // Anneau plus grand que la grille occupée : parcours direct des cellules
+                for (Cell cell : cells.values()) {
+                    if (Math.max(Math.abs(cell.cx - centerX), Math.abs(cell.cy - centerY)) >= ring) {
+                        offerCell(cell, x, y, k, maxRadiusSquared, best);
+                    }
+                }
+                break;
+            }
+            forEachRingCell(centerX, centerY, ring, cell -> offerCell(cell, x, y, k, maxRadiusSquared, best));
+
+            // Distance minimale de tout point hors des anneaux déjà visités
+            long inner = Math.min(
+                    Math.min(x - (long) (centerX - ring) * cellSize, (long) (centerX + ring + 1) * cellSize - x),
+                    Math.min(y - (long) (centerY - ring) * cellSize, (long) (centerY + ring + 1) * cellSize - y));
+            if (best.size() == k && distanceSquared(best.peek(), x, y) <= inner * inner) {
+                break;
+            }
+            if (inner > maxRadius) {
+                break;
+            }
+        }
+
+        while (!best.isEmpty()) {
+            result.add(best.poll().enemy);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void offerCell(Cell cell, int x, int y, int k, long maxRadiusSquared, PriorityQueue<Entry> best) {
+        for (int i = 0; i < cell.count; i++) {
+            Entry entry = cell.entries[i];
+            long distance = distanceSquared(entry, x, y);
+            if (distance > maxRadiusSquared) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(entry);
+            } else if (distance < distanceSquared(best.peek(), x, y)) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+    }
+
+    private void forEachRingCell(int centerX, int centerY, int ring, Consumer<Cell> action) {
+        if (ring == 0) {
+            Cell cell = cells.get(key(centerX, centerY));
+            if (cell != null) {
+                action.accept(cell);
+            }
+            return;
+        }
+        for (int cx = centerX - ring; cx <= centerX + ring; cx++) {
+            visit(cx, centerY - ring, action);
+            visit(cx, centerY + ring, action);
+        }
+        for (int cy = centerY - ring + 1; cy <= centerY + ring - 1; cy++) {
+            visit(centerX - ring, cy, action);
+            visit(centerX + ring, cy, action);
+        }
+    }
+
+    private void visit(int cx, int cy, Consumer<Cell> action) {
+        Cell cell = cells.get(key(cx, cy));
+        if (cell != null) {
+            action.accept(cell);
+        }
+    }
+
+    private static long ringCellCount(int ring) {
+        return ring == 0 ? 1 : 8L * ring;
+    }
+
+    private Entry entryOf(Enemy enemy) {
+        Object handle = enemy.getSpatialEntry();
+        if (handle instanceof Entry entry && entry.owner == this) {
+            return entry;
+        }
+        return null;
+    }
+
+    private void attach(Entry entry, int cx, int cy) {
+        long key = key(cx, cy);
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell(key, cx, cy);
+            cells.put(key, cell);
+        }
+        if (cell.count == cell.entries.length) {
+            cell.entries = Arrays.copyOf(cell.entries, cell.count * 2);
+        }
+        entry.cell = cell;
+        entry.slot = cell.count;
+        cell.entries[cell.count++] = entry;
+    }
+
+    private void detach(Entry entry) {
+        Cell cell = entry.cell;
+        int last = --cell.count;
+        Entry moved = cell.entries[last];
+        cell.entries[entry.slot] = moved;
+        moved.slot = entry.slot;
+        cell.entries[last] = null;
+        if (cell.count == 0) {
+            cells.remove(cell.key);
+        }
+        entry.cell = null;
+    }
+
+    private static long distanceSquared(Entry entry, int x, int y) {
+        long dx = entry.enemy.getX() - x;
+        long dy = entry.enemy.getY() - y;
+        return dx * dx + dy * dy;
+    }
+
+    private int cell(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    /**
+     * Clé unique de cellule, brassée par une multiplication impaire (bijective) :
+     * sans elle, Long.hashCode réduirait la clé à cx ^ cy et les cellules d'une
+     * même diagonale tomberaient dans le même compartiment du HashMap
+     */
+    private static long key(int cx, int cy) {
+        return (((long) cx << 32) | (cy & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+    }
+
+    private static final class Entry {
+        final EnemySpatialIndex owner;
+        final Enemy enemy;
+        Cell cell;
+        int slot;
+
+        Entry(EnemySpatialIndex owner, Enemy enemy) {
+            this.owner = owner;
+            this.enemy = enemy;
+        }
+    }
+
+    private static final class Cell {
+        final long key;
+        final int cx;
+        final int cy;
+        Entry[] entries = new Entry[4];
+        int count;
+
+        Cell(long key, int cx, int cy) {
+            this.key = key;
+            this.cx = cx;
+            this.cy = cy;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.rpg.rpg_game.spatial;
+
+import com.rpg.rpg_game.model.Obstacle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Champ de flux (carte de Dijkstra) vers le joueur, partagé par tous les
+ * ennemis d'un état de jeu. La grille de navigation couvre une fenêtre carrée
+ * centrée sur la cellule du joueur ; les cellules recouvertes par un obstacle,
+ * élargi de CLEARANCE pixels pour le gabarit des ennemis, sont bloquées.
+ * Le champ n'est recalculé que lorsque le joueur change de cellule ou que les
+ * obstacles changent : le coût est O(grille) par recalcul, et chaque ennemi
+ * n'examine ensuite que ses 8 cellules voisines. Les fuyards remontent le
+ * champ (pente croissante) au lieu de le descendre.
+ * Non thread-safe : utilisé sous le verrou de la session.
+ */
+public class FlowField {
+
+    public static final int CELL_SIZE = 16;
+    public static final int DEFAULT_RADIUS_CELLS = 24;
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int NO_CELL = -1;
+
+    // Marge autour des obstacles : demi-côté d'un ennemi
+    private static final int CLEARANCE = 8;
+
+    // Coûts d'un pas droit et d'un pas en diagonale (≈ 10·√2)
+    private static final int STRAIGHT_COST = 10;
+    private static final int DIAGONAL_COST = 14;
+
+    // Voisins : les 4 premiers droits, les 4 suivants en diagonale
+    private static final int[] NEIGHBOUR_DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] NEIGHBOUR_DY = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final int radiusCells;
+    private final int side;
+    private final boolean[] blocked;
+    private final int[] distance;
+    private final List<Obstacle> obstacleBuffer = new ArrayList<>();
+
+    // Tas binaire de (distance << 32 | cellule), entrées périmées ignorées au dépilement
+    private long[] heap;
+    private int heapSize;
+
+    private boolean computed;
+    private int originCellX;
+    private int originCellY;
+    private long obstacleModCount;
+    private long recomputeCount;
+
+    public FlowField() {
+        this(DEFAULT_RADIUS_CELLS);
+    }
+
+    public FlowField(int radiusCells) {
+        if (radiusCells <= 0) {
+            throw new IllegalArgumentException("Le rayon du champ de flux doit être positif");
+        }
+        this.radiusCells = radiusCells;
+        this.side = 2 * radiusCells + 1;
+        this.blocked = new boolean[side * side];
+        this.distance = new int[side * side];
+        this.heap = new long[side * side];
+    }
+
+    /**
+     * Recalcule le champ si le joueur a changé de cellule ou si les obstacles
+     * ont changé depuis le dernier calcul. Retourne vrai si le champ a été recalculé.
+     */
+    public boolean update(int playerX, int playerY, ObstacleSpatialHash obstacles) {
+        int cellX = cellOf(playerX);
+        int cellY = cellOf(playerY);
+        if (computed && cellX == originCellX && cellY == originCellY
+                && obstacles.getModCount() == obstacleModCount) {
+            return false;
+        }
+        computed = true;
+        originCellX = cellX;
+        originCellY = cellY;
+        obstacleModCount = obstacles.getModCount();
+        rasterize(obstacles);
+        propagate();
+        recomputeCount++;
+        return true;
+    }
+
+    /**
+     * Distance pondérée (10 par pas droit) de la position au joueur,
+     * UNREACHABLE hors de la fenêtre ou si aucun chemin n'existe
+     */
+    public int distanceAt(int x, int y) {
+        int cell = indexOf(x, y);
+        return cell == NO_CELL ? UNREACHABLE : distance[cell];
+    }
+
+    /**
+     * Vrai si le champ connaît un chemin depuis la position
+     */
+    public boolean isReachable(int x, int y) {
+        return distanceAt(x, y) != UNREACHABLE;
+    }
+
+    /**
+     * Cellule voisine la plus proche du joueur, ou NO_CELL si aucune ne
+     * rapproche (cellule du joueur atteinte, hors fenêtre, enclavé)
+     */
+    public int towards(int x, int y) {
+        int cell = indexOf(x, y);
+        if (cell == NO_CELL) {
+            return NO_CELL;
+        }
+        int best = NO_CELL;
+        int bestDistance = distance[cell];
+        for (int d = 0; d < NEIGHBOUR_DX.length; d++) {
+            int neighbour = neighbour(cell, d);
+            if (neighbour != NO_CELL && distance[neighbour] < bestDistance) {
+                best = neighbour;
+                bestDistance = distance[neighbour];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Cellule voisine la plus éloignée du joueur (champ inversé), ou NO_CELL
+     * si aucune n'éloigne (acculé dans un coin, hors fenêtre)
+     */
+    public int away(int x, int y) {
+        int cell = indexOf(x, y);
+        if (cell == NO_CELL) {
+            return NO_CELL;
+        }
+        int best = NO_CELL;
+        // Depuis une cellule bloquée, toute cellule atteignable est un progrès
+        long bestDistance = distance[cell] == UNREACHABLE ? -1 : distance[cell];
+        for (int d = 0; d < NEIGHBOUR_DX.length; d++) {
+            int neighbour = neighbour(cell, d);
+            if (neighbour != NO_CELL && distance[neighbour] != UNREACHABLE && distance[neighbour] > bestDistance) {
+                best = neighbour;
+                bestDistance = distance[neighbour];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Abscisse du centre d'une cellule rendue par towards ou away
+     */
+    public int centerX(int cell) {
+        return (originCellX - radiusCells + cell % side) * CELL_SIZE + CELL_SIZE / 2;
+    }
+
+    public int centerY(int cell) {
+        return (originCellY - radiusCells + cell / side) * CELL_SIZE + CELL_SIZE / 2;
+    }
+
+    public long getRecomputeCount() {
+        return recomputeCount;
+    }
+
+    public int getRadiusCells() {
+        return radiusCells;
+    }
+
+    /**
+     * Bloque les cellules recouvertes par les obstacles de la fenêtre, élargis de CLEARANCE
+     */
+    private void rasterize(ObstacleSpatialHash obstacles) {
+        Arrays.fill(blocked, false);
+        int minCellX = originCellX - radiusCells;
+        int minCellY = originCellY - radiusCells;
+        int minX = minCellX * CELL_SIZE;
+        int minY = minCellY * CELL_SIZE;
+        AreaOfInterest window = AreaOfInterest.square(
+                minX + radiusCells * CELL_SIZE, minY + radiusCells * CELL_SIZE,
+                radiusCells * CELL_SIZE + CELL_SIZE + CLEARANCE);
+
+        obstacleBuffer.clear();
+        obstacles.queryArea(window, obstacleBuffer);
+        for (Obstacle obstacle : obstacleBuffer) {
+            int fromX = Math.max(0, cellOf(obstacle.getX() - CLEARANCE) - minCellX);
+            int fromY = Math.max(0, cellOf(obstacle.getY() - CLEARANCE) - minCellY);
+            int toX = Math.min(side - 1, cellOf(obstacle.getX() + obstacle.getWidth() + CLEARANCE - 1) - minCellX);
+            int toY = Math.min(side - 1, cellOf(obstacle.getY() + obstacle.getHeight() + CLEARANCE - 1) - minCellY);
+            for (int cy = fromY; cy <= toY; cy++) {
+                for (int cx = fromX; cx <= toX; cx++) {
+                    blocked[cy * side + cx] = true;
+                }
+            }
+        }
+        obstacleBuffer.clear();
+        // Le joueur ne peut pas être dans un obstacle : sa cellule reste la source
+        blocked[radiusCells * side + radiusCells] = false;
+    }
+
+    /**
+     * Dijkstra depuis la cellule du joueur, 8-connexe, sans couper les coins
+     */
+    private void propagate() {
+        Arrays.fill(distance, UNREACHABLE);
+        int origin = radiusCells * side + radiusCells;
+        distance[origin] = 0;
+        heapSize = 0;
+        push(origin, 0);
+        while (heapSize > 0) {
+            long entry = pop();
+            int cell = (int) entry;
+            int cellDistance = (int) (entry >>> 32);
+            if (cellDistance > distance[cell]) {
+                continue;
+            }
+            for (int d = 0; d < NEIGHBOUR_DX.length; d++) {
+                int neighbour = neighbour(cell, d);
+                if (neighbour == NO_CELL) {
+                    continue;
+                }
+                int candidate = cellDistance + (d < 4 ? STRAIGHT_COST : DIAGONAL_COST);
+                if (candidate < distance[neighbour]) {
+                    distance[neighbour] = candidate;
+                    push(neighbour, candidate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Voisine libre d'une cellule dans la direction d, ou NO_CELL (hors fenêtre,
+     * bloquée, ou diagonale qui frôlerait un coin d'obstacle)
+     */
+    private int neighbour(int cell, int d) {
+        int cx = cell % side + NEIGHBOUR_DX[d];
+        int cy = cell / side + NEIGHBOUR_DY[d];
+        if (cx < 0 || cy < 0 || cx >= side || cy >= side) {
+            return NO_CELL;
+        }
+        int index = cy * side + cx;
+        if (blocked[index]) {
+            return NO_CELL;
+        }
+        if (d >= 4 && (blocked[cell / side * side + cx] || blocked[cy * side + cell % side])) {
+            return NO_CELL;
+        }
+        return index;
+    }
+
+    private int indexOf(int x, int y) {
+        if (!computed) {
+            return NO_CELL;
+        }
+        int cx = cellOf(x) - originCellX + radiusCells;
+        int cy = cellOf(y) - originCellY + radiusCells;
+        if (cx < 0 || cy < 0 || cx >= side || cy >= side) {
+            return NO_CELL;
+        }
+        return cy * side + cx;
+    }
+
+    private static int cellOf(int coordinate) {
+        return Math.floorDiv(coordinate, CELL_SIZE);
+    }
+
+    private void push(int cell, int cellDistance) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        long entry = ((long) cellDistance << 32) | cell;
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
@@ -0,0 +1,221 @@
+package com.rpg.rpg_game.spatial;
+
+import com.rpg.rpg_game.model.Obstacle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grille uniforme (hachage spatial) des obstacles statiques.
+ * Chaque obstacle est référencé dans toutes les cellules qu'il recouvre :
+ * une requête AABB ne consulte que les cellules touchées par le rectangle,
+ * son coût ne dépend donc pas du nombre total d'obstacles.
+ * Non thread-safe : utilisée sous le verrou de la session.
+ */
+public class ObstacleSpatialHash {
+
+    public static final int DEFAULT_CELL_SIZE = 64;
+
+    private final int cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private int size;
+    // Incrémenté à chaque modification, pour invalider les structures dérivées (FlowField)
+    private long modCount;
+
+    public ObstacleSpatialHash() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public ObstacleSpatialHash(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("La taille de cellule doit être positive");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Reconstruit l'index à partir d'une liste complète d'obstacles
+     */
+    public void rebuild(Collection<Obstacle> obstacles) {
+        cells.clear();
+        size = 0;
+        modCount++;
+        for (Obstacle obstacle : obstacles) {
+            insert(obstacle);
+        }
+    }
+
+    public void insert(Obstacle obstacle) {
+        int minX = cell(obstacle.getX());
+        int minY = cell(obstacle.getY());
+        int maxX = cell(obstacle.getX() + Math.max(1, obstacle.getWidth()) - 1);
+        int maxY = cell(obstacle.getY() + Math.max(1, obstacle.getHeight()) - 1);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                long key = key(cx, cy);
+                Cell bucket = cells.get(key);
+                if (bucket == null) {
+                    bucket = new Cell(cx, cy);
+                    cells.put(key, bucket);
+                }
+                bucket.obstacles.add(obstacle);
+            }
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Retire un obstacle (même instance) de toutes ses cellules
+     */
+    public boolean remove(Obstacle obstacle) {
+        boolean removed = false;
+        int minX = cell(obstacle.getX());
+        int minY = cell(obstacle.getY());
+        int maxX = cell(obstacle.getX() + Math.max(1, obstacle.getWidth()) - 1);
+        int maxY = cell(obstacle.getY() + Math.max(1, obstacle.getHeight()) - 1);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                long key = key(cx, cy);
+                Cell bucket = cells.get(key);
+                if (bucket != null && removeInstance(bucket.obstacles, obstacle)) {
+                    removed = true;
+                    if (bucket.obstacles.isEmpty()) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+        if (removed) {
+            size--;
+            modCount++;
+        }
+        return removed;
+    }
+
+    /**
+     * Premier obstacle chevauchant le rectangle (bords exclus), ou null
+     */
+    public Obstacle findFirstOverlap(int x, int y, int width, int height) {
+        int minX = cell(x);
+        int minY = cell(y);
+        int maxX = cell(x + Math.max(1, width) - 1);
+        int maxY = cell(y + Math.max(1, height) - 1);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                Cell bucket = cells.get(key(cx, cy));
+                if (bucket == null) {
+                    continue;
+                }
+                List<Obstacle> obstacles = bucket.obstacles;
+                for (int i = 0; i < obstacles.size(); i++) {
+                    Obstacle obstacle = obstacles.get(i);
+                    if (obstacle.collidesWith(x, y, width, height)) {
+                        return obstacle;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ajoute à out les obstacles qui touchent la zone d'intérêt, chacun une seule fois :
+     * un obstacle à cheval sur plusieurs cellules n'est retenu que dans la première
+     * cellule commune à son emprise et à la zone. Retourne le nombre d'obstacles ajoutés.
+     */
+    public int queryArea(AreaOfInterest area, List<Obstacle> out) {
+        int minX = cell(area.getMinX());
+        int maxX = cell(area.getMaxX());
+        int minY = cell(area.getMinY());
+        int maxY = cell(area.getMaxY());
+        int found = 0;
+        if (((long) maxX - minX + 1) * ((long) maxY - minY + 1) > cells.size()) {
+            for (Cell bucket : cells.values()) {
+                if (bucket.cx >= minX && bucket.cx <= maxX && bucket.cy >= minY && bucket.cy <= maxY) {
+                    found += collect(bucket, minX, minY, area, out);
+                }
+            }
+            return found;
+        }
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                Cell bucket = cells.get(key(cx, cy));
+                if (bucket != null) {
+                    found += collect(bucket, minX, minY, area, out);
+                }
+            }
+        }
+        return found;
+    }
+
+    private int collect(Cell bucket, int minX, int minY, AreaOfInterest area, List<Obstacle> out) {
+        int found = 0;
+        List<Obstacle> obstacles = bucket.obstacles;
+        for (int i = 0; i < obstacles.size(); i++) {
+            Obstacle obstacle = obstacles.get(i);
+            if (Math.max(cell(obstacle.getX()), minX) == bucket.cx
+                    && Math.max(cell(obstacle.getY()), minY) == bucket.cy
+                    && area.intersects(obstacle.getX(), obstacle.getY(), obstacle.getWidth(), obstacle.getHeight())) {
+                out.add(obstacle);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    public boolean overlapsAny(int x, int y, int width, int height) {
+        return findFirstOverlap(x, y, width, height) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getModCount() {
+        return modCount;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    private int cell(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    /**
+     * Clé unique de cellule, brassée comme celle d'EnemySpatialIndex : sans le
+     * brassage, les cellules d'une même diagonale partageraient un compartiment
+     */
+    private static long key(int cx, int cy) {
+        return (((long) cx << 32) | (cy & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+    }
+
+    private static boolean removeInstance(List<Obstacle> bucket, Obstacle obstacle) {
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == obstacle) {
+                bucket.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obstacles d'une cellule, avec ses coordonnées : la clé brassée ne se décode pas
+     */
+    private static final class Cell {
+        final int cx;
+        final int cy;
+        final List<Obstacle> obstacles = new ArrayList<>(2);
+
+        Cell(int cx, int cy) {
+            this.cx = cx;
+            this.cy = cy;
+        }
+    }
+}
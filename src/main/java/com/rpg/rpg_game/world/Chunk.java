@@ -0,0 +1,72 @@
+package com.rpg.rpg_game.world;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Obstacle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chunk chargé (WorldGenerator.CHUNK_SIZE de côté) et le contenu qu'il a
+ * apporté à l'état de jeu : ces ennemis et obstacles en sont retirés quand
+ * le chunk est évincé, même si un ennemi en est sorti.
+ * Les ennemis ne sont suivis que par leurs poignées dans l'EnemyStore, jamais
+ * par leurs instances : un ennemi tué entre-temps a une poignée périmée
+ * (génération changée), et son instance, peut-être déjà réutilisée ailleurs
+ * par la réserve, n'est ni lue ni retirée une seconde fois.
+ */
+public class Chunk {
+
+    private final int cx;
+    private final int cy;
+    private final long[] enemyHandles;
+    private final List<Obstacle> obstacles;
+
+    public Chunk(int cx, int cy, long[] enemyHandles, List<Obstacle> obstacles) {
+        this.cx = cx;
+        this.cy = cy;
+        this.enemyHandles = enemyHandles;
+        this.obstacles = obstacles;
+    }
+
+    public int getCx() {
+        return cx;
+    }
+
+    public int getCy() {
+        return cy;
+    }
+
+    /**
+     * Poignées des ennemis du chunk dans l'état de jeu, périmées comprises
+     * (voir EnemyStore)
+     */
+    public long[] getEnemyHandles() {
+        return enemyHandles;
+    }
+
+    /**
+     * Ennemis du chunk encore présents dans l'état ; les poignées périmées
+     * sont ignorées
+     */
+    public List<Enemy> getEnemies(GameState state) {
+        List<Enemy> enemies = new ArrayList<>(enemyHandles.length);
+        for (long handle : enemyHandles) {
+            Enemy enemy = state.getEnemy(handle);
+            if (enemy != null) {
+                enemies.add(enemy);
+            }
+        }
+        return enemies;
+    }
+
+    public List<Obstacle> getObstacles() {
+        return obstacles;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Chunk(%d,%d){enemies=%d, obstacles=%d}", cx, cy, enemyHandles.length, obstacles.size());
+    }
+}
@@ -0,0 +1,178 @@
+package com.rpg.rpg_game.world;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monde découpé en chunks, sans bornes, chargés autour du joueur d'un état de jeu.
+ * Les chunks à distance <= LOAD_RADIUS (en chunks) de celui du joueur sont générés
+ * à la demande et leurs ennemis et obstacles ajoutés à l'état ; au-delà de
+ * EVICT_RADIUS, ils sont oubliés et leur contenu retiré. L'écart entre les deux
+ * rayons évite de charger et d'évincer en boucle un chunk à la frontière.
+ * La mémoire est donc bornée par joueur ((2 * EVICT_RADIUS + 1)² chunks au plus),
+ * quelle que soit la taille du monde parcouru, et seul le contenu des chunks
+ * chargés participe au tick. Un chunk évincé puis rechargé est régénéré à
+ * l'identique : ses ennemis éliminés réapparaissent. Les ennemis d'un chunk
+ * évincé sont rendus à la réserve de l'état, où les chunks chargés ensuite
+ * puisent leurs instances. Les chunks sont parcourus dans leur ordre de
+ * chargement : un monde repris d'un instantané évince dans le même ordre.
+ * Non thread-safe : utilisé sous le verrou de la session.
+ */
+public class ChunkedWorld {
+
+    public static final int LOAD_RADIUS = 1;
+    public static final int EVICT_RADIUS = 2;
+
+    // Un obstacle généré sur le joueur est écarté, pour ne jamais l'y enfermer
+    private static final int PLAYER_CLEARANCE = 16;
+
+    private final WorldGenerator generator;
+    private final Map<Long, Chunk> chunks = new LinkedHashMap<>();
+    private boolean centered;
+    private int centerX;
+    private int centerY;
+
+    public ChunkedWorld(WorldGenerator generator) {
+        this.generator = generator;
+    }
+
+    public long getSeed() {
+        return generator.getSeed();
+    }
+
+    /**
+     * Coordonnée de chunk d'une coordonnée du monde
+     */
+    public static int chunkOf(int coordinate) {
+        return Math.floorDiv(coordinate, WorldGenerator.CHUNK_SIZE);
+    }
+
+    /**
+     * Charge les chunks proches du joueur et évince les chunks lointains.
+     * Ne fait rien tant que le joueur reste dans le même chunk.
+     * Retourne vrai si le contenu de l'état a changé.
+     */
+    public boolean update(GameState state) {
+        Player player = state.getPlayer();
+        int cx = chunkOf(player.getX());
+        int cy = chunkOf(player.getY());
+        if (centered && cx == centerX && cy == centerY) {
+            return false;
+        }
+        centered = true;
+        centerX = cx;
+        centerY = cy;
+
+        boolean changed = evictDistantChunks(state, cx, cy);
+        for (int x = cx - LOAD_RADIUS; x <= cx + LOAD_RADIUS; x++) {
+            for (int y = cy - LOAD_RADIUS; y <= cy + LOAD_RADIUS; y++) {
+                if (!chunks.containsKey(key(x, y))) {
+                    load(state, x, y, player);
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Vrai une fois un premier update fait ; le centre est alors le chunk du
+     * joueur à ce dernier update
+     */
+    public boolean isCentered() {
+        return centered;
+    }
+
+    public int getCenterX() {
+        return centerX;
+    }
+
+    public int getCenterY() {
+        return centerY;
+    }
+
+    /**
+     * Réinstalle le centre enregistré dans un instantané (voir restoreChunk)
+     */
+    public void restoreCenter(boolean centered, int centerX, int centerY) {
+        this.centered = centered;
+        this.centerX = centerX;
+        this.centerY = centerY;
+    }
+
+    /**
+     * Réinstalle un chunk chargé repris d'un instantané, sans le générer : ses
+     * ennemis (poignées dans l'état) et obstacles sont déjà dans l'état. Les
+     * chunks sont à réinstaller dans l'ordre de getLoadedChunks.
+     */
+    public void restoreChunk(int cx, int cy, long[] enemyHandles, List<Obstacle> obstacles) {
+        chunks.put(key(cx, cy), new Chunk(cx, cy, enemyHandles, obstacles));
+    }
+
+    public boolean isLoaded(int cx, int cy) {
+        return chunks.containsKey(key(cx, cy));
+    }
+
+    public int getLoadedChunkCount() {
+        return chunks.size();
+    }
+
+    public Collection<Chunk> getLoadedChunks() {
+        return Collections.unmodifiableCollection(chunks.values());
+    }
+
+    private void load(GameState state, int cx, int cy, Player player) {
+        GeneratedChunk generated = generator.generate(cx, cy);
+
+        int half = PLAYER_CLEARANCE / 2;
+        List<Obstacle> obstacles = new ArrayList<>(generated.getObstacles().size());
+        for (Obstacle obstacle : generated.getObstacles()) {
+            if (!obstacle.collidesWith(player.getX() - half, player.getY() - half, PLAYER_CLEARANCE, PLAYER_CLEARANCE)) {
+                state.addObstacle(obstacle);
+                obstacles.add(obstacle);
+            }
+        }
+        long[] enemyHandles = new long[generated.getEnemies().size()];
+        for (int i = 0; i < enemyHandles.length; i++) {
+            Enemy enemy = generated.getEnemies().get(i);
+            state.addEnemy(enemy);
+            enemyHandles[i] = enemy.getHandle();
+        }
+        chunks.put(key(cx, cy), new Chunk(cx, cy, enemyHandles, obstacles));
+    }
+
+    private boolean evictDistantChunks(GameState state, int cx, int cy) {
+        boolean evicted = false;
+        Iterator<Chunk> iterator = chunks.values().iterator();
+        while (iterator.hasNext()) {
+            Chunk chunk = iterator.next();
+            if (Math.max(Math.abs(chunk.getCx() - cx), Math.abs(chunk.getCy() - cy)) <= EVICT_RADIUS) {
+                continue;
+            }
+            // Les ennemis déjà tués ont quitté l'état : leur poignée est périmée
+            for (long handle : chunk.getEnemyHandles()) {
+                state.releaseEnemy(handle);
+            }
+            for (Obstacle obstacle : chunk.getObstacles()) {
+                state.removeObstacle(obstacle);
+            }
+            iterator.remove();
+            evicted = true;
+        }
+        return evicted;
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
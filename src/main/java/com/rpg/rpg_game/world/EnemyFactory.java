@@ -0,0 +1,17 @@
+package com.rpg.rpg_game.world;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.EnemyType;
+
+/**
+ * Fabrique d'ennemis utilisée par le générateur de monde, pour que les
+ * ennemis générés aient les mêmes caractéristiques que ceux de GameService
+ */
+@FunctionalInterface
+public interface EnemyFactory {
+
+    /**
+     * Ennemi détaché, sans identifiant : l'état de jeu lui en attribue un à l'ajout
+     */
+    Enemy create(int x, int y, EnemyType type);
+}
@@ -0,0 +1,47 @@
+package com.rpg.rpg_game.world;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.Obstacle;
+
+import java.util.List;
+
+/**
+ * Contenu produit par WorldGenerator pour un chunk, avant son ajout à un
+ * état de jeu : une fois chargé, le chunk ne garde de ses ennemis que leurs
+ * poignées (voir Chunk).
+ */
+public class GeneratedChunk {
+
+    private final int cx;
+    private final int cy;
+    private final List<Enemy> enemies;
+    private final List<Obstacle> obstacles;
+
+    public GeneratedChunk(int cx, int cy, List<Enemy> enemies, List<Obstacle> obstacles) {
+        this.cx = cx;
+        this.cy = cy;
+        this.enemies = enemies;
+        this.obstacles = obstacles;
+    }
+
+    public int getCx() {
+        return cx;
+    }
+
+    public int getCy() {
+        return cy;
+    }
+
+    public List<Enemy> getEnemies() {
+        return enemies;
+    }
+
+    public List<Obstacle> getObstacles() {
+        return obstacles;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GeneratedChunk(%d,%d){enemies=%d, obstacles=%d}", cx, cy, enemies.size(), obstacles.size());
+    }
+}
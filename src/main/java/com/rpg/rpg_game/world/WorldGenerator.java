@@ -0,0 +1,85 @@
+package com.rpg.rpg_game.world;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Génération procédurale et déterministe des chunks du monde : le contenu
+ * d'un chunk ne dépend que de la graine du monde et de ses coordonnées,
+ * ce qui permet de l'oublier puis de le régénérer à l'identique.
+ * Les ennemis générés ont l'identifiant 0, attribué ensuite par ChunkedWorld.
+ */
+public class WorldGenerator {
+
+    public static final int CHUNK_SIZE = 512;
+
+    private static final int MIN_OBSTACLES = 2;
+    private static final int MAX_OBSTACLES = 6;
+    private static final int MAX_ENEMIES = 4;
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+    private static final ObstacleType[] OBSTACLE_TYPES = ObstacleType.values();
+
+    private final long seed;
+    private final EnemyFactory enemyFactory;
+
+    public WorldGenerator(long seed, EnemyFactory enemyFactory) {
+        this.seed = seed;
+        this.enemyFactory = enemyFactory;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Génère le contenu du chunk (cx, cy)
+     */
+    public GeneratedChunk generate(int cx, int cy) {
+        SplittableRandom random = new SplittableRandom(chunkSeed(cx, cy));
+        int originX = cx * CHUNK_SIZE;
+        int originY = cy * CHUNK_SIZE;
+
+        int obstacleCount = MIN_OBSTACLES + random.nextInt(MAX_OBSTACLES - MIN_OBSTACLES + 1);
+        List<Obstacle> obstacles = new ArrayList<>(obstacleCount);
+        for (int i = 0; i < obstacleCount; i++) {
+            int width = 32 + 16 * random.nextInt(3);
+            int height = 32 + 16 * random.nextInt(3);
+            obstacles.add(new Obstacle(
+                    originX + random.nextInt(CHUNK_SIZE - width),
+                    originY + random.nextInt(CHUNK_SIZE - height),
+                    width, height, OBSTACLE_TYPES[random.nextInt(OBSTACLE_TYPES.length)]));
+        }
+
+        int enemyCount = random.nextInt(MAX_ENEMIES + 1);
+        List<Enemy> enemies = new ArrayList<>(enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            Enemy enemy = enemyFactory.create(
+                    originX + random.nextInt(CHUNK_SIZE),
+                    originY + random.nextInt(CHUNK_SIZE),
+                    ENEMY_TYPES[random.nextInt(ENEMY_TYPES.length)]);
+            enemy.setZoneX(cx);
+            enemy.setZoneY(cy);
+            enemies.add(enemy);
+        }
+
+        return new GeneratedChunk(cx, cy, enemies, obstacles);
+    }
+
+    /**
+     * Graine propre au chunk : coordonnées et graine du monde brassées
+     * (finaliseur de SplitMix64), pour que des chunks voisins ne tirent
+     * pas des suites corrélées
+     */
+    private long chunkSeed(int cx, int cy) {
+        long h = seed ^ (cx * 0x9E3779B97F4A7C15L) ^ (cy * 0xC2B2AE3D27D4EB4FL);
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
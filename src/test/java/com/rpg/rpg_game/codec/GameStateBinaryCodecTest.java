@@ -0,0 +1,110 @@
+package com.rpg.rpg_game.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rpg.rpg_game.model.*;
+import com.rpg.rpg_game.service.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameStateBinaryCodec
+ */
+class GameStateBinaryCodecTest {
+
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameService().createGame();
+    }
+
+    @Test
+    @DisplayName("L'encodage puis le décodage restituent l'état affiché")
+    void testRoundTrip() {
+        state.getPlayer().setX(-12);
+        state.getPlayer().setScore(1234);
+        state.getEnemies().get(0).setAttacking(true);
+        state.setMessage("Bonjour é");
+        state.setVersion(300);
+
+        GameState decoded = GameStateBinaryCodec.decode(GameStateBinaryCodec.encode(state));
+
+        assertEquals(300, decoded.getVersion());
+        assertEquals("Bonjour é", decoded.getMessage());
+        assertEquals(-12, decoded.getPlayer().getX());
+        assertEquals(1234, decoded.getPlayer().getScore());
+        assertEquals("down", decoded.getPlayer().getDirection());
+        assertEquals(state.getEnemies().size(), decoded.getEnemies().size());
+        for (int i = 0; i < state.getEnemies().size(); i++) {
+            Enemy expected = state.getEnemies().get(i);
+            Enemy actual = decoded.getEnemies().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getX(), actual.getX());
+            assertEquals(expected.getY(), actual.getY());
+            assertEquals(expected.getHp(), actual.getHp());
+            assertEquals(expected.getMaxHp(), actual.getMaxHp());
+            assertEquals(expected.isAttacking(), actual.isAttacking());
+        }
+        for (int i = 0; i < state.getObstacles().size(); i++) {
+            Obstacle expected = state.getObstacles().get(i);
+            Obstacle actual = decoded.getObstacles().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getX(), actual.getX());
+            assertEquals(expected.getWidth(), actual.getWidth());
+            assertEquals(expected.isSolid(), actual.isSolid());
+        }
+    }
+
+    @Test
+    @DisplayName("Le format binaire est bien plus compact que le JSON")
+    void testSmallerThanJson() throws Exception {
+        byte[] binary = GameStateBinaryCodec.encode(state);
+        byte[] json = new ObjectMapper().writeValueAsBytes(state);
+
+        assertTrue(binary.length * 5 < json.length,
+                "binaire=" + binary.length + " octets, json=" + json.length + " octets");
+    }
+
+    @Test
+    @DisplayName("Les varints et le zigzag couvrent les valeurs extrêmes")
+    void testVarIntEdgeCases() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        int[] values = {0, 1, -1, 63, -64, 300, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int value : values) {
+            GameStateBinaryCodec.writeVarInt(buffer, GameStateBinaryCodec.zigZag(value));
+        }
+        GameStateBinaryCodec.writeVarLong(buffer, Long.MAX_VALUE);
+        buffer.flip();
+        for (int value : values) {
+            assertEquals(value, GameStateBinaryCodec.unZigZag(GameStateBinaryCodec.readVarInt(buffer)));
+        }
+        assertEquals(Long.MAX_VALUE, GameStateBinaryCodec.readVarLong(buffer));
+    }
+
+    @Test
+    @DisplayName("Un instantané corrompu est refusé")
+    void testCorruptedSnapshotRejected() {
+        byte[] data = GameStateBinaryCodec.encode(state);
+
+        assertThrows(IllegalArgumentException.class, () -> GameStateBinaryCodec.decode(new byte[] {1, 2, 3}));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameStateBinaryCodec.decode(java.util.Arrays.copyOf(data, data.length / 2)));
+    }
+
+    @Test
+    @DisplayName("Un instantané publié s'encode comme l'état qu'il capture")
+    void testSnapshotEncodedLikeState() {
+        state.getEnemies().get(0).setAttacking(true);
+        state.setVersion(42);
+
+        assertArrayEquals(GameStateBinaryCodec.encode(state),
+                GameStateBinaryCodec.encode(GameStateSnapshot.of(state)));
+    }
+}
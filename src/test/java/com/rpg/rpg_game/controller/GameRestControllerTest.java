@@ -1,16 +1,32 @@
 package com.rpg.rpg_game.controller;
 
+import com.rpg.rpg_game.codec.GameStateBinaryCodec;
+import com.rpg.rpg_game.event.GameEventType;
+import com.rpg.rpg_game.model.Direction;
+import com.rpg.rpg_game.model.EnemyType;
 import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.GameStateSnapshot;
 import com.rpg.rpg_game.service.GameService;
+import com.rpg.rpg_game.service.GameSession;
+import com.rpg.rpg_game.service.GameSessionRegistry;
+import com.rpg.rpg_game.service.GameTickEngine;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -24,16 +40,22 @@ class GameRestControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
+    @MockitoBean
     private GameService gameService;
 
+    @MockitoBean
+    private GameSessionRegistry sessionRegistry;
+
+    @MockitoBean
+    private GameTickEngine tickEngine;
+
     @Test
     @DisplayName("GET /api/gamestate retourne l'état du jeu")
     void testGetGameState() throws Exception {
-        GameState mockState = new GameState();
-        when(gameService.getCurrentGameState()).thenReturn(mockState);
+        GameStateSnapshot mockState = GameStateSnapshot.of(new GameState());
+        when(gameService.getCurrentSnapshot()).thenReturn(CompletableFuture.completedFuture(mockState));
 
-        mockMvc.perform(get("/api/gamestate"))
+        mockMvc.perform(asyncDispatch(pending(get("/api/gamestate"))))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
@@ -41,12 +63,12 @@ class GameRestControllerTest {
     @Test
     @DisplayName("POST /api/player/move accepte une direction valide")
     void testMovePlayerWithValidDirection() throws Exception {
-        GameState mockState = new GameState();
-        when(gameService.movePlayer(any())).thenReturn(mockState);
+        GameStateSnapshot mockState = GameStateSnapshot.of(new GameState());
+        when(gameService.movePlayer(any())).thenReturn(CompletableFuture.completedFuture(mockState));
 
-        mockMvc.perform(post("/api/player/move")
+        mockMvc.perform(asyncDispatch(pending(post("/api/player/move")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content("{\"direction\":\"up\"}"))
+                .content("{\"direction\":\"up\"}"))))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
@@ -54,10 +76,10 @@ class GameRestControllerTest {
     @Test
     @DisplayName("POST /api/player/attack retourne un état de jeu")
     void testPlayerAttack() throws Exception {
-        GameState mockState = new GameState();
-        when(gameService.playerAttack()).thenReturn(mockState);
+        GameStateSnapshot mockState = GameStateSnapshot.of(new GameState());
+        when(gameService.playerAttack()).thenReturn(CompletableFuture.completedFuture(mockState));
 
-        mockMvc.perform(post("/api/player/attack"))
+        mockMvc.perform(asyncDispatch(pending(post("/api/player/attack"))))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
@@ -65,11 +87,247 @@ class GameRestControllerTest {
     @Test
     @DisplayName("POST /api/update met à jour le jeu")
     void testUpdateGame() throws Exception {
-        GameState mockState = new GameState();
-        when(gameService.updateGame()).thenReturn(mockState);
+        GameStateSnapshot mockState = GameStateSnapshot.of(new GameState());
+        when(gameService.updateGame()).thenReturn(CompletableFuture.completedFuture(mockState));
+
+        mockMvc.perform(asyncDispatch(pending(post("/api/update"))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("POST /api/update ne simule pas quand la boucle serveur tourne")
+    void testUpdateGameWithTickEngineRunning() throws Exception {
+        GameStateSnapshot mockState = GameStateSnapshot.of(new GameState());
+        when(gameService.getCurrentSnapshot()).thenReturn(CompletableFuture.completedFuture(mockState));
+        when(tickEngine.isRunning()).thenReturn(true);
+
+        mockMvc.perform(asyncDispatch(pending(post("/api/update"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0));
+
+        verify(gameService, never()).updateGame();
+    }
+
+    @Test
+    @DisplayName("POST /api/sessions crée une session et retourne son identifiant")
+    void testCreateSession() throws Exception {
+        when(sessionRegistry.createSession()).thenReturn(new GameSession("abc", new GameState()));
+
+        mockMvc.perform(post("/api/sessions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessionId").value("abc"))
+                .andExpect(jsonPath("$.gameState").exists());
+    }
+
+    @Test
+    @DisplayName("POST /api/sessions?worldSeed= crée une session dans un monde en chunks")
+    void testCreateChunkedSession() throws Exception {
+        when(sessionRegistry.createSession(42L)).thenReturn(new GameSession("abc", new GameState()));
+
+        mockMvc.perform(post("/api/sessions").param("worldSeed", "42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessionId").value("abc"));
+        verify(sessionRegistry, never()).createSession();
+    }
+
+    @Test
+    @DisplayName("POST /api/sessions/{id}/player/move déplace le joueur de la session")
+    void testSessionMovePlayer() throws Exception {
+        GameState sessionState = new GameState();
+        when(sessionRegistry.findSession("abc")).thenReturn(Optional.of(new GameSession("abc", sessionState)));
+        when(gameService.movePlayer(eq(sessionState), eq(Direction.UP))).thenReturn(sessionState);
 
-        mockMvc.perform(post("/api/update"))
+        MvcResult pending = mockMvc.perform(post("/api/sessions/abc/player/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"direction\":\"up\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
+
+    @Test
+    @DisplayName("POST /api/sessions/{id}/inputs applique le lot et retourne la dernière séquence traitée")
+    void testSessionInputs() throws Exception {
+        GameState sessionState = new GameState();
+        when(sessionRegistry.findSession("abc")).thenReturn(Optional.of(new GameSession("abc", sessionState)));
+
+        MvcResult pending = mockMvc.perform(post("/api/sessions/abc/inputs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"inputs\":[{\"sequence\":7,\"directions\":5},"
+                        + "{\"sequence\":8,\"directions\":0,\"attack\":true}]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastSequence").value(8))
+                .andExpect(jsonPath("$.gameState").exists());
+        verify(gameService).movePlayer(sessionState, Direction.UP | Direction.LEFT);
+        verify(gameService).playerAttack(sessionState);
+    }
+
+    @Test
+    @DisplayName("Un lot d'entrées invalide retourne 400")
+    void testInvalidInputs() throws Exception {
+        when(sessionRegistry.findSession("abc")).thenReturn(Optional.of(new GameSession("abc", new GameState())));
+
+        MvcResult pending = mockMvc.perform(post("/api/sessions/abc/inputs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"inputs\":[{\"sequence\":1,\"directions\":64}]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Une session inconnue retourne 404 sans être créée")
+    void testUnknownSession() throws Exception {
+        when(sessionRegistry.findSession(any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/sessions/abc/gamestate"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/sessions/abc/gamestate/delta").param("since", "0"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/sessions/abc/events"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/sessions/abc/inputs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"inputs\":[]}"))
+                .andExpect(status().isNotFound());
+
+        verify(sessionRegistry, never()).getOrCreateSession(any());
+        verify(sessionRegistry, never()).createSession();
+    }
+
+    @Test
+    @DisplayName("POST /api/sessions/{id}/update ne simule pas quand la boucle serveur tourne")
+    void testSessionUpdateWithTickEngineRunning() throws Exception {
+        GameState sessionState = new GameState();
+        when(sessionRegistry.findSession("abc")).thenReturn(Optional.of(new GameSession("abc", sessionState)));
+        when(tickEngine.isRunning()).thenReturn(true);
+
+        MvcResult pending = mockMvc.perform(post("/api/sessions/abc/update"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk());
+
+        verify(gameService, never()).updateGame(any(GameState.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/sessions/{id}/gamestate/delta retourne les changements depuis une version")
+    void testSessionGameStateDelta() throws Exception {
+        GameState sessionState = new GameState();
+        when(sessionRegistry.findSession("abc")).thenReturn(Optional.of(new GameSession("abc", sessionState)));
+
+        MvcResult pending = mockMvc.perform(get("/api/sessions/abc/gamestate/delta").param("since", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.full").value(false))
+                .andExpect(jsonPath("$.toVersion").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/sessions/{id}/events retourne les derniers événements de la session")
+    void testSessionEvents() throws Exception {
+        GameState sessionState = new GameState();
+        sessionState.getEvents().publish(GameEventType.ENEMY_HIT, 1, 7, EnemyType.TROLL, 20, 0, 0);
+        sessionState.getEvents().publish(GameEventType.ENEMY_KILLED, 1, 7, EnemyType.TROLL, 50, 0, 0);
+        when(sessionRegistry.findSession("abc")).thenReturn(Optional.of(new GameSession("abc", sessionState)));
+
+        mockMvc.perform(get("/api/sessions/abc/events").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].type").value("ENEMY_KILLED"))
+                .andExpect(jsonPath("$[0].enemyType").value("TROLL"))
+                .andExpect(jsonPath("$[0].amount").value(50));
+    }
+
+    @Test
+    @DisplayName("GET /api/sessions/{id}/gamestate porte une ETag ; If-None-Match reçoit 304 sans corps")
+    void testSessionGameStateNotModified() throws Exception {
+        GameState sessionState = new GameState();
+        GameSession session = new GameSession("abc", sessionState);
+        when(sessionRegistry.findSession("abc")).thenReturn(Optional.of(session));
+        String etag = "\"" + session.getSnapshot().entityTag("json") + "\"";
+
+        mockMvc.perform(asyncDispatch(pending(get("/api/sessions/abc/gamestate"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.version").value(0));
+
+        mockMvc.perform(asyncDispatch(pending(get("/api/sessions/abc/gamestate").header("If-None-Match", etag))))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        // Le format binaire est une autre représentation, avec sa propre ETag
+        mockMvc.perform(asyncDispatch(pending(get("/api/sessions/abc/gamestate")
+                .accept("application/x-rpg-snapshot")
+                .header("If-None-Match", etag))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + session.getSnapshot().entityTag("bin") + "\""));
+
+        // Nouvelle version publiée : nouvelle ETag
+        session.execute(state -> {
+            state.incrementVersion();
+            return state;
+        });
+        mockMvc.perform(asyncDispatch(pending(get("/api/sessions/abc/gamestate").header("If-None-Match", etag))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    @DisplayName("L'ETag désigne le format choisi par la négociation de contenu de Spring")
+    void testETagFollowsSelectedConverter() throws Exception {
+        GameSession session = new GameSession("abc", new GameState());
+        when(sessionRegistry.findSession("abc")).thenReturn(Optional.of(session));
+        String binaryTag = "\"" + session.getSnapshot().entityTag("bin") + "\"";
+
+        // À qualité égale, Spring retient le type le plus spécifique : le binaire
+        mockMvc.perform(asyncDispatch(pending(get("/api/sessions/abc/gamestate")
+                        .header("Accept", "application/*, application/x-rpg-snapshot"))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-rpg-snapshot"))
+                .andExpect(header().string("ETag", binaryTag));
+
+        mockMvc.perform(asyncDispatch(pending(get("/api/sessions/abc/gamestate")
+                        .header("Accept", "application/*, application/x-rpg-snapshot")
+                        .header("If-None-Match", binaryTag))))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("GET /api/gamestate sert l'instantané binaire sur demande")
+    void testGetGameStateBinary() throws Exception {
+        GameStateSnapshot mockState = GameStateSnapshot.of(new GameState());
+        when(gameService.getCurrentSnapshot()).thenReturn(CompletableFuture.completedFuture(mockState));
+
+        mockMvc.perform(asyncDispatch(pending(get("/api/gamestate").accept("application/x-rpg-snapshot"))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-rpg-snapshot"))
+                .andExpect(content().bytes(GameStateBinaryCodec.encode(mockState)));
+    }
+
+    /**
+     * Requête asynchrone démarrée, à reprendre par asyncDispatch
+     */
+    private MvcResult pending(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
 }
@@ -0,0 +1,224 @@
+package com.rpg.rpg_game.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rpg.rpg_game.service.GameService;
+import com.rpg.rpg_game.service.GameSession;
+import com.rpg.rpg_game.service.GameSessionRegistry;
+import com.rpg.rpg_game.service.GameTickEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour GameWebSocketHandler
+ */
+class GameWebSocketHandlerTest {
+
+    private GameService gameService;
+    private GameSessionRegistry registry;
+    private GameWebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService();
+        registry = new GameSessionRegistry(gameService);
+        GameTickEngine tickEngine = new GameTickEngine(gameService, registry, false, 10, 5);
+        handler = new GameWebSocketHandler(gameService, registry, tickEngine, new ObjectMapper());
+        // Les sessions sont créées avant la connexion (POST /api/sessions)
+        registry.getOrCreateSession("abc");
+        registry.getOrCreateSession("xyz");
+    }
+
+    private WebSocketSession mockConnection(String id, String query) {
+        WebSocketSession connection = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        when(connection.getId()).thenReturn(id);
+        when(connection.getUri()).thenReturn(URI.create("ws://localhost/ws/game" + query));
+        when(connection.getAttributes()).thenReturn(attributes);
+        when(connection.isOpen()).thenReturn(true);
+        return connection;
+    }
+
+    @Test
+    @DisplayName("La connexion reçoit immédiatement l'état de sa session")
+    void testConnectionReceivesInitialState() throws Exception {
+        WebSocketSession connection = mockConnection("c1", "?session=abc");
+
+        handler.afterConnectionEstablished(connection);
+
+        verify(connection, timeout(1000)).sendMessage(any(TextMessage.class));
+        assertEquals(1, handler.getConnectionCount());
+        assertTrue(registry.findSession("abc").isPresent());
+    }
+
+    @Test
+    @DisplayName("Une commande de déplacement agit sur la session et pousse l'état")
+    void testMoveCommand() throws Exception {
+        WebSocketSession connection = mockConnection("c1", "?session=abc");
+        handler.afterConnectionEstablished(connection);
+
+        handler.handleTextMessage(connection, new TextMessage("{\"type\":\"move\",\"direction\":\"up\"}"));
+
+        // Commande exécutée par le thread de la session, puis diffusée
+        verify(connection, timeout(1000).times(2)).sendMessage(any(TextMessage.class));
+        GameSession session = registry.findSession("abc").orElseThrow();
+        assertEquals(297, (int) session.execute(state -> state.getPlayer().getY()));
+    }
+
+    @Test
+    @DisplayName("Un message illisible est ignoré sans fermer la connexion")
+    void testMalformedMessageIgnored() throws Exception {
+        WebSocketSession connection = mockConnection("c1", "?session=abc");
+        handler.afterConnectionEstablished(connection);
+
+        handler.handleTextMessage(connection, new TextMessage("{\"type\":\"move\","));
+        handler.handleTextMessage(connection, new TextMessage("{\"type\":\"inputs\",\"inputs\":\"x\"}"));
+        handler.handleTextMessage(connection, new TextMessage("{\"type\":\"move\",\"direction\":\"up\"}"));
+
+        // Seule la commande valide est exécutée puis diffusée
+        verify(connection, timeout(1000).times(2)).sendMessage(any(TextMessage.class));
+        verify(connection, never()).close(any(CloseStatus.class));
+        assertEquals(1, handler.getConnectionCount());
+        GameSession session = registry.findSession("abc").orElseThrow();
+        assertEquals(297, (int) session.execute(state -> state.getPlayer().getY()));
+    }
+
+    @Test
+    @DisplayName("Le tick pousse l'état à tous les abonnés de la session uniquement")
+    void testTickBroadcastsToSubscribers() throws Exception {
+        WebSocketSession first = mockConnection("c1", "?session=abc");
+        WebSocketSession second = mockConnection("c2", "?session=abc");
+        WebSocketSession other = mockConnection("c3", "?session=xyz");
+        handler.afterConnectionEstablished(first);
+        handler.afterConnectionEstablished(second);
+        handler.afterConnectionEstablished(other);
+
+        GameSession session = registry.findSession("abc").orElseThrow();
+        session.submit(state -> gameService.updateGame(state)).join();
+        handler.onTick(session);
+
+        verify(first, timeout(1000).times(2)).sendMessage(any(TextMessage.class));
+        verify(second, timeout(1000).times(2)).sendMessage(any(TextMessage.class));
+        verify(other, after(200).times(1)).sendMessage(any(TextMessage.class));
+    }
+
+    @Test
+    @DisplayName("Un client lent ne bloque ni la session ni les autres clients")
+    void testSlowClientDoesNotBlockSession() throws Exception {
+        WebSocketSession slow = mockConnection("c1", "?session=abc");
+        WebSocketSession fast = mockConnection("c2", "?session=abc");
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(slow).sendMessage(any(TextMessage.class));
+        handler.afterConnectionEstablished(slow);
+        handler.afterConnectionEstablished(fast);
+
+        try {
+            GameSession session = registry.findSession("abc").orElseThrow();
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < 3; i++) {
+                    session.submit(state -> gameService.updateGame(state)).join();
+                    handler.onTick(session);
+                }
+            });
+
+            verify(fast, timeout(1000).times(4)).sendMessage(any(TextMessage.class));
+            verify(slow, times(1)).sendMessage(any(TextMessage.class));
+        } finally {
+            release.countDown();
+        }
+        // Les messages retenus partent ensuite, dans l'ordre
+        verify(slow, timeout(1000).times(4)).sendMessage(any(TextMessage.class));
+    }
+
+    @Test
+    @DisplayName("Une session inconnue ferme la connexion sans créer de session")
+    void testUnknownSessionClosesConnection() throws Exception {
+        WebSocketSession connection = mockConnection("c1", "?session=unknown");
+
+        handler.afterConnectionEstablished(connection);
+
+        verify(connection).close(any(CloseStatus.class));
+        assertEquals(0, handler.getConnectionCount());
+        assertTrue(registry.findSession("unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Une commande pour une session supprimée ferme la connexion")
+    void testRemovedSessionClosesConnection() throws Exception {
+        WebSocketSession connection = mockConnection("c1", "?session=abc");
+        handler.afterConnectionEstablished(connection);
+        registry.removeSession("abc");
+
+        handler.handleTextMessage(connection, new TextMessage("{\"type\":\"attack\"}"));
+
+        verify(connection).close(any(CloseStatus.class));
+        assertTrue(registry.findSession("abc").isEmpty());
+    }
+
+    @Test
+    @DisplayName("La fermeture désabonne la connexion")
+    void testConnectionClosedUnsubscribes() throws Exception {
+        WebSocketSession connection = mockConnection("c1", "?session=abc");
+        handler.afterConnectionEstablished(connection);
+
+        handler.afterConnectionClosed(connection, CloseStatus.NORMAL);
+
+        assertEquals(0, handler.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Une session invalide ferme la connexion")
+    void testInvalidSessionClosesConnection() throws Exception {
+        WebSocketSession connection = mockConnection("c1", "?session=bad.id");
+
+        handler.afterConnectionEstablished(connection);
+
+        verify(connection).close(any(CloseStatus.class));
+        assertEquals(0, handler.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Le premier message est complet, les suivants sont des deltas")
+    void testFullThenDeltaMessages() throws Exception {
+        WebSocketSession connection = mockConnection("c1", "?session=abc");
+        ArgumentCaptor<TextMessage> messages = ArgumentCaptor.forClass(TextMessage.class);
+        handler.afterConnectionEstablished(connection);
+        handler.handleTextMessage(connection, new TextMessage("{\"type\":\"move\",\"direction\":\"left\"}"));
+
+        verify(connection, timeout(1000).times(2)).sendMessage(messages.capture());
+        String first = messages.getAllValues().get(0).getPayload();
+        String second = messages.getAllValues().get(1).getPayload();
+        assertTrue(first.contains("\"full\":true"));
+        assertTrue(second.contains("\"full\":false"));
+        assertTrue(second.contains("\"player\":{\"x\":397}"));
+    }
+
+    @Test
+    @DisplayName("Un tick sans changement n'envoie rien")
+    void testTickWithoutChangeSendsNothing() throws Exception {
+        WebSocketSession connection = mockConnection("c1", "?session=abc");
+        handler.afterConnectionEstablished(connection);
+        verify(connection, timeout(1000)).sendMessage(any(TextMessage.class));
+
+        handler.onTick(registry.findSession("abc").orElseThrow());
+
+        verify(connection, after(200).times(1)).sendMessage(any(TextMessage.class));
+    }
+}
@@ -0,0 +1,126 @@
+package com.rpg.rpg_game.event;
+
+import com.rpg.rpg_game.model.EnemyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameEventRing
+ */
+class GameEventRingTest {
+
+    @Test
+    @DisplayName("Les événements publiés sont relus dans l'ordre avec leurs champs")
+    void testPublishAndRecent() {
+        GameEventRing ring = new GameEventRing(8);
+        ring.publish(GameEventType.ENEMY_HIT, 3, 7, EnemyType.TROLL, 25, 100, 200);
+        ring.publish(GameEventType.LEVEL_UP, 4, 0, null, 2, 0, 0);
+
+        List<GameEvent> events = ring.recent(10);
+
+        assertEquals(2, events.size());
+        GameEvent hit = events.get(0);
+        assertEquals(0, hit.getSequence());
+        assertEquals(GameEventType.ENEMY_HIT, hit.getType());
+        assertEquals(3, hit.getGameTime());
+        assertEquals(7, hit.getSubjectId());
+        assertEquals(EnemyType.TROLL, hit.getEnemyType());
+        assertEquals(25, hit.getAmount());
+        assertEquals(100, hit.getX());
+        assertEquals(200, hit.getY());
+        assertNull(events.get(1).getEnemyType());
+    }
+
+    @Test
+    @DisplayName("Un tampon plein ne conserve que les N derniers événements")
+    void testOverwriteKeepsMostRecent() {
+        GameEventRing ring = new GameEventRing(4);
+        for (int i = 0; i < 10; i++) {
+            ring.publish(GameEventType.PLAYER_HIT, i, i, EnemyType.GOBLIN, i, 0, 0);
+        }
+
+        List<GameEvent> events = ring.recent(100);
+
+        assertEquals(4, events.size());
+        assertEquals(6, events.get(0).getAmount());
+        assertEquals(9, events.get(3).getAmount());
+        assertEquals(2, ring.recent(2).size());
+        assertEquals(10, ring.getPublishedCount());
+    }
+
+    @Test
+    @DisplayName("La vidange reprend là où elle s'était arrêtée et compte les pertes")
+    void testDrainResumesAndCountsLost() {
+        GameEventRing ring = new GameEventRing(4);
+        List<GameEvent> drained = new ArrayList<>();
+        ring.publish(GameEventType.MOVE_BLOCKED, 0, 1, null, 0, 5, 5);
+
+        assertEquals(1, ring.drain(drained::add));
+        assertEquals(0, ring.drain(drained::add));
+
+        for (int i = 0; i < 6; i++) {
+            ring.publish(GameEventType.ENEMY_HIT, 0, i, EnemyType.RABBIT, i, 0, 0);
+        }
+        assertEquals(4, ring.drain(drained::add));
+        assertEquals(2, ring.getLostCount());
+        assertEquals(2, drained.get(1).getAmount());
+    }
+
+    @Test
+    @DisplayName("La capacité doit être une puissance de deux")
+    void testCapacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new GameEventRing(1000));
+    }
+
+    @Test
+    @DisplayName("Producteurs concurrents : aucun événement perdu sans être compté ni lu déchiré")
+    void testConcurrentProducers() throws Exception {
+        GameEventRing ring = new GameEventRing(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    // x et y dérivés de amount : une lecture déchirée serait incohérente
+                    ring.publish(GameEventType.ENEMY_HIT, producer, producer, EnemyType.GOBLIN, i, i * 2, i * 3);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        AtomicBoolean torn = new AtomicBoolean();
+        long[] drained = new long[1];
+        start.countDown();
+        boolean running = true;
+        while (running) {
+            running = threads.stream().anyMatch(Thread::isAlive);
+            drained[0] += ring.drain(event -> {
+                if (event.getX() != event.getAmount() * 2 || event.getY() != event.getAmount() * 3
+                        || event.getGameTime() != event.getSubjectId()) {
+                    torn.set(true);
+                }
+            });
+        }
+        drained[0] += ring.drain(event -> { });
+
+        assertFalse(torn.get());
+        assertEquals((long) producers * perProducer, ring.getPublishedCount());
+        assertEquals(ring.getPublishedCount(), drained[0] + ring.getLostCount());
+    }
+}
@@ -0,0 +1,264 @@
+package com.rpg.rpg_game.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tir de charge : l'application démarre sur un port aléatoire et N bots,
+ * un par thread virtuel, jouent chacun dans leur propre session, créée par
+ * POST /api/sessions avant de jouer.
+ * Chaque bot appelle /update à 10 Hz et, entre deux ticks, envoie une rafale
+ * de déplacements dans une même direction (ZQSD) ou une attaque.
+ * La boucle serveur (GameTickEngine) est coupée : /update fait alors avancer
+ * la session d'un tick, ce qui est la charge mesurée ; boucle active, il ne
+ * renverrait que le dernier instantané. Les bots passent par les endpoints de
+ * session : les endpoints historiques (/api/player/move...) partagent un
+ * seul état par défaut, joué par tous les clients, et ne représentent pas
+ * des joueurs concurrents.
+ *
+ * Exclu du build normal (tag "load") ; lancement : mvn test -Pload-test
+ * Réglages par propriétés système : rpg.load.bots, rpg.load.duration-seconds,
+ * rpg.load.warmup-seconds (requêtes non mesurées, le temps que le JIT chauffe),
+ * rpg.load.slo.p99-ms, rpg.load.slo.p999-ms, rpg.load.slo.max-error-rate,
+ * rpg.load.slo.min-throughput (requêtes/s, tous endpoints confondus).
+ * Les latences sont mesurées requête par requête (boucle fermée) : un
+ * serveur saturé se traduit aussi par une baisse du débit.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "rpg.tick.enabled=false")
+class BotLoadTest {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final String[] DIRECTIONS = {"up", "left", "down", "right"};
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    enum Endpoint {
+        MOVE("POST /player/move"),
+        ATTACK("POST /player/attack"),
+        UPDATE("POST /update");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Les bots concurrents respectent les SLO de latence et d'erreurs par endpoint")
+    void botsMeetServiceLevelObjectives() throws InterruptedException {
+        int botCount = Integer.getInteger("rpg.load.bots", 50);
+        long durationSeconds = Long.getLong("rpg.load.duration-seconds", 10);
+        long warmupSeconds = Long.getLong("rpg.load.warmup-seconds", 5);
+        double sloP99 = doubleProperty("rpg.load.slo.p99-ms", 250);
+        double sloP999 = doubleProperty("rpg.load.slo.p999-ms", 1_000);
+        double maxErrorRate = doubleProperty("rpg.load.slo.max-error-rate", 0);
+        double minThroughput = doubleProperty("rpg.load.slo.min-throughput", 0);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<Bot> bots = new ArrayList<>(botCount);
+        for (int i = 0; i < botCount; i++) {
+            bots.add(new Bot(client, "http://localhost:" + port + "/api/sessions", i));
+        }
+
+        long start = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Bot bot : bots) {
+                executor.execute(() -> bot.run(start, deadline));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Endpoint, LatencySamples> merged = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencySamples samples = new LatencySamples();
+            for (Bot bot : bots) {
+                samples.addAll(bot.samples.get(endpoint));
+            }
+            merged.put(endpoint, samples);
+        }
+
+        List<String> violations = report(merged, botCount, elapsedSeconds,
+                sloP99, sloP999, maxErrorRate, minThroughput);
+        assertTrue(violations.isEmpty(), () -> "SLO non respectés : " + violations);
+    }
+
+    private List<String> report(Map<Endpoint, LatencySamples> merged, int botCount, double elapsedSeconds,
+                                double sloP99, double sloP999, double maxErrorRate, double minThroughput) {
+        List<String> violations = new ArrayList<>();
+        long total = 0;
+        System.out.printf("%n%d bots, %.1f s%n", botCount, elapsedSeconds);
+        System.out.printf("%-20s %9s %9s %8s %9s %9s %9s%n",
+                "endpoint", "requêtes", "req/s", "erreurs", "p50 (ms)", "p99 (ms)", "p999 (ms)");
+        for (Map.Entry<Endpoint, LatencySamples> entry : merged.entrySet()) {
+            Endpoint endpoint = entry.getKey();
+            LatencySamples samples = entry.getValue();
+            int requests = samples.getCount() + samples.getErrors();
+            total += requests;
+            double p99 = samples.percentileMillis(0.99);
+            double p999 = samples.percentileMillis(0.999);
+            System.out.printf("%-20s %9d %9.0f %8d %9.2f %9.2f %9.2f%n",
+                    endpoint.label, requests, requests / elapsedSeconds, samples.getErrors(),
+                    samples.percentileMillis(0.50), p99, p999);
+
+            if (p99 > sloP99) {
+                violations.add(String.format("%s p99 %.2f ms > %.2f ms", endpoint.label, p99, sloP99));
+            }
+            if (p999 > sloP999) {
+                violations.add(String.format("%s p999 %.2f ms > %.2f ms", endpoint.label, p999, sloP999));
+            }
+            if (requests > 0 && (double) samples.getErrors() / requests > maxErrorRate) {
+                violations.add(String.format("%s %d erreurs sur %d requêtes",
+                        endpoint.label, samples.getErrors(), requests));
+            }
+        }
+        double throughput = total / elapsedSeconds;
+        System.out.printf("total %.0f req/s%n", throughput);
+        if (throughput < minThroughput) {
+            violations.add(String.format("débit %.0f req/s < %.0f req/s", throughput, minThroughput));
+        }
+        return violations;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * Client simulé : une session, un thread virtuel, ses propres échantillons
+     */
+    private static final class Bot {
+
+        private final HttpClient client;
+        private final String sessionsUrl;
+        private String sessionUrl;
+        private final SplittableRandom random;
+        private final Map<Endpoint, LatencySamples> samples = new EnumMap<>(Endpoint.class);
+        private long measureFrom;
+
+        Bot(HttpClient client, String sessionsUrl, long seed) {
+            this.client = client;
+            this.sessionsUrl = sessionsUrl;
+            this.random = new SplittableRandom(seed);
+            for (Endpoint endpoint : Endpoint.values()) {
+                samples.put(endpoint, new LatencySamples());
+            }
+        }
+
+        /**
+         * Joue jusqu'à deadline ; seules les requêtes parties après measureFrom sont comptées
+         */
+        void run(long measureFrom, long deadline) {
+            this.measureFrom = measureFrom;
+            if (!createSession()) {
+                samples.get(Endpoint.UPDATE).recordError();
+                return;
+            }
+            // Départs étalés sur un tick pour ne pas synchroniser les bots
+            long nextTick = System.nanoTime() + random.nextLong(TICK_NANOS);
+            LockSupport.parkNanos(nextTick - System.nanoTime());
+            while (System.nanoTime() < deadline) {
+                call(Endpoint.UPDATE, post("/update", HttpRequest.BodyPublishers.noBody()));
+
+                int roll = random.nextInt(10);
+                if (roll < 6) {
+                    String direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+                    int burst = 3 + random.nextInt(6);
+                    for (int i = 0; i < burst; i++) {
+                        call(Endpoint.MOVE, post("/player/move",
+                                HttpRequest.BodyPublishers.ofString("{\"direction\":\"" + direction + "\"}")));
+                    }
+                } else if (roll < 8) {
+                    call(Endpoint.ATTACK, post("/player/attack", HttpRequest.BodyPublishers.noBody()));
+                }
+
+                nextTick = Math.max(nextTick + TICK_NANOS, System.nanoTime());
+                LockSupport.parkNanos(nextTick - System.nanoTime());
+            }
+        }
+
+        /**
+         * Crée la session du bot ; faux si le serveur la refuse
+         */
+        private boolean createSession() {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(sessionsUrl))
+                    .timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    return false;
+                }
+                String sessionId = OBJECT_MAPPER.readTree(response.body()).path("sessionId").asText("");
+                if (sessionId.isEmpty()) {
+                    return false;
+                }
+                sessionUrl = sessionsUrl + "/" + sessionId;
+                return true;
+            } catch (IOException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private HttpRequest post(String path, HttpRequest.BodyPublisher body) {
+            return HttpRequest.newBuilder(URI.create(sessionUrl + path))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(10))
+                    .POST(body)
+                    .build();
+        }
+
+        private void call(Endpoint endpoint, HttpRequest request) {
+            long start = System.nanoTime();
+            LatencySamples endpointSamples = start >= measureFrom ? samples.get(endpoint) : new LatencySamples();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    endpointSamples.record(System.nanoTime() - start);
+                } else {
+                    endpointSamples.recordError();
+                }
+            } catch (IOException e) {
+                endpointSamples.recordError();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                endpointSamples.recordError();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.rpg.rpg_game.load;
+
+import java.util.Arrays;
+
+/**
+ * Latences (en nanosecondes) et erreurs d'un endpoint pour un bot.
+ * Non thread-safe : chaque bot remplit ses propres échantillons,
+ * fusionnés à la fin du tir de charge.
+ */
+class LatencySamples {
+
+    private long[] latencies = new long[256];
+    private int count;
+    private int errors;
+
+    void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    void addAll(LatencySamples other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latencies[i]);
+        }
+        errors += other.errors;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Percentile (0 < p <= 1) en millisecondes, par la méthode du rang le plus proche
+     */
+    double percentileMillis(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(p * count) - 1;
+        return sorted[Math.max(0, Math.min(rank, count - 1))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,151 @@
+package com.rpg.rpg_game.map;
+
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour MapDefinition, MapCompiler et GameMap
+ */
+class GameMapTest {
+
+    private static final String SOURCE = String.join("\n",
+            "# Petite carte de test",
+            "size 200 100",
+            "player 20 30   # départ",
+            "",
+            "obstacle ROCK 50 20 30 10",
+            "obstacle tree 120 60 16 16",
+            "spawn GOBLIN 10 90",
+            "spawn rabbit 180 10");
+
+    @TempDir
+    Path directory;
+
+    private GameMap compile(String source) throws IOException {
+        Path file = directory.resolve("test.rpgmap");
+        MapCompiler.compile(MapDefinition.parse(new StringReader(source)), file);
+        return GameMap.open(file);
+    }
+
+    @Test
+    @DisplayName("La carte compilée restitue dimensions, départ, obstacles et apparitions")
+    void testRoundTrip() throws IOException {
+        GameMap map = compile(SOURCE);
+
+        assertEquals(200, map.getWidth());
+        assertEquals(100, map.getHeight());
+        assertEquals(20, map.getPlayerX());
+        assertEquals(30, map.getPlayerY());
+        assertEquals(MapCompiler.CELL_SIZE, map.getCellSize());
+
+        List<Obstacle> obstacles = map.createObstacles();
+        assertEquals(2, obstacles.size());
+        assertEquals(ObstacleType.ROCK, obstacles.get(0).getType());
+        assertEquals(50, obstacles.get(0).getX());
+        assertEquals(20, obstacles.get(0).getY());
+        assertEquals(30, obstacles.get(0).getWidth());
+        assertEquals(10, obstacles.get(0).getHeight());
+        assertEquals(ObstacleType.TREE, obstacles.get(1).getType());
+        assertNotSame(obstacles.get(0), map.createObstacle(0), "Chaque état reçoit ses propres obstacles");
+
+        assertEquals(2, map.getSpawnCount());
+        assertEquals(EnemyType.GOBLIN, map.getSpawnType(0));
+        assertEquals(10, map.getSpawnX(0));
+        assertEquals(90, map.getSpawnY(0));
+        assertEquals(EnemyType.RABBIT, map.getSpawnType(1));
+        assertEquals(Files.size(directory.resolve("test.rpgmap")), map.getSizeInBytes());
+    }
+
+    @Test
+    @DisplayName("La grille de collision ne déclare jamais libre une zone touchant un obstacle")
+    void testBitmapIsConservative() throws IOException {
+        GameMap map = compile(SOURCE);
+        List<Obstacle> obstacles = map.createObstacles();
+        Random random = new Random(42);
+
+        int free = 0;
+        for (int i = 0; i < 5000; i++) {
+            int x = random.nextInt(220) - 10;
+            int y = random.nextInt(120) - 10;
+            int size = 1 + random.nextInt(20);
+            boolean overlaps = false;
+            for (Obstacle obstacle : obstacles) {
+                overlaps |= obstacle.collidesWith(x, y, size, size);
+            }
+            if (map.isAreaFree(x, y, size, size)) {
+                assertFalse(overlaps, "Zone déclarée libre en (" + x + ", " + y + ") taille " + size);
+                free++;
+            }
+        }
+        assertTrue(free > 1000, "La grille doit écarter la plupart des positions dégagées");
+        assertFalse(map.isAreaFree(-4, 10, 8, 8), "Hors carte : pas de conclusion");
+        assertTrue(map.isAreaFree(48, 32, 8, 8), "Juste sous le rocher, bords exclus");
+        assertFalse(map.isAreaFree(79, 29, 8, 8));
+    }
+
+    @Test
+    @DisplayName("Une source mal formée est rejetée avec son numéro de ligne")
+    void testParseErrors() {
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> MapDefinition.parse(new StringReader("size 10 10\nwall 1 2")));
+        assertTrue(unknown.getMessage().startsWith("Ligne 2"), unknown.getMessage());
+
+        IllegalArgumentException type = assertThrows(IllegalArgumentException.class,
+                () -> MapDefinition.parse(new StringReader("size 10 10\nspawn DRAGON 1 2")));
+        assertTrue(type.getMessage().startsWith("Ligne 2"), type.getMessage());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> MapDefinition.parse(new StringReader("size 10 0")));
+        assertThrows(IllegalArgumentException.class,
+                () -> MapDefinition.parse(new StringReader("player 1 2")));
+    }
+
+    @Test
+    @DisplayName("Un fichier qui n'est pas une carte compilée est refusé")
+    void testRejectsInvalidFile() throws IOException {
+        Path file = directory.resolve("bad.rpgmap");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IllegalArgumentException.class, () -> GameMap.open(file));
+    }
+
+    @Test
+    @DisplayName("Une carte compilée altérée est refusée par sa somme de contrôle")
+    void testRejectsCorruptedFile() throws IOException {
+        ByteBuffer buffer = MapCompiler.toBuffer(MapDefinition.parse(new StringReader(SOURCE)));
+        buffer.putInt(GameMap.HEADER_BYTES + 4, 51);
+        Path file = directory.resolve("corrupted.rpgmap");
+        Files.write(file, buffer.array());
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> GameMap.open(file));
+        assertTrue(error.getMessage().contains("somme de contrôle"));
+    }
+
+    @Test
+    @DisplayName("Un type hors bornes est refusé à l'ouverture avec son enregistrement")
+    void testRejectsUnknownOrdinal() throws IOException {
+        ByteBuffer buffer = MapCompiler.toBuffer(MapDefinition.parse(new StringReader(SOURCE)));
+        buffer.putInt(GameMap.HEADER_BYTES + GameMap.OBSTACLE_BYTES, ObstacleType.values().length);
+        buffer.putInt(GameMap.CHECKSUM_OFFSET, GameMap.checksum(buffer));
+        Path file = directory.resolve("unknown-type.rpgmap");
+        Files.write(file, buffer.array());
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> GameMap.open(file));
+        assertEquals("Type d'obstacle inconnu dans l'enregistrement 1 de la carte: " + ObstacleType.values().length,
+                error.getMessage());
+    }
+}
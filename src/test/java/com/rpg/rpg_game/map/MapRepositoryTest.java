@@ -0,0 +1,119 @@
+package com.rpg.rpg_game.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests unitaires pour MapRepository
+ */
+class MapRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("La carte par défaut est compilée depuis le classpath puis partagée")
+    void testDefaultMapIsShared() {
+        MapRepository repository = new MapRepository();
+
+        GameMap map = repository.get(MapRepository.DEFAULT_MAP);
+
+        assertEquals(800, map.getWidth());
+        assertEquals(600, map.getHeight());
+        assertEquals(7, map.getObstacleCount());
+        assertEquals(7, map.getSpawnCount());
+        assertSame(map, repository.get(MapRepository.DEFAULT_MAP));
+    }
+
+    @Test
+    @DisplayName("Un fichier compilé du répertoire de cartes est préféré à la source")
+    void testCompiledFileTakesPrecedence() throws IOException {
+        MapCompiler.compile(MapDefinition.parse(new StringReader("size 320 240\nplayer 10 10")),
+                directory.resolve("default.rpgmap"));
+        MapRepository repository = new MapRepository(directory.toString());
+
+        GameMap map = repository.get(MapRepository.DEFAULT_MAP);
+
+        assertEquals(320, map.getWidth());
+        assertEquals(0, map.getObstacleCount());
+    }
+
+    @Test
+    @DisplayName("Un nom de carte inconnu ou invalide est refusé")
+    void testUnknownMap() {
+        MapRepository repository = new MapRepository();
+
+        assertThrows(IllegalArgumentException.class, () -> repository.get("inexistante"));
+        assertThrows(IllegalArgumentException.class, () -> repository.get("../default"));
+    }
+
+    @Test
+    @DisplayName("Le cache de compilation est réservé au propriétaire")
+    void testCacheDirectoryIsPrivate() throws IOException {
+        Path cache = directory.resolve("cache");
+        MapRepository repository = new MapRepository("", cache.toString());
+
+        repository.get(MapRepository.DEFAULT_MAP);
+
+        assertEquals(cache, repository.getCacheDirectory());
+        assumeTrue(Files.getFileAttributeView(cache, PosixFileAttributeView.class) != null);
+        assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(cache));
+        try (Stream<Path> files = Files.list(cache)) {
+            for (Path file : files.toList()) {
+                assertFalse(Files.getPosixFilePermissions(file).contains(PosixFilePermission.OTHERS_READ));
+            }
+        }
+
+        Files.setPosixFilePermissions(cache, PosixFilePermissions.fromString("rwxrwxrwx"));
+        MapRepository.createPrivateDirectory(cache);
+        assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(cache));
+    }
+
+    @Test
+    @DisplayName("Sans cache configuré, les cartes sont compilées dans un répertoire temporaire privé")
+    void testDefaultCacheIsTemporary() throws IOException {
+        MapRepository repository = new MapRepository();
+
+        repository.get(MapRepository.DEFAULT_MAP);
+
+        Path cache = repository.getCacheDirectory();
+        assertTrue(cache.startsWith(Path.of(System.getProperty("java.io.tmpdir"))), cache.toString());
+        assertSame(cache, new MapRepository().getCacheDirectory());
+        assumeTrue(Files.getFileAttributeView(cache, PosixFileAttributeView.class) != null);
+        assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(cache));
+    }
+
+    @Test
+    @DisplayName("Un fichier du cache altéré est recompilé")
+    void testCorruptedCacheIsRecompiled() throws IOException {
+        Path cache = directory.resolve("cache");
+        new MapRepository("", cache.toString()).get(MapRepository.DEFAULT_MAP);
+        Path compiled;
+        try (Stream<Path> files = Files.list(cache)) {
+            compiled = files.findFirst().orElseThrow();
+        }
+        byte[] content = Files.readAllBytes(compiled);
+        content[content.length - 1] ^= 1;
+        Files.write(compiled, content);
+
+        GameMap map = new MapRepository("", cache.toString()).get(MapRepository.DEFAULT_MAP);
+
+        assertEquals(7, map.getObstacleCount());
+        assertEquals(GameMap.checksum(ByteBuffer.wrap(Files.readAllBytes(compiled))),
+                ByteBuffer.wrap(Files.readAllBytes(compiled)).getInt(GameMap.CHECKSUM_OFFSET));
+    }
+}
@@ -0,0 +1,44 @@
+package com.rpg.rpg_game.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour Direction
+ */
+class DirectionTest {
+
+    @Test
+    @DisplayName("Les noms de direction se traduisent en masque et inversement")
+    void testParseAndFormat() {
+        assertEquals(Direction.UP, Direction.parse("up"));
+        assertEquals(Direction.LEFT, Direction.parse("LEFT"));
+        assertEquals(Direction.DOWN | Direction.RIGHT, Direction.parse("down+right"));
+        assertEquals(Direction.NONE, Direction.parse("none"));
+        for (int directions = 0; directions <= Direction.ALL; directions++) {
+            assertEquals(directions, Direction.parse(Direction.format(directions)));
+        }
+    }
+
+    @Test
+    @DisplayName("Un nom ou un masque invalide est refusé")
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> Direction.parse("jump"));
+        assertThrows(IllegalArgumentException.class, () -> Direction.parse("up+"));
+        assertThrows(IllegalArgumentException.class, () -> Direction.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> Direction.format(Direction.ALL + 1));
+    }
+
+    @Test
+    @DisplayName("Les composantes du masque suivent les axes, les opposés s'annulent")
+    void testComponents() {
+        assertEquals(-1, Direction.dx(Direction.LEFT | Direction.UP));
+        assertEquals(-1, Direction.dy(Direction.LEFT | Direction.UP));
+        assertEquals(1, Direction.dx(Direction.RIGHT));
+        assertEquals(1, Direction.dy(Direction.DOWN));
+        assertEquals(0, Direction.dx(Direction.LEFT | Direction.RIGHT));
+        assertEquals(0, Direction.dy(Direction.ALL));
+    }
+}
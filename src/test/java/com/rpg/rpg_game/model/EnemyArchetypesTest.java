@@ -0,0 +1,65 @@
+package com.rpg.rpg_game.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour EnemyArchetypes et les archétypes partagés
+ */
+class EnemyArchetypesTest {
+
+    @Test
+    @DisplayName("Chaque type d'ennemi a un archétype chargé depuis la ressource")
+    void testEveryTypeHasArchetype() {
+        for (EnemyType type : EnemyType.values()) {
+            EnemyArchetype archetype = EnemyArchetypes.of(type);
+
+            assertSame(type, archetype.getType());
+            assertTrue(archetype.getMaxHp() > 0, type + " sans points de vie");
+            assertTrue(archetype.getSpeed() > 0, type + " sans vitesse");
+            assertTrue(archetype.getAggroDistance() > 0, type + " sans distance d'aggro");
+        }
+        EnemyArchetype goblin = EnemyArchetypes.of(EnemyType.GOBLIN);
+        assertEquals(40, goblin.getMaxHp());
+        assertEquals(15, goblin.getAttack());
+        assertEquals(1.5, goblin.getSpeed());
+        assertEquals(100, goblin.getAggroDistance());
+    }
+
+    @Test
+    @DisplayName("Les ennemis d'un même type partagent un seul archétype")
+    void testEnemiesShareArchetype() {
+        Enemy first = new Enemy(1, 0, 0, EnemyType.TROLL, 0, 0);
+        Enemy second = new Enemy(2, 10, 10, EnemyType.TROLL, 0, 0);
+
+        assertSame(first.getArchetype(), second.getArchetype());
+        assertEquals(first.getArchetype().getMaxHp(), first.getHp());
+        assertEquals(first.getArchetype().getSpeed(), second.getSpeed());
+    }
+
+    @Test
+    @DisplayName("Les gains d'expérience et de score du type viennent de l'archétype")
+    void testTypeValuesComeFromArchetype() {
+        for (EnemyType type : EnemyType.values()) {
+            assertEquals(type.getArchetype().getExpValue(), type.getExpValue());
+            assertEquals(type.getArchetype().getScoreValue(), type.getScoreValue());
+        }
+        assertEquals(15, EnemyType.RABBIT.getExpValue());
+        assertEquals(250, EnemyType.TROLL.getScoreValue());
+    }
+
+    @Test
+    @DisplayName("Un changement de type remet les points de vie au maximum du nouveau type")
+    void testChangingTypeUsesNewArchetype() {
+        Enemy enemy = new Enemy(1, 0, 0, EnemyType.RABBIT, 0, 0);
+        GameState state = new GameState();
+        state.addEnemy(enemy);
+
+        enemy.setType(EnemyType.TROLL);
+
+        assertEquals(120, enemy.getHp());
+        assertEquals(EnemyType.TROLL.getArchetype().getSpeed(), state.getEnemyStore().getSpeed(0));
+    }
+}
@@ -0,0 +1,249 @@
+package com.rpg.rpg_game.model;
+
+import com.rpg.rpg_game.spatial.EnemySpatialIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour EnemyStore et les vues Enemy
+ */
+class EnemyStoreTest {
+
+    private EnemyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new EnemyStore();
+    }
+
+    private Enemy enemy(int id, int x, int y, EnemyType type) {
+        return new Enemy(id, x, y, type, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Les champs chauds d'un ennemi rangé sont lus et écrits dans les tableaux")
+    void testViewDelegatesToArrays() {
+        Enemy troll = enemy(1, 10, 20, EnemyType.TROLL);
+        store.add(troll);
+
+        troll.setX(30);
+        troll.takeDamage(50);
+        troll.setAttacking(true);
+
+        assertEquals(30, store.getX(0));
+        assertEquals(70, store.getHp(0));
+        assertTrue(store.isAttacking(0));
+        assertEquals(EnemyType.TROLL, store.getType(0));
+
+        store.setPosition(0, 5, 6);
+        assertEquals(5, troll.getX());
+        assertEquals(6, troll.getY());
+    }
+
+    @Test
+    @DisplayName("Un ennemi retiré retrouve son état dans ses propres champs")
+    void testRemovedEnemyKeepsState() {
+        Enemy goblin = enemy(1, 10, 20, EnemyType.GOBLIN);
+        store.add(goblin);
+        store.setPosition(0, 42, 43);
+        store.setHp(0, 7);
+
+        assertSame(goblin, store.remove(0));
+
+        assertEquals(0, store.size());
+        assertEquals(42, goblin.getX());
+        assertEquals(43, goblin.getY());
+        assertEquals(7, goblin.getHp());
+    }
+
+    @Test
+    @DisplayName("Le retrait déplace le dernier ennemi dans l'emplacement libéré")
+    void testRemoveSwapsLast() {
+        for (int i = 0; i < 5; i++) {
+            store.add(enemy(i, i * 10, 0, EnemyType.RABBIT));
+        }
+
+        store.remove(1);
+
+        assertEquals(4, store.size());
+        for (int slot = 0; slot < store.size(); slot++) {
+            Enemy view = store.getEnemy(slot);
+            assertEquals(view.getX(), store.getX(slot));
+        }
+        assertEquals(List.of(0, 4, 2, 3), ids());
+
+        // Les vues déplacées écrivent toujours au bon emplacement
+        store.getEnemy(1).setX(999);
+        assertEquals(999, store.getX(1));
+    }
+
+    @Test
+    @DisplayName("Les morts sont retirés en un seul passage")
+    void testRemoveDead() {
+        for (int i = 0; i < 6; i++) {
+            store.add(enemy(i, 0, 0, EnemyType.GOBLIN));
+        }
+        store.setHp(0, 0);
+        store.setHp(3, -5);
+        store.setHp(5, 0);
+        List<Enemy> removed = new ArrayList<>();
+
+        assertEquals(3, store.removeDead(removed::add));
+
+        assertEquals(Set.of(1, 2, 4), new HashSet<>(ids()));
+        assertEquals(3, removed.size());
+        assertFalse(removed.get(0).isAlive());
+    }
+
+    @Test
+    @DisplayName("La capacité augmente au-delà de la taille initiale")
+    void testGrowth() {
+        for (int i = 0; i < 1000; i++) {
+            store.add(enemy(i, i, -i, EnemyType.TROLL));
+        }
+
+        assertEquals(1000, store.size());
+        assertEquals(999, store.getX(999));
+        assertEquals(-999, store.getY(999));
+        assertTrue(store.getSlotBuffer().length >= store.size());
+    }
+
+    @Test
+    @DisplayName("Un ennemi ne peut appartenir qu'à un seul stockage")
+    void testEnemyCannotBeSharedBetweenStores() {
+        Enemy goblin = enemy(1, 0, 0, EnemyType.GOBLIN);
+        store.add(goblin);
+
+        assertThrows(IllegalArgumentException.class, () -> new EnemyStore().add(goblin));
+    }
+
+    @Test
+    @DisplayName("La liste des ennemis du GameState reste synchronisée avec le stockage")
+    void testGameStateListIsBackedByStore() {
+        GameState state = new GameState();
+        Enemy first = enemy(1, 0, 0, EnemyType.GOBLIN);
+        Enemy second = enemy(2, 100, 100, EnemyType.TROLL);
+        state.addEnemy(first);
+        state.addEnemy(second);
+
+        state.getEnemies().remove(first);
+
+        assertEquals(1, state.getEnemyStore().size());
+        assertSame(second, state.getEnemyStore().getEnemy(0));
+        assertFalse(state.getEnemyIndex().contains(first));
+        assertTrue(state.getEnemyIndex().contains(second));
+    }
+
+    @Test
+    @DisplayName("Un ennemi rangé déplacé dans une autre cellule reste trouvé par l'index spatial")
+    void testMovedEnemyStaysIndexed() {
+        GameState state = new GameState();
+        Enemy goblin = enemy(1, 10, 10, EnemyType.GOBLIN);
+        Enemy troll = enemy(2, 20, 20, EnemyType.TROLL);
+        state.addEnemy(goblin);
+        state.addEnemy(troll);
+        int far = 10 * EnemySpatialIndex.DEFAULT_CELL_SIZE;
+
+        goblin.setX(far);
+        goblin.setY(far);
+        state.moveEnemy(troll, -far, 20);
+
+        List<Enemy> found = new ArrayList<>();
+        state.getEnemyIndex().queryRadius(far, far, 1, found);
+        assertEquals(List.of(goblin), found);
+        found.clear();
+        state.getEnemyIndex().queryRadius(10, 10, 30, found);
+        assertTrue(found.isEmpty(), "Plus rien à l'ancienne position");
+        state.getEnemyIndex().queryRadius(-far, 20, 1, found);
+        assertEquals(List.of(troll), found);
+    }
+
+    @Test
+    @DisplayName("Une poignée suit son ennemi déplacé et se périme à son retrait")
+    void testHandlesAreStableAndGenerational() {
+        List<Enemy> enemies = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Enemy enemy = enemy(i, i, 0, EnemyType.GOBLIN);
+            store.add(enemy);
+            enemies.add(enemy);
+        }
+        long first = enemies.get(0).getHandle();
+        long last = enemies.get(3).getHandle();
+
+        store.remove(0);
+
+        assertSame(enemies.get(3), store.getEnemy(last));
+        assertEquals(0, store.slotOf(last));
+        assertNull(store.getEnemy(first));
+        assertEquals(EnemyStore.NO_HANDLE, enemies.get(0).getHandle());
+
+        // L'indice libéré est réutilisé avec une nouvelle génération
+        Enemy reused = enemy(9, 0, 0, EnemyType.TROLL);
+        store.add(reused);
+        assertNotEquals(first, reused.getHandle());
+        assertEquals((int) first, (int) reused.getHandle());
+        assertNull(store.getEnemy(first));
+        assertSame(reused, store.getEnemy(reused.getHandle()));
+    }
+
+    @Test
+    @DisplayName("La réserve remet à zéro et réutilise les instances rendues")
+    void testPoolReusesReleasedInstances() {
+        EnemyPool pool = new EnemyPool(2);
+        Enemy goblin = enemy(7, 10, 20, EnemyType.GOBLIN);
+        store.add(goblin);
+        assertThrows(IllegalArgumentException.class, () -> pool.release(goblin));
+
+        store.remove(0);
+        assertTrue(pool.release(goblin));
+        assertFalse(pool.release(goblin));
+        assertEquals(7, goblin.getId());
+
+        Enemy acquired = pool.acquire();
+        assertSame(goblin, acquired);
+        assertEquals(0, acquired.getId());
+        assertEquals(0, acquired.getHp());
+        assertNull(acquired.getType());
+        assertEquals(1, pool.getReusedCount());
+
+        assertNotSame(goblin, pool.acquire());
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    @DisplayName("Le GameState attribue les identifiants et recycle les ennemis tués")
+    void testGameStateAssignsIdsAndRecyclesDeadEnemies() {
+        GameState state = new GameState();
+        Enemy first = enemy(0, 0, 0, EnemyType.GOBLIN);
+        Enemy second = enemy(0, 100, 100, EnemyType.TROLL);
+        state.addEnemy(first);
+        state.addEnemy(second);
+        assertEquals(1, first.getId());
+        assertEquals(2, second.getId());
+
+        long handle = first.getHandle();
+        first.setHp(0);
+        state.removeDeadEnemies();
+
+        assertNull(state.getEnemy(handle));
+        assertFalse(state.releaseEnemy(handle));
+        assertEquals(1, state.getEnemyPool().size());
+        assertSame(first, state.getEnemyPool().acquire());
+    }
+
+    private List<Integer> ids() {
+        List<Integer> ids = new ArrayList<>();
+        for (int slot = 0; slot < store.size(); slot++) {
+            ids.add(store.getEnemy(slot).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,66 @@
+package com.rpg.rpg_game.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameRandom
+ */
+class GameRandomTest {
+
+    @Test
+    @DisplayName("Deux générateurs de même graine tirent la même suite")
+    void testSameSeedSameSequence() {
+        GameRandom first = new GameRandom(42);
+        GameRandom second = new GameRandom(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+        assertNotEquals(new GameRandom(43).nextLong(), new GameRandom(42).nextLong());
+    }
+
+    @Test
+    @DisplayName("L'état interne sauvegardé reprend la suite des tirages")
+    void testResumeFromState() {
+        GameRandom random = new GameRandom(7);
+        random.nextLong();
+        long saved = random.getState();
+        long expected = random.nextLong();
+
+        GameRandom resumed = new GameRandom(7);
+        resumed.setState(saved);
+        assertEquals(expected, resumed.nextLong());
+        assertEquals(7, resumed.getSeed());
+    }
+
+    @Test
+    @DisplayName("nextInt reste dans ses bornes et couvre tout l'intervalle")
+    void testNextIntBounds() {
+        GameRandom random = new GameRandom(1);
+        boolean[] seen = new boolean[10];
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(10);
+            assertTrue(value >= 0 && value < 10);
+            seen[value] = true;
+        }
+        for (boolean value : seen) {
+            assertTrue(value);
+        }
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+    }
+
+    @Test
+    @DisplayName("nextDouble reste dans [0, 1) et l'ennemi tire sa patrouille sans Math.random")
+    void testNextDouble() {
+        GameRandom random = new GameRandom(3);
+        for (int i = 0; i < 1000; i++) {
+            double value = random.nextDouble();
+            assertTrue(value >= 0 && value < 1);
+        }
+        Enemy first = new Enemy(7, 0, 0, EnemyType.GOBLIN, 0, 0);
+        Enemy second = new Enemy(7, 0, 0, EnemyType.GOBLIN, 0, 0);
+        assertEquals(first.getPatrolDirection(), second.getPatrolDirection());
+    }
+}
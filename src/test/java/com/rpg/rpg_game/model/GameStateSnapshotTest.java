@@ -0,0 +1,119 @@
+package com.rpg.rpg_game.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rpg.rpg_game.service.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameStateSnapshot
+ */
+class GameStateSnapshotTest {
+
+    private GameService gameService;
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService();
+        state = gameService.createGame(42);
+    }
+
+    @Test
+    @DisplayName("L'instantané ne suit pas les modifications ultérieures de l'état")
+    void testDetachedFromState() {
+        Enemy enemy = state.getEnemies().get(0);
+        int enemyX = enemy.getX();
+        int enemyHp = enemy.getHp();
+        int playerX = state.getPlayer().getX();
+        int enemyCount = state.getEnemies().size();
+
+        GameStateSnapshot snapshot = GameStateSnapshot.of(state);
+        state.moveEnemy(enemy, enemyX + 10, enemy.getY());
+        enemy.setHp(0);
+        state.removeDeadEnemies();
+        gameService.movePlayer(state, Direction.LEFT);
+        gameService.updateGame(state);
+
+        assertEquals(enemyCount, snapshot.getEnemies().size());
+        assertEquals(enemyCount, snapshot.getAliveEnemyCount());
+        assertEquals(enemyX, snapshot.getEnemies().get(0).getX());
+        assertEquals(enemyHp, snapshot.getEnemies().get(0).getHp());
+        assertEquals(playerX, snapshot.getPlayer().getX());
+        assertEquals(0, snapshot.getVersion());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getEnemies().clear());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getObstacles().clear());
+    }
+
+    @Test
+    @DisplayName("L'instantané a les mêmes champs JSON que l'état")
+    void testSameJsonAsState() throws Exception {
+        gameService.movePlayer(state, Direction.RIGHT);
+        gameService.updateGame(state);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        JsonNode live = objectMapper.valueToTree(state);
+        JsonNode snapshot = objectMapper.valueToTree(GameStateSnapshot.of(state));
+
+        assertEquals(fieldNames(live), fieldNames(snapshot));
+        assertEquals(live, snapshot);
+    }
+
+    @Test
+    @DisplayName("Un instantané n'est sérialisé qu'une fois par format")
+    void testSerializedOncePerFormat() {
+        GameStateSnapshot snapshot = GameStateSnapshot.of(state);
+        AtomicInteger serializations = new AtomicInteger();
+
+        byte[] first = snapshot.serialized("json", s -> {
+            serializations.incrementAndGet();
+            return new byte[] {1};
+        });
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, snapshot.serialized("json", s -> {
+                serializations.incrementAndGet();
+                return new byte[] {2};
+            }));
+        }
+        snapshot.serialized("bin", s -> {
+            serializations.incrementAndGet();
+            return new byte[] {3};
+        });
+
+        assertEquals(2, serializations.get());
+        assertNotEquals(snapshot.entityTag("json"), snapshot.entityTag("bin"));
+        assertNotEquals(snapshot.entityTag("json"), GameStateSnapshot.of(gameService.createGame(43)).entityTag("json"));
+    }
+
+    @Test
+    @DisplayName("La liste d'obstacles est reprise tant que l'index d'obstacles n'a pas changé")
+    void testObstaclesReusedUntilModified() {
+        GameStateSnapshot first = GameStateSnapshot.of(state);
+        gameService.updateGame(state);
+        GameStateSnapshot second = GameStateSnapshot.of(state, first);
+        assertSame(first.getObstacles(), second.getObstacles());
+
+        state.addObstacle(new Obstacle(0, 0, 16, 16, ObstacleType.ROCK));
+        GameStateSnapshot third = GameStateSnapshot.of(state, second);
+        assertNotSame(second.getObstacles(), third.getObstacles());
+        assertEquals(second.getObstacles().size() + 1, third.getObstacles().size());
+
+        GameState other = gameService.createGame(42);
+        assertNotSame(third.getObstacles(), GameStateSnapshot.of(other, third).getObstacles(),
+                "Un autre état ne reprend jamais les obstacles");
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
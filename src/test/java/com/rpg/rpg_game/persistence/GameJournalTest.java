@@ -0,0 +1,139 @@
+package com.rpg.rpg_game.persistence;
+
+import com.rpg.rpg_game.service.GameCommand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameJournal
+ */
+class GameJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private List<GameJournal.Entry> readAll(long afterSequence) throws IOException {
+        List<GameJournal.Entry> entries = new ArrayList<>();
+        GameJournal.replay(directory, afterSequence, entries::add);
+        return entries;
+    }
+
+    @Test
+    @DisplayName("Les entrées relues sont celles écrites, dans l'ordre et numérotées")
+    void testRoundTrip() throws Exception {
+        try (GameJournal journal = new GameJournal(directory, 0, 0, true)) {
+            assertEquals(1, journal.sessionCreated("a", 7L, false));
+            assertEquals(2, journal.sessionCreated("b", 42L, true));
+            assertEquals(3, journal.commandApplied("a", GameCommand.move("left")));
+            assertEquals(4, journal.commandApplied("b", GameCommand.attack()));
+            assertEquals(5, journal.commandApplied("a", GameCommand.tick()));
+            assertEquals(6, journal.sessionRemoved("b"));
+            journal.flush();
+            assertEquals(6, journal.getDurableSequence());
+        }
+
+        List<GameJournal.Entry> entries = readAll(0);
+        assertEquals(6, entries.size());
+        assertTrue(entries.get(0).isSessionCreated());
+        assertEquals(7L, entries.get(0).getSeed());
+        assertFalse(entries.get(0).isChunkedWorld());
+        assertEquals(42L, entries.get(1).getSeed());
+        assertTrue(entries.get(1).isChunkedWorld());
+        assertEquals(GameCommand.Type.MOVE, entries.get(2).getCommand().getType());
+        assertEquals("left", entries.get(2).getCommand().getDirection());
+        assertEquals(GameCommand.Type.ATTACK, entries.get(3).getCommand().getType());
+        assertEquals(GameCommand.Type.TICK, entries.get(4).getCommand().getType());
+        assertTrue(entries.get(5).isSessionRemoved());
+        assertEquals("b", entries.get(5).getSessionId());
+
+        assertEquals(2, readAll(4).size(), "Seules les entrées après la séquence donnée sont relues");
+    }
+
+    @Test
+    @DisplayName("Les ajouts concurrents sont écrits par lots (group commit)")
+    void testGroupCommit() throws Exception {
+        int threads = 4;
+        int perThread = 500;
+        try (GameJournal journal = new GameJournal(directory, 0, 5, true)) {
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String session = "s" + t;
+                Thread writer = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.commandApplied(session, GameCommand.tick());
+                    }
+                });
+                writers.add(writer);
+                writer.start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            journal.flush();
+
+            assertEquals(threads * perThread, journal.getDurableSequence());
+            assertTrue(journal.getBatchCount() < threads * perThread / 10,
+                    "Un force() par lot, pas par entrée: " + journal.getBatchCount() + " lots");
+        }
+
+        List<GameJournal.Entry> entries = readAll(0);
+        assertEquals(threads * perThread, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i + 1, entries.get(i).getSequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Une fin de journal tronquée par une panne est ignorée")
+    void testTornTailIsIgnored() throws Exception {
+        try (GameJournal journal = new GameJournal(directory, 0, 0, false)) {
+            journal.commandApplied("a", GameCommand.move("up"));
+            journal.commandApplied("a", GameCommand.move("down"));
+            journal.flush();
+        }
+        Path segment = GameJournal.listSegments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        List<GameJournal.Entry> entries = readAll(0);
+        assertEquals(1, entries.size());
+        assertEquals("up", entries.get(0).getCommand().getDirection());
+    }
+
+    @Test
+    @DisplayName("La rotation ouvre un segment et le compactage supprime ceux qu'elle couvre")
+    void testRotateAndCompact() throws Exception {
+        long covered;
+        try (GameJournal journal = new GameJournal(directory, 0, 0, false)) {
+            journal.sessionCreated("a", 1L, false);
+            journal.commandApplied("a", GameCommand.attack());
+            covered = journal.rotate();
+            journal.commandApplied("a", GameCommand.move("right"));
+            journal.flush();
+
+            assertEquals(2, covered);
+            assertEquals(2, GameJournal.listSegments(directory).size());
+            assertEquals(1, journal.compact(covered));
+        }
+
+        List<Path> segments = GameJournal.listSegments(directory);
+        assertEquals(1, segments.size());
+        assertEquals(3, GameJournal.firstSequenceOf(segments.get(0)));
+        List<GameJournal.Entry> entries = readAll(covered);
+        assertEquals(1, entries.size());
+        assertEquals("right", entries.get(0).getCommand().getDirection());
+        assertTrue(Files.size(segments.get(0)) > 0);
+    }
+}
@@ -0,0 +1,173 @@
+package com.rpg.rpg_game.persistence;
+
+import com.rpg.rpg_game.map.MapRepository;
+import com.rpg.rpg_game.model.Direction;
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.replay.GameRecording;
+import com.rpg.rpg_game.service.GameCommand;
+import com.rpg.rpg_game.service.GameService;
+import com.rpg.rpg_game.service.GameSession;
+import com.rpg.rpg_game.service.GameSessionRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GamePersistence : reprise après arrêt ou panne
+ */
+class GamePersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    private GameService gameService;
+    private MapRepository mapRepository;
+    private GameSessionRegistry registry;
+    private GamePersistence persistence;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mapRepository = new MapRepository();
+        gameService = new GameService(mapRepository);
+        registry = new GameSessionRegistry(gameService);
+        persistence = start(registry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        persistence.stop();
+    }
+
+    private GamePersistence start(GameSessionRegistry sessionRegistry) throws IOException {
+        GamePersistence started = new GamePersistence(sessionRegistry, gameService, mapRepository, true,
+                directory.toString(), 60_000, 1 << 20, 0, false);
+        started.start();
+        return started;
+    }
+
+    /**
+     * Simule une panne après le dernier lot écrit : pas d'instantané d'arrêt
+     */
+    private GameSessionRegistry crashAndRecover() throws Exception {
+        persistence.getJournal().flush();
+        persistence.getJournal().close();
+        GameSessionRegistry recovered = new GameSessionRegistry(gameService);
+        persistence = start(recovered);
+        return recovered;
+    }
+
+    private GameState stateOf(GameSessionRegistry sessionRegistry, String id) {
+        return sessionRegistry.findSession(id).orElseThrow().inspect(state -> state);
+    }
+
+    @Test
+    @DisplayName("Après une panne, les sessions sont reconstruites en rejouant le journal")
+    void testRecoverFromJournal() throws Exception {
+        GameSession session = registry.getOrCreateSession("partie-1");
+        GameSession removed = registry.getOrCreateSession("partie-2");
+        for (int i = 0; i < 5; i++) {
+            session.apply(gameService, GameCommand.move("left"));
+        }
+        session.apply(gameService, GameCommand.move("up"));
+        for (int i = 0; i < 30; i++) {
+            session.apply(gameService, GameCommand.tick());
+        }
+        session.apply(gameService, GameCommand.attack());
+        removed.apply(gameService, GameCommand.move("right"));
+        registry.removeSession("partie-2");
+        int x = session.inspect(state -> state.getPlayer().getX());
+        int y = session.inspect(state -> state.getPlayer().getY());
+        String fingerprint = session.inspect(GameRecording::fingerprint);
+
+        GameSessionRegistry recovered = crashAndRecover();
+
+        assertEquals(1, recovered.getSessionCount());
+        GameState state = stateOf(recovered, "partie-1");
+        assertEquals(x, state.getPlayer().getX());
+        assertEquals(y, state.getPlayer().getY());
+        assertEquals(fingerprint, GameRecording.fingerprint(state), "Rejeu exact, tirages aléatoires compris");
+        assertEquals(session.getLastSequence(), recovered.findSession("partie-1").orElseThrow().getLastSequence());
+    }
+
+    @Test
+    @DisplayName("La reprise part du dernier instantané puis rejoue la fin du journal")
+    void testRecoverFromSnapshotAndTail() throws Exception {
+        GameSession session = registry.getOrCreateSession("partie");
+        session.apply(gameService, GameCommand.move("down"));
+        session.inspect(state -> {
+            state.getPlayer().setExp(42);
+            return null;
+        });
+        long covered = persistence.snapshot();
+        session.apply(gameService, GameCommand.move("down"));
+        int y = session.inspect(state -> state.getPlayer().getY());
+
+        assertEquals(1, GameJournal.listSegments(directory).size(), "Segments couverts supprimés");
+        assertTrue(Files.exists(directory.resolve(GameSnapshotStore.SNAPSHOT_FILE)));
+
+        GameSessionRegistry recovered = crashAndRecover();
+
+        GameState state = stateOf(recovered, "partie");
+        assertEquals(session.inspect(GameRecording::fingerprint), GameRecording.fingerprint(state));
+        assertEquals(42, state.getPlayer().getExp(), "Changement hors journal conservé par l'instantané");
+        assertEquals(y, state.getPlayer().getY());
+        assertEquals(7, state.getEnemies().size());
+        assertTrue(state.hasIntactMap(), "La carte partagée est rattachée à la reprise");
+        assertTrue(recovered.findSession("partie").orElseThrow().getLastSequence() > covered);
+    }
+
+    @Test
+    @DisplayName("Un arrêt propre laisse un instantané qui suffit à la reprise")
+    void testCleanShutdown() throws Exception {
+        GameSession chunked = registry.createSession(7L);
+        chunked.apply(gameService, GameCommand.move("right"));
+        int x = chunked.inspect(state -> state.getPlayer().getX());
+
+        persistence.stop();
+        GameSessionRegistry recovered = new GameSessionRegistry(gameService);
+        persistence = start(recovered);
+
+        GameState state = stateOf(recovered, chunked.getId());
+        assertNotNull(state.getWorld());
+        assertEquals(7L, state.getWorld().getSeed());
+        assertEquals(x, state.getPlayer().getX());
+        assertEquals(chunked.inspect(GameRecording::fingerprint), GameRecording.fingerprint(state),
+                "Monde en chunks repris tel quel");
+    }
+
+    @Test
+    @DisplayName("Une session en chunks reprise après une panne est identique à la session vivante")
+    void testRecoverChunkedSession() throws Exception {
+        GameSession session = registry.createSession(7L);
+        int killedId = session.inspect(state -> {
+            Enemy killed = state.getEnemies().get(0);
+            killed.setHp(0);
+            state.removeDeadEnemies();
+            return killed.getId();
+        });
+        persistence.snapshot();
+        for (int i = 0; i < 200; i++) {
+            session.apply(gameService, GameCommand.move(Direction.RIGHT | Direction.DOWN));
+            session.apply(gameService, GameCommand.tick());
+        }
+        session.apply(gameService, GameCommand.attack());
+
+        GameSessionRegistry recovered = crashAndRecover();
+
+        GameState live = session.inspect(state -> state);
+        GameState state = stateOf(recovered, session.getId());
+        assertEquals(GameRecording.fingerprint(live), GameRecording.fingerprint(state));
+        assertEquals(live.getEnemyCount(), state.getEnemyCount());
+        assertEquals(live.getWorld().getLoadedChunkCount(), state.getWorld().getLoadedChunkCount());
+        assertTrue(state.getEnemies().stream().noneMatch(e -> e.getId() == killedId), "Ennemi tué absent");
+    }
+}
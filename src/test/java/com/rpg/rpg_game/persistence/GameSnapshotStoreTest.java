@@ -0,0 +1,95 @@
+package com.rpg.rpg_game.persistence;
+
+import com.rpg.rpg_game.map.MapRepository;
+import com.rpg.rpg_game.model.Direction;
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.service.GameCommand;
+import com.rpg.rpg_game.service.GameService;
+import com.rpg.rpg_game.world.WorldGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameSnapshotStore (aller-retour des états)
+ */
+class GameSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private GameService gameService;
+    private GameSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        MapRepository mapRepository = new MapRepository();
+        gameService = new GameService(mapRepository);
+        store = new GameSnapshotStore(directory, gameService, mapRepository);
+    }
+
+    private GameState roundTrip(GameState state) throws Exception {
+        store.write(1, List.of(store.encodeSession("partie", 1, state)));
+        return store.read().getSessions().get("partie").getState();
+    }
+
+    private static void play(GameState state, GameService gameService, int direction, int steps) {
+        for (int i = 0; i < steps; i++) {
+            GameCommand.move(direction).applyTo(gameService, state);
+            if (i % 4 == 0) {
+                GameCommand.tick().applyTo(gameService, state);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Un monde en chunks est repris tel quel : les ennemis tués ne réapparaissent pas")
+    void testChunkedWorldRoundTrip() throws Exception {
+        GameState state = gameService.createChunkedGame(7);
+        Enemy killed = state.getEnemies().get(0);
+        Enemy wounded = state.getEnemies().get(1);
+        int killedId = killed.getId();
+        int woundedId = wounded.getId();
+        killed.setHp(0);
+        wounded.setHp(1);
+        state.removeDeadEnemies();
+        int enemyCount = state.getEnemyCount();
+
+        GameState restored = roundTrip(state);
+
+        assertEquals(enemyCount, restored.getEnemyCount());
+        assertTrue(restored.getEnemies().stream().noneMatch(e -> e.getId() == killedId), "Ennemi tué absent");
+        assertEquals(1, restored.getEnemies().stream().filter(e -> e.getId() == woundedId)
+                .findFirst().orElseThrow().getHp());
+        assertEquals(state.getWorld().getLoadedChunkCount(), restored.getWorld().getLoadedChunkCount());
+        assertArrayEquals(GameSnapshotStore.encodeState(state), GameSnapshotStore.encodeState(restored));
+
+        // La suite de la partie, chunks évincés et chargés compris, est identique
+        int steps = 2 * WorldGenerator.CHUNK_SIZE / 3;
+        play(state, gameService, Direction.RIGHT, steps);
+        play(restored, gameService, Direction.RIGHT, steps);
+        assertArrayEquals(GameSnapshotStore.encodeState(state), GameSnapshotStore.encodeState(restored));
+    }
+
+    @Test
+    @DisplayName("Un état de la carte fixe garde sa numérotation après reprise")
+    void testFixedMapRoundTrip() throws Exception {
+        GameState state = gameService.createGame(42);
+        state.getEnemies().get(state.getEnemyCount() - 1).setHp(0);
+        state.removeDeadEnemies();
+
+        GameState restored = roundTrip(state);
+
+        assertEquals(state.getNextEnemyId(), restored.getNextEnemyId());
+        assertEquals(state.getNextObstacleId(), restored.getNextObstacleId());
+        assertTrue(restored.hasIntactMap());
+        assertArrayEquals(GameSnapshotStore.encodeState(state), GameSnapshotStore.encodeState(restored));
+    }
+}
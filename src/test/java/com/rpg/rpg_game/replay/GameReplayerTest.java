@@ -0,0 +1,179 @@
+package com.rpg.rpg_game.replay;
+
+import com.rpg.rpg_game.map.MapRepository;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.service.GameCommand;
+import com.rpg.rpg_game.service.GameService;
+import com.rpg.rpg_game.service.GameSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'enregistrement et le rejeu déterministe des parties
+ */
+class GameReplayerTest {
+
+    private static final String[] DIRECTIONS = {"up", "right", "down", "left"};
+
+    private GameService gameService;
+    private GameReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        MapRepository mapRepository = new MapRepository();
+        gameService = new GameService(mapRepository);
+        replayer = new GameReplayer(gameService, mapRepository);
+    }
+
+    private void play(GameSession session, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            String direction = DIRECTIONS[(i * 7 + i / 13) % DIRECTIONS.length];
+            for (int k = 0; k < 3; k++) {
+                session.apply(gameService, GameCommand.move(direction));
+            }
+            if (i % 3 == 0) {
+                session.apply(gameService, GameCommand.attack());
+            }
+            for (int k = 0; k < 4; k++) {
+                session.apply(gameService, GameCommand.tick());
+            }
+        }
+    }
+
+    private GameRecording reread(GameRecording recording) throws IOException {
+        return GameRecording.read(new StringReader(recording.toText()));
+    }
+
+    @Test
+    @DisplayName("Chaque partie du corpus de rejeu aboutit à l'état enregistré")
+    void testCorpus() throws IOException, URISyntaxException {
+        Path corpus = Path.of(GameReplayerTest.class.getResource("/replays").toURI());
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(corpus)) {
+            files = listing.filter(file -> file.toString().endsWith(GameRecording.EXTENSION)).sorted().toList();
+        }
+        assertFalse(files.isEmpty());
+
+        for (Path file : files) {
+            GameRecording recording;
+            try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+                recording = GameRecording.read(reader);
+            }
+            GameReplayer.Result result = replayer.replay(recording);
+            assertTrue(result.matches(), file.getFileName() + " diverge : les règles du jeu ont changé "
+                    + "(GameReplayer --update pour réécrire les empreintes si c'est voulu)");
+            assertTrue(result.getTickCount() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Une partie enregistrée depuis sa création se rejoue à l'identique")
+    void testRecordAndReplayNewGame() throws IOException {
+        GameSession session = new GameSession("partie", gameService.createGame(42));
+        session.startRecording(gameService);
+        play(session, 60);
+        GameRecording recording = reread(session.stopRecording());
+
+        assertEquals(GameRecording.Origin.NEW, recording.getOrigin());
+        assertEquals(42, recording.getSeed());
+        GameReplayer.Result result = replayer.replay(recording);
+        assertTrue(result.matches());
+        assertEquals(session.inspect(GameRecording::fingerprint), result.getActualFingerprint());
+        assertEquals(60 * 4, result.getTickCount());
+    }
+
+    @Test
+    @DisplayName("Une partie entamée s'enregistre à partir de son état encodé")
+    void testRecordFromState() throws IOException {
+        GameSession session = new GameSession("partie", gameService.createGame(7));
+        play(session, 20);
+        session.startRecording(gameService);
+        play(session, 20);
+        GameRecording recording = reread(session.stopRecording());
+
+        assertEquals(GameRecording.Origin.STATE, recording.getOrigin());
+        assertTrue(replayer.replay(recording).matches());
+    }
+
+    @Test
+    @DisplayName("Un monde en chunks s'enregistre depuis sa création seulement")
+    void testChunkedWorld() throws IOException {
+        GameSession session = new GameSession("monde", gameService.createChunkedGame(3));
+        session.startRecording(gameService);
+        play(session, 40);
+        GameRecording recording = reread(session.stopRecording());
+
+        assertEquals(GameRecording.Origin.CHUNKED, recording.getOrigin());
+        assertTrue(replayer.replay(recording).matches());
+        assertThrows(IllegalStateException.class, () -> session.startRecording(gameService));
+        assertThrows(IllegalStateException.class, session::stopRecording, "Aucun enregistrement en cours");
+    }
+
+    @Test
+    @DisplayName("La même graine donne la même partie, une autre graine une autre partie")
+    void testSeedDeterminism() {
+        GameSession first = new GameSession("a", gameService.createGame(11));
+        GameSession second = new GameSession("b", gameService.createGame(11));
+        GameSession other = new GameSession("c", gameService.createGame(12));
+        play(first, 30);
+        play(second, 30);
+        play(other, 30);
+
+        String fingerprint = first.inspect(GameRecording::fingerprint);
+        assertEquals(fingerprint, second.inspect(GameRecording::fingerprint));
+        assertNotEquals(fingerprint, other.inspect(GameRecording::fingerprint));
+    }
+
+    @Test
+    @DisplayName("Un rejeu qui diverge est détecté")
+    void testDivergence() throws IOException {
+        GameSession session = new GameSession("partie", gameService.createGame(5));
+        session.startRecording(gameService);
+        play(session, 10);
+        String text = session.stopRecording().toText();
+
+        GameRecording altered = GameRecording.read(new StringReader(text.replace("move up\n", "move down\n")));
+        GameReplayer.Result result = replayer.replay(altered);
+        assertFalse(result.matches());
+
+        GameRecording updated = altered.withFinalFingerprint(result.getActualFingerprint());
+        assertTrue(replayer.replay(updated).matches());
+    }
+
+    @Test
+    @DisplayName("Un enregistrement mal formé est refusé avec sa ligne")
+    void testInvalidRecording() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () ->
+                GameRecording.read(new StringReader("format 3\nnew 1\ntick 3\njump\nfinal 00\n")));
+        assertTrue(error.getMessage().contains("ligne 4"), error.getMessage());
+        assertThrows(IllegalArgumentException.class, () ->
+                GameRecording.read(new StringReader("format 3\nnew 1\ntick 3\n")));
+    }
+
+    @Test
+    @DisplayName("L'état de départ d'un enregistrement est celui de la partie enregistrée")
+    void testInitialState() throws IOException {
+        GameState start = gameService.createGame(9);
+        String fingerprint = GameRecording.fingerprint(start);
+        GameSession session = new GameSession("partie", start);
+        session.startRecording(gameService);
+        GameRecording recording = reread(session.stopRecording());
+
+        assertTrue(recording.getCommands().isEmpty());
+        assertEquals(fingerprint, GameRecording.fingerprint(replayer.initialState(recording)));
+    }
+}
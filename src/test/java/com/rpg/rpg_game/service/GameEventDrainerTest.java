@@ -0,0 +1,61 @@
+package com.rpg.rpg_game.service;
+
+import com.rpg.rpg_game.event.GameEventType;
+import com.rpg.rpg_game.model.EnemyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameEventDrainer (sans thread de fond)
+ */
+class GameEventDrainerTest {
+
+    private GameService gameService;
+    private GameSessionRegistry registry;
+    private GameMetrics metrics;
+    private GameEventDrainer drainer;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService();
+        registry = new GameSessionRegistry(gameService);
+        metrics = new GameMetrics(new SimpleMeterRegistry(), gameService, registry);
+        drainer = new GameEventDrainer(gameService, registry, metrics, false, 200);
+    }
+
+    @Test
+    @DisplayName("La vidange couvre l'état par défaut et toutes les sessions, une seule fois")
+    void testDrainAllSessions() {
+        gameService.getCurrentGameState().getEvents()
+                .publish(GameEventType.LEVEL_UP, 0, 0, null, 2, 0, 0);
+        registry.getOrCreateSession("a").getGameState().getEvents()
+                .publish(GameEventType.ENEMY_KILLED, 0, 1, EnemyType.GOBLIN, 20, 0, 0);
+        registry.getOrCreateSession("b").getGameState().getEvents()
+                .publish(GameEventType.PLAYER_DEATH, 0, 2, EnemyType.TROLL, 0, 0, 0);
+
+        assertEquals(3, drainer.drainAll());
+        assertEquals(0, drainer.drainAll());
+        assertEquals(3, drainer.getDrainedCount());
+    }
+
+    @Test
+    @DisplayName("Les événements restent consultables après la vidange")
+    void testEventsStillReadableAfterDrain() {
+        GameSession session = registry.getOrCreateSession("a");
+        session.getGameState().getEvents().publish(GameEventType.ENEMY_HIT, 0, 1, EnemyType.RABBIT, 5, 0, 0);
+
+        drainer.drainAll();
+
+        assertEquals(1, session.recentEvents(10).size());
+    }
+
+    @Test
+    @DisplayName("Un intervalle de vidange nul est refusé")
+    void testInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new GameEventDrainer(gameService, registry, metrics, false, 0));
+    }
+}
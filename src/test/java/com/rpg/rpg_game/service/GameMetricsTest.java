@@ -0,0 +1,89 @@
+package com.rpg.rpg_game.service;
+
+import com.rpg.rpg_game.event.GameEventType;
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.GameState;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameMetrics
+ */
+class GameMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private GameService gameService;
+    private GameSessionRegistry registry;
+    private GameEventDrainer drainer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gameService = new GameService();
+        registry = new GameSessionRegistry(gameService);
+        GameMetrics metrics = new GameMetrics(meterRegistry, gameService, registry);
+        drainer = new GameEventDrainer(gameService, registry, metrics, false, 200);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Les jauges additionnent l'état par défaut et toutes les sessions")
+    void testGauges() {
+        GameState defaultState = gameService.getCurrentGameState();
+        int enemies = defaultState.getAliveEnemyCount();
+        int obstacles = defaultState.getObstacles().size();
+
+        assertEquals(0, gauge(GameMetrics.SESSIONS_GAUGE));
+        assertEquals(enemies, gauge(GameMetrics.ALIVE_ENEMIES_GAUGE));
+
+        registry.getOrCreateSession("a");
+        registry.getOrCreateSession("b").execute(state -> {
+            state.getEnemies().get(0).setHp(0);
+            state.incrementVersion();
+            return state;
+        });
+
+        assertEquals(2, gauge(GameMetrics.SESSIONS_GAUGE));
+        assertEquals(3 * enemies - 1, gauge(GameMetrics.ALIVE_ENEMIES_GAUGE));
+        assertEquals(3 * obstacles, gauge(GameMetrics.OBSTACLES_GAUGE));
+    }
+
+    @Test
+    @DisplayName("Les compteurs sont alimentés par la vidange des événements")
+    void testCountersFedByDrainer() {
+        GameSession session = registry.getOrCreateSession("a");
+        session.getGameState().getEvents().publish(GameEventType.ENEMY_KILLED, 0, 1, EnemyType.TROLL, 50, 0, 0);
+        session.getGameState().getEvents().publish(GameEventType.ENEMY_KILLED, 0, 2, EnemyType.TROLL, 50, 0, 0);
+        session.getGameState().getEvents().publish(GameEventType.ENEMY_HIT, 0, 3, EnemyType.GOBLIN, 25, 0, 0);
+        gameService.getCurrentGameState().getEvents().publish(GameEventType.LEVEL_UP, 0, 0, null, 2, 0, 0);
+        gameService.getCurrentGameState().getEvents().publish(GameEventType.PLAYER_DEATH, 0, 1, EnemyType.GOBLIN, 0, 0, 0);
+
+        drainer.drainAll();
+
+        assertEquals(2, meterRegistry.get(GameMetrics.KILLS_COUNTER).tag("type", "troll").counter().count());
+        assertEquals(0, meterRegistry.get(GameMetrics.KILLS_COUNTER).tag("type", "goblin").counter().count());
+        assertEquals(1, meterRegistry.get(GameMetrics.LEVEL_UPS_COUNTER).counter().count());
+        assertEquals(1, meterRegistry.get(GameMetrics.PLAYER_DEATHS_COUNTER).counter().count());
+    }
+
+    @Test
+    @DisplayName("La lecture des jauges ne compte pas comme un accès à la session")
+    void testGaugesDoNotTouchSessions() throws InterruptedException {
+        GameSession session = registry.getOrCreateSession("a");
+        long lastAccess = session.getLastAccessTime();
+        Thread.sleep(5);
+
+        gauge(GameMetrics.ALIVE_ENEMIES_GAUGE);
+        gauge(GameMetrics.OBSTACLES_GAUGE);
+
+        assertEquals(lastAccess, session.getLastAccessTime());
+    }
+}
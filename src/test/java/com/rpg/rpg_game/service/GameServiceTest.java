@@ -1,10 +1,18 @@
 package com.rpg.rpg_game.service;
 
+import com.rpg.rpg_game.event.GameEvent;
+import com.rpg.rpg_game.event.GameEventType;
 import com.rpg.rpg_game.model.*;
+import com.rpg.rpg_game.spatial.FlowField;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -38,7 +46,7 @@ class GameServiceTest {
         GameState state = gameService.getCurrentGameState();
         int initialY = state.getPlayer().getY();
         
-        gameService.movePlayer("up");
+        gameService.movePlayer("up").join();
         
         assertEquals(initialY - 3, state.getPlayer().getY());
     }
@@ -49,7 +57,7 @@ class GameServiceTest {
         GameState state = gameService.getCurrentGameState();
         int initialY = state.getPlayer().getY();
         
-        gameService.movePlayer("down");
+        gameService.movePlayer("down").join();
         
         assertEquals(initialY + 3, state.getPlayer().getY());
     }
@@ -60,7 +68,7 @@ class GameServiceTest {
         GameState state = gameService.getCurrentGameState();
         int initialX = state.getPlayer().getX();
         
-        gameService.movePlayer("left");
+        gameService.movePlayer("left").join();
         
         assertEquals(initialX - 3, state.getPlayer().getX());
     }
@@ -71,7 +79,7 @@ class GameServiceTest {
         GameState state = gameService.getCurrentGameState();
         int initialX = state.getPlayer().getX();
         
-        gameService.movePlayer("right");
+        gameService.movePlayer("right").join();
         
         assertEquals(initialX + 3, state.getPlayer().getX());
     }
@@ -83,7 +91,7 @@ class GameServiceTest {
         Player player = state.getPlayer();
         player.setX(0);
         
-        gameService.movePlayer("left");
+        gameService.movePlayer("left").join();
         
         assertEquals(0, player.getX());
     }
@@ -95,7 +103,7 @@ class GameServiceTest {
         Player player = state.getPlayer();
         player.setY(0);
         
-        gameService.movePlayer("up");
+        gameService.movePlayer("up").join();
         
         assertEquals(0, player.getY());
     }
@@ -108,9 +116,93 @@ class GameServiceTest {
         player.setHp(0);
         int initialX = player.getX();
         
-        gameService.movePlayer("right");
+        gameService.movePlayer("right").join();
+        
+        assertEquals(initialX, player.getX());
+    }
+
+    @Test
+    @DisplayName("Le joueur est bloqué par un obstacle")
+    void testPlayerBlockedByObstacle() {
+        GameState state = gameService.getCurrentGameState();
+        Player player = state.getPlayer();
+        // Rocher en (420, 450), 48x48 : le joueur arrive par le haut
+        player.setX(440);
+        player.setY(441);
+        
+        gameService.movePlayer("down").join();
+        
+        assertEquals(441, player.getY());
+    }
+
+    @Test
+    @DisplayName("Une diagonale avance d'un pas sur chaque axe")
+    void testMovePlayerDiagonal() {
+        GameState state = gameService.getCurrentGameState();
+        Player player = state.getPlayer();
+        int initialX = player.getX();
+        int initialY = player.getY();
+        long version = state.getVersion();
+        
+        gameService.movePlayer(state, Direction.UP | Direction.LEFT);
         
+        assertEquals(initialX - 3, player.getX());
+        assertEquals(initialY - 3, player.getY());
+        assertEquals(version + 1, state.getVersion());
+        
+        gameService.movePlayer(state, "down+right");
         assertEquals(initialX, player.getX());
+        assertEquals(initialY, player.getY());
+    }
+
+    @Test
+    @DisplayName("Bloqué sur un axe, le joueur glisse le long de l'obstacle sur l'autre")
+    void testDiagonalSlidesAlongObstacle() {
+        GameState state = gameService.getCurrentGameState();
+        Player player = state.getPlayer();
+        // Rocher en (420, 450), 48x48 : le joueur arrive par le haut
+        player.setX(440);
+        player.setY(441);
+        
+        gameService.movePlayer(state, Direction.DOWN | Direction.RIGHT);
+        
+        assertEquals(443, player.getX());
+        assertEquals(441, player.getY());
+    }
+
+    @Test
+    @DisplayName("Une direction inconnue est refusée")
+    void testUnknownDirection() {
+        GameState state = gameService.getCurrentGameState();
+        
+        assertThrows(IllegalArgumentException.class, () -> gameService.movePlayer(state, "jump"));
+        assertThrows(IllegalArgumentException.class, () -> gameService.movePlayer(state, 1 << 4));
+    }
+
+    @Test
+    @DisplayName("Un obstacle ajouté en cours de partie bloque le joueur")
+    void testAddedObstacleBlocksPlayer() {
+        GameState state = gameService.getCurrentGameState();
+        Player player = state.getPlayer();
+        state.addObstacle(new Obstacle(player.getX() + 9, player.getY() - 8, 32, 32, ObstacleType.ROCK));
+        int initialX = player.getX();
+        
+        gameService.movePlayer("right").join();
+        
+        assertEquals(initialX, player.getX());
+    }
+
+    @Test
+    @DisplayName("Les parties partagent la carte compilée mais pas ses obstacles")
+    void testGamesShareCompiledMap() {
+        GameState first = gameService.createGame();
+        GameState second = gameService.createGame();
+        
+        assertNotNull(first.getMap());
+        assertSame(first.getMap(), second.getMap());
+        assertNotSame(first.getObstacles().get(0), second.getObstacles().get(0));
+        assertEquals(350, first.getObstacles().get(1).getX());
+        assertEquals(EnemyType.TROLL, first.getEnemies().get(1).getType());
     }
 
     @Test
@@ -140,12 +232,135 @@ class GameServiceTest {
         player.setY(100);
         
         int initialEnemyCount = state.getEnemies().size();
-        gameService.playerAttack();
+        gameService.playerAttack().join();
         
         // Vérifier qu'aucun ennemi lointain n'est affecté
         assertTrue(state.getEnemies().size() <= initialEnemyCount);
     }
 
+    @Test
+    @DisplayName("L'attaque ne touche que les ennemis à moins de 50 px et retire les morts")
+    void testPlayerAttackUsesRangeAndRemovesKilled() {
+        GameState state = gameService.getCurrentGameState();
+        Player player = state.getPlayer();
+        player.setAttack(1000);
+        Enemy near = new Enemy(100, player.getX() + 30, player.getY() + 40, EnemyType.TROLL, 0, 0);
+        Enemy far = new Enemy(101, player.getX() + 40, player.getY() + 40, EnemyType.TROLL, 0, 0);
+        state.addEnemy(near);
+        state.addEnemy(far);
+        
+        gameService.playerAttack().join();
+        
+        assertFalse(state.getEnemies().contains(near));
+        assertFalse(state.getEnemyIndex().contains(near));
+        assertTrue(state.getEnemies().contains(far));
+        assertEquals(far.getMaxHp(), far.getHp());
+    }
+
+    @Test
+    @DisplayName("Les ennemis déplacés par l'IA restent indexés à leur position")
+    void testEnemyIndexFollowsAI() {
+        GameState state = gameService.getCurrentGameState();
+        Enemy goblin = state.getEnemies().get(0);
+        state.getPlayer().setX(goblin.getX() + 60);
+        state.getPlayer().setY(goblin.getY());
+        
+        for (int i = 0; i < 10; i++) {
+            gameService.updateGame().join();
+        }
+        
+        List<Enemy> found = new java.util.ArrayList<>();
+        state.getEnemyIndex().queryRadius(goblin.getX(), goblin.getY(), 0, found);
+        assertTrue(found.contains(goblin));
+    }
+
+    /**
+     * Distance parcourue en ticks par un ennemi placé à offset px du joueur, sur son axe x
+     */
+    private int chaseDistance(EnemyType type, int offset, int ticks) {
+        GameState state = gameService.createGame();
+        state.setObstacles(new ArrayList<>());
+        Player player = state.getPlayer();
+        // Au centre d'une cellule du champ de flux : le chemin reste sur l'axe x
+        player.setX(25 * FlowField.CELL_SIZE + FlowField.CELL_SIZE / 2);
+        player.setY(18 * FlowField.CELL_SIZE + FlowField.CELL_SIZE / 2);
+        Enemy enemy = new Enemy(1, player.getX() + offset, player.getY(), type, 0, 0);
+        state.setEnemies(List.of(enemy));
+        for (int i = 0; i < ticks; i++) {
+            gameService.updateGame(state);
+        }
+        assertEquals(player.getY(), enemy.getY());
+        return Math.abs(enemy.getX() - (player.getX() + offset));
+    }
+
+    @Test
+    @DisplayName("Un ennemi avance à la même vitesse vers la gauche et vers la droite")
+    void testEnemySpeedDoesNotDependOnDirection() {
+        for (EnemyType type : new EnemyType[] {EnemyType.GOBLIN, EnemyType.TROLL}) {
+            int towardsRight = chaseDistance(type, -4 * FlowField.CELL_SIZE, 20);
+            int towardsLeft = chaseDistance(type, 4 * FlowField.CELL_SIZE, 20);
+
+            assertEquals(towardsRight, towardsLeft, type.name());
+            assertEquals((int) (20 * EnemyArchetypes.of(type).getSpeed()), towardsLeft, type.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Un gobelin contourne un obstacle au lieu de le traverser")
+    void testGoblinPathsAroundObstacle() {
+        GameState state = gameService.createGame();
+        // Mur assez court pour que le détour reste à portée d'aggro (100)
+        Obstacle wall = new Obstacle(352, 260, 24, 80, ObstacleType.HOUSE);
+        state.setObstacles(new ArrayList<>(List.of(wall)));
+        Enemy goblin = new Enemy(1, 320, 300, EnemyType.GOBLIN, 0, 0);
+        state.setEnemies(List.of(goblin));
+        Player player = state.getPlayer();
+
+        int ticks = 0;
+        while (Math.hypot(player.getX() - goblin.getX(), player.getY() - goblin.getY()) > 30 && ticks < 300) {
+            gameService.updateGame(state);
+            assertFalse(wall.collidesWith(goblin.getX(), goblin.getY(), 1, 1),
+                    "le gobelin traverse l'obstacle en " + goblin.getX() + "," + goblin.getY());
+            ticks++;
+        }
+
+        assertTrue(ticks < 300, "le gobelin n'a pas rejoint le joueur");
+        assertEquals(1, state.getFlowField().getRecomputeCount());
+    }
+
+    @Test
+    @DisplayName("L'attaque publie les événements de coup et d'élimination")
+    void testPlayerAttackPublishesEvents() {
+        GameState state = gameService.getCurrentGameState();
+        Player player = state.getPlayer();
+        player.setAttack(1000);
+        Enemy target = new Enemy(100, player.getX() + 10, player.getY(), EnemyType.GOBLIN, 0, 0);
+        state.addEnemy(target);
+        
+        gameService.playerAttack().join();
+        
+        List<GameEvent> events = state.getEvents().recent(10);
+        assertEquals(GameEventType.ENEMY_HIT, events.get(0).getType());
+        assertEquals(100, events.get(0).getSubjectId());
+        assertEquals(GameEventType.ENEMY_KILLED, events.get(1).getType());
+        assertEquals(EnemyType.GOBLIN, events.get(1).getEnemyType());
+    }
+
+    @Test
+    @DisplayName("Un déplacement bloqué publie l'obstacle rencontré")
+    void testBlockedMovePublishesObstacle() {
+        GameState state = gameService.getCurrentGameState();
+        Player player = state.getPlayer();
+        Obstacle wall = new Obstacle(player.getX() + 5, player.getY() - 20, 32, 40, ObstacleType.ROCK);
+        state.addObstacle(wall);
+        
+        gameService.movePlayer("right").join();
+        
+        List<GameEvent> events = state.getEvents().recent(1);
+        assertEquals(GameEventType.MOVE_BLOCKED, events.get(0).getType());
+        assertEquals(wall.getId(), events.get(0).getSubjectId());
+    }
+
     @Test
     @DisplayName("Le joueur gagne de l'expérience en tuant un ennemi")
     void testPlayerGainsExpFromKillingEnemy() {
@@ -165,7 +380,7 @@ class GameServiceTest {
             
             // Attaquer jusqu'à tuer l'ennemi
             for (int i = 0; i < 10; i++) {
-                gameService.playerAttack();
+                gameService.playerAttack().join();
             }
             
             assertTrue(player.getExp() >= initialExp);
@@ -208,11 +423,22 @@ class GameServiceTest {
     void testUpdateGameDoesNotCrash() {
         assertDoesNotThrow(() -> {
             for (int i = 0; i < 100; i++) {
-                gameService.updateGame();
+                gameService.updateGame().join();
             }
         });
     }
 
+    @Test
+    @DisplayName("Chaque mise à jour avance le temps de jeu d'un tick")
+    void testUpdateGameIncrementsGameTime() {
+        GameState state = gameService.getCurrentGameState();
+        
+        gameService.updateGame().join();
+        gameService.updateGame().join();
+        
+        assertEquals(2, state.getGameTime());
+    }
+
     @Test
     @DisplayName("Reset du jeu réinitialise complètement l'état")
     void testResetGame() {
@@ -226,7 +452,7 @@ class GameServiceTest {
         player.setLevel(5);
         
         // Reset
-        gameService.resetGame();
+        gameService.resetGame().join();
         state = gameService.getCurrentGameState();
         player = state.getPlayer();
         
@@ -307,4 +533,37 @@ class GameServiceTest {
         assertTrue(player.getHp() < initialHp);
         assertTrue(player.getHp() >= initialHp - (20 - defense));
     }
+
+    @Test
+    @DisplayName("Dans un monde en chunks, le joueur franchit les limites de la carte fixe")
+    void testChunkedWorldHasNoMapBounds() {
+        GameState state = gameService.createChunkedGame(42);
+        new ArrayList<>(state.getObstacles()).forEach(state::removeObstacle);
+        state.getPlayer().setX(0);
+        state.getPlayer().setY(0);
+
+        gameService.movePlayer(state, "left");
+        gameService.movePlayer(state, "up");
+
+        assertEquals(-3, state.getPlayer().getX());
+        assertEquals(-3, state.getPlayer().getY());
+        assertTrue(state.getWorld().isLoaded(-2, -2));
+        assertEquals(-1, state.getPlayerZone().getX());
+        assertFalse(state.isVictory());
+    }
+
+    @Test
+    @DisplayName("Les ennemis générés ont les caractéristiques de GameService et des identifiants uniques")
+    void testChunkedWorldEnemiesUseServiceStats() {
+        GameState state = gameService.createChunkedGame(7);
+
+        Set<Integer> ids = new HashSet<>();
+        for (Enemy enemy : state.getEnemies()) {
+            assertTrue(ids.add(enemy.getId()));
+            if (enemy.getType() == EnemyType.GOBLIN) {
+                assertEquals(1.5, enemy.getSpeed());
+            }
+        }
+        assertEquals(9, state.getWorld().getLoadedChunkCount());
+    }
 }
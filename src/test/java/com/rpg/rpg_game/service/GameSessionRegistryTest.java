@@ -0,0 +1,262 @@
+package com.rpg.rpg_game.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rpg.rpg_game.dto.InputBatchRequest;
+import com.rpg.rpg_game.model.Direction;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.GameStateSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameSessionRegistry
+ */
+class GameSessionRegistryTest {
+
+    private GameService gameService;
+    private GameSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService();
+        registry = new GameSessionRegistry(gameService);
+    }
+
+    @Test
+    @DisplayName("Le même identifiant retourne la même session")
+    void testGetOrCreateReturnsSameSession() {
+        GameSession first = registry.getOrCreateSession("player-1");
+        GameSession second = registry.getOrCreateSession("player-1");
+
+        assertSame(first, second);
+        assertEquals(1, registry.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("Deux sessions ont des états de jeu indépendants")
+    void testSessionsAreIsolated() {
+        GameSession first = registry.getOrCreateSession("player-1");
+        GameSession second = registry.getOrCreateSession("player-2");
+
+        first.execute(state -> gameService.movePlayer(state, "up"));
+
+        int firstY = first.execute(state -> state.getPlayer().getY());
+        int secondY = second.execute(state -> state.getPlayer().getY());
+        assertEquals(297, firstY);
+        assertEquals(300, secondY);
+        assertNotSame(first.execute(state -> state), second.execute(state -> state));
+    }
+
+    @Test
+    @DisplayName("Les sessions créées ont des identifiants uniques")
+    void testCreateSessionGeneratesUniqueIds() {
+        GameSession first = registry.createSession();
+        GameSession second = registry.createSession();
+
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(2, registry.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("Une session peut être créée dans un monde en chunks")
+    void testCreateChunkedSession() {
+        GameSession session = registry.createSession(42L);
+
+        assertNotNull(session.execute(GameState::getWorld));
+        assertEquals(42L, (long) session.execute(state -> state.getWorld().getSeed()));
+        assertTrue(registry.findSession(session.getId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("La suppression retire la session du registre")
+    void testRemoveSession() {
+        registry.getOrCreateSession("player-1");
+
+        assertTrue(registry.removeSession("player-1"));
+        assertFalse(registry.removeSession("player-1"));
+        assertTrue(registry.findSession("player-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les sessions inactives sont supprimées, les ticks ne comptent pas comme un accès")
+    void testEvictIdleSessions() {
+        GameSession idle = registry.getOrCreateSession("idle");
+        GameSession active = registry.getOrCreateSession("active");
+        long created = idle.getLastAccessTime();
+
+        idle.apply(gameService, GameCommand.tick());
+        assertEquals(created, idle.getLastAccessTime(), "Un tick n'est pas un accès");
+
+        while (System.currentTimeMillis() < created + 10) {
+            Thread.onSpinWait();
+        }
+        active.getSnapshot();
+        long now = active.getLastAccessTime();
+        assertEquals(0, registry.evictIdleSessions(now - created, now));
+        assertEquals(1, registry.evictIdleSessions(5, now));
+        assertTrue(registry.findSession("idle").isEmpty());
+        assertTrue(registry.findSession("active").isPresent());
+    }
+
+    @Test
+    @DisplayName("Une session inconnue n'est pas créée par la recherche")
+    void testFindSessionDoesNotCreate() {
+        assertTrue(registry.findSession("player-1").isEmpty());
+        assertTrue(registry.findSession(null).isEmpty());
+        assertEquals(0, registry.getSessionCount());
+    }
+
+    private int playerX(GameSession session) {
+        return session.inspect(state -> state.getPlayer().getX());
+    }
+
+    @Test
+    @DisplayName("Un lot d'entrées est appliqué une fois, les séquences déjà traitées sont ignorées")
+    void testApplyInputs() {
+        GameSession session = registry.getOrCreateSession("player-1");
+        int x = playerX(session);
+        List<InputBatchRequest.Input> batch = List.of(
+                new InputBatchRequest.Input(1, Direction.RIGHT, false),
+                new InputBatchRequest.Input(2, Direction.RIGHT | Direction.UP, false),
+                new InputBatchRequest.Input(3, Direction.NONE, false));
+
+        assertEquals(3, session.applyInputs(gameService, batch));
+        assertEquals(x + 6, playerX(session));
+
+        // Lot renvoyé par le client, dont seule la dernière entrée est nouvelle
+        List<InputBatchRequest.Input> resent = new ArrayList<>(batch);
+        resent.add(new InputBatchRequest.Input(4, Direction.LEFT, false));
+        assertEquals(4, session.applyInputs(gameService, resent));
+        assertEquals(x + 3, playerX(session));
+
+        List<InputBatchRequest.Input> tooLarge = new ArrayList<>();
+        for (int i = 0; i <= GameSession.MAX_INPUT_BATCH; i++) {
+            tooLarge.add(new InputBatchRequest.Input(10 + i, Direction.LEFT, false));
+        }
+        assertThrows(IllegalArgumentException.class, () -> session.applyInputs(gameService, tooLarge));
+        assertEquals(x + 3, playerX(session), "Rien n'est appliqué");
+    }
+
+    @Test
+    @DisplayName("Les commandes déposées dans la boîte aux lettres sont appliquées dans l'ordre")
+    void testSubmittedCommands() {
+        GameSession session = registry.getOrCreateSession("player-1");
+        int x = playerX(session);
+
+        CompletableFuture<GameState> first = session.submit(gameService, GameCommand.move(Direction.RIGHT));
+        CompletableFuture<GameState> second = session.submit(gameService, GameCommand.move(Direction.RIGHT));
+        CompletableFuture<Integer> read = session.submit(state -> state.getPlayer().getX());
+        CompletableFuture<Long> invalid = session.submitInputs(gameService,
+                List.of(new InputBatchRequest.Input(1, 1 << 5, false)));
+
+        assertSame(first.join(), second.join());
+        assertEquals(x + 6, read.join());
+        CompletionException error = assertThrows(CompletionException.class, invalid::join);
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        assertEquals(x + 6, playerX(session));
+    }
+
+    @Test
+    @DisplayName("Chaque commande qui change l'état publie un nouvel instantané")
+    void testSnapshotPublished() {
+        GameSession session = registry.getOrCreateSession("player-1");
+        GameStateSnapshot initial = session.getSnapshot();
+
+        session.execute(state -> state.getPlayer().getX());
+        assertSame(initial, session.getSnapshot(), "Une lecture ne publie rien");
+
+        session.apply(gameService, GameCommand.move(Direction.RIGHT));
+        GameStateSnapshot moved = session.getSnapshot();
+        assertNotSame(initial, moved);
+        assertEquals(initial.getPlayer().getX() + 3, moved.getPlayer().getX());
+        assertEquals(initial.getVersion() + 1, moved.getVersion());
+
+        session.submit(gameService, GameCommand.tick()).join();
+        assertEquals(1, session.getSnapshot().getGameTime());
+        assertEquals(0, initial.getGameTime());
+    }
+
+    @Test
+    @DisplayName("Un instantané n'est copié qu'à la première lecture de sa version")
+    void testSnapshotCopiedOnRead() {
+        GameSession session = registry.getOrCreateSession("player-1");
+        GameStateSnapshot initial = session.getSnapshot();
+
+        for (int i = 0; i < 5; i++) {
+            session.apply(gameService, GameCommand.tick());
+        }
+        assertSame(initial, session.peekSnapshot(), "Aucune copie sans lecteur");
+
+        GameStateSnapshot read = session.submitSnapshot().join();
+        assertEquals(5, read.getGameTime());
+        assertSame(read, session.getSnapshot());
+        assertSame(read, session.peekSnapshot());
+        assertSame(initial.getObstacles(), read.getObstacles(), "Obstacles inchangés repris");
+    }
+
+    @Test
+    @DisplayName("Les instantanés se sérialisent pendant les ticks sans verrou ni état déchiré")
+    void testSnapshotReadsDuringTicks() throws Exception {
+        GameSession session = registry.getOrCreateSession("player-1");
+        ObjectMapper objectMapper = new ObjectMapper();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread ticker = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                session.apply(gameService, GameCommand.tick());
+                session.apply(gameService, GameCommand.attack());
+            }
+        });
+        try {
+            long lastVersion = -1;
+            for (int i = 0; i < 2000; i++) {
+                GameStateSnapshot snapshot = session.getSnapshot();
+                String json = objectMapper.writeValueAsString(snapshot);
+                assertEquals(json, objectMapper.writeValueAsString(snapshot), "Instantané figé");
+                assertTrue(snapshot.getVersion() >= lastVersion);
+                lastVersion = snapshot.getVersion();
+            }
+        } finally {
+            running.set(false);
+            ticker.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Un identifiant invalide est refusé")
+    void testInvalidSessionIdRejected() {
+        assertThrows(IllegalArgumentException.class, () -> registry.getOrCreateSession("../etc"));
+        assertThrows(IllegalArgumentException.class, () -> registry.getOrCreateSession(""));
+    }
+
+    @Test
+    @DisplayName("Les sessions concurrentes avancent sans interférence")
+    void testConcurrentSessions() throws Exception {
+        int sessionCount = 16;
+        Thread[] threads = new Thread[sessionCount];
+        for (int i = 0; i < sessionCount; i++) {
+            GameSession session = registry.getOrCreateSession("s" + i);
+            threads[i] = Thread.ofVirtual().start(() -> {
+                for (int step = 0; step < 20; step++) {
+                    session.execute(state -> gameService.movePlayer(state, "left"));
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (GameSession session : registry.getSessions()) {
+            GameState state = session.execute(s -> s);
+            assertEquals(400 - 20 * 3, state.getPlayer().getX());
+        }
+    }
+}
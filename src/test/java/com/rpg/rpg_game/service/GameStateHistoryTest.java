@@ -0,0 +1,219 @@
+package com.rpg.rpg_game.service;
+
+import com.rpg.rpg_game.dto.GameStateDelta;
+import com.rpg.rpg_game.model.Direction;
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+import com.rpg.rpg_game.model.Player;
+import com.rpg.rpg_game.spatial.AreaOfInterest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameStateHistory (calcul des deltas)
+ */
+class GameStateHistoryTest {
+
+    private GameService gameService;
+    private GameState state;
+    private GameStateHistory history;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService();
+        state = gameService.createGame();
+        history = new GameStateHistory(4);
+        history.record(state);
+    }
+
+    @Test
+    @DisplayName("Un delta sans changement est vide")
+    void testDeltaWithoutChanges() {
+        GameStateDelta delta = history.deltaSince(state.getVersion(), state);
+
+        assertFalse(delta.isFull());
+        assertTrue(delta.getPlayer().isEmpty());
+        assertTrue(delta.getUpdatedEnemies().isEmpty());
+        assertEquals(state.getVersion(), delta.getToVersion());
+    }
+
+    @Test
+    @DisplayName("Seuls les champs modifiés du joueur sont transmis")
+    void testPlayerChangedFieldsOnly() {
+        long since = state.getVersion();
+        gameService.movePlayer(state, "up");
+        history.record(state);
+
+        GameStateDelta delta = history.deltaSince(since, state);
+
+        assertEquals(1, delta.getPlayer().size());
+        assertEquals(297, delta.getPlayer().get("y"));
+        assertEquals(since + 1, delta.getToVersion());
+    }
+
+    @Test
+    @DisplayName("Les ennemis ajoutés, déplacés et supprimés sont détectés")
+    void testEnemyChanges() {
+        long since = state.getVersion();
+        Enemy moved = state.getEnemies().get(0);
+        Enemy removed = state.getEnemies().get(1);
+        moved.setX(moved.getX() + 5);
+        state.getEnemies().remove(removed);
+        Enemy added = new Enemy(42, 10, 10, EnemyType.GOBLIN, 0, 0);
+        state.addEnemy(added);
+        state.incrementVersion();
+
+        GameStateDelta delta = history.deltaSince(since, state);
+
+        assertEquals(1, delta.getUpdatedEnemies().size());
+        assertEquals(moved.getId(), delta.getUpdatedEnemies().get(0).getId());
+        assertEquals(moved.getX(), delta.getUpdatedEnemies().get(0).getX());
+        assertEquals(java.util.List.of(removed.getId()), delta.getRemovedEnemyIds());
+        assertEquals(1, delta.getAddedEnemies().size());
+        assertEquals(added.getId(), delta.getAddedEnemies().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Le delta et l'état complet ne suivent pas les modifications ultérieures de l'état")
+    void testDeltaDetachedFromState() {
+        long since = state.getVersion();
+        Enemy added = new Enemy(42, 10, 10, EnemyType.GOBLIN, 0, 0);
+        state.addEnemy(added);
+        state.incrementVersion();
+        GameStateDelta delta = history.deltaSince(since, state);
+        GameStateDelta full = history.deltaSince(999, state);
+        Enemy live = state.getEnemies().get(0);
+        int liveId = live.getId();
+        int liveX = live.getX();
+        int playerX = state.getPlayer().getX();
+
+        Enemy sent = delta.getAddedEnemies().get(0);
+        assertNotSame(added, sent);
+        assertNotSame(state.getPlayer(), full.getState().getPlayer());
+        assertTrue(full.getState().getEnemies().stream().noneMatch(e -> e == live));
+
+        // Le tick suivant déplace et tue des ennemis, la réserve recycle leurs instances
+        added.setX(200);
+        state.moveEnemy(live, liveX + 10, live.getY());
+        state.getEnemies().forEach(e -> e.setHp(0));
+        state.removeDeadEnemies();
+        gameService.movePlayer(state, Direction.LEFT);
+
+        assertEquals(10, sent.getX());
+        assertTrue(sent.isAlive());
+        assertEquals(playerX, full.getState().getPlayer().getX());
+        Enemy sentLive = full.getState().getEnemies().stream()
+                .filter(e -> e.getId() == liveId).findFirst().orElseThrow();
+        assertEquals(liveX, sentLive.getX());
+        assertTrue(sentLive.isAlive());
+    }
+
+    @Test
+    @DisplayName("Les obstacles ajoutés et supprimés sont détectés")
+    void testObstacleChanges() {
+        long since = state.getVersion();
+        Obstacle removed = state.getObstacles().get(0);
+        state.removeObstacle(removed);
+        state.addObstacle(new Obstacle(10, 10, 16, 16, ObstacleType.BUSH));
+        state.incrementVersion();
+
+        GameStateDelta delta = history.deltaSince(since, state);
+
+        assertEquals(java.util.List.of(removed.getId()), delta.getRemovedObstacleIds());
+        assertEquals(1, delta.getAddedObstacles().size());
+        assertEquals(8, delta.getAddedObstacles().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Une version trop ancienne donne un état complet")
+    void testFullSnapshotFallback() {
+        long since = state.getVersion();
+        for (int i = 0; i < 10; i++) {
+            gameService.updateGame(state);
+            history.record(state);
+        }
+
+        GameStateDelta delta = history.deltaSince(since, state);
+
+        assertTrue(delta.isFull());
+        assertEquals(state.getVersion(), delta.getState().getVersion());
+        assertEquals(state.getEnemies().size(), delta.getState().getEnemies().size());
+        assertEquals(state.getObstacles().size(), delta.getState().getObstacles().size());
+    }
+
+    @Test
+    @DisplayName("Une version inconnue du serveur donne un état complet")
+    void testUnknownVersionFallback() {
+        GameStateDelta delta = history.deltaSince(999, state);
+
+        assertTrue(delta.isFull());
+    }
+
+    @Test
+    @DisplayName("Avec un rayon de vue, l'état complet ne contient que le voisinage du joueur")
+    void testFullSnapshotLimitedToViewRadius() {
+        history = new GameStateHistory(4, 100);
+        Player player = state.getPlayer();
+
+        GameStateDelta delta = history.deltaSince(999, state);
+
+        AreaOfInterest area = AreaOfInterest.square(player.getX(), player.getY(), 100);
+        assertTrue(delta.isFull());
+        assertTrue(delta.getState().getEnemies().size() < state.getEnemies().size());
+        assertTrue(delta.getState().getEnemies().stream().allMatch(e -> area.contains(e.getX(), e.getY())));
+        assertEquals(state.getAliveEnemyCount(), delta.getState().getAliveEnemyCount());
+    }
+
+    @Test
+    @DisplayName("Une entité qui entre ou sort de la zone d'intérêt apparaît ou disparaît du delta")
+    void testEntitiesCrossingAreaOfInterest() {
+        history = new GameStateHistory(4, 100);
+        Player player = state.getPlayer();
+        Enemy outside = new Enemy(50, player.getX() + 300, player.getY(), EnemyType.GOBLIN, 0, 0);
+        state.addEnemy(outside);
+        state.incrementVersion();
+        history.record(state);
+        long since = state.getVersion();
+
+        outside.setX(player.getX() + 50);
+        state.getEnemyIndex().update(outside);
+        state.incrementVersion();
+        GameStateDelta entered = history.deltaSince(since, state);
+
+        assertEquals(1, entered.getAddedEnemies().size());
+        assertEquals(outside.getId(), entered.getAddedEnemies().get(0).getId());
+
+        since = state.getVersion();
+        outside.setX(player.getX() + 300);
+        state.getEnemyIndex().update(outside);
+        state.incrementVersion();
+        GameStateDelta left = history.deltaSince(since, state);
+
+        assertEquals(java.util.List.of(outside.getId()), left.getRemovedEnemyIds());
+        assertTrue(left.getUpdatedEnemies().isEmpty());
+    }
+
+    @Test
+    @DisplayName("En monde en chunks, seuls le chunk du joueur et ses voisins sont transmis")
+    void testChunkedWorldLimitedToNeighbourChunks() {
+        GameState chunked = gameService.createChunkedGame(42);
+        history = new GameStateHistory(4);
+        Player player = chunked.getPlayer();
+        Enemy far = new Enemy(9_999, player.getX() + 10_000, player.getY(), EnemyType.TROLL, 0, 0);
+        chunked.addEnemy(far);
+        chunked.incrementVersion();
+
+        GameStateDelta delta = history.deltaSince(999, chunked);
+
+        AreaOfInterest area = history.areaOf(chunked);
+        assertFalse(area.isUnbounded());
+        assertTrue(delta.getState().getEnemies().stream().noneMatch(e -> e.getId() == far.getId()));
+        assertTrue(delta.getState().getEnemies().stream().allMatch(e -> area.contains(e.getX(), e.getY())));
+    }
+}
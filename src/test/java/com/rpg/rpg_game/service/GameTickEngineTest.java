@@ -0,0 +1,145 @@
+package com.rpg.rpg_game.service;
+
+import com.rpg.rpg_game.model.GameState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GameTickEngine (sans planification réelle)
+ */
+class GameTickEngineTest {
+
+    private GameService gameService;
+    private GameSessionRegistry registry;
+    private GameTickEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService();
+        registry = new GameSessionRegistry(gameService);
+        engine = new GameTickEngine(gameService, registry, false, 10, 5);
+    }
+
+    @Test
+    @DisplayName("Un tick fait avancer le temps de jeu de chaque session")
+    void testTickAdvancesGameTime() {
+        GameSession first = registry.getOrCreateSession("a");
+        GameSession second = registry.getOrCreateSession("b");
+
+        engine.tick();
+        engine.tick();
+
+        assertEquals(2, engine.getTickCount());
+        assertEquals(2L, (long) first.execute(GameState::getGameTime));
+        assertEquals(2L, (long) second.execute(GameState::getGameTime));
+    }
+
+    @Test
+    @DisplayName("Un tick fait aussi avancer l'état par défaut")
+    void testTickAdvancesDefaultState() {
+        engine.tick();
+        engine.tick();
+
+        assertEquals(2, gameService.getCurrentSnapshot().join().getGameTime());
+    }
+
+    @Test
+    @DisplayName("Un écouteur bloqué ne retarde pas le tick des sessions")
+    void testBlockedListenerDoesNotStallTick() throws Exception {
+        GameSession session = registry.getOrCreateSession("a");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch notified = new CountDownLatch(3);
+        engine.addTickListener(s -> {
+            notified.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < 3; i++) {
+                    engine.tick();
+                }
+            });
+            assertEquals(3L, (long) session.execute(GameState::getGameTime));
+            assertTrue(notified.await(5, TimeUnit.SECONDS), "Chaque tick est notifié");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Une session encombrée saute des ticks sans retarder les autres")
+    void testBusySessionSkipsTicks() throws Exception {
+        GameSession busy = registry.getOrCreateSession("a");
+        GameSession other = registry.getOrCreateSession("b");
+        CountDownLatch release = new CountDownLatch(1);
+        busy.submit(state -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < 3; i++) {
+                    engine.tick();
+                }
+            });
+            assertEquals(3L, (long) other.execute(GameState::getGameTime));
+            assertEquals(2, engine.getSkippedSessionTicks());
+        } finally {
+            release.countDown();
+        }
+        assertEquals(1L, (long) busy.submit(GameState::getGameTime).join(), "Un seul tick empilé");
+    }
+
+    @Test
+    @DisplayName("Le temps écoulé est converti en ticks fixes avec reliquat")
+    void testAdvanceAccumulatesTime() {
+        long tick = engine.getTickNanos();
+
+        assertEquals(0, engine.advance(tick / 2));
+        assertEquals(1, engine.advance(tick / 2));
+        assertEquals(2, engine.advance(2 * tick));
+        assertEquals(3, engine.getTickCount());
+    }
+
+    @Test
+    @DisplayName("Le rattrapage est plafonné et le surplus abandonné")
+    void testAdvanceClampsCatchUp() {
+        long tick = engine.getTickNanos();
+
+        assertEquals(5, engine.advance(20 * tick));
+        assertEquals(15, engine.getDroppedTicks());
+        assertEquals(0, engine.advance(tick / 2));
+    }
+
+    @Test
+    @DisplayName("La boucle désactivée ne démarre pas")
+    void testDisabledEngineDoesNotStart() {
+        engine.start();
+
+        assertFalse(engine.isRunning());
+    }
+
+    @Test
+    @DisplayName("Une fréquence nulle est refusée")
+    void testInvalidRateRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameTickEngine(new GameService(), registry, true, 0, 5));
+    }
+}
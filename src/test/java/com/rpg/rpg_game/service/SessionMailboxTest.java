@@ -0,0 +1,104 @@
+package com.rpg.rpg_game.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour SessionMailbox
+ */
+class SessionMailboxTest {
+
+    @Test
+    @DisplayName("Les tâches s'exécutent une à une, dans l'ordre de dépôt, sur un thread virtuel")
+    void testRunsInOrderOnVirtualThread() {
+        SessionMailbox mailbox = new SessionMailbox("session-test");
+        List<Integer> order = new ArrayList<>();
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 3 * SessionMailbox.DRAIN_BATCH; i++) {
+            int index = i;
+            futures.add(mailbox.submit(() -> {
+                order.add(index);
+                return Thread.currentThread().isVirtual();
+            }));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i, order.get(i));
+            assertTrue(futures.get(i).join(), "Exécutée sur un thread virtuel");
+        }
+        assertEquals(0, mailbox.pending());
+    }
+
+    @Test
+    @DisplayName("Une tâche en erreur complète son futur en erreur sans bloquer les suivantes")
+    void testFailureDoesNotStopMailbox() {
+        SessionMailbox mailbox = new SessionMailbox("session-test");
+
+        CompletableFuture<Object> failed = mailbox.submit(() -> {
+            throw new IllegalArgumentException("invalide");
+        });
+        CompletableFuture<String> next = mailbox.submit(() -> "ok");
+
+        CompletionException error = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        assertEquals("ok", next.join());
+    }
+
+    @Test
+    @DisplayName("Plusieurs producteurs concurrents, jamais deux tâches en même temps")
+    void testSingleConsumerWithConcurrentProducers() throws Exception {
+        SessionMailbox mailbox = new SessionMailbox("session-test");
+        int producers = 8;
+        int tasksPerProducer = 2000;
+        int[] counter = new int[1];
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> last = new ArrayList<>();
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            last.add(done);
+            threads[p] = Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                CompletableFuture<Void> future = null;
+                for (int i = 0; i < tasksPerProducer; i++) {
+                    future = mailbox.submit(() -> {
+                        if (running.incrementAndGet() > 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        counter[0]++;
+                        running.decrementAndGet();
+                        return null;
+                    });
+                }
+                future.whenComplete((result, error) -> done.complete(null));
+            });
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        CompletableFuture.allOf(last.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+        // Toutes les tâches d'un producteur précèdent sa dernière, mais pas celles des autres
+        assertEquals(producers * tasksPerProducer, mailbox.submit(() -> counter[0]).join());
+        assertEquals(0, overlaps.get());
+    }
+}
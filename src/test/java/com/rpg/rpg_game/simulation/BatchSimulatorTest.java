@@ -0,0 +1,94 @@
+package com.rpg.rpg_game.simulation;
+
+import com.rpg.rpg_game.model.EnemyType;
+import com.rpg.rpg_game.service.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour BatchSimulator
+ */
+class BatchSimulatorTest {
+
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService();
+    }
+
+    @Test
+    @DisplayName("Les résultats ne dépendent que des graines, pas du parallélisme")
+    void testDeterministicAcrossParallelism() {
+        SimulationReport sequential = new BatchSimulator(gameService, 1)
+                .run(12, 100, 1500, false, BotPolicies.named("hunter"));
+        SimulationReport parallel = new BatchSimulator(gameService, 4)
+                .run(12, 100, 1500, false, BotPolicies.named("hunter"));
+
+        List<GameOutcome> expected = sequential.getOutcomes();
+        List<GameOutcome> actual = parallel.getOutcomes();
+        assertEquals(12, actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(100 + i, actual.get(i).getSeed(), "Résultats dans l'ordre des graines");
+            assertEquals(expected.get(i).getTicks(), actual.get(i).getTicks());
+            assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+            assertEquals(expected.get(i).getTotalKills(), actual.get(i).getTotalKills());
+        }
+        assertEquals(sequential.getTotalTicks(), parallel.getTotalTicks());
+    }
+
+    @Test
+    @DisplayName("Le rapport agrège les éliminations, les morts et les niveaux des parties")
+    void testReportAggregates() {
+        SimulationReport report = new BatchSimulator(gameService, 2)
+                .run(8, 1, 1500, false, BotPolicies.named("hunter"));
+
+        long kills = report.getOutcomes().stream().mapToLong(GameOutcome::getTotalKills).sum();
+        long ticks = report.getOutcomes().stream().mapToLong(GameOutcome::getTicks).sum();
+        assertEquals(kills, report.getKillsByType().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(ticks, report.getTotalTicks());
+        assertEquals(8, report.getLevels().values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(report.getDeaths(), report.getOutcomes().stream().filter(GameOutcome::isDied).count());
+        assertTrue(kills > 0, "Le chasseur élimine des ennemis");
+        assertTrue(report.getTicksPerSecond() > 0);
+        for (GameOutcome outcome : report.getOutcomes()) {
+            assertTrue(outcome.getTicks() <= 1500);
+            assertFalse(outcome.isDied() && outcome.isVictory());
+        }
+        assertTrue(report.format().contains(EnemyType.GOBLIN.getDisplayName()));
+    }
+
+    @Test
+    @DisplayName("Un bot inactif n'élimine personne")
+    void testIdleBot() {
+        SimulationReport report = new BatchSimulator(gameService, 2)
+                .run(4, 1, 600, false, BotPolicies.named("idle"));
+
+        assertEquals(0, report.getOutcomes().stream().mapToInt(GameOutcome::getTotalKills).sum());
+        assertEquals(0, report.getVictories());
+        assertEquals(Integer.valueOf(4), report.getLevels().get(1));
+    }
+
+    @Test
+    @DisplayName("Les parties en monde en chunks tournent jusqu'à la limite de ticks ou la mort")
+    void testChunkedWorld() {
+        SimulationReport report = new BatchSimulator(gameService, 2)
+                .run(4, 7, 500, true, BotPolicies.named("wanderer"));
+
+        assertEquals(0, report.getVictories(), "Un monde en chunks n'est jamais vidé");
+        for (GameOutcome outcome : report.getOutcomes()) {
+            assertTrue(outcome.isDied() || outcome.getTicks() == 500);
+        }
+    }
+
+    @Test
+    @DisplayName("Un comportement de bot inconnu est refusé")
+    void testUnknownPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> BotPolicies.named("sniper"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.rpg.rpg_game.spatial;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.EnemyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour EnemySpatialIndex
+ */
+class EnemySpatialIndexTest {
+
+    private EnemySpatialIndex index;
+    private List<Enemy> enemies;
+
+    @BeforeEach
+    void setUp() {
+        index = new EnemySpatialIndex(64);
+        enemies = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 2000; i++) {
+            enemies.add(new Enemy(i, random.nextInt(3000) - 1500, random.nextInt(3000) - 1500, EnemyType.GOBLIN, 0, 0));
+        }
+        index.rebuild(enemies);
+    }
+
+    private static long distanceSquared(Enemy enemy, int x, int y) {
+        long dx = enemy.getX() - x;
+        long dy = enemy.getY() - y;
+        return dx * dx + dy * dy;
+    }
+
+    @Test
+    @DisplayName("La requête par rayon équivaut à un parcours exhaustif")
+    void testRadiusMatchesBruteForce() {
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(3200) - 1600;
+            int y = random.nextInt(3200) - 1600;
+            int radius = 10 + random.nextInt(200);
+
+            List<Enemy> found = new ArrayList<>();
+            int count = index.queryRadius(x, y, radius, found);
+
+            List<Enemy> expected = enemies.stream()
+                    .filter(e -> distanceSquared(e, x, y) <= (long) radius * radius)
+                    .collect(Collectors.toList());
+            assertEquals(expected.size(), count);
+            assertEquals(new HashSet<>(expected), new HashSet<>(found));
+        }
+    }
+
+    @Test
+    @DisplayName("Les k plus proches sont ceux d'un tri exhaustif")
+    void testNearestMatchesBruteForce() {
+        Random random = new Random(5);
+        for (int i = 0; i < 100; i++) {
+            int x = random.nextInt(3200) - 1600;
+            int y = random.nextInt(3200) - 1600;
+            int k = 1 + random.nextInt(10);
+
+            List<Enemy> nearest = index.nearest(x, y, k, 5000);
+
+            List<Long> expected = enemies.stream()
+                    .map(e -> distanceSquared(e, x, y))
+                    .sorted()
+                    .limit(k)
+                    .collect(Collectors.toList());
+            List<Long> actual = nearest.stream().map(e -> distanceSquared(e, x, y)).collect(Collectors.toList());
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    @DisplayName("La recherche des plus proches respecte le rayon maximal")
+    void testNearestRespectsMaxRadius() {
+        List<Enemy> nearest = index.nearest(100_000, 100_000, 5, 100);
+
+        assertTrue(nearest.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un ennemi déplacé est retrouvé à sa nouvelle position")
+    void testUpdateMovesEnemy() {
+        Enemy enemy = enemies.get(0);
+        enemy.setX(5000);
+        enemy.setY(5000);
+        index.update(enemy);
+
+        List<Enemy> found = new ArrayList<>();
+        index.queryRadius(5000, 5000, 1, found);
+        assertEquals(List.of(enemy), found);
+    }
+
+    @Test
+    @DisplayName("Un ennemi retiré n'est plus retourné")
+    void testRemove() {
+        Enemy enemy = enemies.get(42);
+
+        assertTrue(index.remove(enemy));
+        assertFalse(index.remove(enemy));
+        assertFalse(index.contains(enemy));
+        assertEquals(enemies.size() - 1, index.size());
+        List<Enemy> found = new ArrayList<>();
+        index.queryRadius(enemy.getX(), enemy.getY(), 0, found);
+        assertFalse(found.contains(enemy));
+    }
+
+    @Test
+    @DisplayName("Les résultats sont triés du plus proche au plus lointain")
+    void testNearestSorted() {
+        List<Enemy> nearest = index.nearest(0, 0, 20, 5000);
+
+        List<Enemy> sorted = new ArrayList<>(nearest);
+        sorted.sort(Comparator.comparingLong(e -> distanceSquared(e, 0, 0)));
+        assertEquals(sorted, nearest);
+    }
+
+    @Test
+    @DisplayName("La requête de zone rend exactement les ennemis du rectangle")
+    void testQueryAreaMatchesBruteForce() {
+        AreaOfInterest area = AreaOfInterest.zones(0, 0, 256);
+        List<Enemy> found = new ArrayList<>();
+        index.queryArea(area, found);
+
+        Set<Integer> expected = enemies.stream()
+                .filter(e -> area.contains(e.getX(), e.getY()))
+                .map(Enemy::getId)
+                .collect(Collectors.toSet());
+        assertEquals(expected, found.stream().map(Enemy::getId).collect(Collectors.toSet()));
+        assertEquals(expected.size(), found.size());
+    }
+}
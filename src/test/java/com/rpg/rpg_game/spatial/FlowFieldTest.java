@@ -0,0 +1,99 @@
+package com.rpg.rpg_game.spatial;
+
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour FlowField
+ */
+class FlowFieldTest {
+
+    private FlowField field;
+    private ObstacleSpatialHash obstacles;
+
+    @BeforeEach
+    void setUp() {
+        field = new FlowField(16);
+        obstacles = new ObstacleSpatialHash();
+    }
+
+    @Test
+    @DisplayName("En terrain libre, la distance compte 10 par pas droit et 14 en diagonale")
+    void testOpenFieldDistances() {
+        field.update(400, 300, obstacles);
+
+        assertEquals(0, field.distanceAt(400, 300));
+        assertEquals(10, field.distanceAt(400 + FlowField.CELL_SIZE, 300));
+        assertEquals(14, field.distanceAt(400 - FlowField.CELL_SIZE, 300 - FlowField.CELL_SIZE));
+        assertEquals(FlowField.UNREACHABLE, field.distanceAt(400 + 100 * FlowField.CELL_SIZE, 300));
+    }
+
+    @Test
+    @DisplayName("Le champ n'est recalculé qu'au changement de cellule du joueur ou des obstacles")
+    void testRecomputedOnlyWhenNeeded() {
+        assertTrue(field.update(400, 300, obstacles));
+        assertFalse(field.update(401, 301, obstacles));
+        assertTrue(field.update(400 + FlowField.CELL_SIZE, 300, obstacles));
+
+        obstacles.insert(new Obstacle(0, 0, 32, 32, ObstacleType.ROCK));
+        assertTrue(field.update(400 + FlowField.CELL_SIZE, 300, obstacles));
+        assertEquals(3, field.getRecomputeCount());
+    }
+
+    @Test
+    @DisplayName("Le chemin descendant le champ contourne un mur jusqu'au joueur")
+    void testPathGoesAroundWall() {
+        Obstacle wall = new Obstacle(352, 200, 24, 200, ObstacleType.HOUSE);
+        obstacles.insert(wall);
+        field.update(400, 300, obstacles);
+
+        int x = 300;
+        int y = 300;
+        int steps = 0;
+        int next = field.towards(x, y);
+        while (next != FlowField.NO_CELL && steps < 200) {
+            x = field.centerX(next);
+            y = field.centerY(next);
+            assertFalse(wall.collidesWith(x - 8, y - 8, 16, 16), "le chemin traverse le mur en " + x + "," + y);
+            next = field.towards(x, y);
+            steps++;
+        }
+
+        assertEquals(0, field.distanceAt(x, y));
+        assertTrue(steps > 6, "le chemin direct traverserait le mur");
+    }
+
+    @Test
+    @DisplayName("Le champ inversé éloigne du joueur et laisse sur place un fuyard acculé")
+    void testAwayIncreasesDistance() {
+        field.update(400, 300, obstacles);
+
+        int next = field.away(420, 300);
+        assertNotEquals(FlowField.NO_CELL, next);
+        assertTrue(field.distanceAt(field.centerX(next), field.centerY(next)) > field.distanceAt(420, 300));
+
+        // Coin de la fenêtre : plus aucune cellule plus lointaine
+        int corner = 400 + 16 * FlowField.CELL_SIZE;
+        int cornerY = 300 + 16 * FlowField.CELL_SIZE;
+        assertTrue(field.isReachable(corner, cornerY));
+        assertEquals(FlowField.NO_CELL, field.away(corner, cornerY));
+    }
+
+    @Test
+    @DisplayName("Une zone entièrement close est inaccessible")
+    void testEnclosedAreaUnreachable() {
+        obstacles.insert(new Obstacle(80, 80, 200, 16, ObstacleType.ROCK));
+        obstacles.insert(new Obstacle(80, 264, 200, 16, ObstacleType.ROCK));
+        obstacles.insert(new Obstacle(80, 80, 16, 200, ObstacleType.ROCK));
+        obstacles.insert(new Obstacle(264, 80, 16, 200, ObstacleType.ROCK));
+        field.update(400, 300, obstacles);
+
+        assertFalse(field.isReachable(180, 180));
+        assertEquals(FlowField.NO_CELL, field.towards(180, 180));
+    }
+}
@@ -0,0 +1,120 @@
+package com.rpg.rpg_game.spatial;
+
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.ObstacleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ObstacleSpatialHash
+ */
+class ObstacleSpatialHashTest {
+
+    private ObstacleSpatialHash index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ObstacleSpatialHash(64);
+    }
+
+    @Test
+    @DisplayName("Un rectangle chevauchant un obstacle est détecté")
+    void testOverlapDetected() {
+        Obstacle rock = new Obstacle(100, 100, 48, 48, ObstacleType.ROCK);
+        index.insert(rock);
+
+        assertSame(rock, index.findFirstOverlap(90, 90, 16, 16));
+        assertTrue(index.overlapsAny(140, 140, 16, 16));
+    }
+
+    @Test
+    @DisplayName("Des bords qui se touchent ne sont pas une collision")
+    void testTouchingEdgesDoNotOverlap() {
+        index.insert(new Obstacle(100, 100, 48, 48, ObstacleType.ROCK));
+
+        assertFalse(index.overlapsAny(84, 100, 16, 16));
+        assertFalse(index.overlapsAny(148, 100, 16, 16));
+    }
+
+    @Test
+    @DisplayName("Un obstacle couvrant plusieurs cellules est trouvé depuis chacune")
+    void testLargeObstacleSpansCells() {
+        index.insert(new Obstacle(0, 0, 300, 20, ObstacleType.WATER));
+
+        assertTrue(index.overlapsAny(10, 5, 4, 4));
+        assertTrue(index.overlapsAny(290, 5, 4, 4));
+        assertFalse(index.overlapsAny(310, 5, 4, 4));
+    }
+
+    @Test
+    @DisplayName("Les coordonnées négatives sont gérées")
+    void testNegativeCoordinates() {
+        index.insert(new Obstacle(-100, -100, 32, 32, ObstacleType.TREE));
+
+        assertTrue(index.overlapsAny(-90, -90, 4, 4));
+        assertFalse(index.overlapsAny(10, 10, 4, 4));
+    }
+
+    @Test
+    @DisplayName("Un obstacle retiré ne bloque plus")
+    void testRemove() {
+        Obstacle tree = new Obstacle(0, 0, 200, 200, ObstacleType.TREE);
+        index.insert(tree);
+
+        assertTrue(index.remove(tree));
+        assertFalse(index.remove(tree));
+        assertFalse(index.overlapsAny(50, 50, 10, 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Le résultat est identique à un parcours exhaustif")
+    void testMatchesBruteForce() {
+        Random random = new Random(7);
+        List<Obstacle> obstacles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            obstacles.add(new Obstacle(random.nextInt(2000) - 1000, random.nextInt(2000) - 1000,
+                    8 + random.nextInt(120), 8 + random.nextInt(120), ObstacleType.ROCK));
+        }
+        index.rebuild(obstacles);
+
+        for (int i = 0; i < 2000; i++) {
+            int x = random.nextInt(2200) - 1100;
+            int y = random.nextInt(2200) - 1100;
+            boolean expected = obstacles.stream().anyMatch(o -> o.collidesWith(x, y, 16, 16));
+            assertEquals(expected, index.overlapsAny(x, y, 16, 16));
+        }
+    }
+
+    @Test
+    @DisplayName("La requête de zone rend chaque obstacle qui la touche, une seule fois")
+    void testQueryAreaMatchesBruteForce() {
+        Random random = new Random(13);
+        List<Obstacle> obstacles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            obstacles.add(new Obstacle(random.nextInt(2000) - 1000, random.nextInt(2000) - 1000,
+                    8 + random.nextInt(200), 8 + random.nextInt(200), ObstacleType.ROCK));
+        }
+        index.rebuild(obstacles);
+
+        for (int i = 0; i < 200; i++) {
+            AreaOfInterest area = AreaOfInterest.square(random.nextInt(2200) - 1100,
+                    random.nextInt(2200) - 1100, random.nextInt(600));
+            List<Obstacle> found = new ArrayList<>();
+            index.queryArea(area, found);
+
+            List<Obstacle> expected = obstacles.stream()
+                    .filter(o -> area.intersects(o.getX(), o.getY(), o.getWidth(), o.getHeight()))
+                    .toList();
+            assertEquals(expected.size(), found.size());
+            assertTrue(found.containsAll(expected));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.rpg.rpg_game.world;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.GameState;
+import com.rpg.rpg_game.model.Obstacle;
+import com.rpg.rpg_game.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ChunkedWorld
+ */
+class ChunkedWorldTest {
+
+    private static final int SIZE = WorldGenerator.CHUNK_SIZE;
+
+    private GameState state;
+    private ChunkedWorld world;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState();
+        Player player = new Player();
+        player.setX(SIZE / 2);
+        player.setY(SIZE / 2);
+        player.setHp(100);
+        state.setPlayer(player);
+        world = new ChunkedWorld(new WorldGenerator(42, (x, y, type) -> new Enemy(0, x, y, type, 0, 0)));
+        state.setWorld(world);
+    }
+
+    private void teleport(int x, int y) {
+        state.getPlayer().setX(x);
+        state.getPlayer().setY(y);
+        world.update(state);
+    }
+
+    @Test
+    @DisplayName("Les chunks autour du joueur sont chargés et leur contenu ajouté à l'état")
+    void testLoadsChunksAroundPlayer() {
+        assertTrue(world.update(state));
+
+        int side = 2 * ChunkedWorld.LOAD_RADIUS + 1;
+        assertEquals(side * side, world.getLoadedChunkCount());
+        assertTrue(world.isLoaded(-1, -1));
+        assertTrue(world.isLoaded(1, 1));
+        int enemies = 0;
+        int obstacles = 0;
+        for (Chunk chunk : world.getLoadedChunks()) {
+            enemies += chunk.getEnemies(state).size();
+            obstacles += chunk.getObstacles().size();
+        }
+        assertEquals(enemies, state.getEnemyCount());
+        assertEquals(obstacles, state.getObstacles().size());
+        assertEquals(obstacles, state.getObstacleIndex().size());
+    }
+
+    @Test
+    @DisplayName("Rester dans le même chunk ne recharge rien")
+    void testNoWorkInsideSameChunk() {
+        world.update(state);
+
+        state.getPlayer().setX(SIZE / 2 + 100);
+
+        assertFalse(world.update(state));
+    }
+
+    @Test
+    @DisplayName("Les chunks lointains sont évincés avec leurs ennemis et obstacles")
+    void testEvictsDistantChunks() {
+        world.update(state);
+        Set<Enemy> initialEnemies = new HashSet<>(state.getEnemies());
+        Set<Obstacle> initialObstacles = new HashSet<>(state.getObstacles());
+
+        teleport(10 * SIZE + SIZE / 2, SIZE / 2);
+
+        assertFalse(world.isLoaded(0, 0));
+        assertTrue(world.isLoaded(10, 0));
+        for (Enemy enemy : state.getEnemies()) {
+            assertFalse(initialEnemies.contains(enemy));
+        }
+        for (Obstacle obstacle : state.getObstacles()) {
+            assertFalse(initialObstacles.contains(obstacle));
+        }
+        for (Enemy enemy : initialEnemies) {
+            assertFalse(state.getEnemyIndex().contains(enemy));
+        }
+    }
+
+    @Test
+    @DisplayName("Un ennemi tué puis recyclé par un autre chunk survit à l'éviction de son ancien chunk")
+    void testRecycledEnemySurvivesEvictionOfFormerChunk() {
+        world = new ChunkedWorld(new WorldGenerator(42, (x, y, type) -> {
+            Enemy enemy = state.getEnemyPool().acquire();
+            enemy.setX(x);
+            enemy.setY(y);
+            enemy.setType(type);
+            enemy.setHp(10);
+            return enemy;
+        }));
+        state.setWorld(world);
+        world.update(state);
+        Enemy victim = state.getEnemies().stream()
+                .filter(e -> e.getZoneX() == -1)
+                .findFirst().orElseThrow();
+        int formerZoneY = victim.getZoneY();
+        victim.setHp(0);
+        state.removeDeadEnemies();
+
+        // Nouvelle colonne de chunks (x = 2) : l'instance tuée y est réutilisée
+        teleport(SIZE + SIZE / 2, SIZE / 2);
+        assertEquals(1, state.getEnemyPool().getReusedCount());
+        assertEquals(2, victim.getZoneX());
+        Chunk former = world.getLoadedChunks().stream()
+                .filter(c -> c.getCx() == -1 && c.getCy() == formerZoneY)
+                .findFirst().orElseThrow();
+        assertFalse(former.getEnemies(state).contains(victim), "Poignée périmée ignorée");
+
+        // La colonne x = -1 est évincée, la colonne x = 2 reste chargée
+        teleport(3 * SIZE + SIZE / 2, SIZE / 2);
+        assertFalse(world.isLoaded(-1, 0));
+        assertTrue(world.isLoaded(2, 0));
+        assertTrue(state.getEnemies().contains(victim));
+        assertSame(victim, state.getEnemy(victim.getHandle()));
+    }
+
+    @Test
+    @DisplayName("Un chunk à la frontière n'est évincé qu'au-delà du rayon d'éviction")
+    void testEvictionHysteresis() {
+        world.update(state);
+
+        teleport(SIZE + SIZE / 2, SIZE / 2);
+        assertTrue(world.isLoaded(-1, 0));
+
+        teleport(2 * SIZE + SIZE / 2, SIZE / 2);
+        assertTrue(world.isLoaded(0, 0));
+        assertFalse(world.isLoaded(-1, 0));
+    }
+
+    @Test
+    @DisplayName("La mémoire reste bornée quelle que soit la distance parcourue")
+    void testMemoryBoundedDuringLongWalk() {
+        int maxChunks = (2 * ChunkedWorld.EVICT_RADIUS + 1) * (2 * ChunkedWorld.EVICT_RADIUS + 1);
+        for (int step = 0; step < 200; step++) {
+            teleport(step * SIZE / 3, -step * SIZE / 5);
+            assertTrue(world.getLoadedChunkCount() <= maxChunks);
+        }
+        assertTrue(state.getEnemyCount() <= maxChunks * 4);
+        assertEquals(state.getObstacles().size(), state.getObstacleIndex().size());
+    }
+
+    @Test
+    @DisplayName("Aucun obstacle chargé ne recouvre le joueur")
+    void testObstaclesNeverSpawnOnPlayer() {
+        for (int step = 0; step < 50; step++) {
+            teleport(step * 997, step * 613);
+            Player player = state.getPlayer();
+            assertNull(state.getObstacleIndex().findFirstOverlap(player.getX() - 8, player.getY() - 8, 16, 16));
+        }
+    }
+
+    @Test
+    @DisplayName("Un chunk rechargé est identique à sa première génération")
+    void testReloadedChunkIsRegeneratedIdentically() {
+        world.update(state);
+        String before = positions(world, 0, 0);
+
+        teleport(20 * SIZE, 0);
+        teleport(SIZE / 2, SIZE / 2);
+
+        assertEquals(before, positions(world, 0, 0));
+    }
+
+    private String positions(ChunkedWorld world, int cx, int cy) {
+        for (Chunk chunk : world.getLoadedChunks()) {
+            if (chunk.getCx() == cx && chunk.getCy() == cy) {
+                StringBuilder description = new StringBuilder();
+                chunk.getObstacles().forEach(o -> description.append(o.getX()).append(',').append(o.getY()).append(';'));
+                chunk.getEnemies(state).forEach(e -> description.append(e.getType()).append(e.getX()).append(';'));
+                return description.toString();
+            }
+        }
+        return null;
+    }
+}
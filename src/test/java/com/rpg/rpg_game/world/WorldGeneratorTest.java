@@ -0,0 +1,75 @@
+package com.rpg.rpg_game.world;
+
+import com.rpg.rpg_game.model.Enemy;
+import com.rpg.rpg_game.model.Obstacle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour WorldGenerator
+ */
+class WorldGeneratorTest {
+
+    private static final EnemyFactory FACTORY = (x, y, type) -> new Enemy(0, x, y, type, 0, 0);
+
+    @Test
+    @DisplayName("Même graine et mêmes coordonnées donnent le même contenu")
+    void testGenerationIsDeterministic() {
+        GeneratedChunk first = new WorldGenerator(42, FACTORY).generate(3, -7);
+        GeneratedChunk second = new WorldGenerator(42, FACTORY).generate(3, -7);
+
+        assertEquals(describe(first), describe(second));
+    }
+
+    @Test
+    @DisplayName("Des graines différentes donnent des mondes différents")
+    void testSeedsDiffer() {
+        StringBuilder a = new StringBuilder();
+        StringBuilder b = new StringBuilder();
+        for (int cx = 0; cx < 4; cx++) {
+            a.append(describe(new WorldGenerator(1, FACTORY).generate(cx, 0)));
+            b.append(describe(new WorldGenerator(2, FACTORY).generate(cx, 0)));
+        }
+
+        assertNotEquals(a.toString(), b.toString());
+    }
+
+    @Test
+    @DisplayName("Le contenu généré reste dans les limites du chunk, y compris en coordonnées négatives")
+    void testContentStaysInsideChunk() {
+        WorldGenerator generator = new WorldGenerator(7, FACTORY);
+        int size = WorldGenerator.CHUNK_SIZE;
+        for (int cx = -2; cx <= 2; cx++) {
+            for (int cy = -2; cy <= 2; cy++) {
+                GeneratedChunk chunk = generator.generate(cx, cy);
+                assertFalse(chunk.getObstacles().isEmpty());
+                for (Obstacle obstacle : chunk.getObstacles()) {
+                    assertTrue(obstacle.getX() >= cx * size);
+                    assertTrue(obstacle.getX() + obstacle.getWidth() <= (cx + 1) * size);
+                    assertTrue(obstacle.getY() >= cy * size);
+                    assertTrue(obstacle.getY() + obstacle.getHeight() <= (cy + 1) * size);
+                }
+                for (Enemy enemy : chunk.getEnemies()) {
+                    assertEquals(cx, ChunkedWorld.chunkOf(enemy.getX()));
+                    assertEquals(cy, ChunkedWorld.chunkOf(enemy.getY()));
+                    assertEquals(cx, enemy.getZoneX());
+                    assertEquals(cy, enemy.getZoneY());
+                }
+            }
+        }
+    }
+
+    private static String describe(GeneratedChunk chunk) {
+        StringBuilder description = new StringBuilder();
+        for (Obstacle obstacle : chunk.getObstacles()) {
+            description.append(obstacle.getType()).append(obstacle.getX()).append(',').append(obstacle.getY())
+                    .append(',').append(obstacle.getWidth()).append('x').append(obstacle.getHeight()).append(';');
+        }
+        for (Enemy enemy : chunk.getEnemies()) {
+            description.append(enemy.getType()).append(enemy.getX()).append(',').append(enemy.getY()).append(';');
+        }
+        return description.toString();
+    }
+}